@@ -37,3 +37,44 @@ static long alGetProcAddress(long alGetProcAddressHandle, java.lang.String procn
 
 static native long dispatch_alGetProcAddressStatic(String fname, long procAddress);
 
+
+@Override
+public void alBulkSourceUpdate(final int count, final java.nio.IntBuffer sourceIDs, final java.nio.FloatBuffer positions,
+                               final java.nio.FloatBuffer velocities, final java.nio.FloatBuffer gains) throws ALException {
+    if( 0 >= count ) {
+        return;
+    }
+    checkBulkBuffer("sourceIDs", sourceIDs, count);
+    checkBulkBuffer("positions", positions, 3*count);
+    if( null != velocities ) {
+        checkBulkBuffer("velocities", velocities, 3*count);
+    }
+    if( null != gains ) {
+        checkBulkBuffer("gains", gains, count);
+    }
+    final long __addr_3f = alProcAddressTable._addressof_alSource3f;
+    final long __addr_f = alProcAddressTable._addressof_alSourcef;
+    if (__addr_3f == 0 || __addr_f == 0) {
+        throw new ALException(String.format("Method \"%s\" not available", "alBulkSourceUpdate"));
+    }
+    dispatch_alBulkSourceUpdate0(count,
+            sourceIDs, Buffers.getDirectBufferByteOffset(sourceIDs),
+            positions, Buffers.getDirectBufferByteOffset(positions),
+            velocities, null != velocities ? Buffers.getDirectBufferByteOffset(velocities) : 0,
+            gains, null != gains ? Buffers.getDirectBufferByteOffset(gains) : 0,
+            __addr_3f, __addr_f);
+}
+private static void checkBulkBuffer(final String name, final java.nio.Buffer buffer, final int minRemaining) throws ALException {
+    if( !Buffers.isDirect(buffer) ) {
+        throw new ALException("Argument \""+name+"\" is not a direct buffer");
+    }
+    if( buffer.remaining() < minRemaining ) {
+        throw new ALException("Argument \""+name+"\": remaining "+buffer.remaining()+" < "+minRemaining);
+    }
+}
+private static native void dispatch_alBulkSourceUpdate0(int count,
+        Object sourceIDs, int sourceIDs_byte_offset,
+        Object positions, int positions_byte_offset,
+        Object velocities, int velocities_byte_offset,
+        Object gains, int gains_byte_offset,
+        long procAddress3f, long procAddressf);
@@ -0,0 +1,21 @@
+/**
+ * Sets <code>AL_POSITION</code> and optionally <code>AL_VELOCITY</code> and <code>AL_GAIN</code>
+ * of <code>count</code> sources in one native call, i.e. a single JNI crossing.
+ * <p>
+ * All buffers must be direct and are read from their current position w/o modifying it,
+ * using a struct-of-arrays layout: <code>positions</code> and <code>velocities</code> hold <code>count</code> x,y,z triples,
+ * <code>gains</code> holds <code>count</code> values, each in the order of <code>sourceIDs</code>.
+ * </p>
+ * <p>
+ * Equivalent to calling <code>alSource3f(AL_POSITION)</code>, <code>alSource3f(AL_VELOCITY)</code>
+ * and <code>alSourcef(AL_GAIN)</code> for each source, hence best combined with <code>alDeferUpdatesSOFT</code>.
+ * </p>
+ * @param count number of sources to update
+ * @param sourceIDs direct buffer of <code>count</code> OpenAL source IDs
+ * @param positions direct buffer of <code>3*count</code> position components
+ * @param velocities direct buffer of <code>3*count</code> velocity components, maybe null to leave velocities unchanged
+ * @param gains direct buffer of <code>count</code> gain values, maybe null to leave gains unchanged
+ * @throws ALException if a buffer is not direct or holds less than the required number of elements
+ */
+public void alBulkSourceUpdate(int count, java.nio.IntBuffer sourceIDs, java.nio.FloatBuffer positions,
+                               java.nio.FloatBuffer velocities, java.nio.FloatBuffer gains) throws ALException;
@@ -0,0 +1,359 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.sound3d;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.util.WAVData;
+import com.jogamp.openal.util.WAVLoader;
+
+/**
+ * Asynchronous, parallel loader of audio files into {@link Buffer}s.
+ * <p>
+ * Files are read and decoded to {@link WAVData} on a configurable {@link Executor},
+ * by default the {@link ForkJoinPool#commonPool() common fork-join pool},
+ * or e.g. a {@link #newVirtualThreadExecutor() virtual thread per task executor} for IO bound loading.
+ * </p>
+ * <p>
+ * Data without a matching OpenAL buffer format is {@link WAVData#toSupportedFormat(Set) converted} on the executor as well,
+ * using the {@link WAVData#getFormatExtensions(com.jogamp.openal.AL) format extensions} of the {@link Context}
+ * current on construction, on {@link #load(String)} or on the last {@link #processPending(int)} batch.
+ * Requests decoded before any extensions were known are converted by {@link #processPending(int)}.
+ * </p>
+ * <p>
+ * OpenAL buffers are created and filled in batches by {@link #processPending(int)} or {@link #processAll(long)},
+ * which must be called on the thread having the {@link Context} current, e.g. once per frame.
+ * Only then the returned {@link CompletableFuture}s complete, hence dependent actions
+ * not requesting an explicit executor run on that thread.
+ * Decoding failures complete the future exceptionally on the executor,
+ * upload failures within {@link #processPending(int)} on the context thread.
+ * </p>
+ * <p>
+ * Progress is reported via {@link #getRequestedCount()}, {@link #getDecodedCount()} and {@link #getCompletedCount()}
+ * and an optional {@link ProgressListener}.
+ * </p>
+ */
+public final class AsyncBufferLoader {
+    /** Progress listener, see {@link AsyncBufferLoader#setProgressListener(ProgressListener)}. */
+    public static interface ProgressListener {
+        /**
+         * Called after a load request completed, on the context thread if successful or failed to upload,
+         * otherwise on the executor.
+         * @param loader the loader
+         * @param name the file name or given resource name
+         * @param buffer the loaded buffer, or null on failure
+         * @param cause the failure cause, or null on success
+         * @param completed number of completed requests including failures
+         * @param requested number of requests
+         */
+        void progress(AsyncBufferLoader loader, String name, Buffer buffer, Throwable cause, int completed, int requested);
+    }
+
+    /** Supplier of an {@link InputStream} opened on the executor. */
+    public static interface StreamSupplier {
+        InputStream open() throws IOException;
+    }
+
+    private static final class Pending {
+        final String name;
+        final WAVData data;
+        /** True if {@link #data} has been converted to a supported format on the executor. */
+        final boolean supported;
+        final CompletableFuture<Buffer> future;
+
+        Pending(final String name, final WAVData data, final boolean supported, final CompletableFuture<Buffer> future) {
+            this.name = name;
+            this.data = data;
+            this.supported = supported;
+            this.future = future;
+        }
+    }
+
+    private final Executor executor;
+    private final ConcurrentLinkedQueue<Pending> pending = new ConcurrentLinkedQueue<Pending>();
+    private final AtomicInteger requested = new AtomicInteger(0);
+    private final AtomicInteger decoded = new AtomicInteger(0);
+    private final AtomicInteger completed = new AtomicInteger(0);
+    private final AtomicInteger failed = new AtomicInteger(0);
+    /** Signals decoded or failed requests to {@link #processAll(long)}. */
+    private final ReentrantLock stateLock = new ReentrantLock();
+    private final Condition stateChanged = stateLock.newCondition();
+    private volatile ProgressListener progressListener = null;
+    /** Snapshot of {@link WAVData#getFormatExtensions(com.jogamp.openal.AL)} for conversion on the executor, null if not yet known. */
+    private volatile Set<String> formatExtensions = null;
+
+    /** Creates a loader using the {@link ForkJoinPool#commonPool() common fork-join pool}. */
+    public AsyncBufferLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a loader using the given executor for reading and decoding.
+     * @param executor the executor, e.g. a {@link #newVirtualThreadExecutor() virtual thread executor}
+     */
+    public AsyncBufferLoader(final Executor executor) {
+        this.executor = executor;
+        if( null != Context.getCurrentContext() ) {
+            updateFormatExtensions();
+        }
+    }
+
+    /** Queries the {@link WAVData#getFormatExtensions(com.jogamp.openal.AL) format extensions} of the current {@link Context}. */
+    private void updateFormatExtensions() {
+        formatExtensions = WAVData.getFormatExtensions(AudioSystem3D.al);
+    }
+
+    /**
+     * Returns a new virtual thread per task {@link ExecutorService} if supported by the runtime, i.e. Java 21 or later,
+     * otherwise null. The caller shall shut it down when done.
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            final Method m = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (final Throwable t) {
+            return null;
+        }
+    }
+
+    /** Returns the executor used for reading and decoding. */
+    public Executor getExecutor() { return executor; }
+
+    /** Sets the {@link ProgressListener}, maybe null. */
+    public void setProgressListener(final ProgressListener l) { progressListener = l; }
+
+    /** Returns the number of load requests. */
+    public int getRequestedCount() { return requested.get(); }
+
+    /** Returns the number of decoded requests, awaiting or passed buffer creation. */
+    public int getDecodedCount() { return decoded.get(); }
+
+    /** Returns the number of completed requests, including {@link #getFailedCount() failed} ones. */
+    public int getCompletedCount() { return completed.get(); }
+
+    /** Returns the number of failed requests. */
+    public int getFailedCount() { return failed.get(); }
+
+    /** Returns the number of decoded requests awaiting buffer creation via {@link #processPending(int)}. */
+    public int getPendingCount() { return pending.size(); }
+
+    /** Returns the progress in the range [0..1], i.e. {@link #getCompletedCount()} / {@link #getRequestedCount()}, 1 if none requested. */
+    public float getProgress() {
+        final int r = requested.get();
+        return 0 < r ? (float)completed.get() / r : 1f;
+    }
+
+    /**
+     * Requests to load the given (.wav) file asynchronously.
+     * @param filename the name of the file
+     * @return future completed by {@link #processPending(int)} with the loaded buffer
+     */
+    public CompletableFuture<Buffer> load(final String filename) {
+        return submit(filename, null, filename);
+    }
+
+    /**
+     * Requests to load the (.wav) stream asynchronously, the stream is opened on the executor.
+     * @param name resource name for {@link ProgressListener} and error reporting
+     * @param stream stream supplier
+     * @return future completed by {@link #processPending(int)} with the loaded buffer
+     */
+    public CompletableFuture<Buffer> load(final String name, final StreamSupplier stream) {
+        return submit(name, stream, null);
+    }
+
+    private CompletableFuture<Buffer> submit(final String name, final StreamSupplier stream, final String filename) {
+        final CompletableFuture<Buffer> future = new CompletableFuture<Buffer>();
+        requested.incrementAndGet();
+        if( null == formatExtensions && null != Context.getCurrentContext() ) {
+            updateFormatExtensions();
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if( future.isDone() ) {
+                    complete(name, null, null); // cancelled
+                    return;
+                }
+                try {
+                    WAVData wd;
+                    if( null != filename ) {
+                        wd = WAVLoader.loadFromFile(filename);
+                    } else {
+                        final InputStream in = stream.open();
+                        wd = WAVLoader.loadFromStream(in instanceof BufferedInputStream ? in : new BufferedInputStream(in));
+                    }
+                    final Set<String> extensions = formatExtensions;
+                    if( null != extensions ) {
+                        wd = wd.toSupportedFormat(extensions);
+                    }
+                    decoded.incrementAndGet();
+                    pending.add(new Pending(name, wd, null != extensions, future));
+                } catch (final Throwable t) {
+                    failed.incrementAndGet();
+                    future.completeExceptionally(new ALException("Loading "+name+" failed", t));
+                    complete(name, null, t);
+                }
+                signal();
+            }
+        });
+        return future;
+    }
+
+    private void complete(final String name, final Buffer buffer, final Throwable cause) {
+        final int c = completed.incrementAndGet();
+        final ProgressListener l = progressListener;
+        if( null != l ) {
+            l.progress(this, name, buffer, cause, c, requested.get());
+        }
+    }
+
+    private void signal() {
+        stateLock.lock();
+        try {
+            stateChanged.signalAll();
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Creates and fills the OpenAL buffers of up to {@code maxBatch} decoded requests,
+     * generating all buffer names of the batch with one native call, and completes their futures.
+     * <p>
+     * The {@link Context} must be current on the calling thread,
+     * its {@link WAVData#getFormatExtensions(com.jogamp.openal.AL) format extensions} are used for subsequent conversions on the executor.
+     * </p>
+     * @param maxBatch maximum number of buffers to create, e.g. to bound the time spent per frame
+     * @return number of created buffers, excluding requests failing to upload
+     */
+    public int processPending(final int maxBatch) {
+        final int n = Math.min(maxBatch, pending.size());
+        if( 0 >= n ) {
+            return 0;
+        }
+        updateFormatExtensions();
+        final Buffer[] buffers = AudioSystem3D.generateBuffers(n);
+        int used = 0;
+        int created = 0;
+        try {
+            while( used < n ) {
+                final Pending p = pending.poll();
+                if( null == p ) {
+                    break;
+                }
+                if( p.future.isDone() ) {
+                    complete(p.name, null, null); // cancelled
+                    continue;
+                }
+                final Buffer b = buffers[used++];
+                try {
+                    if( p.supported ) {
+                        b.configure(p.data.data, p.data.format, p.data.freq, p.data.blockAlignment);
+                    } else {
+                        b.configure(p.data);
+                    }
+                } catch (final Throwable t) {
+                    try {
+                        b.delete();
+                    } catch (final Throwable t2) {
+                        // keep the upload failure as cause, the buffer remains allocated
+                    }
+                    failed.incrementAndGet();
+                    p.future.completeExceptionally(new ALException("Uploading "+p.name+" failed", t));
+                    complete(p.name, null, t);
+                    continue;
+                }
+                created++;
+                p.future.complete(b);
+                complete(p.name, b, null);
+            }
+        } finally {
+            for(int i = used; i < n; ++i) {
+                buffers[i].delete();
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Processes all requests in batches via {@link #processPending(int)}, waiting for outstanding decoding.
+     * <p>
+     * The {@link Context} must be current on the calling thread.
+     * </p>
+     * @param timeoutMS maximum time to wait in milliseconds, zero to wait until all requests have completed
+     * @return number of buffers created by this call
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public int processAll(final long timeoutMS) throws InterruptedException {
+        final long deadline = 0 < timeoutMS ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMS) : 0;
+        int count = 0;
+        while( true ) {
+            count += processPending(Integer.MAX_VALUE);
+            stateLock.lock();
+            try {
+                if( completed.get() >= requested.get() ) {
+                    return count;
+                }
+                if( pending.isEmpty() ) {
+                    if( 0 == deadline ) {
+                        stateChanged.await(10, TimeUnit.MILLISECONDS);
+                    } else {
+                        final long left = deadline - System.nanoTime();
+                        if( 0 >= left ) {
+                            return count;
+                        }
+                        stateChanged.await(Math.min(left, TimeUnit.MILLISECONDS.toNanos(10)), TimeUnit.NANOSECONDS);
+                    }
+                }
+            } finally {
+                stateLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncBufferLoader[requested "+requested.get()+", decoded "+decoded.get()+", pending "+pending.size()+
+               ", completed "+completed.get()+", failed "+failed.get()+", "+executor+"]";
+    }
+}
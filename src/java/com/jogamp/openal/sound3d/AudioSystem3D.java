@@ -254,6 +254,18 @@ public class AudioSystem3D {
     return new Device(deviceName);
   }
 
+  /**
+   * Opens the named loopback audio device via <code>ALC_SOFT_loopback</code>.
+   *
+   * @param deviceName The specified device name, null for default.
+   *
+   * @return The loopback device described by the specified name
+   * @see Device#Device(String, boolean)
+   */
+  public static Device openLoopbackDevice(final String deviceName) {
+    return new Device(deviceName, true);
+  }
+
   /**
    * Generate an array of Sound3D buffers.
    *
@@ -293,7 +305,7 @@ public class AudioSystem3D {
     result = tmp[0];
 
     final WAVData wd = WAVLoader.loadFromFile(filename);
-    result.configure(wd.data, wd.format, wd.freq);
+    result.configure(wd);
 
     return result;
   }
@@ -322,7 +334,7 @@ public class AudioSystem3D {
     }
     final WAVData wd = WAVLoader.loadFromStream(stream);
 
-    result.configure(wd.data, wd.format, wd.freq);
+    result.configure(wd);
 
     return result;
   }
@@ -369,6 +381,62 @@ public class AudioSystem3D {
     return generateSource(buffer);
   }
 
+  /**
+   * Loads a Sound3D Source with the specified audio file through the given {@link BufferCache},
+   * sharing one buffer for all sources of the same file.
+   * <p>
+   * The source owns one reference of the cached buffer, released when the source is deleted.
+   * </p>
+   *
+   * @param filename the name of the file to load.
+   * @param cache the buffer cache
+   *
+   * @return a new Sound3D Source associated with the cached buffer of the specified file.
+   *
+   * @throws IOException If the file cannot be found or some other IO error
+   * occurs.
+   * @throws UnsupportedAudioFileException If the format of the audio data is
+   * not supported
+   */
+  public static Source loadSource(final String filename, final BufferCache cache)
+    throws IOException, UnsupportedAudioFileException {
+    final Buffer buffer = cache.get(filename);
+    try {
+      return generateSource(buffer);
+    } finally {
+      buffer.release();
+    }
+  }
+
+  /**
+   * Loads a Sound3D Source with the specified audio stream through the given {@link BufferCache},
+   * sharing one buffer for all sources of the same resource key.
+   * <p>
+   * The source owns one reference of the cached buffer, released when the source is deleted.
+   * </p>
+   *
+   * @param key unique identity of the audio resource, e.g. a resource name or URI,
+   *            if null the buffer is keyed by the stream content
+   * @param stream contains the stream associated with the audio file, not read on a cache hit of a non null key.
+   * @param cache the buffer cache
+   *
+   * @return a new Sound3D Source associated with the cached buffer of the passed stream.
+   *
+   * @throws IOException If the stream cannot be read or some other IO error
+   * occurs.
+   * @throws UnsupportedAudioFileException If the format of the audio data is
+   * not supported
+   */
+  public static Source loadSource(final Object key, final InputStream stream, final BufferCache cache)
+    throws IOException, UnsupportedAudioFileException {
+    final Buffer buffer = null != key ? cache.get(key, stream) : cache.get(stream);
+    try {
+      return generateSource(buffer);
+    } finally {
+      buffer.release();
+    }
+  }
+
   /**
    * Generates a set of uninitialized Source3D sources
    *
@@ -36,12 +36,31 @@ package com.jogamp.openal.sound3d;
 
 import com.jogamp.openal.AL;
 import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.ALExtConstants;
+import com.jogamp.openal.util.ALHelpers;
+import com.jogamp.openal.util.WAVData;
+
 import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 
 /**
  * The Sound3D Buffer is a container for audio data used in the Sound3D
  * environment.
+ * <p>
+ * If {@link Context#setShadowState(boolean) shadow state} is enabled on the current {@link Context},
+ * the buffer attributes bit depth, channels, frequency and size are queried once after {@link #configure(ByteBuffer, int, int)}
+ * and served from Java fields afterwards.
+ * </p>
+ * <p>
+ * By default the uploaded data is copied by OpenAL and also retained by this instance, see {@link #getData()}.
+ * With {@link #setStaticData(boolean) static data} and extension <code>AL_EXT_STATIC_BUFFER</code>, OpenAL references
+ * the direct {@link ByteBuffer} instead of copying it, which is then kept reachable until the buffer is re-configured
+ * or {@link #delete() deleted}. Otherwise {@link #setRetainData(boolean)} allows to drop the Java side copy.
+ * </p>
  *
  * @author Athomas Goldberg, Sven Gothel, et al.
  */
@@ -56,6 +75,33 @@ public final class Buffer {
 
     private int alBufferID;
     private ByteBuffer data;
+    /** Byte size of the last uploaded data. */
+    private int dataSize;
+    /** Use <code>alBufferDataStatic</code> if available, see {@link #setStaticData(boolean)}. */
+    private boolean staticData;
+    /** Retain the copied data, see {@link #setRetainData(boolean)}. */
+    private boolean retainData = true;
+    /**
+     * Data referenced by OpenAL via <code>alBufferDataStatic</code>, strongly reachable until its buffer is re-configured or deleted,
+     * even if the {@link Buffer} instance itself becomes unreachable.
+     */
+    private static final Map<Buffer, ByteBuffer> staticDataRefs = Collections.synchronizedMap(new IdentityHashMap<Buffer, ByteBuffer>());
+    /** Last set <code>AL_UNPACK_BLOCK_ALIGNMENT_SOFT</code>, zero for the default. */
+    private int unpackBlockAlignment;
+    /** OpenAL format of the last uploaded data, zero if unknown. */
+    private int dataFormat;
+    /** Per thread scratch storage for getter, avoiding per call allocation. Buffers are shared across contexts of one device. */
+    private static final ThreadLocal<int[]> tmpI = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() { return new int[1]; }
+    };
+    /** Shadow state slots in {@link #shadowI} and bits in {@link #shadowValid}. */
+    private static final int SH_BITS = 0, SH_CHANNELS = 1, SH_FREQUENCY = 2, SH_SIZE = 3;
+    private final int[] shadowI = new int[4];
+    /** Bitmask of valid {@link #shadowI} values, volatile as buffers are shared across contexts. */
+    private volatile int shadowValid;
+    /** {@link BufferCache} entry if cached, otherwise null. */
+    volatile BufferCache.Entry cacheEntry;
 
     public Buffer(final int bufferID) {
         this.alBufferID = bufferID;
@@ -69,17 +115,119 @@ public final class Buffer {
         return 0 <= alBufferID && AudioSystem3D.al.alIsBuffer(alBufferID);
     }
 
+    /** Returns true if this buffer is owned by a {@link BufferCache}. */
+    public boolean isCached() { return null != cacheEntry; }
+
+    /** Returns the number of references if {@link #isCached() cached}, otherwise -1. */
+    public int getRefCount() {
+        final BufferCache.Entry e = cacheEntry;
+        return null != e ? e.owner.getRefCount(e) : -1;
+    }
+
+    /**
+     * Adds one reference to this buffer if {@link #isCached() cached}, otherwise does nothing.
+     * @see #release()
+     */
+    public void retain() {
+        final BufferCache.Entry e = cacheEntry;
+        if( null != e ) {
+            e.owner.retain(e);
+        }
+    }
+
+    /**
+     * Releases one reference of this buffer if {@link #isCached() cached},
+     * allowing the {@link BufferCache} to evict it once unreferenced.
+     * Otherwise {@link #delete() deletes} this buffer.
+     */
+    public void release() {
+        final BufferCache.Entry e = cacheEntry;
+        if( null != e ) {
+            e.owner.release(e);
+        } else {
+            delete();
+        }
+    }
+
     /**
      * Delete this buffer, and free its resources.
+     * <p>
+     * If {@link #isCached() cached}, only {@link #release() releases} one reference.
+     * </p>
+     * <p>
+     * If OpenAL fails to delete the buffer, e.g. while still attached to a source,
+     * this instance stays valid and keeps its data and false is returned.
+     * The OpenAL error is left pending to the caller.
+     * </p>
+     * @return true if deleted or {@link #isCached() released}, false if OpenAL failed to delete the buffer
+     * @throws ALException if OpenAL failed to delete the buffer while its data is still referenced as {@link #isStaticData() static data}
      */
-    public void delete() {
-        data = null;
+    public boolean delete() throws ALException {
+        final BufferCache.Entry e = cacheEntry;
+        if( null != e ) {
+            e.owner.release(e);
+            return true;
+        }
+        shadowValid = 0;
         if( 0 <= alBufferID ) {
             AudioSystem3D.al.alDeleteBuffers(1, new int[] { alBufferID }, 0);
+            if( AudioSystem3D.al.alIsBuffer(alBufferID) ) {
+                // on failure OpenAL keeps the buffer and its static data
+                if( isStaticData() ) {
+                    throw new ALException("alDeleteBuffers of "+this+" failed, static data still referenced");
+                }
+                return false;
+            }
             alBufferID = -1;
         }
+        // release static data only after OpenAL no more references it
+        staticDataRefs.remove(this);
+        data = null;
+        dataSize = 0;
+        dataFormat = 0;
+        return true;
+    }
+
+    /** Returns true if extension <code>AL_EXT_STATIC_BUFFER</code> is available on the current context. */
+    public static boolean isStaticDataAvailable() {
+        return AudioSystem3D.al.alIsExtensionPresent(ALHelpers.AL_EXT_STATIC_BUFFER);
     }
 
+    /**
+     * Enables uploading direct {@link ByteBuffer} data via <code>alBufferDataStatic</code> on the next {@link #configure(ByteBuffer, int, int, int) configure},
+     * if extension <code>AL_EXT_STATIC_BUFFER</code> is {@link #isStaticDataAvailable() available}.
+     * <p>
+     * OpenAL then reads the samples directly from the given buffer without copying them.
+     * The buffer is retained until this instance is re-configured or {@link #delete() deleted}
+     * and must not be modified meanwhile. Non direct data or a missing extension falls back to a copy.
+     * </p>
+     * <p>
+     * Default is false.
+     * </p>
+     */
+    public void setStaticData(final boolean v) { staticData = v; }
+
+    /** Returns whether {@link #setStaticData(boolean) static data} is enabled. */
+    public boolean getStaticData() { return staticData; }
+
+    /** Returns true if the current data is referenced by OpenAL via <code>alBufferDataStatic</code>. */
+    public boolean isStaticData() { return staticDataRefs.containsKey(this); }
+
+    /**
+     * Enables retaining data copied by OpenAL on the next {@link #configure(ByteBuffer, int, int, int) configure}, accessible via {@link #getData()}.
+     * <p>
+     * If disabled, data copied by OpenAL is dropped after upload and {@link #getData()} returns null,
+     * avoiding to hold the samples in memory twice. {@link #isStaticData() Static data} is always retained.
+     * </p>
+     * <p>
+     * Default is true.
+     * </p>
+     */
+    public void setRetainData(final boolean v) { retainData = v; }
+
+    /** Returns whether {@link #setRetainData(boolean) retain data} is enabled. */
+    public boolean getRetainData() { return retainData; }
+
     /**
      * Configure the Sound3D buffer
      *
@@ -89,8 +237,90 @@ public final class Buffer {
      * @param freq the frequency of the data
      */
     public void configure(final ByteBuffer data, final int alFormat, final int freq) {
-        this.data = data;
-        AudioSystem3D.al.alBufferData(alBufferID, alFormat, data, data.capacity(), freq);
+        configure(data, alFormat, freq, 0);
+    }
+
+    /**
+     * Configure the Sound3D buffer with block compressed data, e.g. ADPCM.
+     * <p>
+     * A non zero {@code blockAlignment} is passed as <code>AL_UNPACK_BLOCK_ALIGNMENT_SOFT</code>
+     * before uploading the data, requiring extension <code>AL_SOFT_block_alignment</code>.
+     * </p>
+     * <p>
+     * {@link WAVData#isCompanded(int) G.711 &mu;-law or A-law} data is uploaded as is if the
+     * {@link WAVData#getCompandedExtension(int) required extension} is available,
+     * otherwise it is {@link WAVData#decodeCompanded() decoded} to 16-bit PCM.
+     * </p>
+     *
+     * @param data the raw audio data
+     * @param alFormat the OpenAL format of the data, e.g. <code>AL_FORMAT_MONO_IMA4</code>
+     * @param freq the frequency of the data
+     * @param blockAlignment sample frames per block or zero for the default, see {@link WAVData#blockAlignment}
+     * @throws ALException if a non zero {@code blockAlignment} is given without extension <code>AL_SOFT_block_alignment</code>,
+     *                     or if the {@link WAVData#getADPCMExtension(int) extension} required for ADPCM data is not available
+     */
+    public void configure(final ByteBuffer data, final int alFormat, final int freq, final int blockAlignment) throws ALException {
+        final String adpcmExt = WAVData.getADPCMExtension(alFormat);
+        if( null != adpcmExt && !AudioSystem3D.al.alIsExtensionPresent(adpcmExt) ) {
+            throw new ALException("Extension "+adpcmExt+" not available for ADPCM format 0x"+Integer.toHexString(alFormat));
+        }
+        if( blockAlignment != unpackBlockAlignment ) {
+            if( !AudioSystem3D.al.alIsExtensionPresent(ALHelpers.AL_SOFT_block_alignment) ) {
+                throw new ALException("Extension "+ALHelpers.AL_SOFT_block_alignment+" not available for block alignment "+blockAlignment);
+            }
+            AudioSystem3D.al.alBufferi(alBufferID, ALExtConstants.AL_UNPACK_BLOCK_ALIGNMENT_SOFT, blockAlignment);
+            unpackBlockAlignment = blockAlignment;
+        }
+        final String compandedExt = WAVData.getCompandedExtension(alFormat);
+        if( null != compandedExt && !AudioSystem3D.al.alIsExtensionPresent(compandedExt) ) {
+            final WAVData pcm = new WAVData(data, alFormat, data.capacity(), freq, false).decodeCompanded();
+            upload(pcm.data, pcm.format, pcm.size, freq);
+        } else {
+            upload(data, alFormat, data.capacity(), freq);
+        }
+    }
+
+    private void upload(final ByteBuffer data, final int alFormat, final int size, final int freq) throws ALException {
+        shadowValid = 0;
+        // On failure, e.g. if in use by a source, OpenAL keeps referencing previous static data,
+        // hence errors are checked to only release it after a successful upload.
+        final boolean wasStatic = isStaticData();
+        if( staticData && data.isDirect() && isStaticDataAvailable() ) {
+            AudioSystem3D.getALError(); // clear
+            AudioSystem3D.alExt.alBufferDataStatic(alBufferID, alFormat, data, size, freq);
+            AudioSystem3D.checkALError("alBufferDataStatic of "+this, false, true);
+            staticDataRefs.put(this, data);
+            this.data = data;
+        } else {
+            if( wasStatic ) {
+                AudioSystem3D.getALError(); // clear
+            }
+            AudioSystem3D.al.alBufferData(alBufferID, alFormat, data, size, freq);
+            if( wasStatic ) {
+                AudioSystem3D.checkALError("alBufferData of "+this, false, true);
+                staticDataRefs.remove(this);
+            }
+            this.data = retainData ? data : null;
+        }
+        dataSize = size;
+        dataFormat = alFormat;
+    }
+
+    /**
+     * Configure the Sound3D buffer with the given {@link WAVData}.
+     * <p>
+     * PCM data without a matching OpenAL buffer format on the current context, e.g. 24 or 32-bit integer
+     * or float samples without extension <code>AL_EXT_FLOAT32</code>, is converted to a supported format
+     * via {@link WAVData#toSupportedFormat(com.jogamp.openal.AL, com.jogamp.openal.ALExt)} first,
+     * all other data is uploaded as is via {@link #configure(ByteBuffer, int, int, int)}.
+     * </p>
+     *
+     * @param wd the audio data
+     * @throws ALException if the data can't be converted to a supported format
+     */
+    public void configure(final WAVData wd) throws ALException {
+        final WAVData s = wd.toSupportedFormat(AudioSystem3D.al, AudioSystem3D.alExt);
+        configure(s.data, s.format, s.freq, s.blockAlignment);
     }
 
     /**
@@ -99,10 +329,7 @@ public final class Buffer {
      * @return the bit-depth of the data
      */
     public int getBitDepth() {
-        final int[] i = new int[1];
-        AudioSystem3D.al.alGetBufferi(alBufferID, ALConstants.AL_BITS, i, 0);
-
-        return i[0];
+        return getBufferi(ALConstants.AL_BITS, SH_BITS);
     }
 
     /**
@@ -111,31 +338,51 @@ public final class Buffer {
      * @return the number of audio channels.
      */
     public int getNumChannels() {
-        final int[] i = new int[1];
-        AudioSystem3D.al.alGetBufferi(alBufferID, ALConstants.AL_CHANNELS, i, 0);
+        return getBufferi(ALConstants.AL_CHANNELS, SH_CHANNELS);
+    }
+
+    /**
+     * Invalidates all {@link Context#setShadowState(boolean) shadow state} of this buffer,
+     * required if its data has been specified bypassing this instance, e.g. via {@link AL#alBufferData(int, int, java.nio.Buffer, int, int)} directly.
+     */
+    public void invalidateShadowState() {
+        shadowValid = 0;
+    }
 
+    private int getBufferi(final int param, final int slot) {
+        final Context ctx = Context.getCurrentContext();
+        final boolean shadow = null != ctx && ctx.isShadowState();
+        if( shadow && 0 != ( shadowValid & ( 1 << slot ) ) ) {
+            return shadowI[slot];
+        }
+        final int[] i = tmpI.get();
+        AudioSystem3D.al.alGetBufferi(alBufferID, param, i, 0);
+        if( shadow ) {
+            shadowI[slot] = i[0];
+            shadowValid |= 1 << slot;
+        }
         return i[0];
     }
 
     /**
      * Gets the raw data contained in this buffer.
      *
-     * @return the raw buffer data.
+     * @return the raw buffer data, null if not {@link #setRetainData(boolean) retained}.
      */
     public ByteBuffer getData() {
         return data;
     }
 
+    /** Returns the byte size of the last uploaded data, independent of {@link #setRetainData(boolean) retaining} it. */
+    int getDataSize() { return dataSize; }
+
     /**
      * Gets the audio frequency of the data contained in this buffer.
      *
      * @return the frequency of the data
      */
     public int getFrequency() {
-        final int[] i = new int[1];
-        AudioSystem3D.al.alGetBufferi(alBufferID, ALConstants.AL_FREQUENCY, i, 0);
-
-        return i[0];
+        return getBufferi(ALConstants.AL_FREQUENCY, SH_FREQUENCY);
     }
 
     /**
@@ -144,10 +391,61 @@ public final class Buffer {
      * @return the size of the data.
      */
     public int getSize() {
-        final int[] i = new int[1];
-        AudioSystem3D.al.alGetBufferi(alBufferID, ALConstants.AL_SIZE, i, 0);
+        return getBufferi(ALConstants.AL_SIZE, SH_SIZE);
+    }
 
-        return i[0];
+    /**
+     * Gets the duration in seconds of the data contained in this buffer,
+     * computed from its {@link #getSize() size}, {@link #getNumChannels() channels},
+     * {@link #getBitDepth() bit depth} and {@link #getFrequency() frequency}.
+     * <p>
+     * For {@link WAVData#getADPCMExtension(int) ADPCM} data the sample length is queried via
+     * <code>AL_SAMPLE_LENGTH_SOFT</code> if extension <code>AL_SOFT_buffer_length_query</code> is available,
+     * otherwise computed from the number of blocks using the block alignment of the last {@link #configure(ByteBuffer, int, int, int) configure}.
+     * </p>
+     *
+     * @return the duration of the data in seconds, zero if unknown
+     */
+    public float getDuration() {
+        final int freq = getFrequency();
+        if( 0 >= freq ) {
+            return 0f;
+        }
+        if( null != WAVData.getADPCMExtension(dataFormat) ) {
+            return (float)getADPCMSampleLength() / freq;
+        }
+        final int frameSize = getNumChannels() * getBitDepth() / 8;
+        if( 0 >= frameSize ) {
+            return 0f;
+        }
+        return (float)( getSize() / frameSize ) / freq;
+    }
+
+    /** Returns the number of sample frames of the uploaded ADPCM data, see {@link #getDuration()}. */
+    private int getADPCMSampleLength() {
+        if( AudioSystem3D.al.alIsExtensionPresent(ALHelpers.AL_SOFT_buffer_length_query) ) {
+            final int[] i = tmpI.get();
+            AudioSystem3D.al.alGetBufferi(alBufferID, ALExtConstants.AL_SAMPLE_LENGTH_SOFT, i, 0);
+            return i[0];
+        }
+        final int channels;
+        final int blockAlign, blockSize;
+        switch( dataFormat ) {
+            case ALExtConstants.AL_FORMAT_MONO_IMA4:
+            case ALExtConstants.AL_FORMAT_STEREO_IMA4:
+                // 4 byte header per channel holding the first sample, 2 samples per byte
+                channels = ALExtConstants.AL_FORMAT_MONO_IMA4 == dataFormat ? 1 : 2;
+                blockAlign = 0 < unpackBlockAlignment ? unpackBlockAlignment : 65;
+                blockSize = ( ( blockAlign - 1 ) / 2 + 4 ) * channels;
+                break;
+            default:
+                // 7 byte header per channel holding the first two samples, 2 samples per byte
+                channels = ALExtConstants.AL_FORMAT_MONO_MSADPCM_SOFT == dataFormat ? 1 : 2;
+                blockAlign = 0 < unpackBlockAlignment ? unpackBlockAlignment : 64;
+                blockSize = ( ( blockAlign - 2 ) / 2 + 7 ) * channels;
+                break;
+        }
+        return ( dataSize / blockSize ) * blockAlign;
     }
 
     @Override
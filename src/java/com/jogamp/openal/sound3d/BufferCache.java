@@ -0,0 +1,411 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.sound3d;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.UnsupportedAudioFileException;
+import com.jogamp.openal.util.WAVData;
+import com.jogamp.openal.util.WAVLoader;
+
+/**
+ * Reference counted cache of loaded {@link Buffer}s within a byte budget,
+ * sharing one OpenAL buffer for all users of the same audio resource.
+ * <p>
+ * Buffers are keyed by their canonical file path, a caller given resource key
+ * or the SHA-256 digest of the stream content.
+ * Each {@code get(..)} returns the buffer with one acquired reference,
+ * which must be returned via {@link Buffer#release()}.
+ * A {@link Source} {@link Source#setBuffer(Buffer) holding} a cached buffer owns one additional reference,
+ * released when the source's buffer is replaced or the source is {@link Source#delete() deleted}.
+ * </p>
+ * <p>
+ * Unreferenced buffers stay cached and are evicted in least recently used order
+ * as soon as the total {@link #getByteSize() size} exceeds the {@link #setByteBudget(long) byte budget}.
+ * Referenced buffers are never evicted, hence the budget may be exceeded temporarily.
+ * </p>
+ * <p>
+ * A {@link Context} of the buffers' device must be current while loading, releasing and evicting buffers.
+ * </p>
+ * @see AudioSystem3D#loadSource(String, BufferCache)
+ */
+public final class BufferCache {
+    /** Cache entry of one {@link Buffer}, also referenced by the buffer. */
+    static final class Entry {
+        final BufferCache owner;
+        final Object key;
+        final Buffer buffer;
+        final long bytes;
+        int refCount;
+
+        Entry(final BufferCache owner, final Object key, final Buffer buffer, final long bytes) {
+            this.owner = owner;
+            this.key = key;
+            this.buffer = buffer;
+            this.bytes = bytes;
+            this.refCount = 0;
+        }
+    }
+
+    /** Content digest key */
+    private static final class DigestKey {
+        final byte[] digest;
+        final int hash;
+
+        DigestKey(final byte[] digest) {
+            this.digest = digest;
+            this.hash = Arrays.hashCode(digest);
+        }
+        @Override
+        public int hashCode() { return hash; }
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof DigestKey && Arrays.equals(digest, ((DigestKey)o).digest);
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Entries in least recently used order. */
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true);
+    private long byteBudget;
+    private long byteSize = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+    private volatile boolean staticData = false;
+    private volatile boolean retainData = true;
+
+    /**
+     * Creates a cache with the given byte budget.
+     * @param byteBudget maximum size in bytes of all cached buffers, before unreferenced buffers get evicted
+     */
+    public BufferCache(final long byteBudget) {
+        this.byteBudget = byteBudget;
+    }
+
+    /**
+     * Returns the buffer for the given audio file, loading it on a cache miss.
+     * @param filename the name of the file, keyed by its canonical path
+     * @return the buffer with one acquired reference, to be {@link Buffer#release() released}
+     * @throws IOException If the file cannot be found or some other IO error occurs.
+     * @throws UnsupportedAudioFileException If the format of the audio data is not supported
+     */
+    public Buffer get(final String filename) throws IOException, UnsupportedAudioFileException {
+        final String key = new File(filename).getCanonicalPath();
+        final Buffer cached = acquire(key);
+        if( null != cached ) {
+            return cached;
+        }
+        return put(key, WAVLoader.loadFromFile(filename));
+    }
+
+    /**
+     * Returns the buffer for the given resource key, loading it from the stream on a cache miss.
+     * <p>
+     * The stream is not read on a cache hit.
+     * </p>
+     * @param key unique identity of the audio resource, e.g. a resource name or URI
+     * @param stream the audio stream
+     * @return the buffer with one acquired reference, to be {@link Buffer#release() released}
+     * @throws IOException If the stream cannot be read or some other IO error occurs.
+     * @throws UnsupportedAudioFileException If the format of the audio data is not supported
+     */
+    public Buffer get(final Object key, final InputStream stream) throws IOException, UnsupportedAudioFileException {
+        final Buffer cached = acquire(key);
+        if( null != cached ) {
+            return cached;
+        }
+        return put(key, WAVLoader.loadFromStream(stream instanceof BufferedInputStream ? stream : new BufferedInputStream(stream)));
+    }
+
+    /**
+     * Returns the buffer for the given stream keyed by its content, loading it on a cache miss.
+     * <p>
+     * The stream is always read completely to compute its SHA-256 digest.
+     * </p>
+     * @param stream the audio stream
+     * @return the buffer with one acquired reference, to be {@link Buffer#release() released}
+     * @throws IOException If the stream cannot be read or some other IO error occurs.
+     * @throws UnsupportedAudioFileException If the format of the audio data is not supported
+     */
+    public Buffer get(final InputStream stream) throws IOException, UnsupportedAudioFileException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        final MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new ALException("SHA-256 not available", e);
+        }
+        final byte[] chunk = new byte[16 * 1024];
+        int n;
+        while( 0 < ( n = stream.read(chunk) ) ) {
+            md.update(chunk, 0, n);
+            bytes.write(chunk, 0, n);
+        }
+        final DigestKey key = new DigestKey(md.digest());
+        final Buffer cached = acquire(key);
+        if( null != cached ) {
+            return cached;
+        }
+        return put(key, WAVLoader.loadFromStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    /** Returns the cached buffer with one more reference on a cache hit, otherwise null counting a miss. */
+    private Buffer acquire(final Object key) {
+        lock.lock();
+        try {
+            final Entry e = entries.get(key);
+            if( null != e ) {
+                ++e.refCount;
+                ++hitCount;
+                return e.buffer;
+            }
+            ++missCount;
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Creates and caches a new buffer for the given data, unless another thread has loaded the same key meanwhile. */
+    private Buffer put(final Object key, final WAVData wd) {
+        final Buffer buffer = AudioSystem3D.generateBuffers(1)[0];
+        buffer.setStaticData(staticData);
+        buffer.setRetainData(retainData);
+        buffer.configure(wd);
+        final long bytes = buffer.getDataSize();
+        lock.lock();
+        try {
+            final Entry e = entries.get(key);
+            if( null != e ) {
+                buffer.delete();
+                ++e.refCount;
+                return e.buffer;
+            }
+            final Entry n = new Entry(this, key, buffer, bytes);
+            n.refCount = 1;
+            buffer.cacheEntry = n;
+            entries.put(key, n);
+            byteSize += bytes;
+            evictLocked();
+            return buffer;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Adds one reference to the given entry's buffer. */
+    void retain(final Entry e) {
+        lock.lock();
+        try {
+            ++e.refCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Removes one reference of the given entry's buffer, evicting unreferenced buffers if over budget. */
+    void release(final Entry e) {
+        lock.lock();
+        try {
+            if( 0 < e.refCount && 0 == --e.refCount ) {
+                evictLocked();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of references of the given entry's buffer. */
+    int getRefCount(final Entry e) {
+        lock.lock();
+        try {
+            return e.refCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictLocked() {
+        final Iterator<Entry> it = entries.values().iterator();
+        while( byteSize > byteBudget && it.hasNext() ) {
+            final Entry e = it.next();
+            if( 0 == e.refCount && removeLocked(e) ) {
+                it.remove();
+                ++evictionCount;
+            }
+        }
+    }
+
+    /**
+     * Deletes the entry's buffer, to be removed from {@link #entries} by the caller on success.
+     * @return false if OpenAL failed to delete the buffer, e.g. if still attached to a source, keeping the entry cached
+     */
+    private boolean removeLocked(final Entry e) {
+        e.buffer.cacheEntry = null;
+        boolean deleted;
+        try {
+            deleted = e.buffer.delete();
+        } catch(final ALException ex) {
+            if( AudioSystem3D.DEBUG ) {
+                System.err.println("BufferCache: "+ex.getMessage());
+            }
+            deleted = false;
+        }
+        if( !deleted ) {
+            e.buffer.cacheEntry = e;
+            return false;
+        }
+        byteSize -= e.bytes;
+        return true;
+    }
+
+    /**
+     * Sets the byte budget, evicting unreferenced buffers if exceeded.
+     * @param byteBudget maximum size in bytes of all cached buffers, before unreferenced buffers get evicted
+     */
+    public void setByteBudget(final long byteBudget) {
+        lock.lock();
+        try {
+            this.byteBudget = byteBudget;
+            evictLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the byte budget, see {@link #setByteBudget(long)}. */
+    public long getByteBudget() { return byteBudget; }
+
+    /**
+     * Sets {@link Buffer#setStaticData(boolean)} for buffers loaded from now on, default is false.
+     * <p>
+     * Combined with {@link #setRetainData(boolean) retainData} disabled, each cached clip is held only once in memory,
+     * either by OpenAL if <code>AL_EXT_STATIC_BUFFER</code> is not available or by its Java buffer otherwise.
+     * </p>
+     */
+    public void setStaticData(final boolean v) { staticData = v; }
+
+    /** Returns whether {@link #setStaticData(boolean) static data} is enabled. */
+    public boolean getStaticData() { return staticData; }
+
+    /** Sets {@link Buffer#setRetainData(boolean)} for buffers loaded from now on, default is true. */
+    public void setRetainData(final boolean v) { retainData = v; }
+
+    /** Returns whether {@link #setRetainData(boolean) retain data} is enabled. */
+    public boolean getRetainData() { return retainData; }
+
+    /** Returns the total size in bytes of all cached buffers. */
+    public long getByteSize() {
+        lock.lock();
+        try {
+            return byteSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of cached buffers. */
+    public int getBufferCount() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of cache hits. */
+    public long getHitCount() { return hitCount; }
+
+    /** Returns the number of cache misses, i.e. loaded buffers. */
+    public long getMissCount() { return missCount; }
+
+    /** Returns the number of evicted buffers. */
+    public long getEvictionCount() { return evictionCount; }
+
+    /**
+     * Removes and deletes all unreferenced buffers, regardless of the byte budget.
+     * @return the number of removed buffers
+     */
+    public int trim() {
+        lock.lock();
+        try {
+            int count = 0;
+            final Iterator<Entry> it = entries.values().iterator();
+            while( it.hasNext() ) {
+                final Entry e = it.next();
+                if( 0 == e.refCount && removeLocked(e) ) {
+                    it.remove();
+                    ++count;
+                }
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and deletes all buffers including referenced ones, which become invalid.
+     * <p>
+     * Buffers OpenAL fails to delete, i.e. still attached to a source, stay cached.
+     * </p>
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            final Iterator<Entry> it = entries.values().iterator();
+            while( it.hasNext() ) {
+                if( removeLocked(it.next()) ) {
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BufferCache[buffers "+getBufferCount()+", bytes "+getByteSize()+"/"+byteBudget+
+               ", hits "+hitCount+", misses "+missCount+", evictions "+evictionCount+"]";
+    }
+}
@@ -34,6 +34,10 @@
 
 package com.jogamp.openal.sound3d;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.jogamp.common.util.PropertyAccess;
 import com.jogamp.common.util.locks.Lock;
 import com.jogamp.common.util.locks.LockFactory;
 import com.jogamp.common.util.locks.RecursiveLock;
@@ -43,15 +47,52 @@ import com.jogamp.openal.util.ALHelpers;
 
 /**
  * This class provides a Sound3D Context associated with a specified device.
+ * <p>
+ * A context created {@link #isVirtualThreadSafe() virtual thread safe}
+ * uses a global {@link ReentrantLock} shared by all such contexts instead of a per context {@link RecursiveLock}
+ * and always binds natively via the process wide <code>alcMakeContextCurrent</code>,
+ * never via the OS thread bound <code>alcSetThreadContext</code>.
+ * Hence a virtual thread holding the context may be unmounted and continue on another carrier thread
+ * and waiting for the context parks instead of pinning the carrier thread.
+ * The global lock serializes all virtual thread safe contexts, matching the single process wide current context.
+ * </p>
+ * <p>
+ * The default mode for newly created contexts can be set via {@link #setDefaultVirtualThreadSafe(boolean)}
+ * or the property <code>joal.Context.virtualThreads</code>.
+ * </p>
  *
  * @author Athomas Goldberg, Sven Gothel, et al.
  */
 public final class Context {
-    private final RecursiveLock lock = LockFactory.createRecursiveLock();
+    /** Global lock of all {@link #isVirtualThreadSafe() virtual thread safe} contexts. */
+    private static final ReentrantLock vtLock = new ReentrantLock();
+    private static volatile boolean defaultVirtualThreadSafe = PropertyAccess.isPropertyDefined("joal.Context.virtualThreads", true);
+    private static volatile boolean defaultShadowState = PropertyAccess.isPropertyDefined("joal.Context.shadowState", true);
+
+    /** Per context lock if not {@link #isVirtualThreadSafe() virtual thread safe}, otherwise null. */
+    private final RecursiveLock lock;
+    private final boolean virtualThreadSafe;
     private final Device device;
     private volatile ALCcontext alCtx;
     private boolean threadContextLocked;
+    /** Thread this context is bound to via {@link #bindOwnerThread(boolean)}, otherwise null. */
+    private volatile Thread ownerThread;
     public final boolean hasALC_thread_local_context;
+    /** True if <code>AL_SOFT_deferred_updates</code> is available, see {@link #deferUpdates()}. */
+    public final boolean hasAL_SOFT_deferred_updates;
+    /** Nesting level of {@link #deferUpdates()}, only modified while current. */
+    private int deferUpdatesCount = 0;
+    private final UpdateBatch updateBatch = new UpdateBatch();
+    /** True if {@link #setShadowState(boolean) shadow state} is enabled. */
+    private volatile boolean shadowState;
+    /** Incremented by {@link #invalidateShadowState()}, only modified while current. */
+    private int shadowEpoch = 0;
+    /** {@link Listener} shadow state slots in {@link #listenerShadow} and bits in {@link #listenerShadowValid}. */
+    static final int LSH_GAIN = 0, LSH_POSITION = 1, LSH_VELOCITY = 2, LSH_ORIENTATION = 3;
+    /** {@link Listener} shadow state of this context: gain, position, velocity and orientation. */
+    final float[] listenerShadow = new float[1 + 3 + 3 + 6];
+    /** Bitmask of valid {@link #listenerShadow} values. */
+    int listenerShadowValid = 0;
     private static final ThreadLocal<Context> currentContext = new ThreadLocal<Context>();
 
     /**
@@ -59,20 +100,38 @@ public final class Context {
      *
      * @param realContext {@link ALCcontext} instance, maybe null
      * @param device The device the Context belongs to, must be valid
+     * @see #getDefaultVirtualThreadSafe()
      */
     public Context(final ALCcontext realContext, final Device device) {
+        this(realContext, device, defaultVirtualThreadSafe);
+    }
+
+    /**
+     * Creates a new Context for a given {@link ALCcontext} for the specified device.
+     *
+     * @param realContext {@link ALCcontext} instance, maybe null
+     * @param device The device the Context belongs to, must be valid
+     * @param virtualThreadSafe pass true to create a {@link #isVirtualThreadSafe() virtual thread safe} context
+     */
+    public Context(final ALCcontext realContext, final Device device, final boolean virtualThreadSafe) {
+        this.virtualThreadSafe = virtualThreadSafe;
+        this.lock = virtualThreadSafe ? null : LockFactory.createRecursiveLock();
         this.device = device;
         this.alCtx = realContext;
+        this.shadowState = defaultShadowState;
         {
-            final boolean v;
+            final boolean v, d;
             if( makeCurrent(false) ) {
                 v = AudioSystem3D.alc.alcIsExtensionPresent(null, ALHelpers.ALC_EXT_thread_local_context) ||
                     AudioSystem3D.alc.alcIsExtensionPresent(device.getALDevice(), ALHelpers.ALC_EXT_thread_local_context);
+                d = AudioSystem3D.al.alIsExtensionPresent(ALHelpers.AL_SOFT_deferred_updates);
                 release(false);
             } else {
                 v = false;
+                d = false;
             }
             hasALC_thread_local_context = v;
+            hasAL_SOFT_deferred_updates = d;
         }
     }
 
@@ -81,9 +140,126 @@ public final class Context {
      *
      * @param device The device the Context is being created for, must be valid.
      * @param attributes list of {@link ALCcontext} attributes for context creation, maybe empty or null
+     * @see #getDefaultVirtualThreadSafe()
      */
     public Context(final Device device, final int[] attributes) {
-        this( createImpl(device.getALDevice(), attributes), device);
+        this( createImpl(device.getALDevice(), attributes), device, defaultVirtualThreadSafe);
+    }
+
+    /**
+     * Creates a new Context for a specified device including native {@link ALCcontext} creation.
+     *
+     * @param device The device the Context is being created for, must be valid.
+     * @param attributes list of {@link ALCcontext} attributes for context creation, maybe empty or null
+     * @param virtualThreadSafe pass true to create a {@link #isVirtualThreadSafe() virtual thread safe} context
+     */
+    public Context(final Device device, final int[] attributes, final boolean virtualThreadSafe) {
+        this( createImpl(device.getALDevice(), attributes), device, virtualThreadSafe);
+    }
+
+    /**
+     * Sets the default {@link #isVirtualThreadSafe() virtual thread safe} mode
+     * of contexts created w/o explicit mode, e.g. by {@link com.jogamp.openal.util.ALAudioSink}.
+     * <p>
+     * Initial value is false, unless property <code>joal.Context.virtualThreads</code> is set.
+     * </p>
+     */
+    public static void setDefaultVirtualThreadSafe(final boolean v) { defaultVirtualThreadSafe = v; }
+
+    /** Returns the default {@link #isVirtualThreadSafe() virtual thread safe} mode, see {@link #setDefaultVirtualThreadSafe(boolean)}. */
+    public static boolean getDefaultVirtualThreadSafe() { return defaultVirtualThreadSafe; }
+
+    /**
+     * Returns true if this context is virtual thread safe, i.e. using the global {@link ReentrantLock}
+     * and process wide <code>alcMakeContextCurrent</code>, see {@link Context class description}.
+     */
+    public boolean isVirtualThreadSafe() { return virtualThreadSafe; }
+
+    /**
+     * Sets the default {@link #setShadowState(boolean) shadow state} mode of newly created contexts.
+     * <p>
+     * Initial value is false, unless property <code>joal.Context.shadowState</code> is set.
+     * </p>
+     */
+    public static void setDefaultShadowState(final boolean v) { defaultShadowState = v; }
+
+    /** Returns the default {@link #setShadowState(boolean) shadow state} mode, see {@link #setDefaultShadowState(boolean)}. */
+    public static boolean getDefaultShadowState() { return defaultShadowState; }
+
+    /**
+     * Enables or disables the write-through shadow state of {@link Source}, {@link Listener} and {@link Buffer}
+     * objects used while this context is current.
+     * <p>
+     * If enabled, getter of application controlled properties, e.g. {@link Source#getGain()} or {@link Listener#getPosition()},
+     * are served from Java fields written by the respective setter or a previous getter,
+     * skipping the native round trip. Truly dynamic state, e.g. {@link Source#getState()},
+     * {@link Source#getSecOffset()} or {@link Source#getBuffersProcessed()}, always queries OpenAL.
+     * </p>
+     * <p>
+     * All property changes must pass through the sound3d objects while enabled,
+     * otherwise {@link #invalidateShadowState()} or {@link Source#invalidateShadowState()} must be called.
+     * Setters only write through values within their OpenAL domain, checked in Java,
+     * otherwise the shadow value is invalidated, e.g. for a rejected negative gain.
+     * No additional <code>alGetError</code> is issued, hence pending errors are left to the caller.
+     * </p>
+     * <p>
+     * Enabling {@link #invalidateShadowState() invalidates} all previous shadow state,
+     * hence the context must be current or not used by any other thread.
+     * </p>
+     * @see #setDefaultShadowState(boolean)
+     */
+    public void setShadowState(final boolean enable) {
+        if( enable && !shadowState ) {
+            invalidateShadowState();
+        }
+        shadowState = enable;
+    }
+
+    /** Returns true if {@link #setShadowState(boolean) shadow state} is enabled. */
+    public boolean isShadowState() { return shadowState; }
+
+    /**
+     * Invalidates the {@link #setShadowState(boolean) shadow state} of all {@link Source}s and the {@link Listener}
+     * used with this context, forcing the next getter to query OpenAL.
+     * <p>
+     * {@link Buffer} shadow state is invalidated by {@link Buffer#configure(java.nio.ByteBuffer, int, int)}
+     * or {@link Buffer#invalidateShadowState()}, as buffers are shared across contexts.
+     * </p>
+     */
+    public void invalidateShadowState() {
+        ++shadowEpoch;
+        listenerShadowValid = 0;
+    }
+
+    /** Returns the current shadow state epoch, incremented by {@link #invalidateShadowState()}. */
+    int getShadowEpoch() { return shadowEpoch; }
+
+    private void lockImpl() {
+        if( virtualThreadSafe ) {
+            vtLock.lock();
+        } else {
+            lock.lock();
+        }
+    }
+    private boolean tryLockImpl(final long timeoutMS) throws InterruptedException {
+        if( virtualThreadSafe ) {
+            return vtLock.tryLock(timeoutMS, TimeUnit.MILLISECONDS);
+        } else {
+            return lock.tryLock(timeoutMS);
+        }
+    }
+    private void unlockImpl() {
+        if( virtualThreadSafe ) {
+            vtLock.unlock();
+        } else {
+            lock.unlock();
+        }
+    }
+    private boolean isLockOwner() {
+        return virtualThreadSafe ? vtLock.isHeldByCurrentThread() : lock.isOwner( Thread.currentThread() );
+    }
+    private int getHoldCountImpl() {
+        return virtualThreadSafe ? vtLock.getHoldCount() : lock.getHoldCount();
     }
 
     /**
@@ -114,7 +290,7 @@ public final class Context {
      * @return true if the internal context has been successfully created, otherwise false
      */
     public boolean create(final int[] attributes) {
-        lock.lock();
+        lockImpl();
         try {
             if( null == alCtx ) {
                 alCtx = createImpl(device.getALDevice(), attributes);
@@ -122,7 +298,7 @@ public final class Context {
             }
             return false;
         } finally {
-            lock.unlock();
+            unlockImpl();
         }
     }
 
@@ -130,15 +306,18 @@ public final class Context {
      * Recreates the internal {@link ALCcontext} instance, i.e. destroys it first if {@link #getALContext()} not null.
      * <p>
      * Context is made current again if it was current before.
+     * Pending {@link #deferUpdates() deferred updates} are discarded with the destroyed context.
      * </p>
      * @param attributes lost of {@link ALCcontext} attributes for context creation
      * @return true if the internal context has been successfully recreated and made current again if was current before, otherwise false
      */
     public boolean recreate(final int[] attributes) {
-        lock.lock();
+        lockImpl();
         try {
             final boolean wasCurrent = this == getCurrentContext();
-            destroyImpl();
+            destroyImpl(wasCurrent);
+            // deferral was a state of the destroyed native context
+            deferUpdatesCount = 0;
             alCtx = createImpl(device.getALDevice(), attributes);
             if( null != alCtx ) {
                 if( wasCurrent ) {
@@ -150,7 +329,7 @@ public final class Context {
                 return false;
             }
         } finally {
-            lock.unlock();
+            unlockImpl();
         }
     }
 
@@ -169,23 +348,37 @@ public final class Context {
      * destroys this context freeing its resources.
      */
     public void destroy() {
-        lock.lock();
+        lockImpl();
         try {
-            destroyImpl();
-            if( currentContext.get() == this ) {
+            final boolean wasCurrent = currentContext.get() == this;
+            destroyImpl(wasCurrent);
+            ownerThread = null;
+            deferUpdatesCount = 0;
+            if( wasCurrent ) {
                 currentContext.set(null);
             }
-            // unroll lock !
-            while(lock.getHoldCount() > 1) {
-                lock.unlock();
+            // unroll lock, the global virtual thread safe lock only if held for this context!
+            if( !virtualThreadSafe || wasCurrent ) {
+                while(getHoldCountImpl() > 1) {
+                    unlockImpl();
+                }
             }
         } finally {
-            lock.unlock();
+            unlockImpl();
         }
     }
-    private void destroyImpl() {
+    /**
+     * @param isCurrent true if this context is current on this thread,
+     *        used to only unbind a current context if {@link #isVirtualThreadSafe() virtual thread safe}
+     *        to not unbind another context current on this thread via the global lock.
+     */
+    private void destroyImpl(final boolean isCurrent) {
         if( null != alCtx ) {
-            if( threadContextLocked ) {
+            if( virtualThreadSafe ) {
+                if( isCurrent ) {
+                    AudioSystem3D.alc.alcMakeContextCurrent(null);
+                }
+            } else if( threadContextLocked ) {
                 AudioSystem3D.alExt.alcSetThreadContext(null);
             } else {
                 AudioSystem3D.alc.alcMakeContextCurrent(null);
@@ -207,9 +400,93 @@ public final class Context {
         return currentContext.get();
     }
 
-    /** Return the lock count of this context, i.e. 0 if not locked, 1 if locked once, >1 for recursive locks. */
+    /**
+     * Return the lock count of this context, i.e. 0 if not locked, 1 if locked once, >1 for recursive locks.
+     * <p>
+     * If {@link #isVirtualThreadSafe() virtual thread safe}, returns the current thread's hold count of the global lock.
+     * </p>
+     */
     public int getLockCount() {
-        return lock.getHoldCount();
+        return getHoldCountImpl();
+    }
+
+    /**
+     * Binds this context to the calling thread for its lifetime or until {@link #unbindOwnerThread(boolean)},
+     * i.e. makes it current once and keeps it current.
+     * <p>
+     * While bound, {@link #makeCurrent(boolean)} and {@link #release(boolean)} on the owner thread
+     * are reduced to a cheap ownership check, skipping the lock and the native
+     * <code>alcSetThreadContext</code> or <code>alcMakeContextCurrent</code> call.
+     * Other threads cannot make this context current until it is unbound.
+     * </p>
+     * <p>
+     * Intended for a streaming thread being the sole user of this context, e.g. a decoder thread feeding its audio sink.
+     * {@link #destroy()} shall be called on the owner thread or after {@link #unbindOwnerThread(boolean)}.
+     * </p>
+     * <p>
+     * Binding is refused if this context is not {@link #isOwnerThreadBindable() bindable}.
+     * </p>
+     * @param throwException if true, throws ALException if this context is not {@link #isOwnerThreadBindable() bindable},
+     *                       couldn't be made current or is bound to another thread
+     * @return true if this context is bound to the current thread, otherwise false
+     * @see #unbindOwnerThread(boolean)
+     * @see #isOwnerThread()
+     */
+    public boolean bindOwnerThread(final boolean throwException) throws ALException {
+        final Thread t = Thread.currentThread();
+        if( ownerThread == t ) {
+            return true;
+        }
+        if( !isOwnerThreadBindable() ) {
+            if( throwException ) {
+                throw new ALException("Context not bindable to owner thread, requires "+ALHelpers.ALC_EXT_thread_local_context+" and no virtual thread safety, "+this);
+            }
+            return false;
+        }
+        if( !makeCurrent(throwException) ) {
+            return false;
+        }
+        ownerThread = t;
+        return true;
+    }
+
+    /**
+     * Unbinds this context from the calling owner thread, see {@link #bindOwnerThread(boolean)},
+     * releasing it if not made current otherwise.
+     * @param throwException if true, throws ALException if current thread is not the owner thread or native release failed
+     * @return true if this context has been bound to the current thread and successfully released, otherwise false
+     */
+    public boolean unbindOwnerThread(final boolean throwException) throws ALException {
+        if( ownerThread != Thread.currentThread() ) {
+            if( throwException ) {
+                throw new ALException("Context not bound to current thread "+Thread.currentThread()+", "+this);
+            }
+            return false;
+        }
+        ownerThread = null;
+        return release(throwException);
+    }
+
+    /**
+     * Returns true if this context can be {@link #bindOwnerThread(boolean) bound} to an owner thread,
+     * i.e. {@link ALHelpers#ALC_EXT_thread_local_context} is available and this context is not {@link #isVirtualThreadSafe() virtual thread safe}.
+     * <p>
+     * A virtual thread safe context would hold the global lock while bound, blocking all other virtual thread safe contexts,
+     * and without thread local contexts the process wide current context may be replaced by any other thread.
+     * </p>
+     */
+    public boolean isOwnerThreadBindable() {
+        return hasALC_thread_local_context && !virtualThreadSafe;
+    }
+
+    /** Returns true if this context is bound to the current thread, see {@link #bindOwnerThread(boolean)}. */
+    public boolean isOwnerThread() {
+        return ownerThread == Thread.currentThread();
+    }
+
+    /** Returns the thread this context is bound to, see {@link #bindOwnerThread(boolean)}, or null if not bound. */
+    public Thread getOwnerThread() {
+        return ownerThread;
     }
 
     public boolean tryMakeCurrent(final boolean throwException, final long timeoutMS) throws RuntimeException {
@@ -224,6 +501,9 @@ public final class Context {
      * At any point in time one context can only be current on one thread,
      * and one thread can only have one context current.
      * </p>
+     * <p>
+     * If this context is {@link #bindOwnerThread(boolean) bound} to the current thread, returns true immediately.
+     * </p>
      * @param throwException if true, throws ALException if {@link #getALContext()} is null, current thread holds another context or failed to natively make current
      * @return true if {@link #getALContext()} is valid, current thread holds no other context and context successfully made current, otherwise false
      * @see #release()
@@ -232,10 +512,13 @@ public final class Context {
         return makeCurrentImpl(true /* throwTryLockException */, throwException, Lock.TIMEOUT);
     }
     private boolean makeCurrentImpl(final boolean throwTryLockException, final boolean throwException, final long timeoutMS) throws RuntimeException {
+        if( ownerThread == Thread.currentThread() ) {
+            return true; // bound, lock held and natively current
+        }
         try {
-            if( lock.tryLock(timeoutMS) ) {
+            if( tryLockImpl(timeoutMS) ) {
                 if( null == alCtx ) {
-                    lock.unlock();
+                    unlockImpl();
                     if( throwException ) {
                         throw new ALException("Invalid "+this);
                     }
@@ -249,7 +532,7 @@ public final class Context {
                     if (current == this) { // implicit recursive locking, lock.getHoldCount() > 1
                         return true;
                     } else {
-                        lock.unlock();
+                        unlockImpl();
                         if( throwException ) {
                             throw new ALException("Current thread "+Thread.currentThread()+" holds another "+current+" while claiming this "+this);
                         }
@@ -260,7 +543,7 @@ public final class Context {
                 if( r ) {
                     currentContext.set(this);
                 } else {
-                    lock.unlock();
+                    unlockImpl();
                     if( throwException ) {
                         throw new ALException("Context make current failed "+this);
                     }
@@ -268,7 +551,7 @@ public final class Context {
                 return r;
             } else {
                 if( throwTryLockException ) {
-                    throw new RuntimeException("Waited "+timeoutMS+"ms for: "+lock.toString()+" - "+Thread.currentThread().getName());
+                    throw new RuntimeException("Waited "+timeoutMS+"ms for: "+(virtualThreadSafe ? vtLock : lock).toString()+" - "+Thread.currentThread().getName());
                 }
                 return false;
             }
@@ -277,7 +560,7 @@ public final class Context {
         }
     }
     private boolean makeCurrentImpl() {
-        if( hasALC_thread_local_context ) {
+        if( hasALC_thread_local_context && !virtualThreadSafe ) {
             threadContextLocked = true;
             return AudioSystem3D.alExt.alcSetThreadContext(alCtx);
         } else {
@@ -294,19 +577,26 @@ public final class Context {
      * <p>
      * If native release fails, internal lock is not released.
      * </p>
+     * <p>
+     * If this context is {@link #bindOwnerThread(boolean) bound} to the current thread, returns true immediately
+     * and the context stays current.
+     * </p>
      * @param throwException if true, throws ALException if context has not been previously made current on current thread
      *                       or native release failed.
      * @return true if context has previously been made current on the current thread and successfully released, otherwise false
      * @see #makeCurrent()
      */
     public boolean release(final boolean throwException) throws ALException {
-        if( !lock.isOwner( Thread.currentThread() ) )  {
+        if( ownerThread == Thread.currentThread() ) {
+            return true; // bound, stays current
+        }
+        if( !isLockOwner() )  {
             if( throwException ) {
                 throw new ALException("Context not held on current thread "+Thread.currentThread()+", "+this);
             }
             return false;
         }
-        if( lock.getHoldCount() == 1 ) {
+        if( getHoldCountImpl() == 1 ) {
             final boolean r;
             if( threadContextLocked ) {
                 r = AudioSystem3D.alExt.alcSetThreadContext(null);
@@ -322,10 +612,98 @@ public final class Context {
                 return false; // skip unlock!
             }
         }
-        lock.unlock();
+        unlockImpl();
         return true;
     }
 
+    /**
+     * Defers the application of all subsequent source and listener property changes by the mixer
+     * until the matching {@link #processUpdates()}, using <code>alDeferUpdatesSOFT</code>.
+     * <p>
+     * Calls may be nested, only the outermost pair defers and commits natively.
+     * Committed changes are applied atomically within one mixer update,
+     * avoiding the mixer to pick up a partially updated scene.
+     * </p>
+     * <p>
+     * Context must be current on the calling thread.
+     * If <code>AL_SOFT_deferred_updates</code> is not available, changes are applied immediately.
+     * </p>
+     * @return true if native deferral is active, otherwise false
+     * @see #processUpdates()
+     * @see #beginUpdateBatch()
+     */
+    public boolean deferUpdates() {
+        if( 0 == deferUpdatesCount++ && hasAL_SOFT_deferred_updates ) {
+            AudioSystem3D.alExt.alDeferUpdatesSOFT();
+        }
+        return hasAL_SOFT_deferred_updates;
+    }
+
+    /**
+     * Commits all changes deferred since the outermost {@link #deferUpdates()} using <code>alProcessUpdatesSOFT</code>,
+     * if this call ends the outermost nesting level.
+     * <p>
+     * Context must be current on the calling thread.
+     * </p>
+     * @return true if the changes have been committed natively, i.e. the outermost level ended with native deferral, otherwise false
+     * @see #deferUpdates()
+     */
+    public boolean processUpdates() {
+        if( 0 >= deferUpdatesCount ) {
+            return false;
+        }
+        if( 0 == --deferUpdatesCount && hasAL_SOFT_deferred_updates ) {
+            AudioSystem3D.alExt.alProcessUpdatesSOFT();
+            return true;
+        }
+        return false;
+    }
+
+    /** Returns true if updates are currently {@link #deferUpdates() deferred}. */
+    public boolean isDeferringUpdates() {
+        return 0 < deferUpdatesCount;
+    }
+
+    /**
+     * Begins a frame scoped update batch, i.e. makes this context current and {@link #deferUpdates() defers updates}.
+     * <p>
+     * The returned instance is reused by this context and ends the batch via {@link UpdateBatch#close()},
+     * {@link #processUpdates() committing} all changes and releasing this context,
+     * allowing to use try-with-resources:
+     * <pre>
+     *   try( Context.UpdateBatch b = context.beginUpdateBatch() ) {
+     *       for(Source s : sources) { s.setPosition(..); s.setVelocity(..); }
+     *       listener.setPosition(..);
+     *   }
+     * </pre>
+     * Batches may be nested.
+     * </p>
+     * @throws ALException if this context couldn't be made current
+     */
+    public UpdateBatch beginUpdateBatch() throws ALException {
+        makeCurrent(true);
+        deferUpdates();
+        return updateBatch;
+    }
+
+    /** Frame scoped update batch of a {@link Context}, see {@link Context#beginUpdateBatch()}. */
+    public final class UpdateBatch implements AutoCloseable {
+        private UpdateBatch() {}
+
+        /** Returns the {@link Context} of this batch. */
+        public Context getContext() { return Context.this; }
+
+        /** Ends this batch, {@link Context#processUpdates() committing} all deferred changes and releasing the context. */
+        @Override
+        public void close() throws ALException {
+            try {
+                processUpdates();
+            } finally {
+                release(true);
+            }
+        }
+    }
+
     /**
      * Suspend this context
      */
@@ -345,6 +723,6 @@ public final class Context {
     @Override
     public String toString() {
         final String alCtxStr = null != alCtx ? "0x"+Integer.toHexString(alCtx.hashCode()) : "null";
-        return "ALContext[this 0x"+Integer.toHexString(hashCode())+", alCtx "+alCtxStr+" lockCount "+lock.getHoldCount()+", on "+device+"]";
+        return "ALContext[this 0x"+Integer.toHexString(hashCode())+", alCtx "+alCtxStr+" vtSafe "+virtualThreadSafe+", shadow "+shadowState+", lockCount "+getHoldCountImpl()+", owner "+(null != ownerThread ? ownerThread.getName() : "none")+", on "+device+"]";
     }
 }
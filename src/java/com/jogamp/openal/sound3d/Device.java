@@ -46,6 +46,7 @@ import com.jogamp.openal.util.ALHelpers;
 public final class Device {
     private String name;
     private ALCdevice alDev;
+    private final boolean loopback;
 
     /**
      * Create a new device by {@link #open()}'ing the named audio device.
@@ -53,14 +54,34 @@ public final class Device {
      * @param deviceName The specified device name, null for default.
      */
     public Device(final String deviceName) {
+        this(deviceName, false);
+    }
+
+    /**
+     * Create a new device by {@link #open()}'ing the named audio device.
+     * <p>
+     * A loopback device is opened via <code>ALC_SOFT_loopback</code>,
+     * its contexts must be created with the <code>ALC_FORMAT_CHANNELS_SOFT</code>, <code>ALC_FORMAT_TYPE_SOFT</code>
+     * and <code>ALC_FREQUENCY</code> attributes and its mixer only advances
+     * when samples are rendered via {@link ALExt#alcRenderSamplesSOFT(ALCdevice, java.nio.Buffer, int)}.
+     * </p>
+     *
+     * @param deviceName The specified device name, null for default.
+     * @param loopback pass true to open a loopback device, otherwise false for a regular output device
+     */
+    public Device(final String deviceName, final boolean loopback) {
         this.name = deviceName;
         this.alDev = null;
+        this.loopback = loopback;
         open();
     }
 
     /** Returns the device name. */
     public String getName() { return name; }
 
+    /** Returns whether this is a loopback device, see {@link #Device(String, boolean)}. */
+    public boolean isLoopback() { return loopback; }
+
     /** Returns the OpenAL {@link ALCdevice}. */
     public ALCdevice getALDevice() { return alDev; }
 
@@ -91,7 +112,11 @@ public final class Device {
      */
     public boolean open() {
         if( null == alDev ) {
-            alDev = AudioSystem3D.alc.alcOpenDevice(name);
+            if( loopback ) {
+                alDev = AudioSystem3D.alExt.alcLoopbackOpenDeviceSOFT(name);
+            } else {
+                alDev = AudioSystem3D.alc.alcOpenDevice(name);
+            }
             if( null != alDev && null == name ) {
                 name = AudioSystem3D.alc.alcGetString(alDev, ALCConstants.ALC_DEVICE_SPECIFIER);
             }
@@ -112,7 +137,7 @@ public final class Device {
     @Override
     public String toString() {
         final String alStr = null != alDev ? "0x"+Integer.toHexString(alDev.hashCode()) : "null";
-        return "ALDevice[this 0x"+Integer.toHexString(hashCode())+", name '"+name+"', alDev "+alStr+"]";
+        return "ALDevice[this 0x"+Integer.toHexString(hashCode())+", name '"+name+"', alDev "+alStr+", loopback "+loopback+"]";
     }
 
 }
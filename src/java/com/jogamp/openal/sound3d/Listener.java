@@ -40,13 +40,93 @@ import com.jogamp.openal.ALConstants;
  * This class represents the human listener in the Sound3D environment. It
  * provides methods for controlling the position, orientation as well as other
  * properties associated with the listener.
+ * <p>
+ * Listener state is kept per {@link Context}. If {@link Context#setShadowState(boolean) shadow state}
+ * is enabled on the current context, getter are served from the context's shadow copy
+ * written through by the setter.
+ * </p>
  *
  * @author Athomas Goldberg, Sven Gothel, et al.
  */
 public final class Listener {
+    /** Per thread scratch storage for getter, avoiding per call allocation. The listener instance is shared across contexts. */
+    private static final ThreadLocal<float[]> tmpF = new ThreadLocal<float[]>() {
+        @Override
+        protected float[] initialValue() { return new float[3]; }
+    };
+
+    /** Offsets of {@link Context#listenerShadow} values. */
+    private static final int GAIN_OFF = 0, POSITION_OFF = 1, VELOCITY_OFF = 4, ORIENTATION_OFF = 7;
+
     public Listener() {
     }
 
+    /** Copies the shadow state value to {@code out} and returns true, if valid on the given shadow state enabled context. */
+    private static boolean getShadow(final Context ctx, final int bit, final int slot, final float[] out, final int off, final int count) {
+        if( null != ctx && ctx.isShadowState() && 0 != ( ctx.listenerShadowValid & ( 1 << bit ) ) ) {
+            System.arraycopy(ctx.listenerShadow, slot, out, off, count);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the value of the given shadow state bit just set via OpenAL shall be written through to the given context,
+     * i.e. its shadow state is enabled and the value lies within its OpenAL domain. Otherwise the bit is invalidated,
+     * as OpenAL rejects an out of domain value.
+     * <p>
+     * The domain is checked in Java, avoiding an additional <code>alGetError</code> roundtrip per setter
+     * and leaving a pending error to the caller.
+     * </p>
+     */
+    private static boolean acceptShadow(final Context ctx, final int bit, final boolean inDomain) {
+        if( null == ctx || !ctx.isShadowState() ) {
+            return false;
+        }
+        if( !inDomain ) {
+            ctx.listenerShadowValid &= ~( 1 << bit );
+            return false;
+        }
+        return true;
+    }
+
+    /** Returns true if the given {@code count} values are finite. */
+    private static boolean isFinite(final float[] v, final int off, final int count) {
+        for(int i=0; i<count; ++i) {
+            if( !Float.isFinite(v[off+i]) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Writes through the given value to the shadow state of the given context. */
+    private static void putShadow(final Context ctx, final int bit, final int slot, final float[] in, final int off, final int count) {
+        if( null != ctx ) {
+            System.arraycopy(in, off, ctx.listenerShadow, slot, count);
+            ctx.listenerShadowValid |= 1 << bit;
+        }
+    }
+
+    private static void putShadow3(final int bit, final int slot, final float x, final float y, final float z) {
+        final Context ctx = Context.getCurrentContext();
+        if( acceptShadow(ctx, bit, Float.isFinite(x) && Float.isFinite(y) && Float.isFinite(z)) ) {
+            final float[] shadow = ctx.listenerShadow;
+            shadow[slot  ] = x;
+            shadow[slot+1] = y;
+            shadow[slot+2] = z;
+            ctx.listenerShadowValid |= 1 << bit;
+        }
+    }
+
+    private static void getListenerfv(final int param, final int bit, final int slot, final float[] out, final int off, final int count) {
+        final Context ctx = Context.getCurrentContext();
+        if( !getShadow(ctx, bit, slot, out, off, count) ) {
+            AudioSystem3D.al.alGetListenerfv(param, out, off);
+            putShadow(ctx, bit, slot, out, off, count);
+        }
+    }
+
     /**
      * Sets the Gain, or volume of the audio in the environment relative to the
      * listener
@@ -55,6 +135,11 @@ public final class Listener {
      */
     public void setGain(final float gain) {
         AudioSystem3D.al.alListenerf(ALConstants.AL_GAIN, gain);
+        final Context ctx = Context.getCurrentContext();
+        if( acceptShadow(ctx, Context.LSH_GAIN, 0f <= gain && Float.isFinite(gain)) ) {
+            ctx.listenerShadow[GAIN_OFF] = gain;
+            ctx.listenerShadowValid |= 1 << Context.LSH_GAIN;
+        }
     }
 
     /**
@@ -64,8 +149,8 @@ public final class Listener {
      * @return the gain value.
      */
     public float getGain() {
-        final float[] f = new float[1];
-        AudioSystem3D.al.alGetListenerf(ALConstants.AL_GAIN, f, 0);
+        final float[] f = tmpF.get();
+        getListenerfv(ALConstants.AL_GAIN, Context.LSH_GAIN, GAIN_OFF, f, 0, 1);
 
         return f[0];
     }
@@ -83,6 +168,7 @@ public final class Listener {
      */
     public void setPosition(final float x, final float y, final float z) {
         AudioSystem3D.al.alListener3f(ALConstants.AL_POSITION, x, y, z);
+        putShadow3(Context.LSH_POSITION, POSITION_OFF, x, y, z);
     }
 
     /**
@@ -93,7 +179,7 @@ public final class Listener {
      * Listener.
      */
     public void setPosition(final Vec3f position) {
-        AudioSystem3D.al.alListener3f(ALConstants.AL_POSITION, position.v1, position.v2, position.v3);
+        setPosition(position.v1, position.v2, position.v3);
     }
 
     /**
@@ -104,12 +190,29 @@ public final class Listener {
      * Listener.
      */
     public Vec3f getPosition() {
-        Vec3f result = null;
-        final float[] tmp = new float[3];
-        AudioSystem3D.al.alGetListenerfv(ALConstants.AL_POSITION, tmp, 0);
-        result = new Vec3f(tmp[0], tmp[1], tmp[2]);
+        return getPosition(new Vec3f());
+    }
+
+    /**
+     * Gets the position in (x-y-z coordinates) of the Listener without allocation.
+     *
+     * @param out the Vec3f receiving the position in (x-y-z coordinates) of the Listener
+     * @return the given {@code out} instance
+     */
+    public Vec3f getPosition(final Vec3f out) {
+        final float[] tmp = tmpF.get();
+        getListenerfv(ALConstants.AL_POSITION, Context.LSH_POSITION, POSITION_OFF, tmp, 0, 3);
+        return out.set(tmp[0], tmp[1], tmp[2]);
+    }
 
-        return result;
+    /**
+     * Gets the position in (x-y-z coordinates) of the Listener without allocation.
+     *
+     * @param out the array receiving the position in (x-y-z coordinates) of the Listener, at least 3 elements past {@code off}
+     * @param off offset of the first element in {@code out}
+     */
+    public void getPosition(final float[] out, final int off) {
+        getListenerfv(ALConstants.AL_POSITION, Context.LSH_POSITION, POSITION_OFF, out, off, 3);
     }
 
     /**
@@ -121,6 +224,7 @@ public final class Listener {
      */
     public void setVelocity(final Vec3f velocity) {
         AudioSystem3D.al.alListener3f(ALConstants.AL_VELOCITY, velocity.v1, velocity.v2, velocity.v3);
+        putShadow3(Context.LSH_VELOCITY, VELOCITY_OFF, velocity.v1, velocity.v2, velocity.v3);
     }
 
     /**
@@ -131,12 +235,29 @@ public final class Listener {
      * x,y and z coordinates of Listener.
      */
     public Vec3f getVelocity() {
-        Vec3f result = null;
-        final float[] tmp = new float[3];
-        AudioSystem3D.al.alGetListenerfv(ALConstants.AL_VELOCITY, tmp, 0);
-        result = new Vec3f(tmp[0], tmp[1], tmp[2]);
+        return getVelocity(new Vec3f());
+    }
+
+    /**
+     * Gets the velocity in (x-y-z coordinates) of the Listener without allocation.
+     *
+     * @param out the Vec3f receiving the velocity in (x-y-z coordinates) of the Listener
+     * @return the given {@code out} instance
+     */
+    public Vec3f getVelocity(final Vec3f out) {
+        final float[] tmp = tmpF.get();
+        getListenerfv(ALConstants.AL_VELOCITY, Context.LSH_VELOCITY, VELOCITY_OFF, tmp, 0, 3);
+        return out.set(tmp[0], tmp[1], tmp[2]);
+    }
 
-        return result;
+    /**
+     * Gets the velocity in (x-y-z coordinates) of the Listener without allocation.
+     *
+     * @param out the array receiving the velocity in (x-y-z coordinates) of the Listener, at least 3 elements past {@code off}
+     * @param off offset of the first element in {@code out}
+     */
+    public void getVelocity(final float[] out, final int off) {
+        getListenerfv(ALConstants.AL_VELOCITY, Context.LSH_VELOCITY, VELOCITY_OFF, out, off, 3);
     }
 
     /**
@@ -148,6 +269,10 @@ public final class Listener {
      */
     public void setOrientation(final float[] orientation) {
         AudioSystem3D.al.alListenerfv(ALConstants.AL_ORIENTATION, orientation, 0);
+        final Context ctx = Context.getCurrentContext();
+        if( acceptShadow(ctx, Context.LSH_ORIENTATION, isFinite(orientation, 0, 6)) ) {
+            putShadow(ctx, Context.LSH_ORIENTATION, ORIENTATION_OFF, orientation, 0, 6);
+        }
     }
 
     /**
@@ -159,7 +284,19 @@ public final class Listener {
      */
     public float[] getOrientation() {
         final float[] tmp = new float[6];
-        AudioSystem3D.al.alGetListenerfv(ALConstants.AL_ORIENTATION, tmp, 0);
+        getOrientation(tmp, 0);
         return tmp;
     }
+
+    /**
+     * Gets the orientation of the Listener in the Sound3D environment without allocation.
+     * Orientation is expressed as `at` and `up` vectors.
+     *
+     * @param out the array receiving the `at` vector followed by the `up` vector,
+     *            at least 6 elements past {@code off}
+     * @param off offset of the first element in {@code out}
+     */
+    public void getOrientation(final float[] out, final int off) {
+        getListenerfv(ALConstants.AL_ORIENTATION, Context.LSH_ORIENTATION, ORIENTATION_OFF, out, off, 6);
+    }
 }
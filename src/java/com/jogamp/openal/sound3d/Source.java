@@ -34,6 +34,7 @@
 
 package com.jogamp.openal.sound3d;
 
+import com.jogamp.openal.AL;
 import com.jogamp.openal.ALConstants;
 import com.jogamp.openal.ALException;
 
@@ -42,12 +43,36 @@ import com.jogamp.openal.ALException;
  * environment. It contains methods for setting the position, direction, pitch,
  * gain and other properties along with methods for starting, pausing, rewinding
  * and stopping sudio projecting from a source.
+ * <p>
+ * If {@link Context#setShadowState(boolean) shadow state} is enabled on the current {@link Context},
+ * application controlled properties like gain, pitch, distance attributes, position, velocity, direction,
+ * relative and looping mode are served from Java fields written through by the setter.
+ * Dynamic state like {@link #getState()}, offsets and buffer counts always query OpenAL.
+ * </p>
  *
  * @author Athomas Goldberg, Sven Gothel, et al.
  */
 public final class Source {
     private int sourceID;
     private Buffer buffer;
+    /** Scratch storage for getter, avoiding per call allocation. A source is only used while its context is current and hence locked. */
+    private final float[] tmpF = new float[3];
+    private final int[] tmpI = new int[1];
+
+    /** Shadow state slots of scalar values in {@link #shadowF} and bits in {@link #shadowValid}. */
+    static final int SH_PITCH = 0, SH_GAIN = 1, SH_MAX_DISTANCE = 2, SH_ROLLOFF_FACTOR = 3, SH_REFERENCE_DISTANCE = 4,
+                     SH_MIN_GAIN = 5, SH_MAX_GAIN = 6, SH_CONE_OUTER_GAIN = 7, SH_CONE_INNER_ANGLE = 8, SH_CONE_OUTER_ANGLE = 9;
+    /** Shadow state bits of vector values in {@link #shadowValid}, stored as 3 floats in {@link #shadowF} past the scalar values. */
+    static final int SH_POSITION = 10, SH_VELOCITY = 11, SH_DIRECTION = 12;
+    /** Shadow state bits of boolean values in {@link #shadowValid}. */
+    static final int SH_SOURCE_RELATIVE = 13, SH_LOOPING = 14;
+    /** Shadow state values, see {@link Context#setShadowState(boolean)}. */
+    private final float[] shadowF = new float[SH_POSITION + 3*3];
+    private boolean shadowRelative, shadowLooping;
+    /** Bitmask of valid shadow state values. */
+    private int shadowValid;
+    /** {@link Context#getShadowEpoch()} the shadow state values belong to. */
+    private int shadowEpoch;
 
     /** Create a new instance with an invalid OpenAL source ID */
     public Source() {
@@ -74,6 +99,7 @@ public final class Source {
         AudioSystem3D.al.alGenSources(1, val, 0);
         if( 0 <= val[0] && AudioSystem3D.al.alIsSource(val[0]) ) {
             sourceID = val[0];
+            shadowValid = 0;
             return true;
         } else {
             sourceID = -1;
@@ -91,21 +117,26 @@ public final class Source {
 
     /**
      * Delete this source, freeing its resources.
+     * <p>
+     * The associated buffer is deleted as well, or {@link Buffer#release() released} if {@link Buffer#isCached() cached}.
+     * </p>
      */
     public void delete() {
         if( 0 <= sourceID ) {
             final Buffer b = buffer;
+            final boolean cached = null != b && b.isCached();
             stop();
             if( null != b ) {
-                setBuffer(null); // buffer = null
+                setBuffer(null); // buffer = null, releases cached buffer
             }
             AudioSystem3D.al.alDeleteSources(1, new int[] { sourceID }, 0);
-            if( null != b ) {
+            if( null != b && !cached ) {
                 b.delete();
             }
             sourceID = -1;
+            shadowValid = 0;
         } else if( null != buffer ) {
-            buffer.delete();
+            buffer.release();
             buffer = null;
         }
     }
@@ -144,7 +175,7 @@ public final class Source {
      * @return {@code true} if this source is playing.
      */
     public boolean isPlaying() {
-        final int[] result = new int[1];
+        final int[] result = tmpI;
         AudioSystem3D.al.alGetSourcei(sourceID, ALConstants.AL_SOURCE_STATE, result, 0);
         return result[0] == ALConstants.AL_PLAYING;
     }
@@ -156,7 +187,7 @@ public final class Source {
      * @param pitch the pitch value of this source.
      */
     public void setPitch(final float pitch) {
-        AudioSystem3D.al.alSourcef(sourceID, ALConstants.AL_PITCH, pitch);
+        setSourcef(ALConstants.AL_PITCH, SH_PITCH, pitch);
     }
 
     /**
@@ -166,10 +197,7 @@ public final class Source {
      * @return the pitch value of this source.
      */
     public float getPitch() {
-        final float[] result = new float[1];
-        AudioSystem3D.al.alGetSourcef(sourceID, ALConstants.AL_PITCH, result, 0);
-
-        return result[0];
+        return getSourcef(ALConstants.AL_PITCH, SH_PITCH);
     }
 
     /**
@@ -179,7 +207,7 @@ public final class Source {
      * @param gain the gain of the audio on this source
      */
     public void setGain(final float gain) {
-        AudioSystem3D.al.alSourcef(sourceID, ALConstants.AL_GAIN, gain);
+        setSourcef(ALConstants.AL_GAIN, SH_GAIN, gain);
     }
 
     /**
@@ -189,10 +217,7 @@ public final class Source {
      * @return the gain of the audio on this source
      */
     public float getGain() {
-        final float[] result = new float[1];
-        AudioSystem3D.al.alGetSourcef(sourceID, ALConstants.AL_GAIN, result, 0);
-
-        return result[0];
+        return getSourcef(ALConstants.AL_GAIN, SH_GAIN);
     }
 
     /**
@@ -202,7 +227,7 @@ public final class Source {
      * @param maxDistance the max ditance for source attentuation.
      */
     public void setMaxDistance(final float maxDistance) {
-        AudioSystem3D.al.alSourcef(sourceID, ALConstants.AL_MAX_DISTANCE, maxDistance);
+        setSourcef(ALConstants.AL_MAX_DISTANCE, SH_MAX_DISTANCE, maxDistance);
     }
 
     /**
@@ -212,10 +237,7 @@ public final class Source {
      * @return the max ditance for source attentuation.
      */
     public float getMaxDistance() {
-        final float[] result = new float[1];
-        AudioSystem3D.al.alGetSourcef(sourceID, ALConstants.AL_MAX_DISTANCE, result, 0);
-
-        return result[0];
+        return getSourcef(ALConstants.AL_MAX_DISTANCE, SH_MAX_DISTANCE);
     }
 
     /**
@@ -224,7 +246,7 @@ public final class Source {
      * @param rolloffFactor the rolloff rate of the source.
      */
     public void setRolloffFactor(final float rolloffFactor) {
-        AudioSystem3D.al.alSourcef(sourceID, ALConstants.AL_ROLLOFF_FACTOR, rolloffFactor);
+        setSourcef(ALConstants.AL_ROLLOFF_FACTOR, SH_ROLLOFF_FACTOR, rolloffFactor);
     }
 
     /**
@@ -233,10 +255,7 @@ public final class Source {
      * @return the rolloff rate of the source.
      */
     public float getRolloffFactor() {
-        final float[] result = new float[1];
-        AudioSystem3D.al.alGetSourcef(sourceID, ALConstants.AL_ROLLOFF_FACTOR, result, 0);
-
-        return result[0];
+        return getSourcef(ALConstants.AL_ROLLOFF_FACTOR, SH_ROLLOFF_FACTOR);
     }
 
     /**
@@ -246,7 +265,7 @@ public final class Source {
      * @param referenceDistance the reference distance for the source.
      */
     public void setReferenceDistance(final float referenceDistance) {
-        AudioSystem3D.al.alSourcef(sourceID, ALConstants.AL_REFERENCE_DISTANCE, referenceDistance);
+        setSourcef(ALConstants.AL_REFERENCE_DISTANCE, SH_REFERENCE_DISTANCE, referenceDistance);
     }
 
     /**
@@ -256,10 +275,7 @@ public final class Source {
      * @return the reference distance for the source.
      */
     public float getReferenceDistance() {
-        final float[] result = new float[1];
-        AudioSystem3D.al.alGetSourcef(sourceID, ALConstants.AL_REFERENCE_DISTANCE, result, 0);
-
-        return result[0];
+        return getSourcef(ALConstants.AL_REFERENCE_DISTANCE, SH_REFERENCE_DISTANCE);
     }
 
     /**
@@ -268,7 +284,7 @@ public final class Source {
      * @param minGain the minimum gain for this source.
      */
     public void setMinGain(final float minGain) {
-        AudioSystem3D.al.alSourcef(sourceID, ALConstants.AL_MIN_GAIN, minGain);
+        setSourcef(ALConstants.AL_MIN_GAIN, SH_MIN_GAIN, minGain);
     }
 
     /**
@@ -277,10 +293,7 @@ public final class Source {
      * @return the minimum gain for this source.
      */
     public float getMinGain() {
-        final float[] result = new float[1];
-        AudioSystem3D.al.alGetSourcef(sourceID, ALConstants.AL_MIN_GAIN, result, 0);
-
-        return result[0];
+        return getSourcef(ALConstants.AL_MIN_GAIN, SH_MIN_GAIN);
     }
 
     /**
@@ -289,7 +302,7 @@ public final class Source {
      * @param maxGain the maximum gain for this source
      */
     public void setMaxGain(final float maxGain) {
-        AudioSystem3D.al.alSourcef(sourceID, ALConstants.AL_MAX_GAIN, maxGain);
+        setSourcef(ALConstants.AL_MAX_GAIN, SH_MAX_GAIN, maxGain);
     }
 
     /**
@@ -298,10 +311,7 @@ public final class Source {
      * @return the maximum gain for this source
      */
     public float getMaxGain() {
-        final float[] result = new float[1];
-        AudioSystem3D.al.alGetSourcef(sourceID, ALConstants.AL_MAX_GAIN, result, 0);
-
-        return result[0];
+        return getSourcef(ALConstants.AL_MAX_GAIN, SH_MAX_GAIN);
     }
 
     /**
@@ -310,7 +320,7 @@ public final class Source {
      * @param coneOuterGain the gain when outside the oriented cone.
      */
     public void setConeOuterGain(final float coneOuterGain) {
-        AudioSystem3D.al.alSourcef(sourceID, ALConstants.AL_CONE_OUTER_GAIN, coneOuterGain);
+        setSourcef(ALConstants.AL_CONE_OUTER_GAIN, SH_CONE_OUTER_GAIN, coneOuterGain);
     }
 
     /**
@@ -319,10 +329,43 @@ public final class Source {
      * @return the gain when outside the oriented cone.
      */
     public float getConeOuterGain() {
-        final float[] result = new float[1];
-        AudioSystem3D.al.alGetSourcef(sourceID, ALConstants.AL_CONE_OUTER_GAIN, result, 0);
+        return getSourcef(ALConstants.AL_CONE_OUTER_GAIN, SH_CONE_OUTER_GAIN);
+    }
 
-        return result[0];
+    /**
+     * Sets the inner angle of the sound cone in degrees, the default is 360.
+     *
+     * @param coneInnerAngle the inner angle of the sound cone in degrees
+     */
+    public void setConeInnerAngle(final float coneInnerAngle) {
+        setSourcef(ALConstants.AL_CONE_INNER_ANGLE, SH_CONE_INNER_ANGLE, coneInnerAngle);
+    }
+
+    /**
+     * Gets the inner angle of the sound cone in degrees.
+     *
+     * @return the inner angle of the sound cone in degrees
+     */
+    public float getConeInnerAngle() {
+        return getSourcef(ALConstants.AL_CONE_INNER_ANGLE, SH_CONE_INNER_ANGLE);
+    }
+
+    /**
+     * Sets the outer angle of the sound cone in degrees, the default is 360.
+     *
+     * @param coneOuterAngle the outer angle of the sound cone in degrees
+     */
+    public void setConeOuterAngle(final float coneOuterAngle) {
+        setSourcef(ALConstants.AL_CONE_OUTER_ANGLE, SH_CONE_OUTER_ANGLE, coneOuterAngle);
+    }
+
+    /**
+     * Gets the outer angle of the sound cone in degrees.
+     *
+     * @return the outer angle of the sound cone in degrees
+     */
+    public float getConeOuterAngle() {
+        return getSourcef(ALConstants.AL_CONE_OUTER_ANGLE, SH_CONE_OUTER_ANGLE);
     }
 
     /**
@@ -332,12 +375,7 @@ public final class Source {
      * source.
      */
     public void setPosition(final Vec3f position) {
-        AudioSystem3D.al.alSource3f(
-            sourceID,
-            ALConstants.AL_POSITION,
-            position.v1,
-            position.v2,
-            position.v3);
+        setSource3f(ALConstants.AL_POSITION, SH_POSITION, position.v1, position.v2, position.v3);
     }
 
     /**
@@ -348,7 +386,7 @@ public final class Source {
      * @param z the z position of the source.
      */
     public void setPosition(final float x, final float y, final float z) {
-        AudioSystem3D.al.alSource3f(sourceID, ALConstants.AL_POSITION, x, y, z);
+        setSource3f(ALConstants.AL_POSITION, SH_POSITION, x, y, z);
     }
 
     /**
@@ -358,12 +396,28 @@ public final class Source {
      * source.
      */
     public Vec3f getPosition() {
-        Vec3f result = null;
-        final float[] pos = new float[3];
-        AudioSystem3D.al.alGetSourcefv(sourceID, ALConstants.AL_POSITION, pos, 0);
-        result = new Vec3f(pos[0], pos[1], pos[2]);
+        return getPosition(new Vec3f());
+    }
 
-        return result;
+    /**
+     * Gets the x,y,z position of the source without allocation.
+     *
+     * @param out the Vec3f receiving the x,y,z position of the source
+     * @return the given {@code out} instance
+     */
+    public Vec3f getPosition(final Vec3f out) {
+        getSource3f(ALConstants.AL_POSITION, SH_POSITION, tmpF, 0);
+        return out.set(tmpF, 0);
+    }
+
+    /**
+     * Gets the x,y,z position of the source without allocation.
+     *
+     * @param out the array receiving the x,y,z position of the source, at least 3 elements past {@code off}
+     * @param off offset of the first element in {@code out}
+     */
+    public void getPosition(final float[] out, final int off) {
+        getSource3f(ALConstants.AL_POSITION, SH_POSITION, out, off);
     }
 
     /**
@@ -372,12 +426,7 @@ public final class Source {
      * @param velocity the velocity vector of the source
      */
     public void setVelocity(final Vec3f velocity) {
-        AudioSystem3D.al.alSource3f(
-            sourceID,
-            ALConstants.AL_VELOCITY,
-            velocity.v1,
-            velocity.v2,
-            velocity.v3);
+        setSource3f(ALConstants.AL_VELOCITY, SH_VELOCITY, velocity.v1, velocity.v2, velocity.v3);
     }
 
     /**
@@ -388,7 +437,7 @@ public final class Source {
      * @param z the z velocity of the source.
      */
     public void setVelocity(final float x, final float y, final float z) {
-        AudioSystem3D.al.alSource3f(sourceID, ALConstants.AL_VELOCITY, x, y, z);
+        setSource3f(ALConstants.AL_VELOCITY, SH_VELOCITY, x, y, z);
     }
 
     /**
@@ -397,12 +446,28 @@ public final class Source {
      * @return the velocity vector of the source
      */
     public Vec3f getVelocity() {
-        Vec3f result = null;
-        final float[] vel = new float[3];
-        AudioSystem3D.al.alGetSourcefv(sourceID, ALConstants.AL_VELOCITY, vel, 0);
-        result = new Vec3f(vel[0], vel[1], vel[2]);
+        return getVelocity(new Vec3f());
+    }
 
-        return result;
+    /**
+     * Gets the velocity vector of the source without allocation.
+     *
+     * @param out the Vec3f receiving the velocity vector of the source
+     * @return the given {@code out} instance
+     */
+    public Vec3f getVelocity(final Vec3f out) {
+        getSource3f(ALConstants.AL_VELOCITY, SH_VELOCITY, tmpF, 0);
+        return out.set(tmpF, 0);
+    }
+
+    /**
+     * Gets the velocity vector of the source without allocation.
+     *
+     * @param out the array receiving the velocity vector of the source, at least 3 elements past {@code off}
+     * @param off offset of the first element in {@code out}
+     */
+    public void getVelocity(final float[] out, final int off) {
+        getSource3f(ALConstants.AL_VELOCITY, SH_VELOCITY, out, off);
     }
 
     /**
@@ -411,12 +476,7 @@ public final class Source {
      * @param direction the direction vector of the source.
      */
     public void setDirection(final Vec3f direction) {
-        AudioSystem3D.al.alSource3f(
-            sourceID,
-            ALConstants.AL_DIRECTION,
-            direction.v1,
-            direction.v2,
-            direction.v3);
+        setSource3f(ALConstants.AL_DIRECTION, SH_DIRECTION, direction.v1, direction.v2, direction.v3);
     }
 
     /**
@@ -427,7 +487,7 @@ public final class Source {
      * @param z the z direction of the source.
      */
     public void setDirection(final float x, final float y, final float z) {
-        AudioSystem3D.al.alSource3f(sourceID, ALConstants.AL_DIRECTION, x, y, z);
+        setSource3f(ALConstants.AL_DIRECTION, SH_DIRECTION, x, y, z);
     }
 
     /**
@@ -436,12 +496,28 @@ public final class Source {
      * @return the direction vector of the source.
      */
     public Vec3f getDirection() {
-        Vec3f result = null;
-        final float[] dir = new float[3];
-        AudioSystem3D.al.alGetSourcefv(sourceID, ALConstants.AL_DIRECTION, dir, 0);
-        result = new Vec3f(dir[0], dir[1], dir[2]);
+        return getDirection(new Vec3f());
+    }
 
-        return result;
+    /**
+     * Gets the direction vector of the source without allocation.
+     *
+     * @param out the Vec3f receiving the direction vector of the source
+     * @return the given {@code out} instance
+     */
+    public Vec3f getDirection(final Vec3f out) {
+        getSource3f(ALConstants.AL_DIRECTION, SH_DIRECTION, tmpF, 0);
+        return out.set(tmpF, 0);
+    }
+
+    /**
+     * Gets the direction vector of the source without allocation.
+     *
+     * @param out the array receiving the direction vector of the source, at least 3 elements past {@code off}
+     * @param off offset of the first element in {@code out}
+     */
+    public void getDirection(final float[] out, final int off) {
+        getSource3f(ALConstants.AL_DIRECTION, SH_DIRECTION, out, off);
     }
 
     /**
@@ -454,6 +530,10 @@ public final class Source {
     public void setSourceRelative(final boolean isRelative) {
         final int rel = isRelative ? 1 : 0;
         AudioSystem3D.al.alSourcei(sourceID, ALConstants.AL_SOURCE_RELATIVE, rel);
+        if( acceptShadow(SH_SOURCE_RELATIVE, true) ) {
+            shadowRelative = isRelative;
+            shadowValid |= 1 << SH_SOURCE_RELATIVE;
+        }
     }
 
     /**
@@ -464,10 +544,18 @@ public final class Source {
      * world.
      */
     public boolean isSourceRelative() {
-        final int[] result = new int[1];
+        final boolean shadow = useShadowState();
+        if( shadow && 0 != ( shadowValid & ( 1 << SH_SOURCE_RELATIVE ) ) ) {
+            return shadowRelative;
+        }
+        final int[] result = tmpI;
         AudioSystem3D.al.alGetSourcei(sourceID, ALConstants.AL_SOURCE_RELATIVE, result, 0);
-
-        return result[0] == 1;
+        final boolean v = result[0] == 1;
+        if( shadow ) {
+            shadowRelative = v;
+            shadowValid |= 1 << SH_SOURCE_RELATIVE;
+        }
+        return v;
     }
 
     /**
@@ -478,6 +566,10 @@ public final class Source {
     public void setLooping(final boolean isLooping) {
         final int loop = isLooping ? 1 : 0;
         AudioSystem3D.al.alSourcei(sourceID, ALConstants.AL_LOOPING, loop);
+        if( acceptShadow(SH_LOOPING, true) ) {
+            shadowLooping = isLooping;
+            shadowValid |= 1 << SH_LOOPING;
+        }
     }
 
     /**
@@ -486,11 +578,56 @@ public final class Source {
      * @return true-looping is on, false-looping is off
      */
     public boolean getLooping() {
-        final int[] tmp = new int[1];
+        final boolean shadow = useShadowState();
+        if( shadow && 0 != ( shadowValid & ( 1 << SH_LOOPING ) ) ) {
+            return shadowLooping;
+        }
+        final int[] tmp = tmpI;
         AudioSystem3D.al.alGetSourcei(sourceID, ALConstants.AL_LOOPING, tmp, 0);
-        return tmp[0] == ALConstants.AL_TRUE;
+        final boolean v = tmp[0] == ALConstants.AL_TRUE;
+        if( shadow ) {
+            shadowLooping = v;
+            shadowValid |= 1 << SH_LOOPING;
+        }
+        return v;
+    }
+
+
+    /**
+     * Sets the playback position of this source in seconds, i.e. <code>AL_SEC_OFFSET</code>.
+     * <p>
+     * If playing or paused, playback continues at the new position,
+     * otherwise the position is applied by the next {@link #play()}.
+     * </p>
+     *
+     * @param offset playback position in seconds relative to the beginning of the buffer queue
+     */
+    public void setSecOffset(final float offset) {
+        AudioSystem3D.al.alSourcef(sourceID, ALConstants.AL_SEC_OFFSET, offset);
+    }
+
+    /**
+     * Gets the playback position of this source in seconds, i.e. <code>AL_SEC_OFFSET</code>.
+     *
+     * @return playback position in seconds relative to the beginning of the buffer queue
+     */
+    public float getSecOffset() {
+        final float[] result = tmpF;
+        AudioSystem3D.al.alGetSourcef(sourceID, ALConstants.AL_SEC_OFFSET, result, 0);
+        return result[0];
     }
 
+    /**
+     * Gets the state of this source, i.e. <code>AL_INITIAL</code>, <code>AL_PLAYING</code>,
+     * <code>AL_PAUSED</code> or <code>AL_STOPPED</code>.
+     *
+     * @return the <code>AL_SOURCE_STATE</code> of this source
+     */
+    public int getState() {
+        final int[] result = tmpI;
+        AudioSystem3D.al.alGetSourcei(sourceID, ALConstants.AL_SOURCE_STATE, result, 0);
+        return result[0];
+    }
 
     /**
      * Gets the number of buffers currently queued on this source.
@@ -498,7 +635,7 @@ public final class Source {
      * @throws ALException on AL error
      */
     public int getBuffersQueued() throws ALException {
-        final int[] result = new int[1];
+        final int[] result = tmpI;
         AudioSystem3D.al.alGetSourcei(sourceID, ALConstants.AL_BUFFERS_QUEUED, result, 0);
         AudioSystem3D.checkALError("Query AL_BUFFERS_QUEUED", true, true);
         return result[0];
@@ -510,7 +647,7 @@ public final class Source {
      * @throws ALException on AL error
      */
     public int getBuffersProcessed() throws ALException {
-        final int[] result = new int[1];
+        final int[] result = tmpI;
         AudioSystem3D.al.alGetSourcei(sourceID, ALConstants.AL_BUFFERS_PROCESSED, result, 0);
         AudioSystem3D.checkALError("Query AL_BUFFERS_PROCESSED", true, true);
         return result[0];
@@ -519,6 +656,10 @@ public final class Source {
     /**
      * Associates the buffer with this source if buffer is not null,
      * otherwise disassociates the previously associated buffer from this source.
+     * <p>
+     * A {@link Buffer#isCached() cached} buffer is {@link Buffer#retain() retained} while associated
+     * and {@link Buffer#release() released} when replaced.
+     * </p>
      *
      * @param buffer the buffer to be associated with this source if not null.
      *               If null, disassociates the current buffer from this source.
@@ -529,7 +670,14 @@ public final class Source {
         } else {
             AudioSystem3D.al.alSourcei(sourceID, ALConstants.AL_BUFFER, 0);
         }
+        if( null != buffer && buffer.isCached() ) {
+            buffer.retain();
+        }
+        final Buffer old = this.buffer;
         this.buffer = buffer;
+        if( null != old && old.isCached() ) {
+            old.release();
+        }
     }
 
     /**
@@ -570,6 +718,19 @@ public final class Source {
         AudioSystem3D.checkALError("alSourceQueueBuffers", true, true);
     }
 
+    /**
+     * Queues `count` OpenAL buffers on a source.
+     *
+     * @param bufferIDs array of to be queued OpenAL buffer IDs
+     * @param offset offset of the first to be queued OpenAL buffer ID within `bufferIDs`
+     * @param count number of OpenAL buffer IDs to be queued
+     * @throws ALException on AL error
+     */
+    public void queueBuffers(final int[] bufferIDs, final int offset, final int count) throws ALException {
+        AudioSystem3D.al.alSourceQueueBuffers(sourceID, count, bufferIDs, offset);
+        AudioSystem3D.checkALError("alSourceQueueBuffers", true, true);
+    }
+
     /**
      * Unqueues one or more buffers on a source.
      *
@@ -598,6 +759,131 @@ public final class Source {
         AudioSystem3D.checkALError("alSourceUnqueueBuffers", true, true);
     }
 
+    /**
+     * Unqueues `count` OpenAL buffers on a source.
+     *
+     * @param bufferIDs array of resulting unqueued OpenAL buffer IDs of previously queued buffers.
+     * @param offset offset within `bufferIDs` to store the first unqueued OpenAL buffer ID
+     * @param count number of OpenAL buffers to be unqueued
+     * @throws ALException on AL error
+     */
+    public void unqueueBuffers(final int[] bufferIDs, final int offset, final int count) throws ALException {
+        AudioSystem3D.al.alSourceUnqueueBuffers(sourceID, count, bufferIDs, offset);
+        AudioSystem3D.checkALError("alSourceUnqueueBuffers", true, true);
+    }
+
+    /**
+     * Invalidates all {@link Context#setShadowState(boolean) shadow state} of this source,
+     * required if its properties have been modified bypassing this instance, e.g. via {@link AL} directly.
+     */
+    public void invalidateShadowState() {
+        shadowValid = 0;
+    }
+
+    /** Invalidates the shadow state of the given {@code SH_*} bitmask. */
+    void invalidateShadowState(final int mask) {
+        shadowValid &= ~mask;
+    }
+
+    /**
+     * Returns true if the current {@link Context} has {@link Context#setShadowState(boolean) shadow state} enabled,
+     * dropping all shadow state values of a previous {@link Context#getShadowEpoch() epoch}.
+     */
+    private boolean useShadowState() {
+        final Context ctx = Context.getCurrentContext();
+        if( null == ctx || !ctx.isShadowState() ) {
+            return false;
+        }
+        final int epoch = ctx.getShadowEpoch();
+        if( epoch != shadowEpoch ) {
+            shadowValid = 0;
+            shadowEpoch = epoch;
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the value of the given shadow state bit just set via OpenAL shall be written through,
+     * i.e. {@link #useShadowState() shadow state} is enabled and the value lies within its OpenAL domain.
+     * Otherwise the bit is invalidated, as OpenAL rejects an out of domain value.
+     * <p>
+     * The domain is checked in Java, avoiding an additional <code>alGetError</code> roundtrip per setter
+     * and leaving a pending error to the caller.
+     * </p>
+     */
+    private boolean acceptShadow(final int bit, final boolean inDomain) {
+        if( !useShadowState() ) {
+            return false;
+        }
+        if( !inDomain ) {
+            shadowValid &= ~( 1 << bit );
+            return false;
+        }
+        return true;
+    }
+
+    /** Returns true if the given scalar value lies within the OpenAL domain of the given {@code SH_*} slot. */
+    private static boolean isInDomain(final int slot, final float value) {
+        switch( slot ) {
+            case SH_MIN_GAIN:
+            case SH_MAX_GAIN:
+            case SH_CONE_OUTER_GAIN:
+                return 0f <= value && value <= 1f;
+            case SH_CONE_INNER_ANGLE:
+            case SH_CONE_OUTER_ANGLE:
+                return 0f <= value && value <= 360f;
+            default: // pitch, gain and distances
+                return 0f <= value && Float.isFinite(value);
+        }
+    }
+
+    private void setSourcef(final int param, final int slot, final float value) {
+        AudioSystem3D.al.alSourcef(sourceID, param, value);
+        if( acceptShadow(slot, isInDomain(slot, value)) ) {
+            shadowF[slot] = value;
+            shadowValid |= 1 << slot;
+        }
+    }
+
+    private float getSourcef(final int param, final int slot) {
+        final boolean shadow = useShadowState();
+        if( shadow && 0 != ( shadowValid & ( 1 << slot ) ) ) {
+            return shadowF[slot];
+        }
+        final float[] result = tmpF;
+        AudioSystem3D.al.alGetSourcef(sourceID, param, result, 0);
+        if( shadow ) {
+            shadowF[slot] = result[0];
+            shadowValid |= 1 << slot;
+        }
+        return result[0];
+    }
+
+    private void setSource3f(final int param, final int bit, final float x, final float y, final float z) {
+        AudioSystem3D.al.alSource3f(sourceID, param, x, y, z);
+        if( acceptShadow(bit, Float.isFinite(x) && Float.isFinite(y) && Float.isFinite(z)) ) {
+            final int i = SH_POSITION + 3 * ( bit - SH_POSITION );
+            shadowF[i  ] = x;
+            shadowF[i+1] = y;
+            shadowF[i+2] = z;
+            shadowValid |= 1 << bit;
+        }
+    }
+
+    private void getSource3f(final int param, final int bit, final float[] out, final int off) {
+        final boolean shadow = useShadowState();
+        final int i = SH_POSITION + 3 * ( bit - SH_POSITION );
+        if( shadow && 0 != ( shadowValid & ( 1 << bit ) ) ) {
+            System.arraycopy(shadowF, i, out, off, 3);
+            return;
+        }
+        AudioSystem3D.al.alGetSourcefv(sourceID, param, out, off);
+        if( shadow ) {
+            System.arraycopy(out, off, shadowF, i, 3);
+            shadowValid |= 1 << bit;
+        }
+    }
+
     @Override
     public String toString() {
         return "ALSource[id "+sourceID+", buffer "+buffer+"]";
@@ -0,0 +1,157 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.sound3d;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.AL;
+import com.jogamp.openal.ALException;
+
+/**
+ * Fixed capacity set of {@link Source}s updated in bulk with one native call,
+ * see {@link AL#alBulkSourceUpdate(int, IntBuffer, FloatBuffer, FloatBuffer, FloatBuffer)}.
+ * <p>
+ * Positions, velocities and gains are passed as direct {@link FloatBuffer}s in struct-of-arrays layout,
+ * in the order of the {@link #add(Source) added} sources, e.g. as kept off-heap by a physics engine,
+ * avoiding one JNI crossing and a {@link Vec3f} per emitter.
+ * </p>
+ * <p>
+ * Combine with {@link Context#deferUpdates()} to have all changes applied atomically by the mixer.
+ * The associated {@link Context} must be current on the calling thread while updating.
+ * </p>
+ * <p>
+ * Updated properties are invalidated in the {@link Context#setShadowState(boolean) shadow state}
+ * of the added {@link Source}s, as the values are not passed through Java.
+ * </p>
+ */
+public final class SourceArray {
+    private final IntBuffer ids;
+    private final Source[] sources;
+    private int count;
+
+    /**
+     * Creates an empty instance
+     * @param capacity maximum number of sources
+     */
+    public SourceArray(final int capacity) {
+        ids = Buffers.newDirectIntBuffer(capacity);
+        sources = new Source[capacity];
+        count = 0;
+    }
+
+    /**
+     * Creates an instance holding the given sources
+     * @param sources the sources, must be valid
+     */
+    public SourceArray(final Source[] sources) {
+        this(sources.length);
+        for(final Source s : sources) {
+            add(s);
+        }
+    }
+
+    /** Returns the maximum number of sources. */
+    public int getCapacity() { return ids.capacity(); }
+
+    /** Returns the number of sources. */
+    public int getCount() { return count; }
+
+    /**
+     * Appends the given source.
+     * @return the index of the source within this array and the struct-of-arrays buffers
+     * @throws IndexOutOfBoundsException if capacity is exceeded
+     */
+    public int add(final Source source) throws IndexOutOfBoundsException {
+        if( count >= ids.capacity() ) {
+            throw new IndexOutOfBoundsException("Capacity "+ids.capacity()+" reached");
+        }
+        ids.put(count, source.getID());
+        sources[count] = source;
+        return count++;
+    }
+
+    /** Replaces the source at the given index. */
+    public void set(final int index, final Source source) throws IndexOutOfBoundsException {
+        if( 0 > index || index >= count ) {
+            throw new IndexOutOfBoundsException("Index "+index+" not in [0.."+count+")");
+        }
+        ids.put(index, source.getID());
+        sources[index] = source;
+    }
+
+    /** Returns the OpenAL source ID at the given index. */
+    public int getID(final int index) throws IndexOutOfBoundsException {
+        if( 0 > index || index >= count ) {
+            throw new IndexOutOfBoundsException("Index "+index+" not in [0.."+count+")");
+        }
+        return ids.get(index);
+    }
+
+    /** Removes all sources. */
+    public void clear() {
+        for(int i=0; i<count; ++i) {
+            sources[i] = null;
+        }
+        count = 0;
+    }
+
+    /**
+     * Sets the positions of all sources in one native call.
+     * @param positions direct buffer of {@link #getCount()} x,y,z triples, read from its position
+     * @throws ALException if the buffer is not direct or too small
+     */
+    public void setPositions(final FloatBuffer positions) throws ALException {
+        update(positions, null, null);
+    }
+
+    /**
+     * Sets the positions and optionally velocities and gains of all sources in one native call.
+     * @param positions direct buffer of {@link #getCount()} x,y,z triples, read from its position
+     * @param velocities direct buffer of {@link #getCount()} x,y,z triples, read from its position, maybe null
+     * @param gains direct buffer of {@link #getCount()} gain values, read from its position, maybe null
+     * @throws ALException if a buffer is not direct or too small
+     */
+    public void update(final FloatBuffer positions, final FloatBuffer velocities, final FloatBuffer gains) throws ALException {
+        if( 0 < count ) {
+            AudioSystem3D.al.alBulkSourceUpdate(count, ids, positions, velocities, gains);
+            final int mask = ( 1 << Source.SH_POSITION ) |
+                             ( null != velocities ? 1 << Source.SH_VELOCITY : 0 ) |
+                             ( null != gains ? 1 << Source.SH_GAIN : 0 );
+            for(int i=0; i<count; ++i) {
+                sources[i].invalidateShadowState(mask);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SourceArray[count "+count+"/"+ids.capacity()+"]";
+    }
+}
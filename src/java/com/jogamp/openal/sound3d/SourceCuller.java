@@ -0,0 +1,364 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.sound3d;
+
+import java.util.ArrayList;
+
+import com.jogamp.openal.ALConstants;
+
+/**
+ * Audibility based level of detail culling of playing {@link Source}s.
+ * <p>
+ * Each {@link #update()} estimates the effective gain of all {@link #add(Source) added} sources on the Java side,
+ * applying the current distance model, rolloff, cone and min/max gain as specified by OpenAL
+ * relative to the {@link Listener}. A playing source below the {@link #setThreshold(float, float) cull threshold}
+ * is paused, i.e. no more mixed, and becomes <i>virtual</i> while its playback position keeps advancing in Java.
+ * Once audible again above the resume threshold, it is resumed at the advanced offset.
+ * A non looping virtual source reaching the end of its {@link Buffer} is stopped.
+ * </p>
+ * <p>
+ * Only sources with a static {@link Source#setBuffer(Buffer) buffer} are culled, streaming sources are ignored.
+ * A culled source reports <code>AL_PAUSED</code>, hence {@link #remove(Source) remove} it before pausing or stopping it.
+ * </p>
+ * <p>
+ * The associated {@link Context} must be current while calling {@link #update()}.
+ * Enabling its {@link Context#setShadowState(boolean) shadow state} avoids most native round trips
+ * for the source properties required per update.
+ * </p>
+ */
+public final class SourceCuller {
+    private static final class Entry {
+        final Source source;
+        /** True if paused by this culler. */
+        boolean virtual = false;
+        /** Playback position in seconds at {@link #virtualTime} while virtual. */
+        float offset = 0f;
+        /** {@link System#nanoTime()} of last {@link #offset} update while virtual. */
+        long virtualTime = 0;
+        /** Last estimated gain. */
+        float gain = 1f;
+
+        Entry(final Source source) {
+            this.source = source;
+        }
+    }
+
+    private final ArrayList<Entry> entries = new ArrayList<Entry>();
+    private float cullGain;
+    private float resumeGain;
+    private final float[] listenerPos = new float[3];
+    private final float[] pos = new float[3];
+    private final float[] dir = new float[3];
+    private long cullCount = 0;
+    private long resumeCount = 0;
+    private int virtualCount = 0;
+
+    /**
+     * Creates a culler with a cull threshold of <code>0.001</code>, i.e. -60 dB, and a resume threshold of <code>0.0015</code>.
+     */
+    public SourceCuller() {
+        this(0.001f, 0.0015f);
+    }
+
+    /**
+     * Creates a culler with the given thresholds, see {@link #setThreshold(float, float)}.
+     */
+    public SourceCuller(final float cullGain, final float resumeGain) {
+        setThreshold(cullGain, resumeGain);
+    }
+
+    /**
+     * Sets the audibility thresholds.
+     * @param cullGain playing sources with an estimated gain below this value become virtual
+     * @param resumeGain virtual sources with an estimated gain at or above this value are resumed,
+     *                   clipped to be at least {@code cullGain} for hysteresis
+     */
+    public void setThreshold(final float cullGain, final float resumeGain) {
+        this.cullGain = cullGain;
+        this.resumeGain = Math.max(cullGain, resumeGain);
+    }
+
+    /** Returns the cull threshold, see {@link #setThreshold(float, float)}. */
+    public float getCullGain() { return cullGain; }
+
+    /** Returns the resume threshold, see {@link #setThreshold(float, float)}. */
+    public float getResumeGain() { return resumeGain; }
+
+    /** Returns the number of added sources. */
+    public int getSourceCount() { return entries.size(); }
+
+    /** Returns the number of currently virtual, i.e. culled sources. */
+    public int getVirtualCount() { return virtualCount; }
+
+    /** Returns the number of playing sources turned virtual. */
+    public long getCullCount() { return cullCount; }
+
+    /** Returns the number of virtual sources resumed. */
+    public long getResumeCount() { return resumeCount; }
+
+    /** Adds the given source, if not already added. */
+    public void add(final Source source) {
+        if( 0 > indexOf(source) ) {
+            entries.add(new Entry(source));
+        }
+    }
+
+    /**
+     * Removes the given source. If virtual, it is resumed at its advanced offset if {@code resume} is true,
+     * otherwise it stays paused at that offset. A virtual non looping source having passed its end is stopped.
+     * <p>
+     * The associated {@link Context} must be current if the source is virtual.
+     * </p>
+     * @return true if the source was added, otherwise false
+     */
+    public boolean remove(final Source source, final boolean resume) {
+        final int i = indexOf(source);
+        if( 0 > i ) {
+            return false;
+        }
+        final Entry e = entries.remove(i);
+        if( e.virtual ) {
+            --virtualCount;
+            if( advance(e, System.nanoTime()) ) {
+                e.source.setSecOffset(e.offset);
+                if( resume ) {
+                    e.source.play();
+                }
+            } else {
+                e.source.stop(); // passed its end, as in update()
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes the given source, resuming it if virtual, see {@link #remove(Source, boolean)}.
+     * @return true if the source was added, otherwise false
+     */
+    public boolean remove(final Source source) {
+        return remove(source, true);
+    }
+
+    /** Returns true if the given source is added and currently virtual, i.e. culled. */
+    public boolean isVirtual(final Source source) {
+        final int i = indexOf(source);
+        return 0 <= i && entries.get(i).virtual;
+    }
+
+    /** Returns the last estimated gain of the given source as computed by {@link #update()}, or -1 if not added. */
+    public float getEstimatedGain(final Source source) {
+        final int i = indexOf(source);
+        return 0 <= i ? entries.get(i).gain : -1f;
+    }
+
+    private int indexOf(final Source source) {
+        for(int i=entries.size()-1; i>=0; --i) {
+            if( entries.get(i).source == source ) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Estimates the gain of all sources and culls or resumes them, see {@link SourceCuller class description}.
+     * <p>
+     * The associated {@link Context} must be current.
+     * </p>
+     */
+    public void update() {
+        final int distanceModel = AudioSystem3D.al.alGetInteger(ALConstants.AL_DISTANCE_MODEL);
+        final Listener listener = AudioSystem3D.getListener();
+        final float listenerGain = listener.getGain();
+        listener.getPosition(listenerPos, 0);
+        final long now = System.nanoTime();
+        for(int i=0; i<entries.size(); ++i) {
+            final Entry e = entries.get(i);
+            final Source s = e.source;
+            if( 0 > s.getID() || null == s.getBuffer() ) {
+                continue;
+            }
+            e.gain = listenerGain * estimateGain(s, distanceModel);
+            if( e.virtual ) {
+                if( !advance(e, now) ) {
+                    s.stop();
+                    e.virtual = false;
+                    --virtualCount;
+                } else if( e.gain >= resumeGain ) {
+                    s.setSecOffset(e.offset);
+                    s.play();
+                    e.virtual = false;
+                    --virtualCount;
+                    ++resumeCount;
+                }
+            } else if( e.gain < cullGain && ALConstants.AL_PLAYING == s.getState() ) {
+                s.pause();
+                e.offset = s.getSecOffset();
+                e.virtualTime = now;
+                e.virtual = true;
+                ++virtualCount;
+                ++cullCount;
+            }
+        }
+    }
+
+    /**
+     * Advances the virtual playback position of the given entry.
+     * @return false if a non looping source reached the end of its buffer, otherwise true
+     */
+    private static boolean advance(final Entry e, final long now) {
+        final Source s = e.source;
+        e.offset += s.getPitch() * ( now - e.virtualTime ) / 1e9f;
+        e.virtualTime = now;
+        final Buffer b = s.getBuffer();
+        final float duration = null != b ? b.getDuration() : 0f;
+        if( 0f < duration && e.offset >= duration ) {
+            if( s.getLooping() ) {
+                e.offset %= duration;
+            } else {
+                e.offset = duration;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private float estimateGain(final Source s, final int distanceModel) {
+        s.getPosition(pos, 0);
+        float dx = pos[0], dy = pos[1], dz = pos[2];
+        if( !s.isSourceRelative() ) {
+            dx -= listenerPos[0];
+            dy -= listenerPos[1];
+            dz -= listenerPos[2];
+        }
+        final float distance = (float)Math.sqrt(dx*dx + dy*dy + dz*dz);
+        float gain = s.getGain() * getDistanceGain(distanceModel, distance,
+                                                   s.getReferenceDistance(), s.getRolloffFactor(), s.getMaxDistance());
+        final float innerAngle = s.getConeInnerAngle();
+        final float outerAngle = s.getConeOuterAngle();
+        if( innerAngle < 360f || outerAngle < 360f ) {
+            s.getDirection(dir, 0);
+            // vector from source to listener is the negated listener to source vector
+            gain *= getConeGain(dir[0], dir[1], dir[2], -dx, -dy, -dz, innerAngle, outerAngle, s.getConeOuterGain());
+        }
+        return Math.min(Math.max(gain, s.getMinGain()), s.getMaxGain());
+    }
+
+    /**
+     * Returns the distance attenuation factor as specified by OpenAL.
+     *
+     * @param distanceModel the distance model, e.g. <code>AL_INVERSE_DISTANCE_CLAMPED</code>, <code>AL_LINEAR_DISTANCE</code> or <code>AL_NONE</code>
+     * @param distance distance between source and listener
+     * @param referenceDistance the source's reference distance
+     * @param rolloffFactor the source's rolloff factor
+     * @param maxDistance the source's max distance
+     * @return the attenuation factor in the range [0..1] for sane parameter
+     */
+    public static float getDistanceGain(final int distanceModel, final float distance,
+                                        final float referenceDistance, final float rolloffFactor, final float maxDistance) {
+        float d = distance;
+        switch( distanceModel ) {
+            case ALConstants.AL_INVERSE_DISTANCE_CLAMPED:
+                if( maxDistance < referenceDistance ) {
+                    return 1f;
+                }
+                d = Math.min(Math.max(d, referenceDistance), maxDistance);
+                // fall through
+            case ALConstants.AL_INVERSE_DISTANCE: {
+                final float denom = referenceDistance + rolloffFactor * ( d - referenceDistance );
+                return denom > 0f ? referenceDistance / denom : 1f;
+            }
+            case ALConstants.AL_LINEAR_DISTANCE_CLAMPED:
+                if( maxDistance < referenceDistance ) {
+                    return 1f;
+                }
+                d = Math.max(d, referenceDistance);
+                // fall through
+            case ALConstants.AL_LINEAR_DISTANCE: {
+                if( maxDistance <= referenceDistance ) {
+                    return 1f;
+                }
+                d = Math.min(d, maxDistance);
+                return Math.max(0f, 1f - rolloffFactor * ( d - referenceDistance ) / ( maxDistance - referenceDistance ));
+            }
+            case ALConstants.AL_EXPONENT_DISTANCE_CLAMPED:
+                if( maxDistance < referenceDistance ) {
+                    return 1f;
+                }
+                d = Math.min(Math.max(d, referenceDistance), maxDistance);
+                // fall through
+            case ALConstants.AL_EXPONENT_DISTANCE:
+                if( 0f >= d || 0f >= referenceDistance ) {
+                    return 1f;
+                }
+                return (float)Math.pow(d / referenceDistance, -rolloffFactor);
+            default:
+                return 1f;
+        }
+    }
+
+    /**
+     * Returns the cone attenuation factor as specified by OpenAL.
+     *
+     * @param dirX source direction x, a zero direction denotes an omni-directional source
+     * @param dirY source direction y
+     * @param dirZ source direction z
+     * @param toListenerX vector from source to listener x
+     * @param toListenerY vector from source to listener y
+     * @param toListenerZ vector from source to listener z
+     * @param innerAngle cone inner angle in degrees
+     * @param outerAngle cone outer angle in degrees
+     * @param outerGain gain outside the outer cone
+     * @return the attenuation factor, 1 inside the inner cone, {@code outerGain} outside the outer cone and linear interpolated in between
+     */
+    public static float getConeGain(final float dirX, final float dirY, final float dirZ,
+                                    final float toListenerX, final float toListenerY, final float toListenerZ,
+                                    final float innerAngle, final float outerAngle, final float outerGain) {
+        final float dirLen = (float)Math.sqrt(dirX*dirX + dirY*dirY + dirZ*dirZ);
+        final float toLen = (float)Math.sqrt(toListenerX*toListenerX + toListenerY*toListenerY + toListenerZ*toListenerZ);
+        if( 0f == dirLen || 0f == toLen ) {
+            return 1f;
+        }
+        final float cos = ( dirX*toListenerX + dirY*toListenerY + dirZ*toListenerZ ) / ( dirLen * toLen );
+        final float angle = 2f * (float)Math.toDegrees(Math.acos(Math.min(1f, Math.max(-1f, cos))));
+        if( angle <= innerAngle ) {
+            return 1f;
+        } else if( angle >= outerAngle ) {
+            return outerGain;
+        } else {
+            final float t = ( angle - innerAngle ) / ( outerAngle - innerAngle );
+            return 1f + ( outerGain - 1f ) * t;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SourceCuller[sources "+entries.size()+", virtual "+virtualCount+", threshold "+cullGain+"/"+resumeGain+
+               ", culled "+cullCount+", resumed "+resumeCount+"]";
+    }
+}
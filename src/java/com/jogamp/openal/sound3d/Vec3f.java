@@ -36,18 +36,28 @@ package com.jogamp.openal.sound3d;
 
 /**
  * A convenience class representing a 3-element float vector
+ * <p>
+ * Instances are mutable via {@link #set(float, float, float)},
+ * allowing them to be reused as out-parameter for allocation free getter,
+ * e.g. {@link Source#getPosition(Vec3f)} or {@link Listener#getPosition(Vec3f)}.
+ * </p>
  *
  * @author Athomas Goldberg
  */
 public final class Vec3f {
     /** the first element in the vector */
-    public final float v1;
+    public float v1;
 
-    /** the first element in the vector */
-    public final float v2;
+    /** the second element in the vector */
+    public float v2;
 
-    /** the first element in the vector */
-    public final float v3;
+    /** the third element in the vector */
+    public float v3;
+
+    /** Creates a new zero Vec3f object. */
+    public Vec3f() {
+        this(0f, 0f, 0f);
+    }
 
     /**
      * Creates a new Vec3f object.
@@ -61,4 +71,45 @@ public final class Vec3f {
         this.v2 = v2;
         this.v3 = v3;
     }
+
+    /**
+     * Sets all elements of this vector.
+     *
+     * @param v1 the first element in the vector
+     * @param v2 the second element in the vector
+     * @param v3 the third element in the vector
+     * @return this instance for chaining
+     */
+    public Vec3f set(final float v1, final float v2, final float v3) {
+        this.v1 = v1;
+        this.v2 = v2;
+        this.v3 = v3;
+        return this;
+    }
+
+    /**
+     * Sets all elements of this vector from the given one.
+     *
+     * @param o the source vector
+     * @return this instance for chaining
+     */
+    public Vec3f set(final Vec3f o) {
+        return set(o.v1, o.v2, o.v3);
+    }
+
+    /**
+     * Sets all elements of this vector from the given array.
+     *
+     * @param a the source array
+     * @param off offset of the first element in {@code a}
+     * @return this instance for chaining
+     */
+    public Vec3f set(final float[] a, final int off) {
+        return set(a[off], a[off+1], a[off+2]);
+    }
+
+    @Override
+    public String toString() {
+        return "Vec3f["+v1+", "+v2+", "+v3+"]";
+    }
 }
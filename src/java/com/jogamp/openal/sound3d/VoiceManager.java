@@ -0,0 +1,551 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.sound3d;
+
+import java.util.ArrayList;
+import java.util.function.LongSupplier;
+
+import com.jogamp.openal.ALCConstants;
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.ALException;
+
+/**
+ * Manages a preallocated pool of real {@link Source}s, handing out an unlimited number of virtual {@link Voice}s.
+ * <p>
+ * The pool is created once up to the device limit <code>ALC_MONO_SOURCES</code> or a given maximum,
+ * avoiding <code>alGenSources</code>/<code>alDeleteSources</code> churn.
+ * A {@link Voice} is bound to a real {@link Source} only while {@link #play(Voice) playing}.
+ * If the pool is exhausted, the real source of the least important voice is stolen,
+ * i.e. the voice with the lowest {@link Voice#getPriority() priority}
+ * and, on equal priority, the lowest {@link Voice#getAudibility() audibility}, i.e. the quietest.
+ * </p>
+ * <p>
+ * A stolen or not yet bound playing voice stays virtual and its playback position keeps advancing
+ * with the elapsed time and {@link Voice#setPitch(float) pitch}, wrapping if {@link Voice#setLooping(boolean) looping}.
+ * {@link #update()} reclaims sources of finished voices and resumes the most important virtual voices
+ * at their current playback position, stealing from less important real voices if required.
+ * Non looping virtual voices reaching the end of their {@link Buffer} are stopped.
+ * </p>
+ * <p>
+ * All methods shall be called with the associated {@link Context} current on the calling thread,
+ * this class is not thread safe.
+ * </p>
+ */
+public final class VoiceManager {
+    /** {@link Voice} playback state */
+    public static enum State {
+        /** Not playing, also after reaching the end of a non looping buffer. */
+        STOPPED,
+        /** Playing, either on a real {@link Source} or virtually. */
+        PLAYING,
+        /** Paused, either on a real {@link Source} or virtually. */
+        PAUSED
+    }
+
+    /**
+     * Virtual voice of a {@link VoiceManager}, playing a {@link Buffer}.
+     * <p>
+     * Its properties are cached and applied to the real {@link Source} when bound.
+     * </p>
+     */
+    public static final class Voice {
+        private final VoiceManager owner;
+        private final Buffer buffer;
+        private final float duration;
+        private int priority;
+        private float gain = 1f;
+        private float pitch = 1f;
+        private boolean looping = false;
+        private boolean relative = false;
+        private float px, py, pz;
+        private float referenceDistance = 1f;
+        private float rolloffFactor = 1f;
+        private State state = State.STOPPED;
+        /** Bound real source while playing or paused, otherwise null. */
+        private Source source = null;
+        /** Playback position in seconds at {@link #virtualTime} while virtual. */
+        private float offset = 0f;
+        /** {@link VoiceManager#setClock(LongSupplier) Clock} time in nanoseconds of last {@link #offset} update while virtual. */
+        private long virtualTime = 0;
+        private boolean released = false;
+
+        private Voice(final VoiceManager owner, final Buffer buffer, final int priority) {
+            this.owner = owner;
+            this.buffer = buffer;
+            this.duration = buffer.getDuration();
+            this.priority = priority;
+        }
+
+        /** Returns the played {@link Buffer}. */
+        public Buffer getBuffer() { return buffer; }
+        /** Returns the {@link Buffer} duration in seconds. */
+        public float getDuration() { return duration; }
+        /** Returns the {@link State}. */
+        public State getState() { return state; }
+        /** Returns true if bound to a real {@link Source}, otherwise this voice is virtual. */
+        public boolean isReal() { return null != source; }
+        /** Returns the bound real {@link Source} or null if virtual. */
+        public Source getSource() { return source; }
+
+        /** Returns the priority, higher values are more important. */
+        public int getPriority() { return priority; }
+        /** Sets the priority, higher values are more important. Taken into account by the next steal decision. */
+        public void setPriority(final int priority) { this.priority = priority; }
+
+        /** Returns the gain. */
+        public float getGain() { return gain; }
+        /** Sets the gain, see {@link Source#setGain(float)}. */
+        public void setGain(final float gain) {
+            this.gain = gain;
+            if( null != source ) {
+                source.setGain(gain);
+            }
+        }
+
+        /** Returns the pitch. */
+        public float getPitch() { return pitch; }
+        /** Sets the pitch, see {@link Source#setPitch(float)}. Also scales the virtual playback speed. */
+        public void setPitch(final float pitch) {
+            if( null == source ) {
+                advance(owner.clock.getAsLong());
+            }
+            this.pitch = pitch;
+            if( null != source ) {
+                source.setPitch(pitch);
+            }
+        }
+
+        /** Returns whether looping is enabled. */
+        public boolean getLooping() { return looping; }
+        /** Enables or disables looping, see {@link Source#setLooping(boolean)}. */
+        public void setLooping(final boolean looping) {
+            if( null == source ) {
+                advance(owner.clock.getAsLong());
+            }
+            this.looping = looping;
+            if( null != source ) {
+                source.setLooping(looping);
+            }
+        }
+
+        /** Returns whether the position is relative to the listener. */
+        public boolean isSourceRelative() { return relative; }
+        /** Sets whether the position is relative to the listener, see {@link Source#setSourceRelative(boolean)}. */
+        public void setSourceRelative(final boolean relative) {
+            this.relative = relative;
+            if( null != source ) {
+                source.setSourceRelative(relative);
+            }
+        }
+
+        /** Sets the position, see {@link Source#setPosition(float, float, float)}. */
+        public void setPosition(final float x, final float y, final float z) {
+            px = x; py = y; pz = z;
+            if( null != source ) {
+                source.setPosition(x, y, z);
+            }
+        }
+        /** Returns the position's x component. */
+        public float getPositionX() { return px; }
+        /** Returns the position's y component. */
+        public float getPositionY() { return py; }
+        /** Returns the position's z component. */
+        public float getPositionZ() { return pz; }
+
+        /** Sets the reference distance, see {@link Source#setReferenceDistance(float)}. */
+        public void setReferenceDistance(final float referenceDistance) {
+            this.referenceDistance = referenceDistance;
+            if( null != source ) {
+                source.setReferenceDistance(referenceDistance);
+            }
+        }
+        /** Returns the reference distance. */
+        public float getReferenceDistance() { return referenceDistance; }
+
+        /** Sets the rolloff factor, see {@link Source#setRolloffFactor(float)}. */
+        public void setRolloffFactor(final float rolloffFactor) {
+            this.rolloffFactor = rolloffFactor;
+            if( null != source ) {
+                source.setRolloffFactor(rolloffFactor);
+            }
+        }
+        /** Returns the rolloff factor. */
+        public float getRolloffFactor() { return rolloffFactor; }
+
+        /**
+         * Returns the estimated audibility, i.e. the {@link #getGain() gain}
+         * attenuated by the inverse clamped distance model relative to the {@link VoiceManager#setListenerPosition(float, float, float) listener position}.
+         */
+        public float getAudibility() {
+            final float d;
+            if( relative ) {
+                d = (float)Math.sqrt(px*px + py*py + pz*pz);
+            } else {
+                final float dx = px - owner.lx, dy = py - owner.ly, dz = pz - owner.lz;
+                d = (float)Math.sqrt(dx*dx + dy*dy + dz*dz);
+            }
+            return gain * SourceCuller.getDistanceGain(ALConstants.AL_INVERSE_DISTANCE_CLAMPED, d, referenceDistance, rolloffFactor, Float.MAX_VALUE);
+        }
+
+        /**
+         * Returns the playback position in seconds,
+         * queried from the real {@link Source} if bound, otherwise the virtual position.
+         */
+        public float getSecOffset() {
+            if( null != source ) {
+                return source.getSecOffset();
+            }
+            if( State.PLAYING == state ) {
+                advance(owner.clock.getAsLong());
+            }
+            return offset;
+        }
+
+        /** Advances the virtual playback position, only if virtual and playing. */
+        private void advance(final long now) {
+            if( null == source && State.PLAYING == state ) {
+                offset += pitch * ( now - virtualTime ) / 1e9f;
+                if( offset >= duration ) {
+                    if( looping && duration > 0f ) {
+                        offset %= duration;
+                    } else {
+                        offset = duration;
+                        state = State.STOPPED;
+                    }
+                }
+            }
+            virtualTime = now;
+        }
+
+        /** Returns true if this voice is less important than the other voice. */
+        private boolean lessImportant(final Voice o) {
+            if( priority != o.priority ) {
+                return priority < o.priority;
+            }
+            return getAudibility() < o.getAudibility();
+        }
+
+        @Override
+        public String toString() {
+            return "Voice[prio "+priority+", gain "+gain+", "+state+", "+(null != source ? "real "+source.getID() : "virtual")+
+                   ", offset "+offset+"/"+duration+" s, "+buffer+"]";
+        }
+    }
+
+    private final Context context;
+    private final Source[] sources;
+    private final ArrayList<Source> freeSources;
+    private final ArrayList<Voice> voices = new ArrayList<Voice>();
+    private float lx, ly, lz;
+    private LongSupplier clock = System::nanoTime;
+    private long stealCount = 0;
+    private long resumeCount = 0;
+
+    /**
+     * Creates a new instance, preallocating its {@link Source} pool.
+     * <p>
+     * The {@link Context} must be current on the calling thread.
+     * </p>
+     * @param context the {@link Context} of all sources and voices
+     * @param maxSources maximum number of real sources to preallocate, pass zero or less to use the device limit <code>ALC_MONO_SOURCES</code>.
+     *        The pool might be smaller if the implementation refuses to create further sources.
+     * @throws ALException if the context is not current or not a single source could be created
+     */
+    public VoiceManager(final Context context, final int maxSources) throws ALException {
+        if( context != Context.getCurrentContext() ) {
+            throw new ALException("Context not current on thread "+Thread.currentThread().getName()+", "+context);
+        }
+        this.context = context;
+        int max = maxSources;
+        if( 0 >= max ) {
+            final int[] value = { 0 };
+            AudioSystem3D.alc.alcGetIntegerv(context.getDevice().getALDevice(), ALCConstants.ALC_MONO_SOURCES, 1, value, 0);
+            max = 0 < value[0] ? value[0] : 256;
+        }
+        final ArrayList<Source> created = new ArrayList<Source>(max);
+        for(int i=0; i<max; ++i) {
+            final Source s = new Source();
+            if( !s.create() ) {
+                AudioSystem3D.al.alGetError(); // clear error, pool is limited by the implementation
+                break;
+            }
+            created.add(s);
+        }
+        if( created.isEmpty() ) {
+            throw new ALException("Couldn't create any source, "+context);
+        }
+        sources = created.toArray(new Source[created.size()]);
+        freeSources = created;
+    }
+
+    /** Returns the associated {@link Context}. */
+    public Context getContext() { return context; }
+
+    /** Returns the number of preallocated real {@link Source}s. */
+    public int getSourceCount() { return sources.length; }
+
+    /** Returns the number of currently unbound real {@link Source}s. */
+    public int getFreeSourceCount() { return freeSources.size(); }
+
+    /** Returns the number of {@link #createVoice(Buffer, int) created} and not yet {@link #release(Voice) released} voices. */
+    public int getVoiceCount() { return voices.size(); }
+
+    /** Returns the number of voices bound to a real {@link Source}. */
+    public int getRealVoiceCount() { return sources.length - freeSources.size(); }
+
+    /** Returns the number of real {@link Source}s stolen from less important voices. */
+    public long getStealCount() { return stealCount; }
+
+    /** Returns the number of virtual playing voices resumed on a real {@link Source}. */
+    public long getResumeCount() { return resumeCount; }
+
+    /**
+     * Sets the monotonic clock in nanoseconds advancing the playback position of virtual voices,
+     * defaults to {@link System#nanoTime()}.
+     * <p>
+     * Shall be set before playing any voice, e.g. to drive virtual playback by the rendered duration of a loopback device.
+     * </p>
+     */
+    public void setClock(final LongSupplier nanoClock) { clock = nanoClock; }
+
+    /**
+     * Sets the listener position used to estimate a voice's {@link Voice#getAudibility() audibility}.
+     * <p>
+     * Only updates the cached position, the OpenAL listener is not modified.
+     * </p>
+     */
+    public void setListenerPosition(final float x, final float y, final float z) {
+        lx = x; ly = y; lz = z;
+    }
+
+    /**
+     * Creates a new stopped virtual {@link Voice} for the given {@link Buffer}.
+     * @param buffer the {@link Buffer} to play, shared and not owned by the voice
+     * @param priority the priority, higher values are more important
+     */
+    public Voice createVoice(final Buffer buffer, final int priority) {
+        final Voice v = new Voice(this, buffer, priority);
+        voices.add(v);
+        return v;
+    }
+
+    /**
+     * Starts or resumes playing the given voice.
+     * <p>
+     * If no free real {@link Source} is available, the source of a less important voice is stolen.
+     * If none is less important, the voice plays virtually until resumed by {@link #update()}.
+     * </p>
+     * @return true if the voice plays on a real {@link Source}, false if virtual
+     */
+    public boolean play(final Voice v) {
+        validate(v);
+        final long now = clock.getAsLong();
+        if( null != v.source ) {
+            if( State.STOPPED == v.state ) {
+                v.source.setSecOffset(0f);
+            }
+            v.state = State.PLAYING;
+            v.source.play();
+            return true;
+        }
+        if( State.STOPPED == v.state ) {
+            v.offset = 0f;
+        }
+        v.state = State.PLAYING;
+        v.virtualTime = now;
+        return acquire(v, now);
+    }
+
+    /** Pauses the given voice, keeping its real {@link Source} if bound. */
+    public void pause(final Voice v) {
+        validate(v);
+        if( State.PLAYING != v.state ) {
+            return;
+        }
+        if( null != v.source ) {
+            v.source.pause();
+        } else {
+            v.advance(clock.getAsLong());
+        }
+        if( State.PLAYING == v.state ) {
+            v.state = State.PAUSED;
+        }
+    }
+
+    /** Stops the given voice, rewinding it and returning its real {@link Source} to the pool. */
+    public void stop(final Voice v) {
+        validate(v);
+        unbind(v);
+        v.state = State.STOPPED;
+        v.offset = 0f;
+    }
+
+    /** Stops and releases the given voice, which cannot be used anymore. */
+    public void release(final Voice v) {
+        validate(v);
+        stop(v);
+        voices.remove(v);
+        v.released = true;
+    }
+
+    /**
+     * Updates all voices, shall be called periodically, e.g. once per frame.
+     * <ul>
+     *   <li>Returns sources of real voices having finished playing to the pool.</li>
+     *   <li>Advances virtual voices, stopping non looping voices reaching their end.</li>
+     *   <li>Resumes the most important virtual playing voices at their current playback position,
+     *       using free sources or stealing sources from less important voices.</li>
+     * </ul>
+     */
+    public void update() {
+        final long now = clock.getAsLong();
+        int virtualPlaying = 0;
+        for(int i=0; i<voices.size(); ++i) {
+            final Voice v = voices.get(i);
+            if( null != v.source ) {
+                if( State.PLAYING == v.state && ALConstants.AL_STOPPED == v.source.getState() ) {
+                    unbind(v);
+                    v.state = State.STOPPED;
+                    v.offset = 0f;
+                }
+            } else if( State.PLAYING == v.state ) {
+                v.advance(now);
+                if( State.PLAYING == v.state ) {
+                    ++virtualPlaying;
+                }
+            }
+        }
+        // resume most important virtual voices first, stop if the most important one couldn't be resumed
+        while( virtualPlaying > 0 ) {
+            Voice best = null;
+            for(int i=0; i<voices.size(); ++i) {
+                final Voice v = voices.get(i);
+                if( null == v.source && State.PLAYING == v.state && ( null == best || best.lessImportant(v) ) ) {
+                    best = v;
+                }
+            }
+            if( null == best || !acquire(best, now) ) {
+                break;
+            }
+            ++resumeCount;
+            --virtualPlaying;
+        }
+    }
+
+    /**
+     * Stops and releases all voices and deletes all real {@link Source}s.
+     * The shared {@link Buffer}s are not deleted.
+     */
+    public void destroy() {
+        for(int i=voices.size()-1; i>=0; --i) {
+            final Voice v = voices.get(i);
+            unbind(v);
+            v.state = State.STOPPED;
+            v.released = true;
+        }
+        voices.clear();
+        for(final Source s : sources) {
+            s.stop();
+            s.setBuffer(null); // don't delete the shared buffer
+            s.delete();
+        }
+        freeSources.clear();
+    }
+
+    private void validate(final Voice v) {
+        if( v.owner != this || v.released ) {
+            throw new IllegalArgumentException("Voice not owned or released: "+v);
+        }
+    }
+
+    /** Binds a real source to the given virtual playing voice, stealing if required. */
+    private boolean acquire(final Voice v, final long now) {
+        Source s = null;
+        if( !freeSources.isEmpty() ) {
+            s = freeSources.remove(freeSources.size()-1);
+        } else {
+            Voice victim = null;
+            for(int i=0; i<voices.size(); ++i) {
+                final Voice o = voices.get(i);
+                if( null != o.source && o.lessImportant(v) && ( null == victim || o.lessImportant(victim) ) ) {
+                    victim = o;
+                }
+            }
+            if( null == victim ) {
+                return false;
+            }
+            s = steal(victim, now);
+            ++stealCount;
+        }
+        bind(v, s);
+        return true;
+    }
+
+    /** Turns the given real voice virtual at its current playback position and returns its source. */
+    private Source steal(final Voice v, final long now) {
+        final Source s = v.source;
+        v.offset = s.getSecOffset();
+        s.stop();
+        s.setBuffer(null);
+        v.source = null;
+        v.virtualTime = now;
+        return s;
+    }
+
+    private void bind(final Voice v, final Source s) {
+        s.setBuffer(v.buffer);
+        s.setGain(v.gain);
+        s.setPitch(v.pitch);
+        s.setLooping(v.looping);
+        s.setSourceRelative(v.relative);
+        s.setPosition(v.px, v.py, v.pz);
+        s.setReferenceDistance(v.referenceDistance);
+        s.setRolloffFactor(v.rolloffFactor);
+        s.setSecOffset(v.offset);
+        v.source = s;
+        if( State.PLAYING == v.state ) {
+            s.play();
+        }
+    }
+
+    private void unbind(final Voice v) {
+        final Source s = v.source;
+        if( null != s ) {
+            s.stop();
+            s.setBuffer(null);
+            v.source = null;
+            freeSources.add(s);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "VoiceManager[sources "+getRealVoiceCount()+"/"+sources.length+", voices "+voices.size()+
+               ", steals "+stealCount+", resumes "+resumeCount+"]";
+    }
+}
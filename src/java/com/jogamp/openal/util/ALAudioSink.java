@@ -28,8 +28,10 @@
 package com.jogamp.openal.util;
 
 import java.nio.ByteBuffer;
-
-import jogamp.openal.Debug;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.jogamp.common.ExceptionUtils;
 import com.jogamp.common.av.AudioFormat;
@@ -39,17 +41,11 @@ import com.jogamp.common.av.PTS;
 import com.jogamp.common.av.TimeFrameI;
 import com.jogamp.common.os.Clock;
 import com.jogamp.common.util.LFRingbuffer;
-import com.jogamp.common.util.PropertyAccess;
 import com.jogamp.common.util.Ringbuffer;
-import com.jogamp.common.util.TSPrinter;
-import com.jogamp.openal.AL;
-import com.jogamp.openal.ALC;
-import com.jogamp.openal.ALCConstants;
 import com.jogamp.openal.ALCcontext;
 import com.jogamp.openal.ALCdevice;
 import com.jogamp.openal.ALConstants;
 import com.jogamp.openal.ALException;
-import com.jogamp.openal.ALExt;
 import com.jogamp.openal.ALExt.ALEVENTPROCSOFT;
 import com.jogamp.openal.ALExtConstants;
 import com.jogamp.openal.sound3d.AudioSystem3D;
@@ -68,31 +64,14 @@ import com.jogamp.openal.sound3d.Source;
  * </ul>
  * </p>
  */
-public final class ALAudioSink implements AudioSink {
-    private static final boolean DEBUG_TRACE;
-    private static final TSPrinter logout;
-    private static final ALC alc;
-    private static final AL al;
-    private static final ALExt alExt;
-    private static final boolean staticsInitialized;
-
-    private final Device device;
-    private boolean hasSOFTBufferSamples;
-    private boolean hasEXTMcFormats;
-    private boolean hasEXTFloat32;
-    private boolean hasEXTDouble;
-    private boolean hasALC_thread_local_context;
+public final class ALAudioSink extends ALAudioSinkBase {
+    /** The {@link ALAudioSinkPool} sharing its {@link #device} and {@link #context}, null if owned by this instance. */
+    private final ALAudioSinkPool pool;
     private boolean hasAL_SOFT_events;
     private boolean useAL_SOFT_events;
-    private int sourceCount;
-    /** default latency in [s] */
-    private float defaultLatency;
-    /** latency in [s] */
-    private float latency;
-    private final AudioFormat nativeFormat;
-    private int userMaxChannels = 8;
-    private AudioFormat preferredFormat;
-    private final Context context;
+    private boolean hasAL_SOFT_source_latency;
+    private boolean hasALC_SOFT_device_clock;
+    private boolean useSampleAccuratePTS;
 
     /** Playback speed, range [0.5 - 2.0], default 1.0. */
     private float playSpeed = 1.0f;
@@ -119,8 +98,33 @@ public final class ALAudioSink implements AudioSink {
     }
 
     private int[] alBufferNames = null;
+    /** Scratch array for OpenAL buffer names to be unqueued, sized to hold all {@link #alBufferNames} */
+    private int[] alBufferNameScratch = null;
+    /** Scratch array for OpenAL buffer names to be queued, sized to hold all {@link #alBufferNames} */
+    private int[] alBufferQueueScratch = null;
+    /** Scratch array for single integer OpenAL queries, only used while context is current */
+    private final int[] alQueryScratch = { 0 };
     /** queue limit in [ms] */
     private int queueSize = 0;
+
+    /** Adaptive queue enabled, see {@link #setAdaptiveQueue(boolean, int, int)} */
+    private boolean adaptiveQueue = false;
+    /** Adaptive queue target latency window minimum in [s] */
+    private float targetLatencyMin = 0f;
+    /** Adaptive queue target latency window maximum in [s] */
+    private float targetLatencyMax = 0f;
+    /** Adaptive queue target latency in [s], i.e. queued duration not to be exceeded before waiting for played frames */
+    private float targetLatency = 0f;
+    /** Adaptive queue maximum number of frames */
+    private int maxFrameCount = 0;
+    /** Adaptive queue idle duration in [ms] after which the target latency gets lowered and the frame pool shrinks */
+    private int adaptiveIdleDuration = 5000;
+    /** Time in [ms] of last adaptive queue growth, underrun or shrink */
+    private long adaptiveLastChange = 0;
+    /** Source has been started via alSourcePlay and not been stopped since, used to detect underruns */
+    private boolean sourceStarted = false;
+    private int growCount = 0;
+    private int shrinkCount = 0;
     /** average frame duration in [s], initialized with latency */
     private float avgFrameDuration = 0f;
 
@@ -131,6 +135,22 @@ public final class ALAudioSink implements AudioSink {
     private volatile boolean playRequested = false;
     private final PTS pts = new PTS( () -> { return playRequested ? playSpeed : 0f; } );
     private volatile int enqueuedFrameCount;
+    /** Minimum interval between sample accurate PTS queries in [ms] */
+    private int ptsQueryInterval = 10;
+    /** Time of last sample accurate PTS query in [ms], zero if none */
+    private long ptsQueryTime = 0;
+    /** Output latency in [s] of the last sample accurate PTS query */
+    private volatile float outputLatency = 0f;
+    /** Scratch arrays for sample accurate PTS queries, only used while context is current */
+    private final double[] ptsQueryD = { 0, 0 };
+    private final float[] ptsQueryF = { 0 };
+    private final long[] ptsQueryL = { 0 };
+
+    /** Always-on runtime metrics */
+    private final ALAudioSinkMetrics metrics = new ALAudioSinkMetrics();
+    /** JMX registration handle of {@link #metrics}, maybe null */
+    private Object metricsMBean = null;
+    private static final AtomicInteger sinkCounter = new AtomicInteger(0);
 
     private final Source alSource = new Source();
     private AudioFormat chosenFormat;
@@ -140,33 +160,6 @@ public final class ALAudioSink implements AudioSink {
     private volatile boolean available;
 
 
-    static {
-        Debug.initSingleton();
-        DEBUG_TRACE = PropertyAccess.isPropertyDefined("joal.debug.AudioSink.trace", true);
-        if( DEBUG || DEBUG_TRACE ) {
-            logout = TSPrinter.stderr();
-        } else {
-            logout = null;
-        }
-        alc = AudioSystem3D.getALC();
-        al = AudioSystem3D.getAL();
-        alExt = AudioSystem3D.getALExt();
-        staticsInitialized = AudioSystem3D.isAvailable();
-    }
-
-    /** Returns true if OpenAL has been loaded and static fields {@link ALC}, {@link AL} and {@link ALExt} have been initialized successfully, otherwise false. */
-    public static boolean isInitialized() {
-        return staticsInitialized;
-    }
-
-    private static Device createDevice(final String name) {
-        final Device d = new Device(name);
-        if( !d.isValid() ) {
-            throw new ALException(getThreadName()+": ALAudioSink: Error opening OpenAL device '"+name+"'");
-        }
-        return d;
-    }
-
     /**
      * Create a new instance with a new default {@link ALCdevice}
      * @throws ALException if the default {@link ALCdevice} couldn't be fully created including its context.
@@ -191,114 +184,52 @@ public final class ALAudioSink implements AudioSink {
      * @throws ALException if the default {@link ALCdevice} couldn't be fully created including its context.
      */
     public ALAudioSink(final Device alDevice) throws ALException {
+        this(alDevice, null);
+    }
+
+    /**
+     * Create a new instance with an optional given {@link ALCdevice} and {@link ALCcontext} attributes.
+     * <p>
+     * Passing {@link ALCcontext} attributes is required for a {@link Device#isLoopback() loopback device},
+     * i.e. <code>ALC_FORMAT_CHANNELS_SOFT</code>, <code>ALC_FORMAT_TYPE_SOFT</code> and <code>ALC_FREQUENCY</code>.
+     * The attributes are preserved if the context gets re-created, see {@link #init(AudioFormat, int, int)}.
+     * </p>
+     *
+     * @param alDevice optional OpenAL {@link Device}, a default device is opened if null.
+     * @param ctxAttributes optional list of {@link ALCcontext} attributes w/o terminating zero, maybe null
+     * @throws ALException if the default {@link ALCdevice} couldn't be fully created including its context.
+     */
+    public ALAudioSink(final Device alDevice, final int[] ctxAttributes) throws ALException {
+        this(alDevice, ctxAttributes, null);
+    }
+
+    /**
+     * Create a new instance sharing the {@link Device} and {@link Context} of the given {@link ALAudioSinkPool},
+     * see {@link ALAudioSinkPool#createSink()}.
+     */
+    ALAudioSink(final ALAudioSinkPool pool) throws ALException {
+        this(null, null, pool);
+    }
+
+    private ALAudioSink(final Device alDevice, final int[] ctxAttributes, final ALAudioSinkPool pool) throws ALException {
+        super(null != pool ? pool.getDevice() : alDevice, ctxAttributes, null != pool ? pool.getContext() : null, true /* useSOFTBufferSamples */);
         available = false;
         chosenFormat = null;
+        this.pool = pool;
 
         if( !staticsInitialized ) {
-            device = null;
-            context = null;
-            nativeFormat = DefaultFormat;
             return;
         }
-        if( null == alDevice ) {
-            device = createDevice(null); // default device
-            if( !device.isValid() ) {
-                throw new ALException(getThreadName()+": ALAudioSink: Couldn't open default device: "+device);
-            }
-        } else {
-            device = alDevice;
-            if( !device.open() ) {
-                throw new ALException(getThreadName()+": ALAudioSink: Error device not open or couldn't be opened "+device);
-            }
-        }
-        // Create audio context.
-        context = new Context(device, null);
-        if ( !context.isValid() ) {
-            throw new ALException(getThreadName()+": ALAudioSink: Error creating OpenAL context "+context);
-        }
-
         makeCurrent(true /* throw */);
         try {
-            hasSOFTBufferSamples = al.alIsExtensionPresent(ALHelpers.AL_SOFT_buffer_samples);
-            hasEXTMcFormats = al.alIsExtensionPresent(ALHelpers.AL_EXT_MCFORMATS);
-            hasEXTFloat32 = al.alIsExtensionPresent(ALHelpers.AL_EXT_FLOAT32);
-            hasEXTDouble = al.alIsExtensionPresent(ALHelpers.AL_EXT_DOUBLE);
-            hasALC_thread_local_context = context.hasALC_thread_local_context;
             hasAL_SOFT_events = al.alIsExtensionPresent(ALHelpers.AL_SOFT_events);
             useAL_SOFT_events = hasAL_SOFT_events;
-
-            int checkErrIter = 1;
-            AudioSystem3D.checkError(device, "init."+checkErrIter++, DEBUG, false);
-            int defaultSampleRate = DefaultFormat.sampleRate;
-            {
-                final int[] value = { 0 };
-                alc.alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_FREQUENCY, 1, value, 0);
-                if( AudioSystem3D.checkError(device, "read ALC_FREQUENCY", DEBUG, false) || 0 == value[0] ) {
-                    if( DEBUG ) {
-                        logout.println("ALAudioSink.queryDefaultSampleRate: failed, using default "+defaultSampleRate);
-                    }
-                } else {
-                    defaultSampleRate = value[0];
-                    if( DEBUG ) {
-                        logout.println("ALAudioSink.queryDefaultSampleRate: OK "+defaultSampleRate);
-                    }
-                }
-                value[0] = 0;
-                alc.alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_MONO_SOURCES, 1, value, 0);
-                if( AudioSystem3D.checkError(device, "read ALC_MONO_SOURCES", DEBUG, false) ) {
-                    sourceCount = -1;
-                    if( DEBUG ) {
-                        logout.println("ALAudioSink.queryMonoSourceCount: failed");
-                    }
-                } else {
-                    sourceCount = value[0];
-                }
-                value[0] = 0;
-                alc.alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_REFRESH, 1, value, 0);
-                if( AudioSystem3D.checkError(device, "read ALC_FREQUENCY", DEBUG, false) || 0 == value[0] ) {
-                    defaultLatency = 20f/1000f; // OpenAL-Soft default seems to be 50 Hz -> 20ms min latency
-                    if( DEBUG ) {
-                        logout.println("ALAudioSink.queryDefaultRefreshRate: failed");
-                    }
-                } else {
-                    defaultLatency = 1f/value[0]; // Hz -> s
-                    if( DEBUG ) {
-                        logout.println("ALAudioSink.queryDefaultRefreshRate: OK "+value[0]+" Hz = "+(1000f*defaultLatency)+" ms");
-                    }
-                }
-            }
-            nativeFormat = new AudioFormat(defaultSampleRate, DefaultFormat.sampleSize, getMaxSupportedChannels(false),
-                                           DefaultFormat.signed, DefaultFormat.fixedP, DefaultFormat.planar, DefaultFormat.littleEndian);
-            preferredFormat = nativeFormat;
+            hasAL_SOFT_source_latency = al.alIsExtensionPresent(ALHelpers.AL_SOFT_source_latency);
+            hasALC_SOFT_device_clock = alc.alcIsExtensionPresent(device.getALDevice(), ALHelpers.ALC_SOFT_device_clock);
             if( DEBUG ) {
-                final int[] alcvers = { 0, 0 };
-                System.out.println("ALAudioSink: OpenAL Version: "+al.alGetString(ALConstants.AL_VERSION));
-                System.out.println("ALAudioSink: OpenAL Extensions: "+al.alGetString(ALConstants.AL_EXTENSIONS));
-                AudioSystem3D.checkError(device, "init."+checkErrIter++, DEBUG, false);
-                System.out.println("ALAudioSink: Null device OpenALC:");
-                alc.alcGetIntegerv(null, ALCConstants.ALC_MAJOR_VERSION, 1, alcvers, 0);
-                alc.alcGetIntegerv(null, ALCConstants.ALC_MINOR_VERSION, 1, alcvers, 1);
-                System.out.println("  Version: "+alcvers[0]+"."+alcvers[1]);
-                System.out.println("  Extensions: "+alc.alcGetString(null, ALCConstants.ALC_EXTENSIONS));
-                AudioSystem3D.checkError(device, "init."+checkErrIter++, DEBUG, false);
-                System.out.println("ALAudioSink: Device "+device+" OpenALC:");
-                alc.alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_MAJOR_VERSION, 1, alcvers, 0);
-                alc.alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_MINOR_VERSION, 1, alcvers, 1);
-                System.out.println("  Version: "+alcvers[0]+"."+alcvers[1]);
-                System.out.println("  Extensions: "+alc.alcGetString(device.getALDevice(), ALCConstants.ALC_EXTENSIONS));
-                System.out.println("ALAudioSink: hasSOFTBufferSamples "+hasSOFTBufferSamples);
-                System.out.println("ALAudioSink: hasEXTMcFormats "+hasEXTMcFormats);
-                System.out.println("ALAudioSink: hasEXTFloat32 "+hasEXTFloat32);
-                System.out.println("ALAudioSink: hasEXTDouble "+hasEXTDouble);
-                System.out.println("ALAudioSink: hasALC_thread_local_context "+hasALC_thread_local_context);
                 System.out.println("ALAudioSink: hasAL_SOFT_events "+hasAL_SOFT_events);
-                System.out.println("ALAudioSink: maxSupportedChannels "+getMaxSupportedChannels(false));
-                System.out.println("ALAudioSink: nativeAudioFormat "+nativeFormat);
-                System.out.println("ALAudioSink: defaultMixerRefreshRate "+(1000f*defaultLatency)+" ms, "+(1f/defaultLatency)+" Hz");
-                AudioSystem3D.checkError(device, "init."+checkErrIter++, DEBUG, false);
-            }
-
-            if( DEBUG ) {
+                System.out.println("ALAudioSink: hasAL_SOFT_source_latency "+hasAL_SOFT_source_latency);
+                System.out.println("ALAudioSink: hasALC_SOFT_device_clock "+hasALC_SOFT_device_clock);
                 logout.println("ALAudioSink: Using device: " + device);
             }
             available = true;
@@ -309,36 +240,119 @@ public final class ALAudioSink implements AudioSink {
 
     // Expose AudioSink OpenAL implementation specifics
 
-    /** Return OpenAL global {@link AL}. */
-    public static final AL getAL() { return al; }
-    /** Return OpenAL global {@link ALC}. */
-    public static final ALC getALC() { return alc; }
-    /** Return OpenAL global {@link ALExt}. */
-    public static final ALExt getALExt() { return alExt; }
-
-    /** Return this instance's OpenAL {@link Device}. */
-    public final Device getDevice() { return device; }
-    /** Return this instance's OpenAL {@link Context}. */
-    public final Context getContext() { return context; }
+    /** Return the {@link ALAudioSinkPool} sharing its {@link Device} and {@link Context} with this instance, or null if owning both. */
+    public final ALAudioSinkPool getPool() { return pool; }
     /** Return this instance's OpenAL {@link Source}. */
     public final Source getSource() { return alSource; }
 
     /** Return whether OpenAL extension <code>AL_SOFT_buffer_samples</code> is available. */
     public final boolean hasSOFTBufferSamples() { return hasSOFTBufferSamples; }
-    /** Return whether OpenAL extension <code>AL_EXT_MCFORMATS</code> is available. */
-    public final boolean hasEXTMcFormats() { return hasEXTMcFormats; }
-    /** Return whether OpenAL extension <code>AL_EXT_FLOAT32</code> is available. */
-    public final boolean hasEXTFloat32() { return hasEXTFloat32; }
-    /** Return whether OpenAL extension <code>AL_EXT_DOUBLE</code> is available. */
-    public final boolean hasEXTDouble() { return hasEXTDouble; }
-    /** Return whether OpenAL extension <code>ALC_EXT_thread_local_context</code> is available. */
-    public final boolean hasALCThreadLocalContext() { return hasALC_thread_local_context; }
     /** Return whether OpenAL extension <code>AL_SOFT_events</code> is available. */
     public final boolean hasSOFTEvents() { return hasAL_SOFT_events; }
     /** Enable or disable <code>AL_SOFT_events</code>, default is enabled if {@link #hasSOFTEvents()}. */
     public final void setUseSOFTEvents(final boolean v) { useAL_SOFT_events = v; }
     /** Returns whether <code>AL_SOFT_events</code> is enabled, default if {@link #hasSOFTEvents()}. */
     public final boolean getUseSOFTEvents(final boolean v) { return useAL_SOFT_events; }
+    /**
+     * Set the spin duration before a deadline while waiting for released buffers w/o <code>AL_SOFT_events</code>, default is zero.
+     * <p>
+     * W/o <code>AL_SOFT_events</code>, the waiting thread parks until the next requested buffer is due,
+     * computed from the source's sample offset and the queued frame durations.
+     * With a non-zero spin duration, parking ends the given duration before the deadline
+     * and the remaining time is spent yielding, trading CPU time for wakeup precision.
+     * </p>
+     * @param ns spin duration in nanoseconds, zero to park only and {@link Long#MAX_VALUE} to spin only
+     */
+    public final void setPollSpinNanos(final long ns) { pollSpinNanos = Math.max(0, ns); }
+    /** Returns the spin duration in nanoseconds, see {@link #setPollSpinNanos(long)}. */
+    public final long getPollSpinNanos() { return pollSpinNanos; }
+    /** Returns the number of wakeups while polling for released buffers, which found at least one additional buffer released. */
+    public final long getPollWakeupsUseful() { return pollWakeupsUseful; }
+    /** Returns the number of wakeups while polling for released buffers, which found no additional buffer released. */
+    public final long getPollWakeupsSpurious() { return pollWakeupsSpurious; }
+    /** Resets the {@link #getPollWakeupsUseful() useful} and {@link #getPollWakeupsSpurious() spurious} wakeup counter. */
+    public final void resetPollWakeupCounter() { pollWakeupsUseful = 0; pollWakeupsSpurious = 0; }
+    /**
+     * Enable or disable the adaptive queue, default is disabled.
+     * <p>
+     * The adaptive queue keeps the queued duration within a target latency window,
+     * starting with the clipped {@link #init(AudioFormat, int, int) queue size}:
+     * <ul>
+     *   <li>If no free frame is available and the queued duration is below the target latency,
+     *       the OpenAL buffer pool grows instead of waiting for played frames (hard wait).</li>
+     *   <li>If the source ran out of data, i.e. an underrun is observed, the target latency is raised
+     *       about one average frame duration.</li>
+     *   <li>After an {@link #setAdaptiveIdleDuration(int) idle duration} w/o growth or underruns,
+     *       the target latency is lowered about one average frame duration and surplus free OpenAL buffers are deleted.</li>
+     * </ul>
+     * </p>
+     * <p>
+     * Takes effect with the next {@link #init(AudioFormat, int, int)}.
+     * </p>
+     * @param enable true to enable the adaptive queue
+     * @param minLatency target latency window minimum in milliseconds
+     * @param maxLatency target latency window maximum in milliseconds
+     */
+    public final void setAdaptiveQueue(final boolean enable, final int minLatency, final int maxLatency) {
+        adaptiveQueue = enable;
+        targetLatencyMin = Math.max(1, minLatency) / 1000f;
+        targetLatencyMax = Math.max(minLatency, maxLatency) / 1000f;
+    }
+    /** Returns whether the adaptive queue is enabled, see {@link #setAdaptiveQueue(boolean, int, int)}. */
+    public final boolean isAdaptiveQueue() { return adaptiveQueue; }
+    /** Set the adaptive queue idle duration in milliseconds, default is 5000 ms, see {@link #setAdaptiveQueue(boolean, int, int)}. */
+    public final void setAdaptiveIdleDuration(final int ms) { adaptiveIdleDuration = Math.max(1, ms); }
+    /** Returns the adaptive queue idle duration in milliseconds. */
+    public final int getAdaptiveIdleDuration() { return adaptiveIdleDuration; }
+    /** Returns the adaptive queue target latency in seconds, or the queue size if not {@link #isAdaptiveQueue() adaptive}. */
+    public final float getTargetLatency() { return adaptiveQueue ? targetLatency : queueSize/1000f; }
+    /** Returns the number of observed underruns, i.e. the source ran out of data while playing, see {@link #getMetrics()}. */
+    public final int getUnderrunCount() { return (int)metrics.getUnderrunCount(); }
+    /** Returns the number of hard waits for played frames while enqueuing, see {@link #getMetrics()}. */
+    public final int getHardWaitCount() { return (int)metrics.getHardWaitCount(); }
+    /**
+     * Returns this instance's always-on runtime {@link ALAudioSinkMetrics},
+     * also registered as JMX MBean <code>com.jogamp.openal:type=ALAudioSink,name=sink-&lt;n&gt;</code> if available,
+     * from a successful {@link #init(AudioFormat, int, int) init} until {@link #destroy()}.
+     */
+    public final ALAudioSinkMetrics getMetrics() { return metrics; }
+    /** Returns the number of adaptive queue OpenAL buffer pool growths. */
+    public final int getGrowCount() { return growCount; }
+    /** Returns the number of adaptive queue OpenAL buffer pool shrinks. */
+    public final int getShrinkCount() { return shrinkCount; }
+    /** Return whether OpenAL extension <code>AL_SOFT_source_latency</code> is available. */
+    public final boolean hasSOFTSourceLatency() { return hasAL_SOFT_source_latency; }
+    /** Return whether OpenAL extension <code>ALC_SOFT_device_clock</code> is available. */
+    public final boolean hasSOFTDeviceClock() { return hasALC_SOFT_device_clock; }
+    /**
+     * Enable or disable sample accurate {@link #getPTS() PTS}, default is disabled.
+     * <p>
+     * If enabled, the {@link PTS} is derived from the source's actual playback offset minus the output latency,
+     * mapped onto the PTS of the first queued {@link AudioFrame}, assuming consecutive frame PTS values.
+     * </p>
+     * <p>
+     * The playback offset and output latency are queried via <code>AL_SEC_OFFSET_LATENCY_SOFT</code>
+     * if {@link #hasSOFTSourceLatency()}, otherwise <code>AL_SEC_OFFSET</code> is used
+     * with <code>ALC_DEVICE_LATENCY_SOFT</code> if {@link #hasSOFTDeviceClock()}.
+     * </p>
+     * <p>
+     * The query is performed while updating the queue, i.e. within {@link #updateQueue()} and {@link #enqueueData(int, ByteBuffer, int)},
+     * at most once per {@link #setSampleAccuratePTSInterval(int) interval}.
+     * {@link #getPTS()} itself does not query OpenAL and extrapolates the cached result.
+     * </p>
+     * <p>
+     * If disabled, the {@link PTS} is updated with the PTS of the last released {@link AudioFrame}.
+     * </p>
+     */
+    public final void setUseSampleAccuratePTS(final boolean v) { useSampleAccuratePTS = v; ptsQueryTime = 0; }
+    /** Returns whether sample accurate {@link #getPTS() PTS} is enabled, see {@link #setUseSampleAccuratePTS(boolean)}. */
+    public final boolean getUseSampleAccuratePTS() { return useSampleAccuratePTS; }
+    /** Set the minimum interval between sample accurate PTS queries in milliseconds, default is 10 ms. */
+    public final void setSampleAccuratePTSInterval(final int ms) { ptsQueryInterval = Math.max(0, ms); }
+    /** Returns the minimum interval between sample accurate PTS queries in milliseconds. */
+    public final int getSampleAccuratePTSInterval() { return ptsQueryInterval; }
+    /** Returns the output latency in seconds as queried by the last sample accurate PTS update, zero if not available. */
+    public final float getOutputLatency() { return outputLatency; }
 
     /** Return this instance's OpenAL channel layout, set after {@link #init(AudioFormat, float, int)}. */
     public final int getALChannelLayout() { return alChannelLayout; }
@@ -351,14 +365,68 @@ public final class ALAudioSink implements AudioSink {
 
     @Override
     public final boolean makeCurrent(final boolean throwException) {
-        return context.makeCurrent(throwException);
+        if( context.isOwnerThread() ) {
+            return true; // bound owner thread fast path, no lock wait
+        }
+        final long t0 = System.nanoTime();
+        final boolean res = context.makeCurrent(throwException);
+        metrics.recordLockWait(System.nanoTime() - t0);
+        return res;
     }
     @Override
     public final boolean release(final boolean throwException) {
         return context.release(throwException);
     }
+    /**
+     * Binds this instance's {@link Context} to the calling thread, i.e. the owner thread, see {@link Context#bindOwnerThread(boolean)}.
+     * <p>
+     * Intended for a streaming thread being the sole user of this instance, e.g. a decoder thread.
+     * While bound, the per call {@link #makeCurrent(boolean)} and {@link #release(boolean)}
+     * of e.g. {@link #enqueueData(int, ByteBuffer, int)}, {@link #updateQueue()}, {@link #isPlaying()} or {@link #setVolume(float)}
+     * are reduced to a cheap ownership check and other threads cannot use this instance.
+     * </p>
+     * <p>
+     * If {@link #getPool() pooled}, the shared {@link Context} is bound,
+     * i.e. all sinks of the pool must be used on the owner thread.
+     * </p>
+     * <p>
+     * {@link #destroy()} shall be called on the owner thread or after {@link #unbindOwnerThread()}.
+     * </p>
+     * <p>
+     * Binding is refused and false returned if the {@link Context} is not {@link Context#isOwnerThreadBindable() bindable},
+     * i.e. {@link ALHelpers#ALC_EXT_thread_local_context} is not available or the {@link Context} is {@link Context#isVirtualThreadSafe() virtual thread safe}.
+     * A virtual thread safe context would block all other virtual thread safe contexts of the process while bound,
+     * and without thread local contexts another thread could replace the process wide current context.
+     * </p>
+     * @return true if bound to the current thread, otherwise false
+     * @throws ALException if the context couldn't be made current or is bound to another thread
+     */
+    public final boolean bindOwnerThread() throws ALException {
+        return available && context.isOwnerThreadBindable() && context.bindOwnerThread(true /* throw */);
+    }
+    /**
+     * Unbinds this instance's {@link Context} from the calling owner thread, see {@link #bindOwnerThread()}.
+     * @return true if bound to the current thread and successfully unbound, otherwise false
+     */
+    public final boolean unbindOwnerThread() {
+        return available && context.unbindOwnerThread(false /* throw */);
+    }
+    /** Returns true if this instance's {@link Context} is bound to the current thread, see {@link #bindOwnerThread()}. */
+    public final boolean isOwnerThread() {
+        return null != context && context.isOwnerThread();
+    }
+    /**
+     * Destroys the owned context, or only releases a {@link #getPool() pooled} shared context,
+     * and unregisters the {@link #getMetrics() metrics} MBean.
+     */
     private final void destroyContext() {
-        context.destroy();
+        ALAudioSinkMetrics.unregisterMBean(metricsMBean);
+        metricsMBean = null;
+        if( null == pool ) {
+            context.destroy();
+        } else {
+            release(false /* throw */);
+        }
     }
 
     @Override
@@ -388,57 +456,6 @@ public final class ALAudioSink implements AudioSink {
                );
     }
 
-    @Override
-    public int getSourceCount() { return sourceCount; }
-
-    @Override
-    public float getDefaultLatency() { return defaultLatency; }
-
-    @Override
-    public float getLatency() { return latency; }
-
-    @Override
-    public final AudioFormat getNativeFormat() {
-        if( !staticsInitialized ) {
-            return null;
-        }
-        return nativeFormat;
-    }
-
-    @Override
-    public final AudioFormat getPreferredFormat() {
-        if( !staticsInitialized ) {
-            return null;
-        }
-        return preferredFormat;
-    }
-
-    @Override
-    public final void setChannelLimit(final int cc) {
-        userMaxChannels = Math.min(8, Math.max(1, cc));
-
-        preferredFormat = new AudioFormat(nativeFormat.sampleRate,
-                                       nativeFormat.sampleSize, getMaxSupportedChannels(true),
-                                       nativeFormat.signed, nativeFormat.fixedP,
-                                       nativeFormat.planar, nativeFormat.littleEndian);
-        if( DEBUG ) {
-            System.out.println("ALAudioSink: channelLimit "+userMaxChannels+", preferredFormat "+preferredFormat);
-        }
-    }
-
-    private final int getMaxSupportedChannels(final boolean considerLimit) {
-        if( !staticsInitialized ) {
-            return 0;
-        }
-        final int cc;
-        if( hasEXTMcFormats || hasSOFTBufferSamples ) {
-            cc = 8;
-        } else {
-            cc = 2;
-        }
-        return considerLimit ? Math.min(userMaxChannels, cc) : cc;
-    }
-
     @Override
     public final boolean isSupported(final AudioFormat format) {
         if( !staticsInitialized ) {
@@ -529,9 +546,19 @@ public final class ALAudioSink implements AudioSink {
         return initImpl(requestedFormat, alChannelLayout, alSampleType, alFormat, frameDurationHint/1000f, queueSize);
     }
 
-    private final synchronized boolean initImpl(final AudioFormat requestedFormat,
-                                                final int alChannelLayout, final int alSampleType, final int alFormat,
-                                                float frameDurationHintS, final int queueSize) {
+    private final boolean initImpl(final AudioFormat requestedFormat,
+                                   final int alChannelLayout, final int alSampleType, final int alFormat,
+                                   final float frameDurationHintS, final int queueSize) {
+        initLock.lock(); // not synchronized, avoiding to pin virtual threads
+        try {
+            return initLocked(requestedFormat, alChannelLayout, alSampleType, alFormat, frameDurationHintS, queueSize);
+        } finally {
+            initLock.unlock();
+        }
+    }
+    private final boolean initLocked(final AudioFormat requestedFormat,
+                                     final int alChannelLayout, final int alSampleType, final int alFormat,
+                                     float frameDurationHintS, final int queueSize) {
         this.alChannelLayout = alChannelLayout;
         this.alSampleType = alSampleType;
         this.alFormat = alFormat;
@@ -561,40 +588,8 @@ public final class ALAudioSink implements AudioSink {
             destroyBuffers();
 
             frameDurationHintS = frameDurationHintS >= 1f/1000f ? frameDurationHintS : AudioSink.DefaultFrameDuration/1000f;
-            // Re-Create audio context if default latency is not sufficient
-            {
-                final int defRefreshRate = Math.round( 1f / defaultLatency ); // s -> Hz
-                final int expMixerRefreshRate = Math.round( 1f / frameDurationHintS ); // s -> Hz
-
-                if( frameDurationHintS < defaultLatency ) {
-                    if( DEBUG ) {
-                        logout.println(getThreadName()+": ALAudioSink.init: Re-create context as latency exp "+
-                                (1000f*frameDurationHintS)+" ms ("+expMixerRefreshRate+" Hz) < default "+(1000f*defaultLatency)+" ms ("+defRefreshRate+" Hz)");
-                    }
-                    if( !context.recreate( new int[] { ALCConstants.ALC_REFRESH, expMixerRefreshRate } ) ) {
-                        logout.println(getThreadName()+": ALAudioSink: Error creating OpenAL context "+context);
-                        return false;
-                    }
-                } else if( DEBUG ) {
-                    logout.println(getThreadName()+": ALAudioSink.init: Keep context, latency exp "+
-                            (1000f*frameDurationHintS)+" ms ("+expMixerRefreshRate+" Hz) >= default "+(1000f*defaultLatency)+" ms ("+defRefreshRate+" Hz)");
-                }
-            }
-            // Get actual refresh rate
-            {
-                final int[] value = { 0 };
-                alc.alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_REFRESH, 1, value, 0);
-                if( AudioSystem3D.checkError(device, "read ALC_FREQUENCY", DEBUG, false) || 0 == value[0] ) {
-                    latency = defaultLatency;
-                    if( DEBUG ) {
-                        logout.println("ALAudioSink.queryRefreshRate: failed, claiming default "+(1000f*latency)+" ms");
-                    }
-                } else {
-                    latency = 1f/value[0]; // Hz -> ms
-                    if( DEBUG ) {
-                        logout.println("ALAudioSink.queryRefreshRate: OK "+value[0]+" Hz = "+(1000f*latency)+" ms");
-                    }
-                }
+            if( !initLatency(frameDurationHintS, null != pool) ) {
+                return false;
             }
             if( !createSource() ) {
                 destroyContext();
@@ -604,12 +599,23 @@ public final class ALAudioSink implements AudioSink {
 
             // Allocate new buffers
             {
-                final int frameCount = requestedFormat.getFrameCount(
-                                                queueSize > 0 ? queueSize/1000f : AudioSink.DefaultQueueSize/1000f, frameDurationHintS);
+                final float queueSizeS = queueSize > 0 ? queueSize/1000f : AudioSink.DefaultQueueSize/1000f;
+                final int frameCount;
+                if( adaptiveQueue ) {
+                    targetLatency = Math.max(targetLatencyMin, Math.min(targetLatencyMax, queueSizeS));
+                    frameCount = requestedFormat.getFrameCount(targetLatency, frameDurationHintS);
+                    maxFrameCount = Math.max(frameCount, 2 * requestedFormat.getFrameCount(targetLatencyMax, frameDurationHintS));
+                    adaptiveLastChange = Clock.currentMillis();
+                } else {
+                    frameCount = requestedFormat.getFrameCount(queueSizeS, frameDurationHintS);
+                    maxFrameCount = frameCount;
+                }
                 alBufferNames = new int[frameCount];
                 al.alGenBuffers(frameCount, alBufferNames, 0);
                 if( AudioSystem3D.checkALError("alGenBuffers", true, false) ) {
                     alBufferNames = null;
+                    alBufferNameScratch = null;
+                    alBufferQueueScratch = null;
                     destroySource();
                     destroyContext();
                     releaseContext = false;
@@ -621,6 +627,8 @@ public final class ALAudioSink implements AudioSink {
                 }
                 alFramesFree = new LFRingbuffer<ALAudioFrame>(alFrames);
                 alFramesPlaying = new LFRingbuffer<ALAudioFrame>(ALAudioFrame[].class, frameCount);
+                alBufferNameScratch = new int[frameCount];
+                alBufferQueueScratch = new int[frameCount];
                 this.queueSize = queueSize > 0 ? queueSize : AudioSink.DefaultQueueSize;
                 if( DEBUG_TRACE ) {
                     alFramesFree.dump(System.err, "Avail-init");
@@ -628,8 +636,12 @@ public final class ALAudioSink implements AudioSink {
                 }
             }
             if( hasAL_SOFT_events && useAL_SOFT_events ) {
-                alExt.alEventCallbackSOFT(alEventCallback, context.getALContext());
-                alExt.alEventControlSOFT(1, new int[] { ALExtConstants.AL_EVENT_TYPE_BUFFER_COMPLETED_SOFT }, 0, true);
+                if( null != pool ) {
+                    pool.enableEvents(); // shared context's callback dispatches to all pooled sinks
+                } else {
+                    alExt.alEventCallbackSOFT(alEventCallback, context.getALContext());
+                    alExt.alEventControlSOFT(1, new int[] { ALExtConstants.AL_EVENT_TYPE_BUFFER_COMPLETED_SOFT }, 0, true);
+                }
             }
         } finally {
             if( releaseContext ) {
@@ -638,6 +650,9 @@ public final class ALAudioSink implements AudioSink {
         }
         chosenFormat = requestedFormat;
         avgFrameDuration = latency;
+        if( null == metricsMBean ) {
+            metricsMBean = ALAudioSinkMetrics.registerMBean(metrics, "sink-"+sinkCounter.incrementAndGet());
+        }
         if( DEBUG ) {
             logout.println(getThreadName()+": ALAudioSink.init: OK "+requestedFormat+", "+toString());
         }
@@ -669,6 +684,8 @@ public final class ALAudioSink implements AudioSink {
             alBufferBytesQueued = 0;
             // alFrames = null;
             alBufferNames = null;
+            alBufferNameScratch = null;
+            alBufferQueueScratch = null;
         }
     }
 
@@ -693,7 +710,7 @@ public final class ALAudioSink implements AudioSink {
         available = false;
         if( null != context ) {
             makeCurrent(true /* throw */);
-            if( hasAL_SOFT_events ) {
+            if( hasAL_SOFT_events && null == pool ) {
                 alExt.alEventControlSOFT(3, new int[] { ALExtConstants.AL_EVENT_TYPE_BUFFER_COMPLETED_SOFT,
                                                         ALExtConstants.AL_EVENT_TYPE_SOURCE_STATE_CHANGED_SOFT,
                                                         ALExtConstants.AL_EVENT_TYPE_DISCONNECTED_SOFT
@@ -708,7 +725,11 @@ public final class ALAudioSink implements AudioSink {
         } finally {
             destroyContext();
         }
-        device.close();
+        if( null != pool ) {
+            pool.removeSink(this);
+        } else {
+            device.close();
+        }
         chosenFormat = null;
     }
 
@@ -723,29 +744,43 @@ public final class ALAudioSink implements AudioSink {
         public void callback(final int eventType, final int object, final int param,
                              final String message, final ALCcontext context) {
             if( false ) {
-                final com.jogamp.openal.ALContextKey k = new com.jogamp.openal.ALContextKey(context);
                 logout.println("ALAudioSink.Event: type "+toHexString(eventType)+", obj "+toHexString(object)+", param "+param+
-                               ", msg '"+message+"', userParam "+k);
+                               ", msg '"+message+"', userParam "+context);
             }
             if( ALExtConstants.AL_EVENT_TYPE_BUFFER_COMPLETED_SOFT == eventType &&
                 alSource.getID() == object )
             {
-                synchronized( eventReleasedBuffersLock ) {
+                eventReleasedBuffersLock.lock();
+                try {
                     if( false ) {
-                        final com.jogamp.openal.ALContextKey k = new com.jogamp.openal.ALContextKey(context);
                         logout.println("ALAudioSink.Event: type "+toHexString(eventType)+", obj "+toHexString(object)+
                                 ", eventReleasedBuffers +"+param+" -> "+(eventReleasedBuffers + param)+
-                                ", msg '"+message+"', userParam "+k);
+                                ", msg '"+message+"', userParam "+context);
                     }
                     eventReleasedBuffers += param;
-                    eventReleasedBuffersLock.notifyAll();
+                    eventReleasedBuffersCond.signalAll();
+                } finally {
+                    eventReleasedBuffersLock.unlock();
                 }
             }
         }
     };
-    private final Object eventReleasedBuffersLock = new Object();
+    /** Serializes {@link #initImpl(AudioFormat, int, int, int, float, int)}, a {@link ReentrantLock} to not pin virtual threads. */
+    private final ReentrantLock initLock = new ReentrantLock();
+    /** Guards {@link #eventReleasedBuffers}, a {@link ReentrantLock} and {@link Condition} to not pin virtual threads while waiting. */
+    private final ReentrantLock eventReleasedBuffersLock = new ReentrantLock();
+    private final Condition eventReleasedBuffersCond = eventReleasedBuffersLock.newCondition();
     private volatile int eventReleasedBuffers = 0;
 
+    /** Minimum wait duration of {@link #waitForReleasedPoll(boolean, int)} in [ns] */
+    private static final long POLL_MIN_WAIT_NS = 250000L; // 250 us
+    /** Maximum wait duration of {@link #waitForReleasedPoll(boolean, int)} in [ns] */
+    private static final long POLL_MAX_WAIT_NS = 300000000L; // 300 ms
+    /** Duration in [ns] to spin before a poll deadline instead of parking, default 0 for parking only. */
+    private long pollSpinNanos = 0;
+    private long pollWakeupsUseful = 0;
+    private long pollWakeupsSpurious = 0;
+
     private final int waitForReleasedEvent(final long t0, final boolean wait, final int releaseBufferCountReq) {
         if( alBufferBytesQueued == 0 ) {
             return 0;
@@ -755,85 +790,174 @@ public final class ALAudioSink implements AudioSink {
         int slept = 0;
         int releasedBuffers = 0;
         do {
-            synchronized( eventReleasedBuffersLock ) {
-                while( wait && alBufferBytesQueued > 0 && eventReleasedBuffers < releaseBufferCountReq ) {
-                    wait_cycles++;
+            if( wait && eventReleasedBuffers < releaseBufferCountReq ) {
+                // context released while waiting, not blocking pooled sinks or other virtual thread safe contexts
+                final int holdCount = releaseForWait();
+                try {
+                    eventReleasedBuffersLock.lock();
                     try {
-                        eventReleasedBuffersLock.wait();
-                    } catch (final InterruptedException e) { }
+                        while( eventReleasedBuffers < releaseBufferCountReq ) {
+                            wait_cycles++;
+                            eventReleasedBuffersCond.awaitUninterruptibly();
+                        }
+                    } finally {
+                        eventReleasedBuffersLock.unlock();
+                    }
+                } finally {
+                    makeCurrentAfterWait(holdCount);
                 }
-                // AL_SOFT_events cumulated released buffers is 'sometimes wrong'
-                // Workaround: Query released buffers after receiving event and use minimum. (FIXME)
-                final int releasedBuffersByEvent = eventReleasedBuffers;
-                final int releasedBuffersByQuery = alSource.getBuffersProcessed();
-                releasedBuffers = Math.min(releasedBuffersByEvent, releasedBuffersByQuery);
+            }
+            final int releasedBuffersByEvent;
+            eventReleasedBuffersLock.lock();
+            try {
+                releasedBuffersByEvent = eventReleasedBuffers;
                 eventReleasedBuffers = 0;
-                if( DEBUG ) {
-                    slept += Clock.currentMillis() - t0;
-                    if( wait || releasedBuffers > 0 ) {
-                        final String warnInfo = releasedBuffers != releasedBuffersByEvent ? " ** Warning ** " : "";
-                        logout.println("ALAudioSink.DeqEvent["+wait_cycles+"]: released "+releasedBuffers+warnInfo+
-                                " [enqeueud "+enqueuedBuffers+", event "+
-                                releasedBuffersByEvent+", query "+releasedBuffersByQuery+"], req "+releaseBufferCountReq+", slept "+
-                                slept+" ms, free total "+alFramesFree.size());
-                    }
+            } finally {
+                eventReleasedBuffersLock.unlock();
+            }
+            // AL_SOFT_events cumulated released buffers is 'sometimes wrong'
+            // Workaround: Query released buffers after receiving event and use minimum. (FIXME)
+            final int releasedBuffersByQuery = getBuffersProcessed();
+            releasedBuffers = Math.min(releasedBuffersByEvent, releasedBuffersByQuery);
+            if( releasedBuffersByEvent != releasedBuffersByQuery ) {
+                metrics.recordEventQueryMismatch();
+            }
+            if( DEBUG ) {
+                slept += Clock.currentMillis() - t0;
+                if( wait || releasedBuffers > 0 ) {
+                    final String warnInfo = releasedBuffers != releasedBuffersByEvent ? " ** Warning ** " : "";
+                    logout.println("ALAudioSink.DeqEvent["+wait_cycles+"]: released "+releasedBuffers+warnInfo+
+                            " [enqeueud "+enqueuedBuffers+", event "+
+                            releasedBuffersByEvent+", query "+releasedBuffersByQuery+"], req "+releaseBufferCountReq+", slept "+
+                            slept+" ms, free total "+alFramesFree.size());
                 }
             }
         } while ( wait && alBufferBytesQueued > 0 && releasedBuffers < releaseBufferCountReq );
         return releasedBuffers;
     }
+    /**
+     * Fully releases the current {@link #context} before blocking, including recursive holds,
+     * so other sinks sharing a {@link #getPool() pooled} context or other
+     * {@link Context#isVirtualThreadSafe() virtual thread safe} contexts using the global lock can proceed.
+     * @return the released hold count to be restored via {@link #makeCurrentAfterWait(int)}, zero if bound to the owner thread
+     */
+    private final int releaseForWait() {
+        if( context.isOwnerThread() ) {
+            return 0; // bound, stays current
+        }
+        int holdCount = 0;
+        while( 0 < context.getLockCount() ) {
+            release(true /* throw */);
+            holdCount++;
+        }
+        return holdCount;
+    }
+    /** Makes {@link #context} current again after {@link #releaseForWait()}, restoring its hold count. */
+    private final void makeCurrentAfterWait(final int holdCount) {
+        for(int i=0; i<holdCount; ++i) {
+            makeCurrent(true /* throw */);
+        }
+    }
+    /**
+     * Polls for released buffers w/o <code>AL_SOFT_events</code>.
+     * <p>
+     * If waiting, the thread parks until the next requested buffer is due,
+     * computed from the source's sample offset and the queued frame durations, see {@link #getPollWaitNanos(int)}.
+     * The context is released while waiting.
+     * An interrupt does not abort waiting, the thread's interrupt status is restored before returning.
+     * </p>
+     */
     private final int waitForReleasedPoll(final boolean wait, final int releaseBufferCountReq) {
         if( alBufferBytesQueued == 0 ) {
             return 0;
         }
-        final long sleepLimes = Math.round( releaseBufferCountReq * 1000.0*avgFrameDuration );
         int wait_cycles=0;
-        long slept = 0;
-        boolean onceBusyDebug = true;
-        int releasedBuffers = 0;
-        do {
-            releasedBuffers = alSource.getBuffersProcessed();
-            if( wait && releasedBuffers < releaseBufferCountReq ) {
-                wait_cycles++;
-                // clip wait at [avgFrameDuration .. 300] ms
-                final int sleep = Math.max(2, Math.min(300, Math.round( (releaseBufferCountReq-releasedBuffers) * 1000f*avgFrameDuration) ) ) - 1; // 1 ms off for busy-loop
-                if( slept + sleep + 1 <= sleepLimes ) {
-                    if( DEBUG ) {
-                        logout.println("ALAudioSink: DeqPoll["+wait_cycles+"].1:"+
-                                "released "+releasedBuffers+"/"+releaseBufferCountReq+", sleep "+sleep+"/"+slept+"/"+sleepLimes+
-                                " ms, "+getPerfString()+", state "+ALHelpers.alSourceStateString(getSourceState(false)));
-                    }
-                    release(true /* throw */);
-                    try {
-                        Thread.sleep( sleep );
-                        slept += sleep;
-                    } catch (final InterruptedException e) {
-                    } finally {
-                        makeCurrent(true /* throw */);
-                    }
-                } else {
-                    // Empirical best behavior w/ openal-soft (sort of needs min ~21ms to complete processing a buffer even if period < 20ms?)
-                    if( DEBUG ) {
-                        if( onceBusyDebug ) {
-                            logout.println("ALAudioSink: DeqPoll["+wait_cycles+"].2:"+
-                                    "released "+releasedBuffers+"/"+releaseBufferCountReq+", sleep "+sleep+"->1/"+slept+"/"+sleepLimes+
-                                    " ms, "+getPerfString()+", state "+ALHelpers.alSourceStateString(getSourceState(false)));
-                            onceBusyDebug = false;
-                        }
-                    }
-                    release(true /* throw */);
-                    try {
-                        Thread.sleep( 1 );
-                        slept += 1;
-                    } catch (final InterruptedException e) {
-                    } finally {
-                        makeCurrent(true /* throw */);
-                    }
-                }
+        long waited = 0;
+        int releasedBuffers = getBuffersProcessed();
+        boolean interrupted = false;
+        while( wait && alBufferBytesQueued > 0 && releasedBuffers < releaseBufferCountReq ) {
+            wait_cycles++;
+            final long waitNS = getPollWaitNanos(releaseBufferCountReq);
+            final long t0 = System.nanoTime();
+            final int holdCount = releaseForWait();
+            try {
+                waitNanos(t0 + waitNS);
+            } finally {
+                makeCurrentAfterWait(holdCount);
             }
-        } while ( wait && alBufferBytesQueued > 0 && releasedBuffers < releaseBufferCountReq );
+            if( Thread.interrupted() ) {
+                // parkNanos returns immediately while interrupted, clear and restore after waiting
+                interrupted = true;
+            }
+            final long t1 = System.nanoTime();
+            waited += t1 - t0;
+            final int releasedBuffers1 = getBuffersProcessed();
+            if( releasedBuffers1 > releasedBuffers ) {
+                pollWakeupsUseful++;
+            } else {
+                pollWakeupsSpurious++;
+            }
+            if( DEBUG ) {
+                logout.println("ALAudioSink: DeqPoll["+wait_cycles+"]: released "+releasedBuffers+" -> "+releasedBuffers1+"/"+releaseBufferCountReq+
+                        ", wait "+(waitNS/1000)+"/"+((t1-t0)/1000)+" us, total "+(waited/1000)+" us, "+getPerfString()+
+                        ", state "+ALHelpers.alSourceStateString(getSourceState(false)));
+            }
+            releasedBuffers = releasedBuffers1;
+        }
+        if( interrupted ) {
+            Thread.currentThread().interrupt();
+        }
         return releasedBuffers;
     }
+    /**
+     * Returns the duration in nanoseconds until <code>releaseBufferCountReq</code> buffers are due to be processed,
+     * clipped to [{@link #POLL_MIN_WAIT_NS} .. {@link #POLL_MAX_WAIT_NS}].
+     * <p>
+     * The first queued buffer's duration is known, for following buffers the {@link #getAvgFrameDuration() average frame duration} is used.
+     * Requires context to be current.
+     * </p>
+     */
+    private final long getPollWaitNanos(final int releaseBufferCountReq) {
+        final ALAudioFrame head = alFramesPlaying.peek();
+        if( null != head ) {
+            final int[] val = alQueryScratch;
+            val[0] = 0;
+            al.alGetSourcei(alSource.getID(), ALConstants.AL_SAMPLE_OFFSET, val, 0);
+            final float offsetS = AudioSystem3D.checkALError("Query AL_SAMPLE_OFFSET", DEBUG, false) ? 0f : (float)val[0] / chosenFormat.sampleRate;
+            return getPollWaitNanos(chosenFormat.getBytesDuration(head.getByteSize()), offsetS, releaseBufferCountReq, avgFrameDuration, playSpeed);
+        } else {
+            return getPollWaitNanos(avgFrameDuration, 0f, releaseBufferCountReq, avgFrameDuration, playSpeed);
+        }
+    }
+    /**
+     * Returns the duration in nanoseconds until <code>releaseBufferCountReq</code> buffers are due to be processed,
+     * clipped to [250 us .. 300 ms].
+     * @param headDuration duration of the first queued buffer in [s]
+     * @param headOffset playback position within the first queued buffer in [s]
+     * @param releaseBufferCountReq number of buffers to be released
+     * @param avgFrameDuration average duration of the following buffers in [s]
+     * @param playSpeed playback speed, ignored if not positive
+     */
+    public static long getPollWaitNanos(final float headDuration, final float headOffset, final int releaseBufferCountReq,
+                                        final float avgFrameDuration, final float playSpeed) {
+        float dueS = headDuration + ( releaseBufferCountReq - 1 ) * avgFrameDuration - headOffset; // [s]
+        if( playSpeed > 0f ) {
+            dueS /= playSpeed;
+        }
+        return Math.max(POLL_MIN_WAIT_NS, Math.min(POLL_MAX_WAIT_NS, (long)( dueS * 1e9f )));
+    }
+    /** Waits until the given {@link System#nanoTime()} deadline, parking and spinning according to {@link #setPollSpinNanos(long)}. */
+    private final void waitNanos(final long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if( remaining > pollSpinNanos ) {
+            LockSupport.parkNanos(this, remaining - pollSpinNanos);
+            remaining = deadline - System.nanoTime();
+        }
+        while( remaining > 0 && pollSpinNanos > 0 ) {
+            Thread.yield();
+            remaining = deadline - System.nanoTime();
+        }
+    }
     /**
      * Dequeuing playing audio frames.
      * @param wait if true, waiting for completion of audio buffers
@@ -849,8 +973,8 @@ public final class ALAudioSink implements AudioSink {
         }
         final long t1 = Clock.currentMillis();
         if( releasedBufferCount > 0 ) {
-            final int[] buffers = new int[releasedBufferCount];
-            alSource.unqueueBuffers(buffers);
+            final int[] buffers = alBufferNameScratch;
+            alSource.unqueueBuffers(buffers, 0, releasedBufferCount);
 
             for ( int i=0; i<releasedBufferCount; i++ ) {
                 final ALAudioFrame releasedBuffer = alFramesPlaying.get();
@@ -863,7 +987,7 @@ public final class ALAudioSink implements AudioSink {
                         throw new InternalError("Buffer name mismatch: dequeued: "+buffers[i]+", released "+releasedBuffer+", "+this);
                     }
                     alBufferBytesQueued -= releasedBuffer.getByteSize();
-                    {
+                    if( !useSampleAccuratePTS ) {
                         pts.set(t1, releasedBuffer.getPTS() /* + releasedBuffer.getDuration() */);
                         // playingPTS = releasedBuffer.getPTS();
                         // final float queuedDuration = chosenFormat.getBytesDuration(alBufferBytesQueued); // [s]
@@ -893,7 +1017,7 @@ public final class ALAudioSink implements AudioSink {
         int processedBufferCount = 0;
         al.alSourcei(alSource.getID(), ALConstants.AL_BUFFER, 0); // explicit force zero buffer!
         if(DEBUG_TRACE) {
-            processedBufferCount = alSource.getBuffersProcessed();
+            processedBufferCount = getBuffersProcessed();
         }
         final int alErr = al.alGetError();
         while ( !alFramesPlaying.isEmpty() ) {
@@ -909,6 +1033,7 @@ public final class ALAudioSink implements AudioSink {
         alBufferBytesQueued = 0;
         last_buffered_pts = TimeFrameI.INVALID_PTS;
         pts.set(0, TimeFrameI.INVALID_PTS);
+        ptsQueryTime = 0;
         if(DEBUG_TRACE) {
             logout.println("<<  _FLUSH_  [al "+processedBufferCount+", err "+toHexString(alErr)+"] <- "+getPerfString()+" @ "+getThreadName());
             ExceptionUtils.dumpStack(System.err);
@@ -927,6 +1052,8 @@ public final class ALAudioSink implements AudioSink {
         makeCurrent(true /* throw */);
         try {
             dequeueBuffer( false /* wait */, 1 );
+            shrinkIfIdle();
+            updateSampleAccuratePTS();
         } finally {
             release(true /* throw */);
         }
@@ -947,65 +1074,26 @@ public final class ALAudioSink implements AudioSink {
         try {
             final int sourceState0 = DEBUG ? getSourceState(false) : 0;
             final float neededDuration = chosenFormat.getBytesDuration(byteCount); // [s]
-            int enqueuedBuffers = alFramesPlaying.size();
-            final char avgUpdateC;
 
             // 1) Update avgFrameDuration ..
-            if( enqueuedBuffers > 2 ) {
-                final float queuedDuration = chosenFormat.getBytesDuration(alBufferBytesQueued); // [s]
-                avgFrameDuration = queuedDuration / enqueuedBuffers;
-                avgUpdateC = '*';
-            } else {
-                avgUpdateC = '_';
-            }
+            final char avgUpdateC = updateAvgFrameDuration();
 
             // 2) SOFT dequeue w/o wait
-            if( alFramesFree.isEmpty() || enqueuedBuffers > 2 ) {
-                if( DEBUG ) {
-                    logout.printf("ALAudioSink.DequeuSoft"+avgUpdateC+": %.2f ms, queued %d, %s%n",
-                            1000f*neededDuration, enqueuedBuffers, getPerfString());
-                }
-                dequeueBuffer( false /* wait */, 1 );
+            if( alFramesFree.isEmpty() || alFramesPlaying.size() > 2 ) {
+                dequeueSoft(neededDuration, avgUpdateC);
             }
-            enqueuedBuffers = alFramesPlaying.size();
 
-            // 3) HARD dequeue with wait
-            if( alFramesFree.isEmpty() && isPlayingImpl() ) {
-                // possible if grow failed or already exceeds it's limit - only possible if playing ..
-                final int releaseBuffersHardReq = Math.max(1, enqueuedBuffers / 3 ); // [1 .. enqueuedBuffers / 3]
-                if( DEBUG ) {
-                    logout.printf("ALAudioSink.DequeuHard"+avgUpdateC+": %.2f ms, req %d, queued %d, %s%n",
-                            1000f*neededDuration, releaseBuffersHardReq, enqueuedBuffers, getPerfString());
-                }
-                dequeueBuffer( true /* wait */, releaseBuffersHardReq );
-            }
-
-            // 4) Add new frame
-            alFrame = alFramesFree.get();
-            if( null == alFrame ) {
-                alFramesFree.dump(System.err, "Avail");
-                throw new InternalError("Internal Error: avail.get null "+alFramesFree+", "+this);
-            }
-            alFrame.setPTS(pts);
-            alFrame.setDuration(Math.round(1000f*neededDuration));
-            alFrame.setByteSize(byteCount);
-            if( !alFramesPlaying.put( alFrame ) ) {
-                throw new InternalError("Internal Error: "+this);
-            }
-            last_buffered_pts = pts;
-            final int[] alBufferNames = new int[] { alFrame.alBuffer };
-            if( hasSOFTBufferSamples ) {
-                final int samplesPerChannel = chosenFormat.getBytesSampleCount(byteCount) / chosenFormat.channelCount;
-                // final int samplesPerChannel = ALHelpers.bytesToSampleCount(byteCount, alChannelLayout, alSampleType);
-                alExt.alBufferSamplesSOFT(alFrame.alBuffer, chosenFormat.sampleRate, alFormat,
-                                          samplesPerChannel, alChannelLayout, alSampleType, bytes);
+            // 3) Grow if adaptive, otherwise HARD dequeue with wait
+            if( alFramesFree.isEmpty() ) {
+                growOrDequeueHard(neededDuration, avgUpdateC);
             } else {
-                al.alBufferData(alFrame.alBuffer, alFormat, bytes, byteCount, chosenFormat.sampleRate);
+                shrinkIfIdle();
             }
 
-            alSource.queueBuffers(alBufferNames);
-            alBufferBytesQueued += byteCount;
-            enqueuedFrameCount++; // safe: only written-to while locked!
+            // 4) Add new frame
+            alFrame = uploadFrame(pts, bytes, byteCount, neededDuration);
+            alBufferQueueScratch[0] = alFrame.alBuffer;
+            alSource.queueBuffers(alBufferQueueScratch, 0, 1);
 
             if(DEBUG_TRACE) {
                 logout.println(">> "+alFrame.alBuffer+" -> "+getPerfString()+" @ "+getThreadName());
@@ -1025,12 +1113,278 @@ public final class ALAudioSink implements AudioSink {
             } else {
                 playImpl(); // continue playing, fixes issue where we ran out of enqueued data!
             }
+            updateSampleAccuratePTS();
         } finally {
             release(true /* throw */);
         }
         return alFrame;
     }
 
+    /**
+     * Enqueue multiple frames at once, e.g. as produced by a decoder after a seek or stall.
+     * <p>
+     * Semantics equal calling {@link #enqueueData(int, ByteBuffer, int)} for each frame,
+     * however, the OpenAL context is made current only once and all uploaded frames
+     * are queued to the OpenAL source via one <code>alSourceQueueBuffers</code> call.
+     * </p>
+     * <p>
+     * If all free frames have been used up within the batch, the already uploaded frames are queued
+     * and the remaining frames are processed after dequeuing played frames, as with the single frame variant.
+     * If no frame could be dequeued while not playing, the remaining frames are not enqueued.
+     * </p>
+     * @param count number of frames to enqueue, may not exceed the length of the given arrays
+     * @param pts presentation time stamp in milliseconds for each frame
+     * @param bytes audio data for each frame, consumed from its current position
+     * @param byteCount byte count for each frame
+     * @return number of enqueued frames, zero if not {@link #isAvailable()} or not initialized.
+     * @see #enqueueData(int, ByteBuffer, int)
+     */
+    public final int enqueueData(final int count, final int[] pts, final ByteBuffer[] bytes, final int[] byteCount) {
+        if( !available || null == chosenFormat || 0 >= count ) {
+            return 0;
+        }
+        int pending = 0;
+        int enqueued = 0;
+        makeCurrent(true /* throw */);
+        try {
+            // 1) Update avgFrameDuration and SOFT dequeue w/o wait, once per batch
+            final char avgUpdateC = updateAvgFrameDuration();
+            if( alFramesFree.size() < count || alFramesPlaying.size() > 2 ) {
+                dequeueSoft(chosenFormat.getBytesDuration(byteCount[0]), avgUpdateC);
+            }
+            for(int i=0; i<count; ++i) {
+                final float neededDuration = chosenFormat.getBytesDuration(byteCount[i]); // [s]
+                if( alFramesFree.isEmpty() ) {
+                    // 2) Queue pending frames, allowing them to be played and released
+                    if( pending > 0 ) {
+                        queuePending(pending);
+                        pending = 0;
+                    }
+                    // 3) SOFT dequeue w/o wait, then HARD dequeue with wait
+                    dequeueSoft(neededDuration, avgUpdateC);
+                    if( alFramesFree.isEmpty() ) {
+                        growOrDequeueHard(neededDuration, avgUpdateC);
+                    }
+                    if( alFramesFree.isEmpty() ) {
+                        break; // not playing, remaining frames can't be enqueued
+                    }
+                }
+                // 4) Add new frame
+                final ALAudioFrame alFrame = uploadFrame(pts[i], bytes[i], byteCount[i], neededDuration);
+                alBufferQueueScratch[pending++] = alFrame.alBuffer;
+                ++enqueued;
+            }
+        } finally {
+            try {
+                if( pending > 0 ) {
+                    queuePending(pending);
+                }
+                updateSampleAccuratePTS();
+            } finally {
+                release(true /* throw */);
+            }
+        }
+        if( DEBUG ) {
+            logout.printf("ALAudioSink.EnqueuedBatch: %d/%d frames, %s%n", enqueued, count, getPerfString());
+        }
+        return enqueued;
+    }
+
+    /** Updates {@link #avgFrameDuration} if sufficient frames are enqueued, returns a debug marker. Requires context to be current. */
+    private final char updateAvgFrameDuration() {
+        final int enqueuedBuffers = alFramesPlaying.size();
+        if( enqueuedBuffers > 2 ) {
+            final float queuedDuration = chosenFormat.getBytesDuration(alBufferBytesQueued); // [s]
+            avgFrameDuration = queuedDuration / enqueuedBuffers;
+            return '*';
+        } else {
+            return '_';
+        }
+    }
+
+    /** Dequeue played frames w/o wait. Requires context to be current. */
+    private final void dequeueSoft(final float neededDuration, final char avgUpdateC) {
+        if( DEBUG ) {
+            logout.printf("ALAudioSink.DequeuSoft"+avgUpdateC+": %.2f ms, queued %d, %s%n",
+                    1000f*neededDuration, alFramesPlaying.size(), getPerfString());
+        }
+        dequeueBuffer( false /* wait */, 1 );
+    }
+
+    /**
+     * Requires no free frame available.
+     * Grows the OpenAL buffer pool if {@link #isAdaptiveQueue() adaptive} and the queued duration is below the target latency,
+     * otherwise dequeues played frames with wait if playing. Requires context to be current.
+     */
+    private final void growOrDequeueHard(final float neededDuration, final char avgUpdateC) {
+        if( adaptiveQueue ) {
+            final float queuedDuration = chosenFormat.getBytesDuration(alBufferBytesQueued); // [s]
+            final int frameCount = alBufferNames.length;
+            if( queuedDuration + neededDuration <= targetLatency && frameCount < maxFrameCount ) {
+                // grow about the missing duration, at least by one frame
+                final float frameDuration = Math.max(neededDuration, avgFrameDuration);
+                final int missing = frameDuration > 0f ? (int)Math.ceil( ( targetLatency - queuedDuration ) / frameDuration ) : 1;
+                if( growBuffers( Math.min(maxFrameCount - frameCount, Math.max(1, missing)) ) ) {
+                    return;
+                }
+            }
+        }
+        if( isPlayingImpl() ) {
+            dequeueHard(neededDuration, avgUpdateC);
+        }
+    }
+
+    /**
+     * Adds <code>addCount</code> new OpenAL buffers to the pool, requires no free frame available,
+     * i.e. all frames are playing. Requires context to be current.
+     * @return true if successful, otherwise false
+     */
+    private final boolean growBuffers(final int addCount) {
+        if( !alFramesFree.isEmpty() || !alFramesPlaying.isFull() ) {
+            throw new InternalError("Buffers: Avail is !empty "+alFramesFree+" or Playing is !full "+alFramesPlaying+", "+this);
+        }
+        final int[] newALBufferNames = new int[addCount];
+        al.alGenBuffers(addCount, newALBufferNames, 0);
+        if( AudioSystem3D.checkALError("alGenBuffers to "+addCount, DEBUG, false) ) {
+            return false;
+        }
+        final ALAudioFrame[] newFrames = new ALAudioFrame[addCount];
+        for(int i=0; i<addCount; i++) {
+            newFrames[i] = new ALAudioFrame(newALBufferNames[i]);
+        }
+        alFramesFree.growEmptyBuffer(newFrames);
+        alFramesPlaying.growFullBuffer(addCount);
+        final int frameCount0 = alBufferNames.length;
+        final int[] alBufferNames1 = new int[frameCount0 + addCount];
+        System.arraycopy(alBufferNames, 0, alBufferNames1, 0, frameCount0);
+        System.arraycopy(newALBufferNames, 0, alBufferNames1, frameCount0, addCount);
+        setBufferNames(alBufferNames1);
+        growCount++;
+        adaptiveLastChange = Clock.currentMillis();
+        if( DEBUG ) {
+            logout.printf("ALAudioSink.Grow: %d -> %d frames, target latency %.2f ms, %s%n",
+                    frameCount0, alBufferNames1.length, 1000f*targetLatency, getPerfString());
+        }
+        return true;
+    }
+
+    /**
+     * If {@link #isAdaptiveQueue() adaptive} and no growth or underrun occurred within the {@link #getAdaptiveIdleDuration() idle duration},
+     * lowers the target latency and deletes surplus free OpenAL buffers. Requires context to be current.
+     */
+    private final void shrinkIfIdle() {
+        if( !adaptiveQueue ) {
+            return;
+        }
+        final long t = Clock.currentMillis();
+        if( t - adaptiveLastChange < adaptiveIdleDuration ) {
+            return;
+        }
+        adaptiveLastChange = t;
+        final float frameDuration = Math.max(1f/1000f, avgFrameDuration);
+        targetLatency = Math.max(targetLatencyMin, targetLatency - frameDuration);
+        final int frameCount0 = alBufferNames.length;
+        final int neededFrames = (int)Math.ceil( targetLatency / frameDuration ) + 1;
+        final int removeCount = Math.min(alFramesFree.size(), frameCount0 - neededFrames);
+        if( removeCount <= 0 ) {
+            return;
+        }
+        final int[] removed = new int[removeCount];
+        for(int i=0; i<removeCount; i++) {
+            removed[i] = alFramesFree.get().alBuffer;
+        }
+        al.alDeleteBuffers(removeCount, removed, 0);
+        AudioSystem3D.checkALError("alDeleteBuffers", DEBUG, false);
+
+        // Rebuild pool w/ reduced capacity, preserving order of playing frames
+        final int frameCount1 = frameCount0 - removeCount;
+        final Ringbuffer<ALAudioFrame> free1 = new LFRingbuffer<ALAudioFrame>(ALAudioFrame[].class, frameCount1);
+        final Ringbuffer<ALAudioFrame> playing1 = new LFRingbuffer<ALAudioFrame>(ALAudioFrame[].class, frameCount1);
+        final int[] alBufferNames1 = new int[frameCount1];
+        int j = 0;
+        while( !alFramesPlaying.isEmpty() ) {
+            final ALAudioFrame f = alFramesPlaying.get();
+            playing1.put(f);
+            alBufferNames1[j++] = f.alBuffer;
+        }
+        while( !alFramesFree.isEmpty() ) {
+            final ALAudioFrame f = alFramesFree.get();
+            free1.put(f);
+            alBufferNames1[j++] = f.alBuffer;
+        }
+        if( j != frameCount1 ) {
+            throw new InternalError("Shrink: frame count mismatch "+j+" != "+frameCount1+", "+this);
+        }
+        alFramesPlaying = playing1;
+        alFramesFree = free1;
+        setBufferNames(alBufferNames1);
+        shrinkCount++;
+        if( DEBUG ) {
+            logout.printf("ALAudioSink.Shrink: %d -> %d frames, target latency %.2f ms, %s%n",
+                    frameCount0, frameCount1, 1000f*targetLatency, getPerfString());
+        }
+    }
+
+    private final void setBufferNames(final int[] names) {
+        alBufferNames = names;
+        alBufferNameScratch = new int[names.length];
+        alBufferQueueScratch = new int[names.length];
+    }
+
+    /** Dequeue played frames with wait, only reasonable if playing. Requires context to be current. */
+    private final void dequeueHard(final float neededDuration, final char avgUpdateC) {
+        // possible if grow failed or already exceeds it's limit - only possible if playing ..
+        final int enqueuedBuffers = alFramesPlaying.size();
+        final int releaseBuffersHardReq = Math.max(1, enqueuedBuffers / 3 ); // [1 .. enqueuedBuffers / 3]
+        if( DEBUG ) {
+            logout.printf("ALAudioSink.DequeuHard"+avgUpdateC+": %.2f ms, req %d, queued %d, %s%n",
+                    1000f*neededDuration, releaseBuffersHardReq, enqueuedBuffers, getPerfString());
+        }
+        final long t0 = System.nanoTime();
+        dequeueBuffer( true /* wait */, releaseBuffersHardReq );
+        metrics.recordHardWait(System.nanoTime() - t0);
+    }
+
+    /**
+     * Takes a free frame, uploads the given data to its OpenAL buffer and appends it to the playing frames.
+     * The caller has to queue the frame's OpenAL buffer to the source. Requires context to be current.
+     */
+    private final ALAudioFrame uploadFrame(final int pts, final ByteBuffer bytes, final int byteCount, final float neededDuration) {
+        final ALAudioFrame alFrame = alFramesFree.get();
+        if( null == alFrame ) {
+            alFramesFree.dump(System.err, "Avail");
+            throw new InternalError("Internal Error: avail.get null "+alFramesFree+", "+this);
+        }
+        alFrame.setPTS(pts);
+        alFrame.setDuration(Math.round(1000f*neededDuration));
+        alFrame.setByteSize(byteCount);
+        if( !alFramesPlaying.put( alFrame ) ) {
+            throw new InternalError("Internal Error: "+this);
+        }
+        last_buffered_pts = pts;
+        if( hasSOFTBufferSamples ) {
+            final int samplesPerChannel = chosenFormat.getBytesSampleCount(byteCount) / chosenFormat.channelCount;
+            // final int samplesPerChannel = ALHelpers.bytesToSampleCount(byteCount, alChannelLayout, alSampleType);
+            alExt.alBufferSamplesSOFT(alFrame.alBuffer, chosenFormat.sampleRate, alFormat,
+                                      samplesPerChannel, alChannelLayout, alSampleType, bytes);
+        } else {
+            al.alBufferData(alFrame.alBuffer, alFormat, bytes, byteCount, chosenFormat.sampleRate);
+        }
+        alBufferBytesQueued += byteCount;
+        enqueuedFrameCount++; // safe: only written-to while locked!
+        metrics.recordEnqueued(byteCount, (long)( 1000000f * chosenFormat.getBytesDuration(alBufferBytesQueued) ));
+        return alFrame;
+    }
+
+    /** Queues the first <code>count</code> buffer names of {@link #alBufferQueueScratch} and continues playing. Requires context to be current. */
+    private final void queuePending(final int count) {
+        alSource.queueBuffers(alBufferQueueScratch, 0, count);
+        if(DEBUG_TRACE) {
+            logout.println(">> "+count+" buffers -> "+getPerfString()+" @ "+getThreadName());
+        }
+        playImpl(); // continue playing, fixes issue where we ran out of enqueued data!
+    }
+
     @Override
     public final boolean isPlaying() {
         if( !available || null == chosenFormat ) {
@@ -1066,7 +1420,8 @@ public final class ALAudioSink implements AudioSink {
                 throw new ALException(msg);
             }
         }
-        final int[] val = { ALConstants.AL_NONE };
+        final int[] val = alQueryScratch;
+        val[0] = ALConstants.AL_NONE;
         al.alGetSourcei(alSource.getID(), ALConstants.AL_SOURCE_STATE, val, 0);
         if( AudioSystem3D.checkALError("alGetSourcei", true, false) ) {
             final String msg = getThreadName()+": Error while querying SOURCE_STATE. "+this;
@@ -1081,6 +1436,64 @@ public final class ALAudioSink implements AudioSink {
         }
         return val[0];
     }
+    /**
+     * Updates the {@link PTS} using the source's playback offset and output latency,
+     * if {@link #setUseSampleAccuratePTS(boolean) enabled} and the {@link #setSampleAccuratePTSInterval(int) query interval} has passed.
+     * Requires context to be current.
+     */
+    private final void updateSampleAccuratePTS() {
+        if( !useSampleAccuratePTS ) {
+            return;
+        }
+        final long t = Clock.currentMillis();
+        if( 0 != ptsQueryTime && t - ptsQueryTime < ptsQueryInterval ) {
+            return;
+        }
+        final ALAudioFrame head = alFramesPlaying.peek();
+        if( null == head ) {
+            return;
+        }
+        final double offset; // [s] relative to first queued buffer
+        final double latency; // [s]
+        if( hasAL_SOFT_source_latency ) {
+            alExt.alGetSourcedvSOFT(alSource.getID(), ALExtConstants.AL_SEC_OFFSET_LATENCY_SOFT, ptsQueryD, 0);
+            if( AudioSystem3D.checkALError("alGetSourcedvSOFT AL_SEC_OFFSET_LATENCY_SOFT", DEBUG, false) ) {
+                return;
+            }
+            offset = ptsQueryD[0];
+            latency = ptsQueryD[1];
+        } else {
+            al.alGetSourcef(alSource.getID(), ALConstants.AL_SEC_OFFSET, ptsQueryF, 0);
+            if( AudioSystem3D.checkALError("alGetSourcef AL_SEC_OFFSET", DEBUG, false) ) {
+                return;
+            }
+            offset = ptsQueryF[0];
+            if( hasALC_SOFT_device_clock ) {
+                alExt.alcGetInteger64vSOFT(device.getALDevice(), ALExtConstants.ALC_DEVICE_LATENCY_SOFT, 1, ptsQueryL, 0);
+                latency = AudioSystem3D.checkALCError(device, "alcGetInteger64vSOFT ALC_DEVICE_LATENCY_SOFT", DEBUG, false) ? 0 : ptsQueryL[0] / 1e9; // ns -> s
+            } else {
+                latency = 0;
+            }
+        }
+        ptsQueryTime = t;
+        outputLatency = (float)latency;
+        // source offset advances with playSpeed, latency is real time
+        final int audiblePTS = head.getPTS() + (int) Math.round( 1000.0 * ( offset - latency * playSpeed ) );
+        pts.set(t, Math.max(head.getPTS(), audiblePTS));
+        if( DEBUG_TRACE ) {
+            logout.printf("ALAudioSink.PTS: offset %.2f ms, latency %.2f ms, head %d ms -> %d ms%n",
+                    1000.0*offset, 1000.0*latency, head.getPTS(), audiblePTS);
+        }
+    }
+
+    /** Allocation free variant of {@link Source#getBuffersProcessed()}, requires context to be current. */
+    private final int getBuffersProcessed() throws ALException {
+        final int[] val = alQueryScratch;
+        val[0] = 0;
+        al.alGetSourcei(alSource.getID(), ALConstants.AL_BUFFERS_PROCESSED, val, 0);
+        AudioSystem3D.checkALError("Query AL_BUFFERS_PROCESSED", true, true);
+        return val[0];
+    }
 
     @Override
     public final void play() {
@@ -1099,7 +1512,25 @@ public final class ALAudioSink implements AudioSink {
         }
     }
     private final void playImpl() {
-        if( playRequested && ALConstants.AL_PLAYING != getSourceState(false) ) {
+        if( !playRequested ) {
+            return;
+        }
+        final int state = getSourceState(false);
+        if( ALConstants.AL_PLAYING != state ) {
+            if( sourceStarted && ALConstants.AL_STOPPED == state ) {
+                // ran out of data
+                metrics.recordUnderrun();
+                if( adaptiveQueue ) {
+                    final float targetLatency0 = targetLatency;
+                    targetLatency = Math.min(targetLatencyMax, targetLatency + Math.max(1f/1000f, avgFrameDuration));
+                    adaptiveLastChange = Clock.currentMillis();
+                    if( DEBUG ) {
+                        logout.printf("ALAudioSink.Underrun: target latency %.2f -> %.2f ms, %s%n",
+                                1000f*targetLatency0, 1000f*targetLatency, getPerfString());
+                    }
+                }
+            }
+            sourceStarted = true;
             alSource.play();
             AudioSystem3D.checkALError("alSourcePlay", true, true);
         }
@@ -1130,6 +1561,7 @@ public final class ALAudioSink implements AudioSink {
         }
     }
     private final void stopImpl(final boolean ignoreError) {
+        sourceStarted = false;
         if( !alSource.isValid() ) {
             return;
         }
@@ -1279,7 +1711,4 @@ public final class ALAudioSink implements AudioSink {
 
     @Override
     public final int getLastBufferedPTS() { return last_buffered_pts; }
-
-    private static final String toHexString(final int v) { return "0x"+Integer.toHexString(v); }
-    private static final String getThreadName() { return Thread.currentThread().getName(); }
 }
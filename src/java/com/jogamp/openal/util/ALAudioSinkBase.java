@@ -0,0 +1,393 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.util;
+
+import jogamp.openal.Debug;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.av.AudioSink;
+import com.jogamp.common.util.PropertyAccess;
+import com.jogamp.common.util.TSPrinter;
+import com.jogamp.openal.AL;
+import com.jogamp.openal.ALC;
+import com.jogamp.openal.ALCConstants;
+import com.jogamp.openal.ALCcontext;
+import com.jogamp.openal.ALCdevice;
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.ALExt;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+
+/**
+ * Common OpenAL {@link Device} and {@link Context} setup of {@link ALAudioSink} and {@link ALCallbackAudioSink}.
+ * <p>
+ * Opens the {@link Device}, creates the {@link Context} using the user {@link ALCcontext} attributes,
+ * queries the common extensions and device properties
+ * and re-creates the {@link Context} if the requested latency is below the default mixer latency, see {@link #initLatency(float, boolean)}.
+ * </p>
+ */
+abstract class ALAudioSinkBase implements AudioSink {
+    static final boolean DEBUG_TRACE;
+    static final TSPrinter logout;
+    static final ALC alc;
+    static final AL al;
+    static final ALExt alExt;
+    static final boolean staticsInitialized;
+
+    final Device device;
+    /** User {@link ALCcontext} attributes, maybe null. */
+    private final int[] ctxAttributes;
+    final Context context;
+    boolean hasSOFTBufferSamples;
+    boolean hasEXTMcFormats;
+    boolean hasEXTFloat32;
+    boolean hasEXTDouble;
+    boolean hasALC_thread_local_context;
+    int sourceCount;
+    /** default latency in [s] */
+    float defaultLatency;
+    /** latency in [s] */
+    float latency;
+    final AudioFormat nativeFormat;
+    private int userMaxChannels = 8;
+    AudioFormat preferredFormat;
+
+    static {
+        Debug.initSingleton();
+        DEBUG_TRACE = PropertyAccess.isPropertyDefined("joal.debug.AudioSink.trace", true);
+        if( DEBUG || DEBUG_TRACE ) {
+            logout = TSPrinter.stderr();
+        } else {
+            logout = null;
+        }
+        alc = AudioSystem3D.getALC();
+        al = AudioSystem3D.getAL();
+        alExt = AudioSystem3D.getALExt();
+        staticsInitialized = AudioSystem3D.isAvailable();
+    }
+
+    /** Returns true if OpenAL has been loaded and static fields {@link ALC}, {@link AL} and {@link ALExt} have been initialized successfully, otherwise false. */
+    public static boolean isInitialized() {
+        return staticsInitialized;
+    }
+
+    static Device createDevice(final String name) {
+        final Device d = new Device(name);
+        if( !d.isValid() ) {
+            throw new ALException(getThreadName()+": AudioSink: Error opening OpenAL device '"+name+"'");
+        }
+        return d;
+    }
+
+    /**
+     * Opens the {@link Device} if required, creates the {@link Context} if not shared and queries the common device properties.
+     * <p>
+     * Passing {@link ALCcontext} attributes is required for a {@link Device#isLoopback() loopback device},
+     * i.e. <code>ALC_FORMAT_CHANNELS_SOFT</code>, <code>ALC_FORMAT_TYPE_SOFT</code> and <code>ALC_FREQUENCY</code>.
+     * The attributes are preserved if the context gets re-created, see {@link #initLatency(float, boolean)}.
+     * </p>
+     *
+     * @param alDevice optional OpenAL {@link Device}, a default device is opened if null. Used as is if {@code sharedContext} is given.
+     * @param ctxAttributes optional list of {@link ALCcontext} attributes w/o terminating zero, maybe null
+     * @param sharedContext optional {@link Context} of {@code alDevice} shared with other sinks, otherwise a new {@link Context} is created
+     * @param useSOFTBufferSamples true if <code>AL_SOFT_buffer_samples</code> formats are usable, i.e. to query its availability
+     * @throws ALException if the default {@link ALCdevice} couldn't be fully created including its context.
+     */
+    ALAudioSinkBase(final Device alDevice, final int[] ctxAttributes, final Context sharedContext, final boolean useSOFTBufferSamples) throws ALException {
+        this.ctxAttributes = null != ctxAttributes && ctxAttributes.length > 0 ? ctxAttributes.clone() : null;
+
+        if( !staticsInitialized ) {
+            device = null;
+            context = null;
+            nativeFormat = DefaultFormat;
+            return;
+        }
+        final String name = getClass().getSimpleName();
+        if( null != sharedContext ) {
+            device = alDevice;
+        } else if( null == alDevice ) {
+            device = createDevice(null); // default device
+            if( !device.isValid() ) {
+                throw new ALException(getThreadName()+": "+name+": Couldn't open default device: "+device);
+            }
+        } else {
+            device = alDevice;
+            if( !device.open() ) {
+                throw new ALException(getThreadName()+": "+name+": Error device not open or couldn't be opened "+device);
+            }
+        }
+        // Create audio context, if not shared
+        context = null != sharedContext ? sharedContext : new Context(device, getContextAttributes(0));
+        if ( !context.isValid() ) {
+            throw new ALException(getThreadName()+": "+name+": Error creating OpenAL context "+context);
+        }
+        context.makeCurrent(true /* throw */);
+        try {
+            hasSOFTBufferSamples = useSOFTBufferSamples && al.alIsExtensionPresent(ALHelpers.AL_SOFT_buffer_samples);
+            hasEXTMcFormats = al.alIsExtensionPresent(ALHelpers.AL_EXT_MCFORMATS);
+            hasEXTFloat32 = al.alIsExtensionPresent(ALHelpers.AL_EXT_FLOAT32);
+            hasEXTDouble = al.alIsExtensionPresent(ALHelpers.AL_EXT_DOUBLE);
+            hasALC_thread_local_context = context.hasALC_thread_local_context;
+
+            int checkErrIter = 1;
+            AudioSystem3D.checkError(device, "init."+checkErrIter++, DEBUG, false);
+            int defaultSampleRate = DefaultFormat.sampleRate;
+            {
+                final int[] value = { 0 };
+                alc.alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_FREQUENCY, 1, value, 0);
+                if( AudioSystem3D.checkError(device, "read ALC_FREQUENCY", DEBUG, false) || 0 == value[0] ) {
+                    if( DEBUG ) {
+                        logout.println(name+".queryDefaultSampleRate: failed, using default "+defaultSampleRate);
+                    }
+                } else {
+                    defaultSampleRate = value[0];
+                    if( DEBUG ) {
+                        logout.println(name+".queryDefaultSampleRate: OK "+defaultSampleRate);
+                    }
+                }
+                value[0] = 0;
+                alc.alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_MONO_SOURCES, 1, value, 0);
+                if( AudioSystem3D.checkError(device, "read ALC_MONO_SOURCES", DEBUG, false) ) {
+                    sourceCount = -1;
+                    if( DEBUG ) {
+                        logout.println(name+".queryMonoSourceCount: failed");
+                    }
+                } else {
+                    sourceCount = value[0];
+                }
+                value[0] = 0;
+                alc.alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_REFRESH, 1, value, 0);
+                if( AudioSystem3D.checkError(device, "read ALC_REFRESH", DEBUG, false) || 0 == value[0] ) {
+                    defaultLatency = 20f/1000f; // OpenAL-Soft default seems to be 50 Hz -> 20ms min latency
+                    if( DEBUG ) {
+                        logout.println(name+".queryDefaultRefreshRate: failed");
+                    }
+                } else {
+                    defaultLatency = 1f/value[0]; // Hz -> s
+                    if( DEBUG ) {
+                        logout.println(name+".queryDefaultRefreshRate: OK "+value[0]+" Hz = "+(1000f*defaultLatency)+" ms");
+                    }
+                }
+            }
+            nativeFormat = new AudioFormat(defaultSampleRate, DefaultFormat.sampleSize, getMaxSupportedChannels(false),
+                                           DefaultFormat.signed, DefaultFormat.fixedP, DefaultFormat.planar, DefaultFormat.littleEndian);
+            preferredFormat = nativeFormat;
+            if( DEBUG ) {
+                final int[] alcvers = { 0, 0 };
+                System.out.println(name+": OpenAL Version: "+al.alGetString(ALConstants.AL_VERSION));
+                System.out.println(name+": OpenAL Extensions: "+al.alGetString(ALConstants.AL_EXTENSIONS));
+                AudioSystem3D.checkError(device, "init."+checkErrIter++, DEBUG, false);
+                System.out.println(name+": Null device OpenALC:");
+                alc.alcGetIntegerv(null, ALCConstants.ALC_MAJOR_VERSION, 1, alcvers, 0);
+                alc.alcGetIntegerv(null, ALCConstants.ALC_MINOR_VERSION, 1, alcvers, 1);
+                System.out.println("  Version: "+alcvers[0]+"."+alcvers[1]);
+                System.out.println("  Extensions: "+alc.alcGetString(null, ALCConstants.ALC_EXTENSIONS));
+                AudioSystem3D.checkError(device, "init."+checkErrIter++, DEBUG, false);
+                System.out.println(name+": Device "+device+" OpenALC:");
+                alc.alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_MAJOR_VERSION, 1, alcvers, 0);
+                alc.alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_MINOR_VERSION, 1, alcvers, 1);
+                System.out.println("  Version: "+alcvers[0]+"."+alcvers[1]);
+                System.out.println("  Extensions: "+alc.alcGetString(device.getALDevice(), ALCConstants.ALC_EXTENSIONS));
+                System.out.println(name+": hasSOFTBufferSamples "+hasSOFTBufferSamples);
+                System.out.println(name+": hasEXTMcFormats "+hasEXTMcFormats);
+                System.out.println(name+": hasEXTFloat32 "+hasEXTFloat32);
+                System.out.println(name+": hasEXTDouble "+hasEXTDouble);
+                System.out.println(name+": hasALC_thread_local_context "+hasALC_thread_local_context);
+                System.out.println(name+": maxSupportedChannels "+getMaxSupportedChannels(false));
+                System.out.println(name+": nativeAudioFormat "+nativeFormat);
+                System.out.println(name+": defaultMixerRefreshRate "+(1000f*defaultLatency)+" ms, "+(1f/defaultLatency)+" Hz");
+                AudioSystem3D.checkError(device, "init."+checkErrIter++, DEBUG, false);
+            }
+        } finally {
+            context.release(true /* throw */);
+        }
+    }
+
+    // Expose AudioSink OpenAL implementation specifics
+
+    /** Return OpenAL global {@link AL}. */
+    public static final AL getAL() { return al; }
+    /** Return OpenAL global {@link ALC}. */
+    public static final ALC getALC() { return alc; }
+    /** Return OpenAL global {@link ALExt}. */
+    public static final ALExt getALExt() { return alExt; }
+
+    /** Return this instance's OpenAL {@link Device}, maybe shared with other instances if {@link ALAudioSink#getPool() pooled}. */
+    public final Device getDevice() { return device; }
+    /** Return this instance's OpenAL {@link Context}, maybe shared with other instances if {@link ALAudioSink#getPool() pooled}. */
+    public final Context getContext() { return context; }
+
+    /** Return whether OpenAL extension <code>AL_EXT_MCFORMATS</code> is available. */
+    public final boolean hasEXTMcFormats() { return hasEXTMcFormats; }
+    /** Return whether OpenAL extension <code>AL_EXT_FLOAT32</code> is available. */
+    public final boolean hasEXTFloat32() { return hasEXTFloat32; }
+    /** Return whether OpenAL extension <code>AL_EXT_DOUBLE</code> is available. */
+    public final boolean hasEXTDouble() { return hasEXTDouble; }
+    /** Return whether OpenAL extension <code>ALC_EXT_thread_local_context</code> is available. */
+    public final boolean hasALCThreadLocalContext() { return hasALC_thread_local_context; }
+
+    /**
+     * Returns the user {@link ALCcontext} attributes merged with the optional <code>ALC_REFRESH</code> value,
+     * or null if neither is given.
+     * @param refreshRate mixer refresh rate in Hz, ignored if zero
+     */
+    private final int[] getContextAttributes(final int refreshRate) {
+        final int userCount = null != ctxAttributes ? ctxAttributes.length : 0;
+        if( 0 == userCount && 0 == refreshRate ) {
+            return null;
+        }
+        final int[] res = new int[userCount + ( 0 != refreshRate ? 2 : 0 ) + 1];
+        int i = 0;
+        for(int j=0; j<userCount-1; j+=2) {
+            if( 0 != refreshRate && ALCConstants.ALC_REFRESH == ctxAttributes[j] ) {
+                continue; // overridden
+            }
+            res[i++] = ctxAttributes[j];
+            res[i++] = ctxAttributes[j+1];
+        }
+        if( 0 != refreshRate ) {
+            res[i++] = ALCConstants.ALC_REFRESH;
+            res[i++] = refreshRate;
+        }
+        res[i] = 0;
+        return res;
+    }
+
+    /**
+     * Re-creates the {@link Context} if the given frame duration is below the {@link #getDefaultLatency() default latency}
+     * and updates the {@link #getLatency() latency} using the actual mixer refresh rate.
+     * <p>
+     * Context must be current.
+     * </p>
+     * @param frameDurationHintS average frame duration hint in [s]
+     * @param keepContext true to keep a shared {@link Context}, i.e. not to re-create it
+     * @return true if successful, false if the {@link Context} couldn't be re-created
+     */
+    final boolean initLatency(final float frameDurationHintS, final boolean keepContext) {
+        final String name = getClass().getSimpleName();
+        // Re-Create audio context if default latency is not sufficient
+        {
+            final int defRefreshRate = Math.round( 1f / defaultLatency ); // s -> Hz
+            final int expMixerRefreshRate = Math.round( 1f / frameDurationHintS ); // s -> Hz
+
+            if( keepContext ) {
+                if( DEBUG ) {
+                    logout.println(getThreadName()+": "+name+".init: Keep shared context, latency exp "+
+                            (1000f*frameDurationHintS)+" ms ("+expMixerRefreshRate+" Hz), default "+(1000f*defaultLatency)+" ms ("+defRefreshRate+" Hz)");
+                }
+            } else if( frameDurationHintS < defaultLatency ) {
+                if( DEBUG ) {
+                    logout.println(getThreadName()+": "+name+".init: Re-create context as latency exp "+
+                            (1000f*frameDurationHintS)+" ms ("+expMixerRefreshRate+" Hz) < default "+(1000f*defaultLatency)+" ms ("+defRefreshRate+" Hz)");
+                }
+                if( !context.recreate( getContextAttributes(expMixerRefreshRate) ) ) {
+                    if( DEBUG ) {
+                        logout.println(getThreadName()+": "+name+": Error creating OpenAL context "+context);
+                    }
+                    return false;
+                }
+            } else if( DEBUG ) {
+                logout.println(getThreadName()+": "+name+".init: Keep context, latency exp "+
+                        (1000f*frameDurationHintS)+" ms ("+expMixerRefreshRate+" Hz) >= default "+(1000f*defaultLatency)+" ms ("+defRefreshRate+" Hz)");
+            }
+        }
+        // Get actual refresh rate
+        {
+            final int[] value = { 0 };
+            alc.alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_REFRESH, 1, value, 0);
+            if( AudioSystem3D.checkError(device, "read ALC_REFRESH", DEBUG, false) || 0 == value[0] ) {
+                latency = defaultLatency;
+                if( DEBUG ) {
+                    logout.println(name+".queryRefreshRate: failed, claiming default "+(1000f*latency)+" ms");
+                }
+            } else {
+                latency = 1f/value[0]; // Hz -> s
+                if( DEBUG ) {
+                    logout.println(name+".queryRefreshRate: OK "+value[0]+" Hz = "+(1000f*latency)+" ms");
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getSourceCount() { return sourceCount; }
+
+    @Override
+    public float getDefaultLatency() { return defaultLatency; }
+
+    @Override
+    public float getLatency() { return latency; }
+
+    @Override
+    public final AudioFormat getNativeFormat() {
+        if( !staticsInitialized ) {
+            return null;
+        }
+        return nativeFormat;
+    }
+
+    @Override
+    public final AudioFormat getPreferredFormat() {
+        if( !staticsInitialized ) {
+            return null;
+        }
+        return preferredFormat;
+    }
+
+    @Override
+    public final void setChannelLimit(final int cc) {
+        userMaxChannels = Math.min(8, Math.max(1, cc));
+
+        preferredFormat = new AudioFormat(nativeFormat.sampleRate,
+                                       nativeFormat.sampleSize, getMaxSupportedChannels(true),
+                                       nativeFormat.signed, nativeFormat.fixedP,
+                                       nativeFormat.planar, nativeFormat.littleEndian);
+        if( DEBUG ) {
+            System.out.println(getClass().getSimpleName()+": channelLimit "+userMaxChannels+", preferredFormat "+preferredFormat);
+        }
+    }
+
+    final int getMaxSupportedChannels(final boolean considerLimit) {
+        if( !staticsInitialized ) {
+            return 0;
+        }
+        final int cc;
+        if( hasEXTMcFormats || hasSOFTBufferSamples ) {
+            cc = 8;
+        } else {
+            cc = 2;
+        }
+        return considerLimit ? Math.min(userMaxChannels, cc) : cc;
+    }
+
+    static final String toHexString(final int v) { return "0x"+Integer.toHexString(v); }
+    static final String getThreadName() { return Thread.currentThread().getName(); }
+}
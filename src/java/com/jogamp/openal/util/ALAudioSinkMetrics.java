@@ -0,0 +1,278 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import jogamp.openal.Debug;
+
+import com.jogamp.common.util.PropertyAccess;
+
+/**
+ * Always-on, low overhead runtime metrics of an {@link ALAudioSink}.
+ * <p>
+ * Counters and log2 histograms are updated lock-free while streaming
+ * and can be read via a {@link #snapshot() snapshot} or the {@link ALAudioSinkMetricsMBean JMX MBean},
+ * which is registered per initialized {@link ALAudioSink} if JMX is available.
+ * </p>
+ * <p>
+ * JMX registration can be disabled via property <code>joal.AudioSink.noJMX</code>.
+ * </p>
+ * <p>
+ * Histogram bucket <code>0</code> counts zero values, bucket <code>i &gt; 0</code> counts values
+ * within <code>[2<sup>i-1</sup>, 2<sup>i</sup>)</code>, the last bucket counts all larger values.
+ * </p>
+ */
+public final class ALAudioSinkMetrics implements ALAudioSinkMetricsMBean {
+    /** Number of log2 histogram buckets */
+    public static final int HISTOGRAM_BUCKETS = 32;
+
+    private static final boolean DEBUG;
+    private static final boolean JMX_DISABLED;
+
+    static {
+        Debug.initSingleton();
+        DEBUG = Debug.debug("AudioSink");
+        JMX_DISABLED = PropertyAccess.isPropertyDefined("joal.AudioSink.noJMX", true);
+    }
+
+    private final AtomicLong underrunCount = new AtomicLong();
+    private final AtomicLong hardWaitCount = new AtomicLong();
+    private final AtomicLong hardWaitNanos = new AtomicLong();
+    private final AtomicLong eventQueryMismatchCount = new AtomicLong();
+    private final AtomicLong enqueuedFrameCount = new AtomicLong();
+    private final AtomicLong lockCount = new AtomicLong();
+    private final AtomicLong lockWaitNanos = new AtomicLong();
+    private final AtomicLongArray hardWaitHisto = new AtomicLongArray(HISTOGRAM_BUCKETS);
+    private final AtomicLongArray queuedDurationHisto = new AtomicLongArray(HISTOGRAM_BUCKETS);
+    private final AtomicLongArray frameSizeHisto = new AtomicLongArray(HISTOGRAM_BUCKETS);
+    private final AtomicLongArray lockWaitHisto = new AtomicLongArray(HISTOGRAM_BUCKETS);
+
+    /** Returns the log2 histogram bucket index for the given non-negative value. */
+    public static int getBucket(final long value) {
+        return Math.min(HISTOGRAM_BUCKETS-1, 64 - Long.numberOfLeadingZeros(Math.max(0, value)));
+    }
+
+    /** Records an underrun, i.e. the source found stopped while data was queued. */
+    final void recordUnderrun() {
+        underrunCount.incrementAndGet();
+    }
+    /** Records a hard dequeue wait of the given duration in nanoseconds. */
+    final void recordHardWait(final long nanos) {
+        hardWaitCount.incrementAndGet();
+        hardWaitNanos.addAndGet(nanos);
+        hardWaitHisto.incrementAndGet(getBucket(nanos/1000L));
+    }
+    /** Records a mismatch between the released buffer count of <code>AL_SOFT_events</code> and the queried count. */
+    final void recordEventQueryMismatch() {
+        eventQueryMismatchCount.incrementAndGet();
+    }
+    /** Records an enqueued frame with its byte size and the resulting queued duration in microseconds. */
+    final void recordEnqueued(final int byteSize, final long queuedMicros) {
+        enqueuedFrameCount.incrementAndGet();
+        frameSizeHisto.incrementAndGet(getBucket(byteSize));
+        queuedDurationHisto.incrementAndGet(getBucket(queuedMicros));
+    }
+    /** Records the wait duration in nanoseconds to acquire the context lock. */
+    final void recordLockWait(final long nanos) {
+        lockCount.incrementAndGet();
+        lockWaitNanos.addAndGet(nanos);
+        lockWaitHisto.incrementAndGet(getBucket(nanos/1000L));
+    }
+
+    /** Resets all counters and histograms. */
+    @Override
+    public final void reset() {
+        underrunCount.set(0);
+        hardWaitCount.set(0);
+        hardWaitNanos.set(0);
+        eventQueryMismatchCount.set(0);
+        enqueuedFrameCount.set(0);
+        lockCount.set(0);
+        lockWaitNanos.set(0);
+        for(int i=0; i<HISTOGRAM_BUCKETS; i++) {
+            hardWaitHisto.set(i, 0);
+            queuedDurationHisto.set(i, 0);
+            frameSizeHisto.set(i, 0);
+            lockWaitHisto.set(i, 0);
+        }
+    }
+
+    @Override
+    public final long getUnderrunCount() { return underrunCount.get(); }
+    @Override
+    public final long getHardWaitCount() { return hardWaitCount.get(); }
+    @Override
+    public final long getHardWaitMicros() { return hardWaitNanos.get()/1000L; }
+    @Override
+    public final long getEventQueryMismatchCount() { return eventQueryMismatchCount.get(); }
+    @Override
+    public final long getEnqueuedFrameCount() { return enqueuedFrameCount.get(); }
+    @Override
+    public final long getLockCount() { return lockCount.get(); }
+    @Override
+    public final long getLockWaitMicros() { return lockWaitNanos.get()/1000L; }
+    @Override
+    public final long[] getHardWaitHistogram() { return toArray(hardWaitHisto); }
+    @Override
+    public final long[] getQueuedDurationHistogram() { return toArray(queuedDurationHisto); }
+    @Override
+    public final long[] getFrameSizeHistogram() { return toArray(frameSizeHisto); }
+    @Override
+    public final long[] getLockWaitHistogram() { return toArray(lockWaitHisto); }
+
+    private static long[] toArray(final AtomicLongArray a) {
+        final long[] res = new long[a.length()];
+        for(int i=0; i<res.length; i++) {
+            res[i] = a.get(i);
+        }
+        return res;
+    }
+
+    /** Returns an immutable snapshot of all counters and histograms. */
+    public final Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Immutable snapshot of {@link ALAudioSinkMetrics}.
+     * <p>
+     * Individual values are read one after another, hence they are not guaranteed to be mutually consistent while streaming.
+     * </p>
+     */
+    public static final class Snapshot {
+        /** Time of snapshot creation in nanoseconds, see {@link System#nanoTime()} */
+        public final long timestamp;
+        public final long underrunCount;
+        public final long hardWaitCount;
+        /** Accumulated hard dequeue wait duration in microseconds */
+        public final long hardWaitMicros;
+        public final long eventQueryMismatchCount;
+        public final long enqueuedFrameCount;
+        public final long lockCount;
+        /** Accumulated context lock wait duration in microseconds */
+        public final long lockWaitMicros;
+        /** Log2 histogram of hard dequeue wait durations in microseconds */
+        public final long[] hardWaitHistogram;
+        /** Log2 histogram of queued durations in microseconds after enqueuing a frame */
+        public final long[] queuedDurationHistogram;
+        /** Log2 histogram of enqueued frame sizes in bytes */
+        public final long[] frameSizeHistogram;
+        /** Log2 histogram of context lock wait durations in microseconds */
+        public final long[] lockWaitHistogram;
+
+        Snapshot(final ALAudioSinkMetrics m) {
+            timestamp = System.nanoTime();
+            underrunCount = m.getUnderrunCount();
+            hardWaitCount = m.getHardWaitCount();
+            hardWaitMicros = m.getHardWaitMicros();
+            eventQueryMismatchCount = m.getEventQueryMismatchCount();
+            enqueuedFrameCount = m.getEnqueuedFrameCount();
+            lockCount = m.getLockCount();
+            lockWaitMicros = m.getLockWaitMicros();
+            hardWaitHistogram = m.getHardWaitHistogram();
+            queuedDurationHistogram = m.getQueuedDurationHistogram();
+            frameSizeHistogram = m.getFrameSizeHistogram();
+            lockWaitHistogram = m.getLockWaitHistogram();
+        }
+
+        /**
+         * Returns the approximated value at the given percentile of the given log2 histogram,
+         * i.e. the upper bound of the bucket containing the percentile.
+         * @param histogram log2 histogram
+         * @param percentile within [0..1]
+         */
+        public static long getPercentile(final long[] histogram, final float percentile) {
+            long total = 0;
+            for(int i=0; i<histogram.length; i++) {
+                total += histogram[i];
+            }
+            if( 0 == total ) {
+                return 0;
+            }
+            final long limit = (long)Math.ceil(percentile * total);
+            long sum = 0;
+            for(int i=0; i<histogram.length; i++) {
+                sum += histogram[i];
+                if( sum >= limit ) {
+                    return 0 == i ? 0 : 1L << i;
+                }
+            }
+            return 1L << ( histogram.length - 1 );
+        }
+
+        @Override
+        public String toString() {
+            return "ALAudioSinkMetrics[underruns "+underrunCount+", hardWait[count "+hardWaitCount+", "+hardWaitMicros+" us, p99 "+getPercentile(hardWaitHistogram, 0.99f)+
+                   " us], eventMismatch "+eventQueryMismatchCount+", frames[count "+enqueuedFrameCount+", p50 "+getPercentile(frameSizeHistogram, 0.5f)+
+                   " bytes], queued[p50 "+getPercentile(queuedDurationHistogram, 0.5f)+" us, p99 "+getPercentile(queuedDurationHistogram, 0.99f)+
+                   " us], lock[count "+lockCount+", "+lockWaitMicros+" us, p99 "+getPercentile(lockWaitHistogram, 0.99f)+" us]]";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * Registers the given metrics as JMX MBean <code>com.jogamp.openal:type=ALAudioSink,name=&lt;name&gt;</code>.
+     * @return the registration handle for {@link #unregisterMBean(Object)},
+     *         or null if JMX is disabled, not available, e.g. on Android, or registration failed.
+     */
+    static Object registerMBean(final ALAudioSinkMetrics metrics, final String name) {
+        if( JMX_DISABLED ) {
+            return null;
+        }
+        try {
+            final javax.management.ObjectName objName = new javax.management.ObjectName("com.jogamp.openal:type=ALAudioSink,name="+name);
+            java.lang.management.ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objName);
+            return objName;
+        } catch (final Throwable t) {
+            if( DEBUG ) {
+                System.err.println("ALAudioSinkMetrics: JMX registration of '"+name+"' failed: "+t.getClass().getName()+": "+t.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /** Unregisters the JMX MBean of the given registration handle, see {@link #registerMBean(ALAudioSinkMetrics, String)}. */
+    static void unregisterMBean(final Object handle) {
+        if( null == handle ) {
+            return;
+        }
+        try {
+            java.lang.management.ManagementFactory.getPlatformMBeanServer().unregisterMBean((javax.management.ObjectName)handle);
+        } catch (final Throwable t) {
+            if( DEBUG ) {
+                System.err.println("ALAudioSinkMetrics: JMX unregistration of '"+handle+"' failed: "+t.getClass().getName()+": "+t.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.util;
+
+/**
+ * JMX MBean interface of {@link ALAudioSinkMetrics}, registered per initialized {@link ALAudioSink}
+ * as <code>com.jogamp.openal:type=ALAudioSink,name=&lt;id&gt;</code> if JMX is available.
+ */
+public interface ALAudioSinkMetricsMBean {
+    /** Returns the number of underruns, i.e. the source found stopped while data was queued. */
+    long getUnderrunCount();
+    /** Returns the number of hard dequeue waits. */
+    long getHardWaitCount();
+    /** Returns the accumulated hard dequeue wait duration in microseconds. */
+    long getHardWaitMicros();
+    /** Returns the number of mismatches between the released buffer count of <code>AL_SOFT_events</code> and the queried count. */
+    long getEventQueryMismatchCount();
+    /** Returns the number of enqueued frames. */
+    long getEnqueuedFrameCount();
+    /** Returns the number of context lock acquisitions. */
+    long getLockCount();
+    /** Returns the accumulated context lock wait duration in microseconds. */
+    long getLockWaitMicros();
+    /** Returns the log2 histogram of hard dequeue wait durations in microseconds. */
+    long[] getHardWaitHistogram();
+    /** Returns the log2 histogram of queued durations in microseconds after enqueuing a frame. */
+    long[] getQueuedDurationHistogram();
+    /** Returns the log2 histogram of enqueued frame sizes in bytes. */
+    long[] getFrameSizeHistogram();
+    /** Returns the log2 histogram of context lock wait durations in microseconds. */
+    long[] getLockWaitHistogram();
+    /** Resets all counters and histograms. */
+    void reset();
+}
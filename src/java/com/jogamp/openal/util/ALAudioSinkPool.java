@@ -0,0 +1,272 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.jogamp.openal.ALCConstants;
+import com.jogamp.openal.ALCcontext;
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.ALExt;
+import com.jogamp.openal.ALExt.ALEVENTPROCSOFT;
+import com.jogamp.openal.ALExtConstants;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Source;
+
+/**
+ * Pool of {@link ALAudioSink} instances sharing one OpenAL {@link Device} and {@link Context}.
+ * <p>
+ * Each {@link #createSink() created} {@link ALAudioSink} still owns its own {@link Source}
+ * and OpenAL buffer pool, hence its {@link ALAudioSink#setVolume(float) volume}
+ * and {@link ALAudioSink#setPlaySpeed(float) play speed} are honored per stream,
+ * while the mixer, device thread and context are only created once.
+ * </p>
+ * <p>
+ * The shared {@link Context} is left untouched by pooled sinks, i.e. they do not recreate
+ * it to match their expected frame duration, see {@link ALAudioSink#init(com.jogamp.common.av.AudioFormat, float, int)}.
+ * Pass the desired {@code ALC_REFRESH} and {@code ALC_MONO_SOURCES} via the context attributes
+ * of {@link #ALAudioSinkPool(Device, int[])} instead.
+ * </p>
+ * <p>
+ * If {@code AL_SOFT_events} is supported, a single event callback is registered on the shared context
+ * and dispatched to the sink owning the event's source.
+ * </p>
+ */
+public final class ALAudioSinkPool {
+    private final Device device;
+    private final Context context;
+    /** A {@link ReentrantLock} to not pin virtual threads. */
+    private final ReentrantLock sinkLock = new ReentrantLock();
+    /** Copy-on-write sink array, read lock-free by the event dispatcher. */
+    private volatile ALAudioSink[] sinks = new ALAudioSink[0];
+    private boolean eventsEnabled = false;
+
+    /**
+     * Create a new instance with a new default {@link Device}
+     * @throws ALException if the default {@link Device} couldn't be fully created including its context.
+     */
+    public ALAudioSinkPool() throws ALException {
+        this((Device)null, null);
+    }
+
+    /**
+     * Create a new instance with a new named {@link Device}
+     * @param deviceName name of the device to open, null for the default device
+     * @throws ALException if the named {@link Device} couldn't be fully created including its context.
+     */
+    public ALAudioSinkPool(final String deviceName) throws ALException {
+        this(new Device(deviceName), null);
+    }
+
+    /**
+     * Create a new instance with the given {@link Device} and context attributes.
+     * @param alDevice the {@link Device} to use, will be opened if required. Null for a new default device.
+     * @param ctxAttributes optional attribute list to create the shared {@link Context}, maybe null.
+     *        Zero terminated or not, e.g. {@code ALC_MONO_SOURCES} to raise the number of supported streams.
+     * @throws ALException if the {@link Device} couldn't be fully created including its context.
+     */
+    public ALAudioSinkPool(final Device alDevice, final int[] ctxAttributes) throws ALException {
+        this(alDevice, ctxAttributes, Context.getDefaultVirtualThreadSafe());
+    }
+
+    /**
+     * Create a new instance with the given {@link Device} and context attributes.
+     * @param alDevice the {@link Device} to use, will be opened if required. Null for a new default device.
+     * @param ctxAttributes optional attribute list to create the shared {@link Context}, maybe null.
+     *        Zero terminated or not, e.g. {@code ALC_MONO_SOURCES} to raise the number of supported streams.
+     * @param virtualThreadSafe pass true to create a {@link Context#isVirtualThreadSafe() virtual thread safe} shared {@link Context},
+     *        allowing many virtual threads to drive the pooled sinks.
+     * @throws ALException if the {@link Device} couldn't be fully created including its context.
+     */
+    public ALAudioSinkPool(final Device alDevice, final int[] ctxAttributes, final boolean virtualThreadSafe) throws ALException {
+        if( !ALAudioSink.isInitialized() ) {
+            throw new ALException("ALAudioSinkPool: OpenAL not initialized");
+        }
+        device = null != alDevice ? alDevice : new Device(null);
+        if( !device.open() ) {
+            throw new ALException("ALAudioSinkPool: Error device not open or couldn't be opened "+device);
+        }
+        context = new Context(device, terminate(ctxAttributes), virtualThreadSafe);
+        if ( !context.isValid() ) {
+            device.close();
+            throw new ALException("ALAudioSinkPool: Error creating OpenAL context "+context);
+        }
+    }
+
+    private static int[] terminate(final int[] attrs) {
+        if( null == attrs || 0 == attrs.length ) {
+            return null;
+        }
+        if( 0 == attrs[attrs.length-1] && 0 == attrs.length % 2 ) {
+            return attrs.clone();
+        }
+        final int[] res = new int[attrs.length+1];
+        System.arraycopy(attrs, 0, res, 0, attrs.length);
+        res[attrs.length] = 0;
+        return res;
+    }
+
+    /** Return the shared OpenAL {@link Device}. */
+    public final Device getDevice() { return device; }
+
+    /** Return the shared OpenAL {@link Context}. */
+    public final Context getContext() { return context; }
+
+    /** Returns true if the shared {@link Context} is valid, i.e. this pool has not been {@link #destroy() destroyed}. */
+    public final boolean isValid() { return context.isValid(); }
+
+    /**
+     * Returns the maximum number of mono sources the shared {@link Context} supports,
+     * i.e. {@code ALC_MONO_SOURCES}, or zero if unknown.
+     */
+    public final int getMaxSourceCount() {
+        final int[] value = { 0 };
+        AudioSystem3D.getALC().alcGetIntegerv(device.getALDevice(), ALCConstants.ALC_MONO_SOURCES, 1, value, 0);
+        return value[0];
+    }
+
+    /**
+     * Create a new {@link ALAudioSink} sharing this pool's {@link Device} and {@link Context}.
+     * <p>
+     * The returned sink must be {@link ALAudioSink#destroy() destroyed} by the caller,
+     * which removes it from this pool, or via {@link #destroy()}.
+     * </p>
+     * @throws ALException if this pool is no more valid or the sink couldn't be created
+     */
+    public final ALAudioSink createSink() throws ALException {
+        if( !isValid() ) {
+            throw new ALException("ALAudioSinkPool: Destroyed "+this);
+        }
+        final ALAudioSink sink = new ALAudioSink(this);
+        sinkLock.lock();
+        try {
+            final ALAudioSink[] o = sinks;
+            final ALAudioSink[] n = new ALAudioSink[o.length+1];
+            System.arraycopy(o, 0, n, 0, o.length);
+            n[o.length] = sink;
+            sinks = n;
+        } finally {
+            sinkLock.unlock();
+        }
+        return sink;
+    }
+
+    /** Removes the given sink, called by {@link ALAudioSink#destroy()}. */
+    /* pp */ final void removeSink(final ALAudioSink sink) {
+        sinkLock.lock();
+        try {
+            final ALAudioSink[] o = sinks;
+            for(int i=0; i<o.length; ++i) {
+                if( o[i] == sink ) {
+                    final ALAudioSink[] n = new ALAudioSink[o.length-1];
+                    System.arraycopy(o, 0, n, 0, i);
+                    System.arraycopy(o, i+1, n, i, o.length-i-1);
+                    sinks = n;
+                    return;
+                }
+            }
+        } finally {
+            sinkLock.unlock();
+        }
+    }
+
+    /** Returns the number of pooled {@link ALAudioSink}s not yet destroyed. */
+    public final int getSinkCount() { return sinks.length; }
+
+    /**
+     * Registers the shared {@code AL_SOFT_events} callback once, dispatching to all pooled sinks.
+     * <p>
+     * Method shall be called with the shared {@link Context} being current.
+     * </p>
+     */
+    /* pp */ final void enableEvents() {
+        sinkLock.lock();
+        try {
+            if( !eventsEnabled ) {
+                final ALExt alExt = AudioSystem3D.getALExt();
+                alExt.alEventCallbackSOFT(eventDispatcher, context.getALContext());
+                alExt.alEventControlSOFT(1, new int[] { ALExtConstants.AL_EVENT_TYPE_BUFFER_COMPLETED_SOFT }, 0, true);
+                eventsEnabled = true;
+            }
+        } finally {
+            sinkLock.unlock();
+        }
+    }
+
+    private final ALEVENTPROCSOFT eventDispatcher = new ALEVENTPROCSOFT() {
+        @Override
+        public void callback(final int eventType, final int object, final int param,
+                             final String message, final ALCcontext alCtx) {
+            final ALAudioSink[] s = sinks;
+            for(int i=0; i<s.length; ++i) {
+                final Source src = s[i].getSource();
+                if( null != src && src.getID() == object ) {
+                    s[i].alEventCallback.callback(eventType, object, param, message, alCtx);
+                    return;
+                }
+            }
+        }
+    };
+
+    /**
+     * Destroys all remaining pooled {@link ALAudioSink}s, the shared {@link Context} and closes the {@link Device}.
+     */
+    public final void destroy() {
+        final ALAudioSink[] s = sinks;
+        for(int i=s.length-1; i>=0; --i) {
+            s[i].destroy();
+        }
+        if( context.isValid() ) {
+            sinkLock.lock();
+            try {
+                if( eventsEnabled ) {
+                    context.makeCurrent(false);
+                    try {
+                        final ALExt alExt = AudioSystem3D.getALExt();
+                        alExt.alEventControlSOFT(1, new int[] { ALExtConstants.AL_EVENT_TYPE_BUFFER_COMPLETED_SOFT }, 0, false);
+                        alExt.alEventCallbackSOFT(null, context.getALContext());
+                    } finally {
+                        context.release(false);
+                    }
+                    eventsEnabled = false;
+                }
+            } finally {
+                sinkLock.unlock();
+            }
+            context.destroy();
+        }
+        device.close();
+    }
+
+    @Override
+    public final String toString() {
+        return "ALAudioSinkPool[sinks "+sinks.length+", events "+eventsEnabled+", "+device+", "+context+"]";
+    }
+}
@@ -0,0 +1,1016 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.av.AudioSink;
+import com.jogamp.common.av.PTS;
+import com.jogamp.common.av.TimeFrameI;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.common.os.Clock;
+import com.jogamp.common.util.LFRingbuffer;
+import com.jogamp.common.util.Ringbuffer;
+import com.jogamp.openal.ALCcontext;
+import com.jogamp.openal.ALCdevice;
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.ALContextKey;
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.ALExt.ALBUFFERCALLBACKTYPESOFT;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Source;
+
+/***
+ * OpenAL {@link AudioSink} implementation using the pull model of <code>AL_SOFT_callback_buffer</code>.
+ * <p>
+ * In contrast to {@link ALAudioSink}, no OpenAL buffer names are queued and recycled.
+ * A single OpenAL callback buffer is attached to the {@link Source} and the OpenAL mixer
+ * pulls PCM data straight from a lock-free single-producer single-consumer ring buffer,
+ * which gets filled via {@link #enqueueData(int, ByteBuffer, int)} by the application.
+ * </p>
+ * <p>
+ * Besides {@link #init(AudioFormat, int, int)}, {@link #play()}, {@link #pause()}, {@link #flush()} and changing
+ * the {@link #setPlaySpeed(float) play speed} or {@link #setVolume(float) volume}, the OpenAL context is not required to be current,
+ * i.e. {@link #enqueueData(int, ByteBuffer, int)} and {@link #updateQueue()} neither lock nor make the OpenAL context current.
+ * Hence latency is reduced to the ring buffer fill level plus one OpenAL mixer period.
+ * </p>
+ * <p>
+ * An underrun is padded with silence, keeping the {@link Source} in playing state.
+ * If the ring buffer is full while playing, {@link #enqueueData(int, ByteBuffer, int)} parks the producer thread
+ * until the mixer has consumed sufficient data.
+ * </p>
+ * <p>
+ * The PTS is tracked via {@link AudioFrame} entries, each mapping its PTS to its byte position within the ring buffer.
+ * </p>
+ * <p>
+ * Implementation requires the OpenAL extension <code>AL_SOFT_callback_buffer</code>, see {@link #hasSOFTCallbackBuffer()}.
+ * Since the OpenAL callback is associated with this instance's {@link ALCcontext}, only one instance per context is supported,
+ * which is satisfied as each instance owns its {@link Context}.
+ * </p>
+ */
+public final class ALCallbackAudioSink extends ALAudioSinkBase {
+    private boolean hasSOFTCallbackBuffer;
+    /** Cached {@link ALContextKey} of {@link #context}, updated if context is (re)created. */
+    private ALContextKey contextKey;
+
+    /** Playback speed, range [0.5 - 2.0], default 1.0. */
+    private float playSpeed = 1.0f;
+    private float volume = 1.0f;
+
+    static class ALCallbackAudioFrame extends AudioFrame {
+        /** Byte position of this frame's first byte within the ring buffer's total byte stream */
+        private long bytePos;
+
+        ALCallbackAudioFrame() { }
+
+        /** Returns the byte position of this frame's first byte within the ring buffer's total byte stream */
+        public final long getBytePos() { return bytePos; }
+
+        @Override
+        public String toString() {
+            return "ALCallbackAudioFrame[pts " + pts + " ms, l " + duration + " ms, " + byteSize + " bytes, pos "+bytePos+"]";
+        }
+    }
+
+    /** The single OpenAL callback buffer name, zero if not created */
+    private int alBufferName = 0;
+    /** queue limit in [ms] */
+    private int queueSize = 0;
+    /** average frame duration in [s], initialized with latency */
+    private float avgFrameDuration = 0f;
+
+    /** Sample data ring buffer, written by the producer via {@link #ringW} and read by the OpenAL mixer via {@link #ringR} */
+    private ByteBuffer ring = null;
+    /** Producer view of {@link #ring} */
+    private ByteBuffer ringW = null;
+    /** Consumer view of {@link #ring}, only used by the OpenAL mixer callback */
+    private ByteBuffer ringR = null;
+    /** Capacity of {@link #ring} in bytes, a multiple of {@link #sampleFrameBytes} */
+    private int ringCapacity = 0;
+    /** Total number of bytes written to {@link #ring}, only modified by the producer */
+    private volatile long ringWritePos = 0;
+    /** Total number of bytes read from {@link #ring}, only modified by the OpenAL mixer callback */
+    private volatile long ringReadPos = 0;
+    /** Byte size of one sample for all channels */
+    private int sampleFrameBytes = 0;
+    /** Silence byte value, 0x80 for unsigned 8-bit samples, otherwise zero */
+    private byte silence = 0;
+    /** Producer thread parked while waiting for free ring buffer space, otherwise null */
+    private volatile Thread parkedProducer = null;
+    /** Number of mixer callbacks padded with silence while play was requested */
+    private volatile int underrunCount = 0;
+    /**
+     * Serializes producer side, i.e. {@link #enqueueData(int, ByteBuffer, int)}, {@link #updateQueue()} and {@link #flush()}.
+     * A {@link ReentrantLock} to not pin a virtual producer thread while parked.
+     */
+    private final ReentrantLock producerLock = new ReentrantLock();
+    /** Serializes {@link #initImpl(AudioFormat, int, int, int, float, int)}, a {@link ReentrantLock} to not pin virtual threads. */
+    private final ReentrantLock initLock = new ReentrantLock();
+
+    private Ringbuffer<ALCallbackAudioFrame> framesFree = null;
+    private Ringbuffer<ALCallbackAudioFrame> framesPlaying = null;
+    private int frameCount = 0;
+    private volatile int last_buffered_pts = TimeFrameI.INVALID_PTS;
+    private volatile boolean playRequested = false;
+    private final PTS pts = new PTS( () -> { return playRequested ? playSpeed : 0f; } );
+    private volatile int enqueuedFrameCount;
+
+    private final Source alSource = new Source();
+    private AudioFormat chosenFormat;
+    private int alChannelLayout;
+    private int alSampleType;
+    private int alFormat;
+    private volatile boolean available;
+
+    /**
+     * Create a new instance with a new default {@link ALCdevice}
+     * @throws ALException if the default {@link ALCdevice} couldn't be fully created including its context.
+     */
+    public ALCallbackAudioSink() throws ALException {
+        this((Device)null);
+    }
+
+    /**
+     * Create a new instance with a new named {@link ALCdevice}
+     * @param deviceName name of
+     * @throws ALException if the default {@link ALCdevice} couldn't be fully created including its context.
+     */
+    public ALCallbackAudioSink(final String deviceName) throws ALException {
+        this(createDevice(deviceName));
+    }
+
+    /**
+     * Create a new instance with an optional given {@link ALCdevice}
+     *
+     * @param alDevice optional OpenAL {@link Device}, a default device is opened if null.
+     * @throws ALException if the default {@link ALCdevice} couldn't be fully created including its context.
+     */
+    public ALCallbackAudioSink(final Device alDevice) throws ALException {
+        this(alDevice, null);
+    }
+
+    /**
+     * Create a new instance with an optional given {@link ALCdevice} and {@link ALCcontext} attributes.
+     * <p>
+     * See {@link ALAudioSink#ALAudioSink(Device, int[])}.
+     * </p>
+     *
+     * @param alDevice optional OpenAL {@link Device}, a default device is opened if null.
+     * @param ctxAttributes optional list of {@link ALCcontext} attributes w/o terminating zero, maybe null
+     * @throws ALException if the default {@link ALCdevice} couldn't be fully created including its context.
+     */
+    public ALCallbackAudioSink(final Device alDevice, final int[] ctxAttributes) throws ALException {
+        super(alDevice, ctxAttributes, null, false /* useSOFTBufferSamples */);
+        available = false;
+        chosenFormat = null;
+
+        if( !staticsInitialized ) {
+            return;
+        }
+        contextKey = new ALContextKey(context.getALContext());
+        makeCurrent(true /* throw */);
+        try {
+            hasSOFTCallbackBuffer = al.alIsExtensionPresent(ALHelpers.AL_SOFT_callback_buffer);
+            if( DEBUG ) {
+                logout.println("ALCallbackAudioSink: hasSOFTCallbackBuffer "+hasSOFTCallbackBuffer+", nativeAudioFormat "+nativeFormat+
+                               ", defaultMixerRefreshRate "+(1000f*defaultLatency)+" ms, using device: " + device);
+            }
+            available = true;
+        } finally {
+            release(true /* throw */);
+        }
+    }
+
+    // Expose AudioSink OpenAL implementation specifics
+
+    /** Return this instance's OpenAL {@link Source}. */
+    public final Source getSource() { return alSource; }
+
+    /** Return whether OpenAL extension <code>AL_SOFT_callback_buffer</code> is available, required for this implementation. */
+    public final boolean hasSOFTCallbackBuffer() { return hasSOFTCallbackBuffer; }
+
+    /** Return this instance's OpenAL channel layout, set after {@link #init(AudioFormat, int, int)}. */
+    public final int getALChannelLayout() { return alChannelLayout; }
+    /** Return this instance's OpenAL sample type, set after {@link #init(AudioFormat, int, int)}. */
+    public final int getALSampleType() { return alSampleType; }
+    /** Return this instance's OpenAL format, set after {@link #init(AudioFormat, int, int)}. */
+    public final int getALFormat() { return alFormat; }
+
+    /** Return the number of OpenAL mixer callbacks padded with silence while playing, i.e. underruns. */
+    public final int getUnderrunCount() { return underrunCount; }
+
+    // AudioSink implementation ...
+
+    @Override
+    public final boolean makeCurrent(final boolean throwException) {
+        return context.makeCurrent(throwException);
+    }
+    @Override
+    public final boolean release(final boolean throwException) {
+        return context.release(throwException);
+    }
+    private final void destroyContext() {
+        context.destroy();
+    }
+
+    @Override
+    public final String toString() {
+        final int ctxHash = context != null ? context.hashCode() : 0;
+        return String.format("ALCallbackAudioSink[playReq %b, device '%s', ctx 0x%x, alSource %d, alBuffer %d"+
+               ", chosen %s, al[chan %s, type %s, fmt 0x%x, tlc %b, soft[callback %b]"+
+               ", latency %.2f/%.2f ms, sources %d], playSpeed %.2f, %s]",
+               playRequested, null != device ? device.getName() : null, ctxHash, alSource.getID(), alBufferName, chosenFormat,
+               ALHelpers.alChannelLayoutName(alChannelLayout), ALHelpers.alSampleTypeName(alSampleType),
+               alFormat, hasALC_thread_local_context, hasSOFTCallbackBuffer,
+               1000f*latency, 1000f*defaultLatency, sourceCount, playSpeed, getPerfString());
+    }
+
+    public final String getPerfString() {
+        final int framesEnqueued = framesPlaying != null ? framesPlaying.size() : 0;
+        final int framesFree_ = framesFree != null ? framesFree.size() : 0;
+        return String.format("play[used %d, apts %d], queued[free %d, apts %d, %.1f ms, %d/%d bytes, avg %.2f ms/frame, max %d ms, underruns %d]",
+               framesEnqueued, getPTS().getLast(),
+               framesFree_, getLastBufferedPTS(), 1000f*getQueuedDuration(), getQueuedByteCount(), ringCapacity,
+               1000f*avgFrameDuration, queueSize, underrunCount
+               );
+    }
+
+    /** Returns the OpenAL format for the given layout and type, usable with <code>alBufferCallbackSOFT</code>. */
+    private final int getALFormat(final int alChannelLayout, final int alSampleType) {
+        if( ALConstants.AL_NONE == alChannelLayout || ALConstants.AL_NONE == alSampleType ) {
+            return ALConstants.AL_NONE;
+        }
+        // AL_SOFT_buffer_samples internal formats are not applicable for callback buffers
+        return ALHelpers.getALFormat(alChannelLayout, alSampleType, al, alExt,
+                                     false /* hasSOFTBufferSamples */, hasEXTMcFormats,
+                                     hasEXTFloat32, hasEXTDouble);
+    }
+
+    @Override
+    public final boolean isSupported(final AudioFormat format) {
+        if( !staticsInitialized || !hasSOFTCallbackBuffer ) {
+            return false;
+        }
+        if( format.planar != preferredFormat.planar ||
+            format.littleEndian != preferredFormat.littleEndian ||
+            format.sampleRate > preferredFormat.sampleRate ||
+            format.channelCount > preferredFormat.channelCount )
+        {
+            if( DEBUG ) {
+                logout.println(getThreadName()+": ALCallbackAudioSink.isSupported: NO.0 "+format);
+            }
+            return false;
+        }
+        final int alFormat = getALFormat(ALHelpers.getDefaultALChannelLayout(format.channelCount),
+                                         ALHelpers.getALSampleType(format.sampleSize, format.signed, format.fixedP));
+        if( DEBUG ) {
+            logout.println(getThreadName()+": ALCallbackAudioSink.isSupported: "+(ALConstants.AL_NONE != alFormat)+" "+format+", alFormat "+toHexString(alFormat));
+        }
+        return ALConstants.AL_NONE != alFormat;
+    }
+
+    @Override
+    public final boolean init(final AudioFormat requestedFormat, final int frameDurationHint, final int queueSize)
+    {
+        if( !staticsInitialized || !hasSOFTCallbackBuffer ) {
+            return false;
+        }
+        final int alChannelLayout = ALHelpers.getDefaultALChannelLayout(requestedFormat.channelCount);
+        final int alSampleType = ALHelpers.getALSampleType(requestedFormat.sampleSize, requestedFormat.signed, requestedFormat.fixedP);
+        final int alFormat = getALFormat(alChannelLayout, alSampleType);
+        if( ALConstants.AL_NONE == alFormat ) {
+            // not supported
+            if( DEBUG ) {
+                logout.println(getThreadName()+": ALCallbackAudioSink.init1: Not supported: "+requestedFormat+", "+toString());
+            }
+            return false;
+        }
+        return initImpl(requestedFormat, alChannelLayout, alSampleType, alFormat, frameDurationHint/1000f, queueSize);
+    }
+
+    /**
+     * Initializes the sink using the given OpenAL audio parameter and streaming details.
+     * @param alChannelLayout OpenAL channel layout
+     * @param alSampleType OpenAL sample type
+     * @param alFormat OpenAL format
+     * @param sampleRate sample rate, e.g. 44100
+     * @param sampleSize sample size in bits, e.g. 16
+     * @param frameDurationHint average {@link AudioFrame} duration hint in milliseconds,
+     *                          used to adjust the OpenAL mixer period, i.e. latency.
+     *                          Assumed as {@link #DefaultFrameDuration}, if <code>frameDuration < 1 ms</code>.
+     * @param queueSize     queue size in milliseconds, see {@link #DefaultQueueSize}, determines the ring buffer capacity.
+     * @return true if successful, otherwise false
+     * @see #enqueueData(int, ByteBuffer, int)
+     * @see ALHelpers#getAudioFormat(int, int, int, int, int)
+     */
+    public final boolean init(final int alChannelLayout, final int alSampleType, final int alFormat,
+                              final int sampleRate, final int sampleSize, final int frameDurationHint, final int queueSize)
+    {
+        if( !staticsInitialized || !hasSOFTCallbackBuffer ) {
+            return false;
+        }
+        final AudioFormat requestedFormat = ALHelpers.getAudioFormat(alChannelLayout, alSampleType, alFormat, sampleRate, sampleSize);
+        if( null == requestedFormat ) {
+            if( DEBUG ) {
+                logout.println(getThreadName()+": ALCallbackAudioSink.init2: Invalid AL channelLayout "+toHexString(alChannelLayout)+
+                        ", sampleType "+toHexString(alSampleType)+", format "+toHexString(alFormat)+" or sample[rate "+sampleRate+", size "+sampleSize+"]; "+toString());
+            }
+            return false;
+        }
+        return initImpl(requestedFormat, alChannelLayout, alSampleType, alFormat, frameDurationHint/1000f, queueSize);
+    }
+
+    private final boolean initImpl(final AudioFormat requestedFormat,
+                                   final int alChannelLayout, final int alSampleType, final int alFormat,
+                                   final float frameDurationHintS, final int queueSize) {
+        initLock.lock(); // not synchronized, avoiding to pin virtual threads
+        try {
+            return initLocked(requestedFormat, alChannelLayout, alSampleType, alFormat, frameDurationHintS, queueSize);
+        } finally {
+            initLock.unlock();
+        }
+    }
+    private final boolean initLocked(final AudioFormat requestedFormat,
+                                     final int alChannelLayout, final int alSampleType, final int alFormat,
+                                     float frameDurationHintS, final int queueSize) {
+        this.alChannelLayout = alChannelLayout;
+        this.alSampleType = alSampleType;
+        this.alFormat = alFormat;
+
+        makeCurrent(true /* throw */);
+        if( context.getLockCount() != 1 ) {
+            release(false);
+            throw new ALException("init() must be called w/o makeCurrent: lockCount "+context+", "+this);
+        }
+        boolean releaseContext = true;
+        try {
+            stopImpl(true);
+            destroySource();
+            destroyBuffers();
+
+            frameDurationHintS = frameDurationHintS >= 1f/1000f ? frameDurationHintS : AudioSink.DefaultFrameDuration/1000f;
+            if( !initLatency(frameDurationHintS, false /* keepContext */) ) {
+                return false;
+            }
+            contextKey = new ALContextKey(context.getALContext());
+            if( !createSource() ) {
+                destroyContext();
+                releaseContext = false;
+                return false;
+            }
+
+            // Allocate ring buffer and frame entries
+            {
+                final float queueSizeS = queueSize > 0 ? queueSize/1000f : AudioSink.DefaultQueueSize/1000f;
+                sampleFrameBytes = requestedFormat.channelCount * ( requestedFormat.sampleSize / 8 );
+                // at least two mixer periods
+                final float ringDuration = Math.max(queueSizeS, 2f*latency);
+                final int ringSamples = Math.max(1, Math.round(ringDuration * requestedFormat.sampleRate));
+                ringCapacity = ringSamples * sampleFrameBytes;
+                ring = Buffers.newDirectByteBuffer(ringCapacity);
+                ringW = ring.duplicate();
+                ringR = ring.duplicate();
+                ringWritePos = 0;
+                ringReadPos = 0;
+                underrunCount = 0;
+                silence = ( 8 == requestedFormat.sampleSize && !requestedFormat.signed ) ? (byte)0x80 : (byte)0;
+
+                // frames may be smaller than hinted, hence use a generous amount of entries
+                frameCount = Math.max(16, 2 * requestedFormat.getFrameCount(queueSizeS, frameDurationHintS));
+                final ALCallbackAudioFrame[] frames = new ALCallbackAudioFrame[frameCount];
+                for(int i=0; i<frameCount; i++) {
+                    frames[i] = new ALCallbackAudioFrame();
+                }
+                framesFree = new LFRingbuffer<ALCallbackAudioFrame>(frames);
+                framesPlaying = new LFRingbuffer<ALCallbackAudioFrame>(ALCallbackAudioFrame[].class, frameCount);
+                this.queueSize = queueSize > 0 ? queueSize : AudioSink.DefaultQueueSize;
+            }
+
+            // Create the callback buffer and attach it to our source
+            {
+                final int[] value = { 0 };
+                al.alGenBuffers(1, value, 0);
+                if( AudioSystem3D.checkALError("alGenBuffers", true, false) ) {
+                    destroyRing();
+                    destroySource();
+                    destroyContext();
+                    releaseContext = false;
+                    return false;
+                }
+                alBufferName = value[0];
+                alExt.alBufferCallbackSOFT(alBufferName, alFormat, requestedFormat.sampleRate, alBufferCallback, context.getALContext());
+                if( AudioSystem3D.checkALError("alBufferCallbackSOFT", true, false) ) {
+                    destroyBuffers();
+                    destroySource();
+                    destroyContext();
+                    releaseContext = false;
+                    return false;
+                }
+                al.alSourcei(alSource.getID(), ALConstants.AL_BUFFER, alBufferName);
+                AudioSystem3D.checkALError("alSourcei AL_BUFFER", true, true);
+            }
+        } finally {
+            if( releaseContext ) {
+                release(false /* throw */);
+            }
+        }
+        chosenFormat = requestedFormat;
+        avgFrameDuration = latency;
+        if( DEBUG ) {
+            logout.println(getThreadName()+": ALCallbackAudioSink.init: OK "+requestedFormat+", "+toString());
+        }
+        return true;
+    }
+
+    @Override
+    public final AudioFormat getChosenFormat() {
+        return chosenFormat;
+    }
+
+    private void destroyRing() {
+        ring = null;
+        ringW = null;
+        ringR = null;
+        ringCapacity = 0;
+        ringWritePos = 0;
+        ringReadPos = 0;
+        if( null != framesFree ) {
+            framesFree.clear();
+            framesFree = null;
+        }
+        if( null != framesPlaying ) {
+            framesPlaying.clear();
+            framesPlaying = null;
+        }
+        frameCount = 0;
+    }
+
+    /** Requires the source to be stopped. */
+    private void destroyBuffers() {
+        if( !staticsInitialized ) {
+            return;
+        }
+        if( 0 != alBufferName ) {
+            try {
+                if( alSource.isValid() ) {
+                    al.alSourcei(alSource.getID(), ALConstants.AL_BUFFER, 0);
+                }
+                al.alDeleteBuffers(1, new int[] { alBufferName }, 0);
+            } catch (final Throwable t) {
+                if( DEBUG ) {
+                    logout.println("Caught "+t.getClass().getName()+": "+t.getMessage());
+                    t.printStackTrace();
+                }
+            }
+            alBufferName = 0;
+            if( null != contextKey ) {
+                alExt.releaseAlBufferCallbackSOFT(contextKey);
+            }
+        }
+        destroyRing();
+    }
+
+    private void destroySource() {
+        if( !alSource.isValid() ) {
+            return;
+        }
+        alSource.delete();
+    }
+    private boolean createSource() {
+        if( alSource.isValid() ) {
+            return true;
+        }
+        return alSource.create();
+    }
+
+    @Override
+    public final void destroy() {
+        if( !available ) {
+            return;
+        }
+        available = false;
+        if( null != context ) {
+            makeCurrent(true /* throw */);
+        }
+        try {
+            stopImpl(true);
+            destroyBuffers();
+            destroySource();
+        } finally {
+            destroyContext();
+        }
+        final Thread p = parkedProducer;
+        if( null != p ) {
+            LockSupport.unpark(p);
+        }
+        device.close();
+        chosenFormat = null;
+    }
+
+    @Override
+    public final boolean isAvailable() {
+        return available;
+    }
+
+    final ALBUFFERCALLBACKTYPESOFT alBufferCallback = new ALBUFFERCALLBACKTYPESOFT() {
+        @Override
+        public int callback(final ALCcontext context, final ByteBuffer sampledata, final int numbytes) {
+            return mixerPull(sampledata, numbytes);
+        }
+    };
+
+    /**
+     * OpenAL mixer callback, i.e. the single consumer of the ring buffer.
+     * <p>
+     * Copies up to <code>numbytes</code> from the ring buffer to <code>sampledata</code>
+     * and pads the remainder with silence, keeping the source playing.
+     * </p>
+     * @return <code>numbytes</code>
+     */
+    private final int mixerPull(final ByteBuffer sampledata, final int numbytes) {
+        final ByteBuffer src = ringR;
+        if( null == src ) {
+            for(int i=0; i<numbytes; i++) {
+                sampledata.put(i, silence);
+            }
+            return numbytes;
+        }
+        final long r = ringReadPos;
+        final int n = (int) Math.min(ringWritePos - r, numbytes); // producer writes whole sample frames only
+        sampledata.clear();
+        if( n > 0 ) {
+            final int off = (int) ( r % ringCapacity );
+            final int n1 = Math.min(n, ringCapacity - off);
+            src.clear();
+            src.position(off);
+            src.limit(off + n1);
+            sampledata.put(src);
+            if( n1 < n ) {
+                src.clear();
+                src.limit(n - n1);
+                sampledata.put(src);
+            }
+            ringReadPos = r + n;
+        }
+        if( n < numbytes ) {
+            for(int i=n; i<numbytes; i++) {
+                sampledata.put(i, silence);
+            }
+            if( playRequested ) {
+                underrunCount++; // only modified by the mixer thread
+            }
+        }
+        final Thread p = parkedProducer;
+        if( null != p ) {
+            LockSupport.unpark(p);
+        }
+        return numbytes;
+    }
+
+    /**
+     * Releases all frames which have been fully consumed by the OpenAL mixer
+     * and updates the {@link PTS} based on the currently played frame.
+     * <p>
+     * Only called by the producer while holding {@link #producerLock}.
+     * </p>
+     */
+    private final void retireFrames() {
+        final long r = ringReadPos;
+        ALCallbackAudioFrame f = framesPlaying.peek();
+        while( null != f && f.bytePos + f.getByteSize() <= r ) {
+            framesPlaying.get();
+            if( !framesFree.put(f) ) {
+                throw new InternalError("Internal Error: "+this);
+            }
+            if(DEBUG_TRACE) {
+                logout.println("<< [pts "+f.getPTS()+", pos "+f.bytePos+"] <- "+getPerfString()+" @ "+getThreadName());
+            }
+            f = framesPlaying.peek();
+        }
+        if( null != f ) {
+            final long played = r - f.bytePos;
+            if( played >= 0 ) {
+                pts.set(Clock.currentMillis(), f.getPTS() + Math.round(1000f*chosenFormat.getBytesDuration((int)played)));
+            }
+        } else if( TimeFrameI.INVALID_PTS != last_buffered_pts ) {
+            pts.set(Clock.currentMillis(), last_buffered_pts);
+        }
+    }
+
+    @Override
+    public final PTS updateQueue() {
+        if( !available || null == chosenFormat ) {
+            return pts;
+        }
+        producerLock.lock();
+        try {
+            retireFrames();
+        } finally {
+            producerLock.unlock();
+        }
+        return pts;
+    }
+
+    @Override
+    public final AudioFrame enqueueData(final int pts, final ByteBuffer bytes, final int byteCount) {
+        if( !available || null == chosenFormat ) {
+            return null;
+        }
+        if( byteCount <= 0 || byteCount > ringCapacity ) {
+            if( DEBUG ) {
+                logout.println(getThreadName()+": ALCallbackAudioSink.enqueueData: Invalid byteCount "+byteCount+", "+getPerfString());
+            }
+            return null;
+        }
+        producerLock.lock();
+        try {
+            retireFrames();
+
+            // 1) Update avgFrameDuration ..
+            final int enqueuedFrames = framesPlaying.size();
+            if( enqueuedFrames > 2 ) {
+                avgFrameDuration = getQueuedDuration() / enqueuedFrames;
+            }
+
+            // 2) Wait for free ring buffer space and frame entry, only if playing
+            final float neededDuration = chosenFormat.getBytesDuration(byteCount); // [s]
+            if( !waitForSpace(byteCount, neededDuration) ) {
+                if( DEBUG ) {
+                    logout.printf("ALCallbackAudioSink.Dropped: %.2f ms, %s%n", 1000f*neededDuration, getPerfString());
+                }
+                return null;
+            }
+
+            // 3) Copy data into ring buffer
+            final long w = ringWritePos;
+            final int off = (int) ( w % ringCapacity );
+            final int n1 = Math.min(byteCount, ringCapacity - off);
+            final int srcPos = bytes.position();
+            final int srcLim = bytes.limit();
+            try {
+                bytes.limit(srcPos + n1);
+                ringW.clear();
+                ringW.position(off);
+                ringW.put(bytes);
+                if( n1 < byteCount ) {
+                    bytes.limit(srcPos + byteCount);
+                    ringW.clear();
+                    ringW.put(bytes);
+                }
+            } finally {
+                bytes.limit(srcLim);
+                bytes.position(srcPos);
+            }
+
+            // 4) Add new frame, then publish data to the mixer
+            final ALCallbackAudioFrame frame = framesFree.get();
+            if( null == frame ) {
+                throw new InternalError("Internal Error: avail.get null "+framesFree+", "+this);
+            }
+            frame.setPTS(pts);
+            frame.setDuration(Math.round(1000f*neededDuration));
+            frame.setByteSize(byteCount);
+            frame.bytePos = w;
+            if( !framesPlaying.put( frame ) ) {
+                throw new InternalError("Internal Error: "+this);
+            }
+            last_buffered_pts = pts;
+            ringWritePos = w + byteCount;
+            enqueuedFrameCount++; // safe: only written-to while locked!
+
+            if(DEBUG_TRACE) {
+                logout.println(">> [pts "+pts+", pos "+w+"] -> "+getPerfString()+" @ "+getThreadName());
+            }
+            return frame;
+        } finally {
+            producerLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the ring buffer can hold <code>byteCount</code> bytes and a free frame entry is available,
+     * parking the producer thread until the mixer has consumed sufficient data.
+     * <p>
+     * Waiting only occurs while playing and is limited to twice the {@link #getQueuedDuration() queued duration},
+     * guarding against a stalled mixer.
+     * </p>
+     * @return true if space is available, otherwise false
+     */
+    private final boolean waitForSpace(final int byteCount, final float neededDuration) {
+        if( hasSpace(byteCount) ) {
+            return true;
+        }
+        if( !playRequested ) {
+            return false;
+        }
+        final long t0 = System.nanoTime();
+        final long maxWaitNS = 2L * Math.max( Math.round( 1e9 * getQueuedDuration() ), Math.round( 1e9 * latency ) );
+        parkedProducer = Thread.currentThread();
+        try {
+            while( available && playRequested && !hasSpace(byteCount) ) {
+                final long waitedNS = System.nanoTime() - t0;
+                if( waitedNS >= maxWaitNS ) {
+                    return false;
+                }
+                // wake up at latest when the missing bytes have been played, or earlier by the mixer callback
+                final long missingNS = Math.round( 1e9 * chosenFormat.getBytesDuration( Math.max(sampleFrameBytes, (int)( byteCount - ( ringCapacity - ( ringWritePos - ringReadPos ) ) ) ) ) );
+                LockSupport.parkNanos(this, Math.min(missingNS, maxWaitNS - waitedNS));
+                retireFrames();
+            }
+        } finally {
+            parkedProducer = null;
+        }
+        return hasSpace(byteCount);
+    }
+    private final boolean hasSpace(final int byteCount) {
+        if( framesFree.isEmpty() ) {
+            retireFrames();
+            if( framesFree.isEmpty() ) {
+                return false;
+            }
+        }
+        return ringCapacity - ( ringWritePos - ringReadPos ) >= byteCount;
+    }
+
+    @Override
+    public final boolean isPlaying() {
+        if( !available || null == chosenFormat ) {
+            return false;
+        }
+        if( playRequested ) {
+            makeCurrent(true /* throw */);
+            try {
+                return isPlayingImpl();
+            } finally {
+                release(true /* throw */);
+            }
+        } else {
+            return false;
+        }
+    }
+    private final boolean isPlayingImpl() {
+        if( playRequested ) {
+            return ALConstants.AL_PLAYING == getSourceState(false);
+        } else {
+            return false;
+        }
+    }
+    private final int getSourceState(final boolean ignoreError) {
+        if( !alSource.isValid() ) {
+            final String msg = getThreadName()+": getSourceState: invalid "+alSource;
+            if( ignoreError ) {
+                if( DEBUG ) {
+                    logout.println(msg);
+                }
+                return ALConstants.AL_NONE;
+            } else {
+                throw new ALException(msg);
+            }
+        }
+        final int[] val = { ALConstants.AL_NONE };
+        al.alGetSourcei(alSource.getID(), ALConstants.AL_SOURCE_STATE, val, 0);
+        if( AudioSystem3D.checkALError("alGetSourcei", true, false) ) {
+            final String msg = getThreadName()+": Error while querying SOURCE_STATE. "+this;
+            if( ignoreError ) {
+                if( DEBUG ) {
+                    logout.println(msg);
+                }
+                return ALConstants.AL_NONE;
+            } else {
+                throw new ALException(msg);
+            }
+        }
+        return val[0];
+    }
+
+    @Override
+    public final void play() {
+        if( !available || null == chosenFormat ) {
+            return;
+        }
+        playRequested = true;
+        makeCurrent(true /* throw */);
+        try {
+            if( ALConstants.AL_PLAYING != getSourceState(false) ) {
+                alSource.play();
+                AudioSystem3D.checkALError("alSourcePlay", true, true);
+            }
+            if( DEBUG ) {
+                logout.println(getThreadName()+": ALCallbackAudioSink: play, state "+ALHelpers.alSourceStateString(getSourceState(false))+", "+this);
+            }
+        } finally {
+            release(true /* throw */);
+        }
+    }
+
+    @Override
+    public final void pause() {
+        if( !available || null == chosenFormat ) {
+            return;
+        }
+        if( playRequested ) {
+            makeCurrent(true /* throw */);
+            try {
+                if( isPlayingImpl() ) {
+                    playRequested = false;
+                    alSource.pause();
+                    AudioSystem3D.checkALError("alSourcePause", true, true);
+                }
+                if( DEBUG ) {
+                    logout.println(getThreadName()+": ALCallbackAudioSink: pause, state "+ALHelpers.alSourceStateString(getSourceState(false))+", "+this);
+                }
+            } finally {
+                release(true /* throw */);
+            }
+        }
+    }
+    private final void stopImpl(final boolean ignoreError) {
+        if( !alSource.isValid() ) {
+            return;
+        }
+        if( ALConstants.AL_STOPPED != getSourceState(ignoreError) ) {
+            playRequested = false;
+            alSource.stop();
+            if( AudioSystem3D.checkALError("alSourceStop", true, false) ) {
+                final String msg = "Error while stopping. "+this;
+                if( ignoreError ) {
+                    if( DEBUG ) {
+                        logout.println(getThreadName()+": "+msg);
+                    }
+                } else {
+                    throw new ALException(getThreadName()+": "+msg);
+                }
+            }
+        }
+    }
+
+    @Override
+    public final float getPlaySpeed() { return playSpeed; }
+
+    @Override
+    public final boolean setPlaySpeed(float rate) {
+        if( !available || null == chosenFormat ) {
+            return false;
+        }
+        makeCurrent(true /* throw */);
+        try {
+            if( Math.abs(1.0f - rate) < 0.01f ) {
+                rate = 1.0f;
+            }
+            if( 0.5f <= rate && rate <= 2.0f ) { // OpenAL limits
+                playSpeed = rate;
+                alSource.setPitch(playSpeed);
+                return true;
+            }
+        } finally {
+            release(true /* throw */);
+        }
+        return false;
+    }
+
+    @Override
+    public final float getVolume() {
+        return volume;
+    }
+
+    private static final float clipAudioVolume(final float v) {
+        if( v < 0.01f ) {
+            return 0.0f;
+        } else if( Math.abs(1.0f - v) < 0.01f ) {
+            return 1.0f;
+        }
+        return v;
+    }
+    @Override
+    public final boolean setVolume(float v) {
+        if( !available || null == chosenFormat ) {
+            return false;
+        }
+        makeCurrent(true /* throw */);
+        try {
+            v = clipAudioVolume(v);
+            if( 0.0f <= v && v <= 1.0f ) { // OpenAL limits
+                volume = v;
+                alSource.setGain(v);
+                return true;
+            }
+        } finally {
+            release(true /* throw */);
+        }
+        return false;
+    }
+
+    @Override
+    public final void flush() {
+        if( !available || null == chosenFormat ) {
+            return;
+        }
+        makeCurrent(true /* throw */);
+        try {
+            // A stopped source no more invokes the mixer callback, hence the ring buffer can be reset safely
+            stopImpl(false);
+            producerLock.lock();
+            try {
+                while( !framesPlaying.isEmpty() ) {
+                    if( !framesFree.put( framesPlaying.get() ) ) {
+                        throw new InternalError("Internal Error: "+this);
+                    }
+                }
+                ringReadPos = 0;
+                ringWritePos = 0;
+                last_buffered_pts = TimeFrameI.INVALID_PTS;
+                pts.set(0, TimeFrameI.INVALID_PTS);
+            } finally {
+                producerLock.unlock();
+            }
+            if( DEBUG ) {
+                logout.println(getThreadName()+": ALCallbackAudioSink: flush, state "+ALHelpers.alSourceStateString(getSourceState(false))+", "+this);
+            }
+        } finally {
+            release(true /* throw */);
+        }
+    }
+
+    @Override
+    public final int getEnqueuedFrameCount() {
+        return enqueuedFrameCount;
+    }
+
+    @Override
+    public final int getFrameCount() {
+        return frameCount;
+    }
+
+    @Override
+    public final int getQueuedFrameCount() {
+        if( !available || null == chosenFormat ) {
+            return 0;
+        }
+        return framesPlaying.size();
+    }
+
+    @Override
+    public final int getFreeFrameCount() {
+        if( !available || null == chosenFormat ) {
+            return 0;
+        }
+        return framesFree.size();
+    }
+
+    @Override
+    public final int getQueuedByteCount() {
+        if( !available || null == chosenFormat ) {
+            return 0;
+        }
+        return (int) ( ringWritePos - ringReadPos );
+    }
+
+    @Override
+    public final float getQueuedDuration() {
+        if( !available || null == chosenFormat ) {
+            return 0;
+        }
+        return chosenFormat.getBytesDuration(getQueuedByteCount());
+    }
+
+    @Override
+    public float getAvgFrameDuration() {
+        return avgFrameDuration;
+    }
+
+    @Override
+    public final PTS getPTS() { return pts; }
+
+    @Override
+    public final int getLastBufferedPTS() { return last_buffered_pts; }
+}
@@ -43,14 +43,25 @@ public class ALHelpers {
      *   extensions. Due to conflicts with AL_EXT_SOURCE_RADIUS.
      */
     public static final String AL_SOFT_buffer_samples = "AL_SOFT_buffer_samples";
-    // public static final String AL_SOFT_callback_buffer = "AL_SOFT_callback_buffer";
+    public static final String AL_SOFT_callback_buffer = "AL_SOFT_callback_buffer";
     public static final String AL_SOFT_events = "AL_SOFT_events";
+    public static final String AL_SOFT_source_latency = "AL_SOFT_source_latency";
+    public static final String AL_SOFT_deferred_updates = "AL_SOFT_deferred_updates";
 
     public static final String AL_EXT_MCFORMATS = "AL_EXT_MCFORMATS";
     public static final String AL_EXT_FLOAT32 = "AL_EXT_FLOAT32";
     public static final String AL_EXT_DOUBLE = "AL_EXT_DOUBLE";
+    public static final String AL_EXT_IMA4 = "AL_EXT_IMA4";
+    public static final String AL_EXT_STATIC_BUFFER = "AL_EXT_STATIC_BUFFER";
+    public static final String AL_EXT_MULAW = "AL_EXT_MULAW";
+    public static final String AL_EXT_ALAW = "AL_EXT_ALAW";
+    public static final String AL_SOFT_MSADPCM = "AL_SOFT_MSADPCM";
+    public static final String AL_SOFT_block_alignment = "AL_SOFT_block_alignment";
+    public static final String AL_SOFT_buffer_length_query = "AL_SOFT_buffer_length_query";
 
     public static final String ALC_EXT_thread_local_context = "ALC_EXT_thread_local_context";
+    public static final String ALC_SOFT_loopback = "ALC_SOFT_loopback";
+    public static final String ALC_SOFT_device_clock = "ALC_SOFT_device_clock";
 
     public static final String ALC_ENUMERATION_EXT = "ALC_ENUMERATION_EXT";
     public static final String ALC_ENUMERATE_ALL_EXT = "ALC_ENUMERATE_ALL_EXT";
@@ -469,6 +480,25 @@ public class ALHelpers {
         return AL_NONE;
     }
 
+    /**
+     * Returns the AL sample type matching the given audio type attributes, or {@link ALConstants#AL_NONE}.
+     * <p>
+     * Same as {@link #getALSampleType(int, boolean, boolean)}, but if {@code packed24} is true
+     * 24-bit integer samples of 3 bytes each map to {@link com.jogamp.openal.ALExtConstants#AL_BYTE3_SOFT} or {@link com.jogamp.openal.ALExtConstants#AL_UNSIGNED_BYTE3_SOFT},
+     * e.g. as stored in WAV files.
+     * </p>
+     * @param sampleSize sample size in bits
+     * @param signed true if signed number, false for unsigned
+     * @param fixedP true for fixed point value, false for floating point value with a sampleSize of 32 (float) or 64 (double)
+     * @param packed24 true to map packed 24-bit integer samples, otherwise {@link ALConstants#AL_NONE} is returned for them
+     */
+    public static final int getALSampleType(final int sampleSize, final boolean signed, final boolean fixedP, final boolean packed24) {
+        if( packed24 && fixedP && 24 == sampleSize ) {
+            return signed ? AL_BYTE3_SOFT : AL_UNSIGNED_BYTE3_SOFT;
+        }
+        return getALSampleType(sampleSize, signed, fixedP);
+    }
+
     /**
      * Returns the readable name of the given AL sample type
      */
@@ -478,6 +508,8 @@ public class ALHelpers {
             case AL_UNSIGNED_BYTE_SOFT: return "u8";
             case AL_SHORT_SOFT: return "s16";
             case AL_UNSIGNED_SHORT_SOFT: return "u16";
+            case AL_BYTE3_SOFT: return "s24";
+            case AL_UNSIGNED_BYTE3_SOFT: return "u24";
             case AL_INT_SOFT: return "s32";
             case AL_UNSIGNED_INT_SOFT: return "u32";
             case AL_FLOAT_SOFT: return "f32";
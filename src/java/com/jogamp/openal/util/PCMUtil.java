@@ -0,0 +1,710 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * PCM sample conversion kernels operating on NIO buffers.
+ * <p>
+ * All kernels process a given number of samples starting at the buffers' current position
+ * without modifying position or limit, using bulk transfers of typed buffer views
+ * via small per thread scratch arrays, hence no allocation per sample.
+ * Byte order of multi byte samples is taken from each {@link ByteBuffer#order() ByteBuffer's order}
+ * and endian swapping is performed by the bulk view transfers.
+ * </p>
+ * <p>
+ * Integer samples are normalized to floating point by scaling with <code>2^(bits-1)</code> in both directions,
+ * hence all integer values round-trip exactly and floating point values beyond [-1..1) are clipped when converted to integer.
+ * Conversions between integer formats keep full precision, any conversion involving floating point
+ * passes through 32-bit float.
+ * </p>
+ */
+public final class PCMUtil {
+    /** PCM sample format */
+    public static enum Format {
+        /** unsigned 8-bit, 128 denotes silence */
+        U8(1),
+        /** signed 16-bit */
+        S16(2),
+        /** signed 24-bit packed in 3 bytes */
+        S24(3),
+        /** signed 32-bit */
+        S32(4),
+        /** 32-bit float in the range [-1..1] */
+        F32(4),
+        /** 64-bit float in the range [-1..1] */
+        F64(8);
+
+        /** Bytes per sample */
+        public final int bytes;
+
+        Format(final int bytes) { this.bytes = bytes; }
+
+        /** Returns true if this is a floating point format. */
+        public boolean isFloat() { return F32 == this || F64 == this; }
+
+        /**
+         * Returns the format of the given sample layout or null if not supported.
+         * @param sampleSize sample size in bits
+         * @param signed true if signed, only unsigned for 8-bit integer
+         * @param fixedP true for integer, false for floating point samples
+         */
+        public static Format of(final int sampleSize, final boolean signed, final boolean fixedP) {
+            if( !fixedP ) {
+                switch( sampleSize ) {
+                    case 32: return F32;
+                    case 64: return F64;
+                    default: return null;
+                }
+            }
+            switch( sampleSize ) {
+                case  8: return signed ? null : U8;
+                case 16: return signed ? S16 : null;
+                case 24: return signed ? S24 : null;
+                case 32: return signed ? S32 : null;
+                default: return null;
+            }
+        }
+    }
+
+    /** Samples per chunk of the scratch arrays. */
+    static final int CHUNK = 1024;
+
+    private static final class Scratch {
+        final byte[] b = new byte[CHUNK * 3];
+        final short[] s = new short[CHUNK];
+        final short[] s2 = new short[CHUNK];
+        final int[] i = new int[CHUNK];
+        final long[] l = new long[CHUNK];
+        final float[] f = new float[CHUNK];
+        final float[] f2 = new float[CHUNK];
+        final double[] d = new double[CHUNK];
+    }
+    private static final ThreadLocal<Scratch> scratch = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() { return new Scratch(); }
+    };
+
+    /** G.711 &mu;-law to signed 16-bit decode table */
+    private static final short[] MULAW_S16 = new short[256];
+    /** G.711 A-law to signed 16-bit decode table */
+    private static final short[] ALAW_S16 = new short[256];
+    static {
+        for(int i = 0; i < 256; ++i) {
+            {
+                final int u = ~i & 0xff;
+                final int t = ( ( ( u & 0x0f ) << 3 ) + 0x84 ) << ( ( u & 0x70 ) >> 4 );
+                MULAW_S16[i] = (short)( 0 != ( u & 0x80 ) ? 0x84 - t : t - 0x84 );
+            }
+            {
+                final int a = i ^ 0x55;
+                final int seg = ( a & 0x70 ) >> 4;
+                int t = ( a & 0x0f ) << 4;
+                if( 0 == seg ) {
+                    t += 8;
+                } else {
+                    t = ( t + 0x108 ) << ( seg - 1 );
+                }
+                ALAW_S16[i] = (short)( 0 != ( a & 0x80 ) ? t : -t );
+            }
+        }
+    }
+
+    private PCMUtil() {}
+
+    /** Returns a duplicate of the given buffer with the given byte order, {@link ByteBuffer#duplicate()} resets the order. */
+    private static ByteBuffer dup(final ByteBuffer bb, final ByteOrder order) {
+        return bb.duplicate().order(order);
+    }
+
+    private static void checkRemaining(final String name, final int remaining, final int required) {
+        if( remaining < required ) {
+            throw new IllegalArgumentException(name+" remaining "+remaining+" < "+required);
+        }
+    }
+
+    /** Validates the channel count of the planar (de)interleave methods, the scratch buffers must hold at least one frame. */
+    private static void checkChannels(final int channels) {
+        if( 0 >= channels || CHUNK < channels ) {
+            throw new IllegalArgumentException("Channels "+channels+" not within [1.."+CHUNK+"]");
+        }
+    }
+
+    /**
+     * Swaps the byte order of {@code count} samples of {@code bytesPerSample} bytes in place.
+     * @param buf the buffer
+     * @param bytesPerSample 1, 2, 3, 4 or 8, a no-op for 1
+     * @param count number of samples
+     */
+    public static void swapBytes(final ByteBuffer buf, final int bytesPerSample, final int count) {
+        checkRemaining("buffer", buf.remaining(), bytesPerSample * count);
+        if( 1 == bytesPerSample ) {
+            return;
+        }
+        // reading and writing the same chunk of samples before advancing is safe in place
+        copy(dup(buf, ByteOrder.BIG_ENDIAN), dup(buf, ByteOrder.LITTLE_ENDIAN), bytesPerSample, count);
+    }
+
+    /** Copies samples from s to d, swapping bytes if their byte order differs. Advances both buffers. */
+    private static void copy(final ByteBuffer s, final ByteBuffer d, final int bytesPerSample, final int count) {
+        final Scratch sc = scratch.get();
+        switch( bytesPerSample ) {
+            case 1:
+            case 3: {
+                final boolean swap = 3 == bytesPerSample && s.order() != d.order();
+                final byte[] b = sc.b;
+                for(int done = 0; done < count; ) {
+                    final int n = Math.min(CHUNK, count - done);
+                    final int nb = n * bytesPerSample;
+                    s.get(b, 0, nb);
+                    if( swap ) {
+                        for(int j = 0; j < nb; j += 3) {
+                            final byte t = b[j];
+                            b[j] = b[j+2];
+                            b[j+2] = t;
+                        }
+                    }
+                    d.put(b, 0, nb);
+                    done += n;
+                }
+                return;
+            }
+            case 2: {
+                final ShortBuffer sv = s.asShortBuffer(), dv = d.asShortBuffer();
+                for(int done = 0; done < count; ) {
+                    final int n = Math.min(CHUNK, count - done);
+                    sv.get(sc.s, 0, n);
+                    dv.put(sc.s, 0, n);
+                    done += n;
+                }
+                break;
+            }
+            case 4: {
+                final java.nio.IntBuffer sv = s.asIntBuffer(), dv = d.asIntBuffer();
+                for(int done = 0; done < count; ) {
+                    final int n = Math.min(CHUNK, count - done);
+                    sv.get(sc.i, 0, n);
+                    dv.put(sc.i, 0, n);
+                    done += n;
+                }
+                break;
+            }
+            case 8: {
+                final java.nio.LongBuffer sv = s.asLongBuffer(), dv = d.asLongBuffer();
+                for(int done = 0; done < count; ) {
+                    final int n = Math.min(CHUNK, count - done);
+                    sv.get(sc.l, 0, n);
+                    dv.put(sc.l, 0, n);
+                    done += n;
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported bytes per sample "+bytesPerSample);
+        }
+        s.position(s.position() + count * bytesPerSample);
+        d.position(d.position() + count * bytesPerSample);
+    }
+
+    /**
+     * Converts {@code count} samples from {@code src} in {@code srcFormat} to {@code dst} in {@code dstFormat},
+     * using each buffer's byte order.
+     * <p>
+     * Identical formats are copied, swapping bytes if the byte order differs.
+     * Floating point values are clipped when converted to integer.
+     * </p>
+     * @param src source buffer
+     * @param srcFormat source sample format
+     * @param dst destination buffer, must not overlap with {@code src} unless both formats have the same size
+     * @param dstFormat destination sample format
+     * @param count number of samples, i.e. frames times channels
+     */
+    public static void convert(final ByteBuffer src, final Format srcFormat, final ByteBuffer dst, final Format dstFormat, final int count) {
+        checkRemaining("src", src.remaining(), srcFormat.bytes * count);
+        checkRemaining("dst", dst.remaining(), dstFormat.bytes * count);
+        final ByteBuffer s = dup(src, src.order());
+        final ByteBuffer d = dup(dst, dst.order());
+        if( srcFormat == dstFormat ) {
+            copy(s, d, srcFormat.bytes, count);
+            return;
+        }
+        final Scratch sc = scratch.get();
+        final boolean intPath = !srcFormat.isFloat() && !dstFormat.isFloat();
+        for(int done = 0; done < count; ) {
+            final int n = Math.min(CHUNK, count - done);
+            if( intPath ) {
+                readInt(s, srcFormat, n, sc);
+                writeInt(d, dstFormat, n, sc);
+            } else {
+                readFloat(s, srcFormat, n, sc);
+                writeFloat(d, dstFormat, n, sc);
+            }
+            done += n;
+        }
+    }
+
+    /** Reads n samples as left justified signed 32-bit into sc.i, advancing s. */
+    private static void readInt(final ByteBuffer s, final Format f, final int n, final Scratch sc) {
+        final int[] out = sc.i;
+        switch( f ) {
+            case U8:
+                s.get(sc.b, 0, n);
+                for(int j = 0; j < n; ++j) {
+                    out[j] = ( ( sc.b[j] & 0xff ) - 128 ) << 24;
+                }
+                break;
+            case S16:
+                s.asShortBuffer().get(sc.s, 0, n);
+                s.position(s.position() + 2 * n);
+                for(int j = 0; j < n; ++j) {
+                    out[j] = sc.s[j] << 16;
+                }
+                break;
+            case S24:
+                readS24(s, n, sc);
+                break;
+            case S32:
+                s.asIntBuffer().get(out, 0, n);
+                s.position(s.position() + 4 * n);
+                break;
+            default:
+                throw new IllegalArgumentException("Not an integer format "+f);
+        }
+    }
+
+    private static void readS24(final ByteBuffer s, final int n, final Scratch sc) {
+        final byte[] b = sc.b;
+        final int[] out = sc.i;
+        s.get(b, 0, 3 * n);
+        if( ByteOrder.LITTLE_ENDIAN == s.order() ) {
+            for(int j = 0, k = 0; j < n; ++j, k += 3) {
+                out[j] = ( b[k] & 0xff ) << 8 | ( b[k+1] & 0xff ) << 16 | b[k+2] << 24;
+            }
+        } else {
+            for(int j = 0, k = 0; j < n; ++j, k += 3) {
+                out[j] = b[k] << 24 | ( b[k+1] & 0xff ) << 16 | ( b[k+2] & 0xff ) << 8;
+            }
+        }
+    }
+
+    private static void writeS24(final ByteBuffer d, final int n, final Scratch sc) {
+        final byte[] b = sc.b;
+        final int[] in = sc.i;
+        if( ByteOrder.LITTLE_ENDIAN == d.order() ) {
+            for(int j = 0, k = 0; j < n; ++j, k += 3) {
+                final int v = in[j];
+                b[k] = (byte)( v >> 8 );
+                b[k+1] = (byte)( v >> 16 );
+                b[k+2] = (byte)( v >> 24 );
+            }
+        } else {
+            for(int j = 0, k = 0; j < n; ++j, k += 3) {
+                final int v = in[j];
+                b[k] = (byte)( v >> 24 );
+                b[k+1] = (byte)( v >> 16 );
+                b[k+2] = (byte)( v >> 8 );
+            }
+        }
+        d.put(b, 0, 3 * n);
+    }
+
+    /** Writes n left justified signed 32-bit samples of sc.i, advancing d. */
+    private static void writeInt(final ByteBuffer d, final Format f, final int n, final Scratch sc) {
+        final int[] in = sc.i;
+        switch( f ) {
+            case U8:
+                for(int j = 0; j < n; ++j) {
+                    sc.b[j] = (byte)( ( in[j] >> 24 ) + 128 );
+                }
+                d.put(sc.b, 0, n);
+                break;
+            case S16:
+                for(int j = 0; j < n; ++j) {
+                    sc.s[j] = (short)( in[j] >> 16 );
+                }
+                d.asShortBuffer().put(sc.s, 0, n);
+                d.position(d.position() + 2 * n);
+                break;
+            case S24:
+                writeS24(d, n, sc);
+                break;
+            case S32:
+                d.asIntBuffer().put(in, 0, n);
+                d.position(d.position() + 4 * n);
+                break;
+            default:
+                throw new IllegalArgumentException("Not an integer format "+f);
+        }
+    }
+
+    /** Reads n samples as float into sc.f, advancing s. */
+    private static void readFloat(final ByteBuffer s, final Format f, final int n, final Scratch sc) {
+        final float[] out = sc.f;
+        switch( f ) {
+            case F32:
+                s.asFloatBuffer().get(out, 0, n);
+                s.position(s.position() + 4 * n);
+                break;
+            case F64:
+                s.asDoubleBuffer().get(sc.d, 0, n);
+                s.position(s.position() + 8 * n);
+                for(int j = 0; j < n; ++j) {
+                    out[j] = (float)sc.d[j];
+                }
+                break;
+            case S16:
+                s.asShortBuffer().get(sc.s, 0, n);
+                s.position(s.position() + 2 * n);
+                for(int j = 0; j < n; ++j) {
+                    out[j] = sc.s[j] * ( 1f / 32768f );
+                }
+                break;
+            default:
+                readInt(s, f, n, sc);
+                for(int j = 0; j < n; ++j) {
+                    out[j] = sc.i[j] * ( 1f / 2147483648f );
+                }
+        }
+    }
+
+    /** Writes n float samples of sc.f, clipped if integer, advancing d. */
+    private static void writeFloat(final ByteBuffer d, final Format f, final int n, final Scratch sc) {
+        final float[] in = sc.f;
+        switch( f ) {
+            case F32:
+                d.asFloatBuffer().put(in, 0, n);
+                d.position(d.position() + 4 * n);
+                break;
+            case F64:
+                for(int j = 0; j < n; ++j) {
+                    sc.d[j] = in[j];
+                }
+                d.asDoubleBuffer().put(sc.d, 0, n);
+                d.position(d.position() + 8 * n);
+                break;
+            case S16:
+                f32ToS16(in, sc.s, n);
+                d.asShortBuffer().put(sc.s, 0, n);
+                d.position(d.position() + 2 * n);
+                break;
+            default:
+                // float to int cast saturates, i.e. clips to the left justified 32-bit range
+                for(int j = 0; j < n; ++j) {
+                    sc.i[j] = (int)( in[j] * 2147483648f );
+                }
+                writeInt(d, f, n, sc);
+        }
+    }
+
+    private static void f32ToS16(final float[] in, final short[] out, final int n) {
+        f32ToS16(in, 0, out, n);
+    }
+
+    private static void f32ToS16(final float[] in, final int inOff, final short[] out, final int n) {
+        for(int j = 0; j < n; ++j) {
+            final int v = (int)( in[inOff + j] * 32768f );
+            out[j] = (short)( v > Short.MAX_VALUE ? Short.MAX_VALUE : ( v < Short.MIN_VALUE ? Short.MIN_VALUE : v ) );
+        }
+    }
+
+    /**
+     * Decodes {@code count} G.711 &mu;-law samples to signed 16-bit in {@code dst}'s byte order.
+     * @param src source buffer of 8-bit &mu;-law samples
+     * @param dst destination buffer
+     * @param count number of samples
+     */
+    public static void mulawToS16(final ByteBuffer src, final ByteBuffer dst, final int count) {
+        decodeS16(src, dst, count, MULAW_S16);
+    }
+
+    /**
+     * Decodes {@code count} G.711 A-law samples to signed 16-bit in {@code dst}'s byte order.
+     * @param src source buffer of 8-bit A-law samples
+     * @param dst destination buffer
+     * @param count number of samples
+     */
+    public static void alawToS16(final ByteBuffer src, final ByteBuffer dst, final int count) {
+        decodeS16(src, dst, count, ALAW_S16);
+    }
+
+    private static void decodeS16(final ByteBuffer src, final ByteBuffer dst, final int count, final short[] table) {
+        checkRemaining("src", src.remaining(), count);
+        checkRemaining("dst", dst.remaining(), 2 * count);
+        final ByteBuffer s = src.duplicate();
+        final ShortBuffer d = dup(dst, dst.order()).asShortBuffer();
+        final Scratch sc = scratch.get();
+        for(int done = 0; done < count; ) {
+            final int n = Math.min(CHUNK, count - done);
+            s.get(sc.b, 0, n);
+            for(int j = 0; j < n; ++j) {
+                sc.s[j] = table[sc.b[j] & 0xff];
+            }
+            d.put(sc.s, 0, n);
+            done += n;
+        }
+    }
+
+    /**
+     * Converts {@code count} signed 16-bit samples to float in the range [-1..1).
+     * @param src source buffer
+     * @param dst destination buffer
+     * @param count number of samples
+     */
+    public static void s16ToF32(final ShortBuffer src, final FloatBuffer dst, final int count) {
+        checkRemaining("src", src.remaining(), count);
+        checkRemaining("dst", dst.remaining(), count);
+        final ShortBuffer s = src.duplicate();
+        final FloatBuffer d = dst.duplicate();
+        final Scratch sc = scratch.get();
+        for(int done = 0; done < count; ) {
+            final int n = Math.min(CHUNK, count - done);
+            s.get(sc.s, 0, n);
+            for(int j = 0; j < n; ++j) {
+                sc.f[j] = sc.s[j] * ( 1f / 32768f );
+            }
+            d.put(sc.f, 0, n);
+            done += n;
+        }
+    }
+
+    /**
+     * Converts {@code count} float samples to signed 16-bit, clipping values beyond [-1..1).
+     * @param src source buffer
+     * @param dst destination buffer
+     * @param count number of samples
+     */
+    public static void f32ToS16(final FloatBuffer src, final ShortBuffer dst, final int count) {
+        checkRemaining("src", src.remaining(), count);
+        checkRemaining("dst", dst.remaining(), count);
+        final FloatBuffer s = src.duplicate();
+        final ShortBuffer d = dst.duplicate();
+        final Scratch sc = scratch.get();
+        for(int done = 0; done < count; ) {
+            final int n = Math.min(CHUNK, count - done);
+            s.get(sc.f, 0, n);
+            f32ToS16(sc.f, sc.s, n);
+            d.put(sc.s, 0, n);
+            done += n;
+        }
+    }
+
+    /**
+     * Converts {@code count} float samples of the given array to signed 16-bit, clipping values beyond [-1..1).
+     * @param src source array
+     * @param srcOff offset of the first sample in {@code src}
+     * @param dst destination buffer
+     * @param count number of samples
+     */
+    public static void f32ToS16(final float[] src, final int srcOff, final ShortBuffer dst, final int count) {
+        f32ToS16(src, srcOff, dst, dst.position(), count);
+    }
+
+    /**
+     * Converts {@code count} float samples of the given array to signed 16-bit at the absolute index {@code dstOff},
+     * clipping values beyond [-1..1).
+     * <p>
+     * Neither wraps nor duplicates buffers, hence is allocation free for use on a real-time path.
+     * The position of {@code dst} is left unchanged.
+     * </p>
+     * @param src source array
+     * @param srcOff offset of the first sample in {@code src}
+     * @param dst destination buffer
+     * @param dstOff absolute index of the first sample in {@code dst}
+     * @param count number of samples
+     */
+    public static void f32ToS16(final float[] src, final int srcOff, final ShortBuffer dst, final int dstOff, final int count) {
+        checkRemaining("src", src.length - srcOff, count);
+        checkRemaining("dst", dst.limit() - dstOff, count);
+        final short[] s = scratch.get().s;
+        final int pos = dst.position();
+        dst.position(dstOff);
+        for(int done = 0; done < count; ) {
+            final int n = Math.min(CHUNK, count - done);
+            f32ToS16(src, srcOff + done, s, n);
+            dst.put(s, 0, n);
+            done += n;
+        }
+        dst.position(pos);
+    }
+
+    /**
+     * Clips {@code count} float samples in place to the range [min..max].
+     * @param buf the buffer
+     * @param count number of samples
+     * @param min minimum value
+     * @param max maximum value
+     */
+    public static void clip(final FloatBuffer buf, final int count, final float min, final float max) {
+        checkRemaining("buffer", buf.remaining(), count);
+        final FloatBuffer s = buf.duplicate();
+        final FloatBuffer d = buf.duplicate();
+        final float[] f = scratch.get().f;
+        for(int done = 0; done < count; ) {
+            final int n = Math.min(CHUNK, count - done);
+            s.get(f, 0, n);
+            for(int j = 0; j < n; ++j) {
+                final float v = f[j];
+                f[j] = v > max ? max : ( v < min ? min : v );
+            }
+            d.put(f, 0, n);
+            done += n;
+        }
+    }
+
+    /**
+     * Interleaves {@code frames} samples of each planar channel buffer into the packed buffer.
+     * @param planes one buffer per channel, at most {@link #CHUNK} channels
+     * @param packed destination buffer of {@code frames * planes.length} samples
+     * @param frames number of frames
+     * @throws IllegalArgumentException if the channel count is not within [1..{@link #CHUNK}] or a buffer is too small
+     */
+    public static void interleave(final FloatBuffer[] planes, final FloatBuffer packed, final int frames) {
+        final int channels = planes.length;
+        checkChannels(channels);
+        checkRemaining("packed", packed.remaining(), frames * channels);
+        final FloatBuffer[] src = new FloatBuffer[channels];
+        for(int c = 0; c < channels; ++c) {
+            checkRemaining("plane "+c, planes[c].remaining(), frames);
+            src[c] = planes[c].duplicate();
+        }
+        final FloatBuffer d = packed.duplicate();
+        final Scratch sc = scratch.get();
+        final int framesPerChunk = CHUNK / channels;
+        for(int done = 0; done < frames; ) {
+            final int n = Math.min(framesPerChunk, frames - done);
+            for(int c = 0; c < channels; ++c) {
+                src[c].get(sc.f, 0, n);
+                for(int j = 0, k = c; j < n; ++j, k += channels) {
+                    sc.f2[k] = sc.f[j];
+                }
+            }
+            d.put(sc.f2, 0, n * channels);
+            done += n;
+        }
+    }
+
+    /**
+     * Deinterleaves {@code frames} samples of the packed buffer into each planar channel buffer.
+     * @param packed source buffer of {@code frames * planes.length} samples
+     * @param planes one buffer per channel, at most {@link #CHUNK} channels
+     * @param frames number of frames
+     * @throws IllegalArgumentException if the channel count is not within [1..{@link #CHUNK}] or a buffer is too small
+     */
+    public static void deinterleave(final FloatBuffer packed, final FloatBuffer[] planes, final int frames) {
+        final int channels = planes.length;
+        checkChannels(channels);
+        checkRemaining("packed", packed.remaining(), frames * channels);
+        final FloatBuffer[] dst = new FloatBuffer[channels];
+        for(int c = 0; c < channels; ++c) {
+            checkRemaining("plane "+c, planes[c].remaining(), frames);
+            dst[c] = planes[c].duplicate();
+        }
+        final FloatBuffer s = packed.duplicate();
+        final Scratch sc = scratch.get();
+        final int framesPerChunk = CHUNK / channels;
+        for(int done = 0; done < frames; ) {
+            final int n = Math.min(framesPerChunk, frames - done);
+            s.get(sc.f2, 0, n * channels);
+            for(int c = 0; c < channels; ++c) {
+                for(int j = 0, k = c; j < n; ++j, k += channels) {
+                    sc.f[j] = sc.f2[k];
+                }
+                dst[c].put(sc.f, 0, n);
+            }
+            done += n;
+        }
+    }
+
+    /**
+     * Interleaves {@code frames} samples of each planar channel buffer into the packed buffer.
+     * @param planes one buffer per channel, at most {@link #CHUNK} channels
+     * @param packed destination buffer of {@code frames * planes.length} samples
+     * @param frames number of frames
+     * @throws IllegalArgumentException if the channel count is not within [1..{@link #CHUNK}] or a buffer is too small
+     */
+    public static void interleave(final ShortBuffer[] planes, final ShortBuffer packed, final int frames) {
+        final int channels = planes.length;
+        checkChannels(channels);
+        checkRemaining("packed", packed.remaining(), frames * channels);
+        final ShortBuffer[] src = new ShortBuffer[channels];
+        for(int c = 0; c < channels; ++c) {
+            checkRemaining("plane "+c, planes[c].remaining(), frames);
+            src[c] = planes[c].duplicate();
+        }
+        final ShortBuffer d = packed.duplicate();
+        final Scratch sc = scratch.get();
+        final int framesPerChunk = CHUNK / channels;
+        for(int done = 0; done < frames; ) {
+            final int n = Math.min(framesPerChunk, frames - done);
+            for(int c = 0; c < channels; ++c) {
+                src[c].get(sc.s, 0, n);
+                for(int j = 0, k = c; j < n; ++j, k += channels) {
+                    sc.s2[k] = sc.s[j];
+                }
+            }
+            d.put(sc.s2, 0, n * channels);
+            done += n;
+        }
+    }
+
+    /**
+     * Deinterleaves {@code frames} samples of the packed buffer into each planar channel buffer.
+     * @param packed source buffer of {@code frames * planes.length} samples
+     * @param planes one buffer per channel, at most {@link #CHUNK} channels
+     * @param frames number of frames
+     * @throws IllegalArgumentException if the channel count is not within [1..{@link #CHUNK}] or a buffer is too small
+     */
+    public static void deinterleave(final ShortBuffer packed, final ShortBuffer[] planes, final int frames) {
+        final int channels = planes.length;
+        checkChannels(channels);
+        checkRemaining("packed", packed.remaining(), frames * channels);
+        final ShortBuffer[] dst = new ShortBuffer[channels];
+        for(int c = 0; c < channels; ++c) {
+            checkRemaining("plane "+c, planes[c].remaining(), frames);
+            dst[c] = planes[c].duplicate();
+        }
+        final ShortBuffer s = packed.duplicate();
+        final Scratch sc = scratch.get();
+        final int framesPerChunk = CHUNK / channels;
+        for(int done = 0; done < frames; ) {
+            final int n = Math.min(framesPerChunk, frames - done);
+            s.get(sc.s2, 0, n * channels);
+            for(int c = 0; c < channels; ++c) {
+                for(int j = 0, k = c; j < n; ++j, k += channels) {
+                    sc.s[j] = sc.s2[k];
+                }
+                dst[c].put(sc.s, 0, n);
+            }
+            done += n;
+        }
+    }
+}
@@ -28,7 +28,10 @@
 package com.jogamp.openal.util;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.jogamp.common.av.AudioFormat;
 import com.jogamp.common.av.AudioSink;
@@ -61,12 +64,12 @@ public final class SimpleSineSynth {
 
     private static final float EPSILON = 1.1920929E-7f; // Float.MIN_VALUE == 1.4e-45f ; double EPSILON 2.220446049250313E-16d
 
-    private static final float SHORT_MAX = 32767.0f; // == Short.MAX_VALUE
 
     public static final float MIDDLE_C = 261.625f;
 
     private final ALAudioSink audioSink;
-    private final Object stateLock = new Object();
+    /** A {@link ReentrantLock} instead of a monitor to not pin virtual threads while waiting for the worker. */
+    private final ReentrantLock stateLock = new ReentrantLock();
     private volatile float audioAmplitude = 1.0f;
     private volatile float audioFreq = MIDDLE_C;
     private volatile int nextAudioPTS = 0;
@@ -102,47 +105,62 @@ public final class SimpleSineSynth {
     public int getLatency() { return null != streamWorker ? streamWorker.frameDuration : 2*AudioSink.DefaultFrameDuration; }
 
     public void play() {
-        synchronized( stateLock ) {
+        stateLock.lock();
+        try {
             if( null == streamWorker ) {
                 streamWorker = new SynthWorker();
             }
             streamWorker.doResume();
+        } finally {
+            stateLock.unlock();
         }
     }
 
     public void pause() {
-        synchronized( stateLock ) {
+        stateLock.lock();
+        try {
             if( null != streamWorker ) {
                 streamWorker.doPause(true);
             }
+        } finally {
+            stateLock.unlock();
         }
     }
 
     public void stop() {
-        synchronized( stateLock ) {
+        stateLock.lock();
+        try {
             if( null != streamWorker ) {
                 streamWorker.doStop();
                 streamWorker = null;
             } else {
                 audioSink.destroy();
             }
+        } finally {
+            stateLock.unlock();
         }
     }
 
     public boolean isPlaying() {
-        synchronized( stateLock ) {
+        stateLock.lock();
+        try {
             if( null != streamWorker ) {
                 return streamWorker.isPlaying();
             }
+        } finally {
+            stateLock.unlock();
         }
         return false;
     }
 
     public boolean isRunning() {
-        synchronized( stateLock ) {
+        stateLock.lock();
+        try {
             if( null != streamWorker ) {
                 return streamWorker.isRunning();
             }
+        } finally {
+            stateLock.unlock();
         }
         return false;
     }
@@ -153,11 +171,14 @@ public final class SimpleSineSynth {
 
     @Override
     public final String toString() {
-        synchronized( stateLock ) {
+        stateLock.lock();
+        try {
             final int pts = getPTS().getLast();
             final int lag = getNextPTS() - pts;
             return getClass().getSimpleName()+"[f "+audioFreq+", a "+audioAmplitude+", latency "+getLatency()+
                     ", state[running "+isRunning()+", playing "+isPlaying()+"], pts[next "+getNextPTS()+", play "+pts+", lag "+lag+"], "+audioSink.toString()+"]";
+        } finally {
+            stateLock.unlock();
         }
     }
 
@@ -171,6 +192,10 @@ public final class SimpleSineSynth {
         private final int bytesPerSample;
         private final AudioFormat audioFormat;
         private ByteBuffer sampleBuffer;
+        /** Cached views of {@link #sampleBuffer}, recreated only if it grows. */
+        private FloatBuffer f32SampleView;
+        private ShortBuffer s16SampleView;
+        private float[] f32Samples;
         private int frameDuration;
         private int audioQueueLimit;
 
@@ -200,6 +225,7 @@ public final class SimpleSineSynth {
         private final WorkerThread.Callback action = (final WorkerThread aaa) -> {
             enqueueWave();
         };
+        private final ReentrantLock workerLock = new ReentrantLock();
         final WorkerThread wt =new WorkerThread(null, null, true /* daemonThread */, action, stateCB);
 
         /**
@@ -209,7 +235,8 @@ public final class SimpleSineSynth {
          * </p>
          **/
         SynthWorker() {
-            synchronized(this) {
+            workerLock.lock();
+            try {
                 nextAudioPTS = 0;
 
                 // Note: float32 is OpenAL-Soft's internally used format to mix samples etc.
@@ -227,7 +254,7 @@ public final class SimpleSineSynth {
                 }
                 System.err.println("OpenAL float32 supported: "+useFloat32SampleType);
 
-                sampleBuffer = allocate( audioFormat.getDurationsByteSize(30/1000f) ); // pre-allocate buffer for 30ms
+                setSampleBuffer( allocate( audioFormat.getDurationsByteSize(30/1000f) ) ); // pre-allocate buffer for 30ms
 
                 // clip [16 .. 2*AudioSink.DefaultFrameDuration]
                 frameDuration = 10; // let's try for the best ..
@@ -241,6 +268,8 @@ public final class SimpleSineSynth {
                 nextStep = 0;
 
                 wt.start( true );
+            } finally {
+                workerLock.unlock();
             }
         }
 
@@ -308,27 +337,31 @@ public final class SimpleSineSynth {
                 if( DEBUG ) {
                     System.err.printf("SampleBuffer grow: %d -> %d%n", sampleBuffer.capacity(), bytesPerSample*sample_count);
                 }
-                sampleBuffer = allocate(bytesPerSample*sample_count);
+                setSampleBuffer( allocate(bytesPerSample*sample_count) );
             }
 
             {
                 int i;
                 float s = 0;
                 if( useFloat32SampleType ) {
-                    final FloatBuffer f32sb = sampleBuffer.asFloatBuffer();
+                    final FloatBuffer f32sb = f32SampleView;
+                    f32sb.clear();
                     final int l = nextStep;
                     for(i=l; i<l+sample_count; ++i) {
                         s = (float) Math.sin( sample_step * i );
                         f32sb.put(s * amp);
                     }
                 } else {
+                    if( null == f32Samples || f32Samples.length < sample_count ) {
+                        f32Samples = new float[sample_count];
+                    }
                     final int l = nextStep;
                     for(i=l; i<l+sample_count; ++i) {
                         s = (float) Math.sin( sample_step * i );
-                        final short s16 = (short)( SHORT_MAX * s * amp );
-                        sampleBuffer.put( (byte) ( s16 & 0xff ) );
-                        sampleBuffer.put( (byte) ( ( s16 >>> 8 ) & 0xff ) );
+                        f32Samples[i-l] = s * amp;
                     }
+                    // bulk convert to little endian s16, see audioFormat
+                    PCMUtil.f32ToS16(f32Samples, 0, s16SampleView, 0, sample_count);
                 }
                 nextStep = i;
                 nextSin = (float) Math.sin( sample_step * nextStep );
@@ -340,15 +373,36 @@ public final class SimpleSineSynth {
             nextAudioPTS += frameDuration;
         }
 
-        public final synchronized void doPause(final boolean waitUntilDone) {
-            wt.pause(waitUntilDone);;
+        private void setSampleBuffer(final ByteBuffer bb) {
+            sampleBuffer = bb;
+            f32SampleView = bb.asFloatBuffer();
+            s16SampleView = bb.duplicate().order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
         }
-        public final synchronized void doResume() {
-            wt.resume();
+
+        public final void doPause(final boolean waitUntilDone) {
+            workerLock.lock();
+            try {
+                wt.pause(waitUntilDone);
+            } finally {
+                workerLock.unlock();
+            }
         }
-        public final synchronized void doStop() {
-            wt.stop(true);
-            audioSink.destroy();
+        public final void doResume() {
+            workerLock.lock();
+            try {
+                wt.resume();
+            } finally {
+                workerLock.unlock();
+            }
+        }
+        public final void doStop() {
+            workerLock.lock();
+            try {
+                wt.stop(true);
+                audioSink.destroy();
+            } finally {
+                workerLock.unlock();
+            }
         }
         public final boolean isRunning() { return wt.isRunning(); }
         public final boolean isPlaying() { return wt.isActive(); }
@@ -39,9 +39,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.HashSet;
+import java.util.Set;
 
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.nio.Buffers;
 import com.jogamp.common.util.IOUtil;
+import com.jogamp.openal.AL;
 import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.ALExt;
+import com.jogamp.openal.ALExtConstants;
 import com.jogamp.openal.UnsupportedAudioFileException;
 
 /**
@@ -60,8 +68,20 @@ public final class WAVData {
      * AL.AL_FORMAT_MONO16
      * AL.AL_FORMAT_STEREO8
      * AL.AL_FORMAT_STEREO16
+     * ALExt.AL_FORMAT_MONO_FLOAT32, AL_FORMAT_STEREO_FLOAT32
+     * ALExt.AL_FORMAT_MONO_DOUBLE_EXT, AL_FORMAT_STEREO_DOUBLE_EXT
+     * ALExt.AL_FORMAT_QUAD*, AL_FORMAT_51CHN*, AL_FORMAT_61CHN*, AL_FORMAT_71CHN*
+     * ALExt.AL_FORMAT_MONO_IMA4
+     * ALExt.AL_FORMAT_STEREO_IMA4
+     * ALExt.AL_FORMAT_MONO_MSADPCM_SOFT
+     * ALExt.AL_FORMAT_STEREO_MSADPCM_SOFT
+     * ALExt.AL_FORMAT_MONO_MULAW_EXT
+     * ALExt.AL_FORMAT_STEREO_MULAW_EXT
+     * ALExt.AL_FORMAT_MONO_ALAW_EXT
+     * ALExt.AL_FORMAT_STEREO_ALAW_EXT
      * </pre>
-     *
+     * or {@link ALConstants#AL_NONE} if no OpenAL format exists for {@link #audioFormat}, e.g. 24-bit or 32-bit integer,
+     * see {@link #toSupportedFormat(AL, ALExt)}.
      */
     public final int format;
 
@@ -74,12 +94,257 @@ public final class WAVData {
     /** flag indicating whether or not the sound in the data should loop */
     public final boolean loop;
 
+    /**
+     * Sample frames per block of block compressed data like ADPCM,
+     * to be passed as <code>AL_UNPACK_BLOCK_ALIGNMENT_SOFT</code>. Zero for PCM data.
+     */
+    public final int blockAlignment;
+
+    /**
+     * Sample layout of PCM or floating point {@link #data} in native byte order,
+     * null for compressed data like ADPCM or G.711.
+     */
+    public final AudioFormat audioFormat;
+
     public WAVData(final ByteBuffer data, final int format, final int size, final int freq, final boolean loop) {
+        this(data, format, size, freq, loop, 0);
+    }
+
+    public WAVData(final ByteBuffer data, final int format, final int size, final int freq, final boolean loop, final int blockAlignment) {
+        this(data, format, size, freq, loop, blockAlignment, getAudioFormat(format, freq));
+    }
+
+    public WAVData(final ByteBuffer data, final int format, final int size, final int freq, final boolean loop, final int blockAlignment,
+                   final AudioFormat audioFormat) {
         this.data = data;
         this.format = format;
         this.size = size;
         this.freq = freq;
         this.loop = loop;
+        this.blockAlignment = blockAlignment;
+        this.audioFormat = audioFormat;
+    }
+
+    /** Returns the {@link AudioFormat} of the given core OpenAL PCM format, otherwise null. */
+    private static AudioFormat getAudioFormat(final int alFormat, final int freq) {
+        switch( alFormat ) {
+            case ALConstants.AL_FORMAT_MONO8:    return getAudioFormat(freq, 8, 1, true);
+            case ALConstants.AL_FORMAT_MONO16:   return getAudioFormat(freq, 16, 1, true);
+            case ALConstants.AL_FORMAT_STEREO8:  return getAudioFormat(freq, 8, 2, true);
+            case ALConstants.AL_FORMAT_STEREO16: return getAudioFormat(freq, 16, 2, true);
+            default: return null;
+        }
+    }
+
+    /**
+     * Returns the {@link AudioFormat} of interleaved samples in native byte order,
+     * signed except for 8-bit integer.
+     */
+    static AudioFormat getAudioFormat(final int freq, final int bits, final int numChannels, final boolean fixedP) {
+        return new AudioFormat(freq, bits, numChannels, !fixedP || 8 != bits /* signed */, fixedP,
+                               false /* planar */, ByteOrder.LITTLE_ENDIAN == ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Returns this instance if its {@link #format} can be uploaded as is to the current context,
+     * otherwise a new instance converted to a supported format.
+     * <p>
+     * The format is determined via {@link ALHelpers#getALFormat(int, int, AL, ALExt, boolean, boolean, boolean, boolean)}
+     * using the extensions <code>AL_EXT_MCFORMATS</code>, <code>AL_EXT_FLOAT32</code> and <code>AL_EXT_DOUBLE</code>.
+     * If not supported, e.g. for 24-bit or 32-bit integer samples lacking an OpenAL format,
+     * the samples are converted via {@link PCMUtil} to 32-bit float if supported, otherwise to 16-bit integer.
+     * </p>
+     * <p>
+     * {@link #isCompanded(int) G.711} data is {@link #decodeCompanded() decoded} if its extension is not available,
+     * other compressed data is returned as is if its {@link #getADPCMExtension(int) extension} is available.
+     * </p>
+     * @param al AL instance
+     * @param alExt ALExt instance
+     * @throws ALException if no OpenAL format for the channel layout is supported
+     *                     or the extension required for ADPCM data is not available
+     * @see #toSupportedFormat(Set)
+     */
+    public WAVData toSupportedFormat(final AL al, final ALExt alExt) throws ALException {
+        return toSupportedFormat(al, alExt, null);
+    }
+
+    /**
+     * Returns this instance if its {@link #format} can be uploaded as is,
+     * otherwise a new instance converted to a supported format, see {@link #toSupportedFormat(AL, ALExt)}.
+     * <p>
+     * Instead of querying the current context, the given snapshot of available extensions is used,
+     * allowing the conversion to run on any thread, e.g. a loader thread.
+     * </p>
+     * @param extensions available format extensions of the target context, see {@link #getFormatExtensions(AL)}
+     * @throws ALException if no OpenAL format for the channel layout is supported
+     *                     or the extension required for ADPCM data is not available
+     */
+    public WAVData toSupportedFormat(final Set<String> extensions) throws ALException {
+        return toSupportedFormat(null, null, extensions);
+    }
+
+    /**
+     * Returns the set of extensions available on the current context used by {@link #toSupportedFormat(Set)},
+     * i.e. <code>AL_EXT_MCFORMATS</code>, <code>AL_EXT_FLOAT32</code>, <code>AL_EXT_DOUBLE</code>
+     * and the extensions of the compressed formats.
+     * @param al AL instance
+     */
+    public static Set<String> getFormatExtensions(final AL al) {
+        final Set<String> extensions = new HashSet<String>();
+        for(final String e : FORMAT_EXTENSIONS) {
+            if( al.alIsExtensionPresent(e) ) {
+                extensions.add(e);
+            }
+        }
+        return extensions;
+    }
+    private static final String[] FORMAT_EXTENSIONS = {
+        ALHelpers.AL_EXT_MCFORMATS, ALHelpers.AL_EXT_FLOAT32, ALHelpers.AL_EXT_DOUBLE,
+        ALHelpers.AL_EXT_MULAW, ALHelpers.AL_EXT_ALAW, ALHelpers.AL_EXT_IMA4, ALHelpers.AL_SOFT_MSADPCM };
+
+    private static boolean isExtensionPresent(final AL al, final Set<String> extensions, final String name) {
+        return null != extensions ? extensions.contains(name) : al.alIsExtensionPresent(name);
+    }
+
+    private WAVData toSupportedFormat(final AL al, final ALExt alExt, final Set<String> extensions) throws ALException {
+        final String adpcmExt = getADPCMExtension(format);
+        if( null != adpcmExt ) {
+            if( !isExtensionPresent(al, extensions, adpcmExt) ) {
+                throw new ALException("Extension "+adpcmExt+" not available for ADPCM format 0x"+Integer.toHexString(format));
+            }
+            return this;
+        }
+        final String compandedExt = getCompandedExtension(format);
+        if( null != compandedExt ) {
+            return isExtensionPresent(al, extensions, compandedExt) ? this : decodeCompanded();
+        }
+        if( null == audioFormat ) {
+            return this;
+        }
+        final int alChannelLayout = ALHelpers.getDefaultALChannelLayout(audioFormat.channelCount);
+        final int alSampleType = ALHelpers.getALSampleType(audioFormat.sampleSize, audioFormat.signed, audioFormat.fixedP, true);
+        final boolean hasEXTMcFormats = isExtensionPresent(al, extensions, ALHelpers.AL_EXT_MCFORMATS);
+        final boolean hasEXTFloat32 = isExtensionPresent(al, extensions, ALHelpers.AL_EXT_FLOAT32);
+        final boolean hasEXTDouble = isExtensionPresent(al, extensions, ALHelpers.AL_EXT_DOUBLE);
+        if( ALConstants.AL_NONE != format &&
+            format == ALHelpers.getALFormat(alChannelLayout, alSampleType, al, alExt, false, hasEXTMcFormats, hasEXTFloat32, hasEXTDouble) )
+        {
+            return this;
+        }
+        final PCMUtil.Format srcFormat = PCMUtil.Format.of(audioFormat.sampleSize, audioFormat.signed, audioFormat.fixedP);
+        if( null == srcFormat ) {
+            throw new ALException("Unsupported sample format "+audioFormat);
+        }
+        PCMUtil.Format dstFormat = PCMUtil.Format.F32;
+        int alFormat = ALHelpers.getALFormat(alChannelLayout, ALExtConstants.AL_FLOAT_SOFT, al, alExt, false, hasEXTMcFormats, hasEXTFloat32, false);
+        if( ALConstants.AL_NONE == alFormat ) {
+            dstFormat = PCMUtil.Format.S16;
+            alFormat = ALHelpers.getALFormat(alChannelLayout, ALExtConstants.AL_SHORT_SOFT, al, alExt, false, hasEXTMcFormats, false, false);
+        }
+        if( ALConstants.AL_NONE == alFormat ) {
+            throw new ALException("No supported OpenAL format for "+audioFormat);
+        }
+        final int count = data.remaining() / srcFormat.bytes;
+        final ByteBuffer converted = Buffers.newDirectByteBuffer(count * dstFormat.bytes);
+        PCMUtil.convert(data.duplicate().order(ByteOrder.nativeOrder()), srcFormat, converted, dstFormat, count);
+        return new WAVData(converted, alFormat, converted.capacity(), freq, loop, 0,
+                           getAudioFormat(freq, dstFormat.bytes * 8, audioFormat.channelCount, !dstFormat.isFloat()));
+    }
+
+    /**
+     * Returns true if the given OpenAL format is G.711 &mu;-law or A-law,
+     * requiring extension {@link #getCompandedExtension(int)} or {@link #decodeCompanded() decoding}.
+     */
+    public static boolean isCompanded(final int alFormat) {
+        return null != getCompandedExtension(alFormat);
+    }
+
+    /**
+     * Returns the OpenAL extension required for the given G.711 &mu;-law or A-law format,
+     * i.e. {@link ALHelpers#AL_EXT_MULAW} or {@link ALHelpers#AL_EXT_ALAW}, otherwise null.
+     */
+    public static String getCompandedExtension(final int alFormat) {
+        switch( alFormat ) {
+            case ALExtConstants.AL_FORMAT_MONO_MULAW_EXT:
+            case ALExtConstants.AL_FORMAT_STEREO_MULAW_EXT:
+                return ALHelpers.AL_EXT_MULAW;
+            case ALExtConstants.AL_FORMAT_MONO_ALAW_EXT:
+            case ALExtConstants.AL_FORMAT_STEREO_ALAW_EXT:
+                return ALHelpers.AL_EXT_ALAW;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the OpenAL extension required for the given IMA ADPCM or Microsoft ADPCM format,
+     * i.e. {@link ALHelpers#AL_EXT_IMA4} or {@link ALHelpers#AL_SOFT_MSADPCM}, otherwise null.
+     */
+    public static String getADPCMExtension(final int alFormat) {
+        switch( alFormat ) {
+            case ALExtConstants.AL_FORMAT_MONO_IMA4:
+            case ALExtConstants.AL_FORMAT_STEREO_IMA4:
+                return ALHelpers.AL_EXT_IMA4;
+            case ALExtConstants.AL_FORMAT_MONO_MSADPCM_SOFT:
+            case ALExtConstants.AL_FORMAT_STEREO_MSADPCM_SOFT:
+                return ALHelpers.AL_SOFT_MSADPCM;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns a new instance with {@link #data} decoded to 16-bit PCM in native byte order if {@link #format}
+     * is {@link #isCompanded(int) G.711 &mu;-law or A-law}, otherwise this instance.
+     * <p>
+     * To be used if the required {@link #getCompandedExtension(int) extension} is not available,
+     * doubling the data size.
+     * </p>
+     */
+    public WAVData decodeCompanded() {
+        final boolean stereo;
+        final boolean mulaw;
+        switch( format ) {
+            case ALExtConstants.AL_FORMAT_MONO_MULAW_EXT:   stereo = false; mulaw = true;  break;
+            case ALExtConstants.AL_FORMAT_STEREO_MULAW_EXT: stereo = true;  mulaw = true;  break;
+            case ALExtConstants.AL_FORMAT_MONO_ALAW_EXT:    stereo = false; mulaw = false; break;
+            case ALExtConstants.AL_FORMAT_STEREO_ALAW_EXT:  stereo = true;  mulaw = false; break;
+            default:
+                return this;
+        }
+        final int count = data.remaining();
+        final ByteBuffer pcm = Buffers.newDirectByteBuffer(2 * count);
+        if( mulaw ) {
+            PCMUtil.mulawToS16(data, pcm, count);
+        } else {
+            PCMUtil.alawToS16(data, pcm, count);
+        }
+        return new WAVData(pcm, stereo ? ALConstants.AL_FORMAT_STEREO16 : ALConstants.AL_FORMAT_MONO16, 2 * count, freq, loop);
+    }
+
+    /**
+     * Returns the OpenAL format for the given integer PCM layout, see {@link #getALFormat(int, int, boolean)}.
+     */
+    static int getALFormat(final int numChannels, final int bits) {
+        return getALFormat(numChannels, bits, true);
+    }
+
+    /**
+     * Returns the OpenAL format for the given PCM layout via {@link ALHelpers#getALFormat(int, int, AL, ALExt, boolean, boolean, boolean, boolean)},
+     * assuming the extensions <code>AL_EXT_MCFORMATS</code>, <code>AL_EXT_FLOAT32</code> and <code>AL_EXT_DOUBLE</code>.
+     * <p>
+     * Returns {@link ALConstants#AL_NONE} for a supported sample layout without OpenAL format, i.e. 24-bit and 32-bit integer.
+     * </p>
+     * @throws ALException if the channel count or sample layout is not supported
+     */
+    static int getALFormat(final int numChannels, final int bits, final boolean fixedP) throws ALException {
+        final int alChannelLayout = ALHelpers.getDefaultALChannelLayout(numChannels);
+        final PCMUtil.Format f = PCMUtil.Format.of(bits, !fixedP || 8 != bits, fixedP);
+        if( ALConstants.AL_NONE == alChannelLayout || null == f ) {
+            throw new ALException("Unsupported "+numChannels+" channels, "+bits+" bits "+(fixedP?"integer":"float")+" PCM");
+        }
+        final int alSampleType = ALHelpers.getALSampleType(bits, !fixedP || 8 != bits, fixedP, true);
+        return ALHelpers.getALFormat(alChannelLayout, alSampleType, null, null, false, true, true, true);
     }
 
     /**
@@ -103,32 +368,16 @@ public final class WAVData {
             aIn = new BufferedInputStream(aIn);
         }
         // ReadableByteChannel aChannel = Channels.newChannel(aIn);
-        int format = ALConstants.AL_FORMAT_MONO8;
-
-        if ((bits == 8) && (numChannels == 1)) {
-            format = ALConstants.AL_FORMAT_MONO8;
-        } else if ((bits == 16) && (numChannels == 1)) {
-            format = ALConstants.AL_FORMAT_MONO16;
-        } else if ((bits == 8) && (numChannels == 2)) {
-            format = ALConstants.AL_FORMAT_STEREO8;
-        } else if ((bits == 16) && (numChannels == 2)) {
-            format = ALConstants.AL_FORMAT_STEREO16;
-        }
+        final int format = getALFormat(numChannels, bits);
         final ByteBuffer buffer = IOUtil.copyStreamChunk2ByteBuffer(aIn, 0, byteCount);
         final int actualSize = buffer.limit();
 
         // Must byte swap in case endianess mismatch
-        if ( bits == 16 && ByteOrder.nativeOrder() != byteOrder ) {
-          final int len = buffer.remaining();
-          for (int i = 0; i < len; i += 2) {
-            final byte a = buffer.get(i);
-            final byte b = buffer.get(i+1);
-            buffer.put(i, b);
-            buffer.put(i+1, a);
-          }
+        if ( bits > 8 && ByteOrder.nativeOrder() != byteOrder ) {
+          PCMUtil.swapBytes(buffer, bits / 8, buffer.remaining() / ( bits / 8 ));
         }
 
-        final WAVData result = new WAVData(buffer, format, actualSize, sampleRate, loop);
+        final WAVData result = new WAVData(buffer, format, actualSize, sampleRate, loop, 0, getAudioFormat(sampleRate, bits, numChannels, true));
         aIn.close();
 
         return result;
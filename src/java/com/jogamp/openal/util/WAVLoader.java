@@ -39,14 +39,37 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.nio.Buffers;
 import com.jogamp.common.util.Bitstream;
+import com.jogamp.common.util.IOUtil;
 import com.jogamp.openal.ALException;
+import com.jogamp.openal.ALExtConstants;
 
 /**
  * A Loader utility for (.wav) files. Creates a WAVData object containing the
  * data used by the AL.alBufferData method.
+ * <p>
+ * Besides linear PCM, IMA ADPCM and Microsoft ADPCM data is recognized and kept compressed,
+ * using <code>AL_FORMAT_*_IMA4</code> or <code>AL_FORMAT_*_MSADPCM_SOFT</code>
+ * and {@link WAVData#blockAlignment} for <code>AL_UNPACK_BLOCK_ALIGNMENT_SOFT</code>,
+ * see {@link com.jogamp.openal.sound3d.Buffer#configure(ByteBuffer, int, int, int)}.
+ * </p>
+ * <p>
+ * Integer PCM of 8, 16, 24 and 32 bits, IEEE float of 32 and 64 bits as well as <code>WAVE_FORMAT_EXTENSIBLE</code>
+ * with channel masks matching the OpenAL multichannel layouts are loaded in native byte order without further conversion,
+ * see {@link WAVData#audioFormat} and {@link WAVData#toSupportedFormat(com.jogamp.openal.AL, com.jogamp.openal.ALExt)}.
+ * </p>
+ * <p>
+ * G.711 &mu;-law and A-law data is kept as is using <code>AL_FORMAT_*_MULAW_EXT</code> or <code>AL_FORMAT_*_ALAW_EXT</code>,
+ * see {@link WAVData#decodeCompanded()} if the extension is not available.
+ * </p>
  */
 public class WAVLoader {
 
@@ -60,6 +83,7 @@ public class WAVLoader {
      * @throws ALException if the format of the audio if not supported.
      * @throws IOException If the file can no be found or some other IO error
      *                     occurs
+     * @see #loadFromFileMapped(String)
      */
     public static WAVData loadFromFile(final String filename) throws ALException, IOException {
         final File soundFile = new File(filename);
@@ -82,6 +106,52 @@ public class WAVLoader {
         return loadFromStreamImpl(stream);
     }
 
+    /**
+     * This method loads a (.wav) file into a WAVData object via a read-only memory mapping of the file.
+     * <p>
+     * The RIFF chunks are parsed directly from the mapped region.
+     * If the samples already match the native byte order, {@link WAVData#data} is a slice of the mapping,
+     * i.e. no intermediate copy is made and the pages are only read once by <code>alBufferData</code>.
+     * Otherwise the samples are byte swapped into a new direct buffer.
+     * </p>
+     * <p>
+     * The mapping stays valid after this method returns and is released once {@link WAVData#data} is garbage collected.
+     * </p>
+     *
+     * @param filename The name of the (.wav) file
+     *
+     * @return a WAVData object containing the audio data
+     *
+     * @throws ALException if the format of the audio if not supported.
+     * @throws IOException If the file can no be found or some other IO error
+     *                     occurs
+     */
+    public static WAVData loadFromFileMapped(final String filename) throws ALException, IOException {
+        final RandomAccessFile file = new RandomAccessFile(filename, "r");
+        try {
+            final FileChannel channel = file.getChannel();
+            final MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final Header h = readHeader(new BufferReader(map));
+            final int alFormat = h.getALFormat();
+            final int dataLength = h.getAlignedDataLength(map.remaining());
+            map.limit(map.position() + dataLength);
+            ByteBuffer data = map.slice();
+            if( !h.isPCM() ) {
+                return new WAVData(data, alFormat, dataLength, h.sampleRate, false, h.getSamplesPerBlock());
+            }
+            final PCMUtil.Format sampleFormat = h.getSampleFormat();
+            if( 1 < sampleFormat.bytes && ByteOrder.nativeOrder() != h.byteOrder() ) {
+                final ByteBuffer swapped = Buffers.newDirectByteBuffer(dataLength);
+                data.order(h.byteOrder());
+                PCMUtil.convert(data, sampleFormat, swapped, sampleFormat, dataLength / sampleFormat.bytes);
+                data = swapped;
+            }
+            return new WAVData(data, alFormat, dataLength, h.sampleRate, false, 0, h.getAudioFormat());
+        } finally {
+            file.close();
+        }
+    }
+
 	private static final int RIFF = 0x52494646;
     private static final int RIFX = 0x52494658;
     private static final int WAVE = 0x57415645;
@@ -89,84 +159,366 @@ public class WAVLoader {
     private static final int FMT  = 0x666D7420;
     private static final int DATA = 0x64617461;
 
+    /** Compression code of linear PCM */
+    static final int WAVE_FORMAT_PCM = 0x0001;
+    /** Compression code of IEEE float */
+    static final int WAVE_FORMAT_IEEE_FLOAT = 0x0003;
+    /** Compression code of WAVE_FORMAT_EXTENSIBLE, the actual code is given by the sub-format */
+    static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+    /** Compression code of Microsoft ADPCM */
+    static final int WAVE_FORMAT_ADPCM = 0x0002;
+    /** Compression code of G.711 A-law */
+    static final int WAVE_FORMAT_ALAW = 0x0006;
+    /** Compression code of G.711 &mu;-law */
+    static final int WAVE_FORMAT_MULAW = 0x0007;
+    /** Compression code of IMA ADPCM */
+    static final int WAVE_FORMAT_IMA_ADPCM = 0x0011;
+
+    /** RIFF/WAVE header values up to the data chunk. */
+    static final class Header {
+        boolean bigEndian;
+        int compressionCode;
+        int channels;
+        int sampleRate;
+        /** Block size in bytes, i.e. bytes per sample frame for PCM or bytes per compressed block for ADPCM. */
+        int blockAlignment;
+        int bitsPerSample;
+        /** Sample frames per compressed block as given by the fmt chunk extension, zero if not given. */
+        int samplesPerBlock;
+        /** True if given as {@link WAVLoader#WAVE_FORMAT_EXTENSIBLE}, {@link #compressionCode} holds the sub-format. */
+        boolean extensible;
+        /** Valid bits per sample of {@link #extensible}, otherwise {@link #bitsPerSample}. */
+        int validBitsPerSample;
+        /** Speaker position mask of {@link #extensible}, zero if not given. */
+        int channelMask;
+        /** Length of the data chunk in bytes, the data chunk starts at the reader's position. */
+        int dataLength;
+
+        ByteOrder byteOrder() { return bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN; }
+
+        /** Returns true if the samples are uncompressed integer or floating point PCM. */
+        boolean isPCM() {
+            return WAVE_FORMAT_PCM == compressionCode || WAVE_FORMAT_IEEE_FLOAT == compressionCode;
+        }
+
+        /** Returns the sample format if {@link #isPCM()} and supported, otherwise null. */
+        PCMUtil.Format getSampleFormat() {
+            if( WAVE_FORMAT_PCM == compressionCode ) {
+                return PCMUtil.Format.of(bitsPerSample, 8 != bitsPerSample, true);
+            } else if( WAVE_FORMAT_IEEE_FLOAT == compressionCode ) {
+                return PCMUtil.Format.of(bitsPerSample, true, false);
+            }
+            return null;
+        }
+
+        /** Returns the {@link AudioFormat} of the samples in native byte order if {@link #isPCM()}, otherwise null. */
+        AudioFormat getAudioFormat() {
+            return isPCM() ? WAVData.getAudioFormat(sampleRate, bitsPerSample, channels, WAVE_FORMAT_PCM == compressionCode) : null;
+        }
+
+        /** Returns true if the samples are compressed in blocks of {@link #blockAlignment} bytes, i.e. ADPCM. */
+        boolean isBlockCompressed() {
+            return WAVE_FORMAT_ADPCM == compressionCode || WAVE_FORMAT_IMA_ADPCM == compressionCode;
+        }
+
+        /**
+         * Returns the sample frames per compressed block for <code>AL_UNPACK_BLOCK_ALIGNMENT_SOFT</code>,
+         * derived from {@link #blockAlignment} if not given by the fmt chunk, or zero if not {@link #isBlockCompressed()}.
+         */
+        int getSamplesPerBlock() {
+            if( 0 < samplesPerBlock ) {
+                return samplesPerBlock;
+            }
+            switch( compressionCode ) {
+                case WAVE_FORMAT_IMA_ADPCM: // 4 byte header per channel incl. the first sample
+                    return ( blockAlignment - 4 * channels ) * 2 / channels + 1;
+                case WAVE_FORMAT_ADPCM: // 7 byte header per channel incl. the first two samples
+                    return ( blockAlignment - 7 * channels ) * 2 / channels + 2;
+                default:
+                    return 0;
+            }
+        }
+
+        /** Returns the data length truncated to whole blocks. */
+        int getAlignedDataLength(final int available) {
+            final int len = Math.min(dataLength, available);
+            return 0 < blockAlignment ? len - len % blockAlignment : len;
+        }
+
+        /**
+         * Returns the OpenAL format of the data.
+         * @throws ALException if the compression code or its channel count is not supported
+         */
+        int getALFormat() throws ALException {
+            if( 0 != channelMask && !isChannelMaskSupported(channels, channelMask) ) {
+                throw new ALException("Unsupported channel mask 0x"+Integer.toHexString(channelMask)+" for "+channels+" channels");
+            }
+            switch( compressionCode ) {
+                case WAVE_FORMAT_PCM:
+                    return WAVData.getALFormat(channels, bitsPerSample, true);
+                case WAVE_FORMAT_IEEE_FLOAT:
+                    return WAVData.getALFormat(channels, bitsPerSample, false);
+                case WAVE_FORMAT_IMA_ADPCM:
+                    if( 1 == channels ) {
+                        return ALExtConstants.AL_FORMAT_MONO_IMA4;
+                    } else if( 2 == channels ) {
+                        return ALExtConstants.AL_FORMAT_STEREO_IMA4;
+                    }
+                    break;
+                case WAVE_FORMAT_ADPCM:
+                    if( 1 == channels ) {
+                        return ALExtConstants.AL_FORMAT_MONO_MSADPCM_SOFT;
+                    } else if( 2 == channels ) {
+                        return ALExtConstants.AL_FORMAT_STEREO_MSADPCM_SOFT;
+                    }
+                    break;
+                case WAVE_FORMAT_MULAW:
+                    if( 8 != bitsPerSample ) {
+                        break;
+                    } else if( 1 == channels ) {
+                        return ALExtConstants.AL_FORMAT_MONO_MULAW_EXT;
+                    } else if( 2 == channels ) {
+                        return ALExtConstants.AL_FORMAT_STEREO_MULAW_EXT;
+                    }
+                    break;
+                case WAVE_FORMAT_ALAW:
+                    if( 8 != bitsPerSample ) {
+                        break;
+                    } else if( 1 == channels ) {
+                        return ALExtConstants.AL_FORMAT_MONO_ALAW_EXT;
+                    } else if( 2 == channels ) {
+                        return ALExtConstants.AL_FORMAT_STEREO_ALAW_EXT;
+                    }
+                    break;
+                default:
+                    throw new ALException("Unsupported WAV compression code 0x"+Integer.toHexString(compressionCode));
+            }
+            throw new ALException("Unsupported "+channels+" channels, "+bitsPerSample+" bits for WAV compression code 0x"+Integer.toHexString(compressionCode));
+        }
+    }
+
+    /**
+     * Returns true if the given WAVE_FORMAT_EXTENSIBLE speaker position mask matches the OpenAL channel order
+     * of the default channel layout for the given channel count, i.e. mono, stereo, quad, 5.1, 6.1 or 7.1.
+     */
+    static boolean isChannelMaskSupported(final int channels, final int channelMask) {
+        switch( channels ) {
+            case 1: return 1 == Integer.bitCount(channelMask); // any single speaker
+            case 2: return 0x3 == channelMask;   // FL FR
+            case 4: return 0x33 == channelMask;  // FL FR BL BR
+            case 6: return 0x3F == channelMask || 0x60F == channelMask; // FL FR FC LFE, BL BR or SL SR
+            case 7: return 0x70F == channelMask; // FL FR FC LFE BC SL SR
+            case 8: return 0x63F == channelMask; // FL FR FC LFE BL BR SL SR
+            default: return false;
+        }
+    }
+
+    /** Source of the RIFF/WAVE header fields. */
+    interface Reader {
+        long readUInt32(boolean bigEndian) throws IOException;
+        int readUInt16(boolean bigEndian) throws IOException;
+        void skip(long byteCount) throws IOException;
+    }
+
+    private static final class BitstreamReader implements Reader {
+        final Bitstream<?> bs;
+        BitstreamReader(final Bitstream<?> bs) { this.bs = bs; }
+        @Override
+        public long readUInt32(final boolean bigEndian) throws IOException { return bs.readUInt32(bigEndian); }
+        @Override
+        public int readUInt16(final boolean bigEndian) throws IOException { return bs.readUInt16(bigEndian); }
+        @Override
+        public void skip(final long byteCount) throws IOException { bs.skip( 8 * byteCount ); }
+        @Override
+        public String toString() { return bs.toString(); }
+    }
+
+    private static final class BufferReader implements Reader {
+        final ByteBuffer bb;
+        BufferReader(final ByteBuffer bb) { this.bb = bb; }
+        private void check(final long byteCount) throws IOException {
+            if( byteCount > bb.remaining() ) {
+                throw new IOException("Reached end of buffer, requested "+byteCount+" bytes, "+this);
+            }
+        }
+        @Override
+        public long readUInt32(final boolean bigEndian) throws IOException {
+            check(4);
+            final int v = bb.order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN).getInt();
+            return v & 0xffffffffL;
+        }
+        @Override
+        public int readUInt16(final boolean bigEndian) throws IOException {
+            check(2);
+            final short v = bb.order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN).getShort();
+            return v & 0xffff;
+        }
+        @Override
+        public void skip(final long byteCount) throws IOException {
+            check(byteCount);
+            bb.position(bb.position() + (int)byteCount);
+        }
+        @Override
+        public String toString() { return "BufferReader["+bb+"]"; }
+    }
+
+    /**
+     * Parses the RIFF/WAVE header up to the start of the data chunk.
+     * <p>
+     * references:
+     * http://www.sonicspot.com/guide/wavefiles.html
+     * https://ccrma.stanford.edu/courses/422/projects/WaveFormat/
+     * http://stackoverflow.com/questions/1111539/is-the-endianness-of-format-params-guaranteed-in-riff-wav-files
+     * http://sharkysoft.com/archive/lava/docs/javadocs/lava/riff/wave/doc-files/riffwave-content.htm
+     * </p>
+     */
+    static Header readHeader(final Reader r) throws ALException, IOException {
+        final Header h = new Header();
+        final long riffMarker = r.readUInt32(true /* bigEndian */);
+        if ( RIFF == riffMarker ) {
+            h.bigEndian = false;
+        } else if( RIFX == riffMarker ) {
+            h.bigEndian = true;
+        } else {
+            throw new ALException("Invalid RIF header: 0x"+Integer.toHexString((int)riffMarker)+", "+r);
+        }
+        final boolean bigEndian = h.bigEndian; // FIXME: for all data incl. signatures ?
+        @SuppressWarnings("unused")
+        final long riffLen = r.readUInt32(bigEndian);
+        final long wavMarker = r.readUInt32(true /* bigEndian */);
+        if ( WAVE != wavMarker ) {
+            throw new ALException("Invalid WAV header: 0x"+Integer.toHexString((int)wavMarker)+", "+r);
+        }
+        boolean foundFmt = false;
+        while (true) {
+            final int chunkId = (int)r.readUInt32(true /* bigEndian */);
+            final long chunkLength = r.readUInt32(bigEndian);
+            switch (chunkId) {
+            case FMT:
+                foundFmt = true;
+                h.compressionCode = r.readUInt16(bigEndian);
+                h.channels = r.readUInt16(bigEndian);
+                h.sampleRate = Bitstream.uint32LongToInt(r.readUInt32(bigEndian));
+                @SuppressWarnings("unused")
+                final long bytesPerSeconds = r.readUInt32(bigEndian);
+                h.blockAlignment = r.readUInt16(bigEndian);
+                h.bitsPerSample = r.readUInt16(bigEndian);
+                h.validBitsPerSample = h.bitsPerSample;
+                long fmtRead = 16;
+                if( WAVE_FORMAT_EXTENSIBLE == h.compressionCode ) {
+                    if( chunkLength < 40 ) {
+                        throw new ALException("WAVE_FORMAT_EXTENSIBLE fmt chunk too short: "+chunkLength+", "+r);
+                    }
+                    final int extSize = r.readUInt16(bigEndian);
+                    if( extSize < 22 ) {
+                        throw new ALException("WAVE_FORMAT_EXTENSIBLE extension too short: "+extSize+", "+r);
+                    }
+                    h.extensible = true;
+                    h.validBitsPerSample = r.readUInt16(bigEndian);
+                    h.channelMask = (int) r.readUInt32(bigEndian);
+                    // first two bytes of the sub-format GUID hold the actual compression code
+                    h.compressionCode = r.readUInt16(bigEndian);
+                    fmtRead += 10;
+                    if( 0 == h.validBitsPerSample ) {
+                        h.validBitsPerSample = h.bitsPerSample;
+                    } else if( h.validBitsPerSample > h.bitsPerSample ) {
+                        throw new ALException("Valid bits "+h.validBitsPerSample+" exceed container of "+h.bitsPerSample+" bits, "+r);
+                    }
+                } else if( chunkLength >= 20 && h.isBlockCompressed() ) {
+                    final int extSize = r.readUInt16(bigEndian);
+                    fmtRead += 2;
+                    if( extSize >= 2 ) {
+                        h.samplesPerBlock = r.readUInt16(bigEndian);
+                        fmtRead += 2;
+                    }
+                }
+                r.skip( chunkLength - fmtRead );
+                break;
+            case FACT:
+                // FIXME: compression format dependent data?
+                r.skip( chunkLength );
+                break;
+            case DATA:
+                if (!foundFmt) {
+                    throw new ALException("WAV fmt chunks must be before data chunks: "+r);
+                }
+                h.dataLength = Bitstream.uint32LongToInt(chunkLength);
+                return h;
+            default:
+                // unrecognized chunk, skips it
+                r.skip( chunkLength );
+            }
+        }
+    }
+
+    /**
+     * Opens a (.wav) stream for chunked streaming, parsing its header only.
+     * <p>
+     * In contrast to {@link #loadFromStream(InputStream)}, the samples are not read upfront
+     * but on demand by the returned {@link WAVStream}, one chunk of {@code frameDuration} at a time.
+     * </p>
+     *
+     * @param stream An InputStream for the .WAV stream, closed via {@link WAVStream#close()}
+     * @param frameDuration duration of one chunk in milliseconds
+     *
+     * @return a WAVStream positioned at the first sample
+     *
+     * @throws ALException if the format of the audio if not supported.
+     * @throws IOException If some IO error occurs
+     */
+    public static WAVStream openStream(final InputStream stream, final int frameDuration) throws ALException, IOException {
+        final Bitstream.ByteInputStream bis = new Bitstream.ByteInputStream(stream);
+        final Bitstream<InputStream> bs = new Bitstream<InputStream>(bis, false);
+        bs.setThrowIOExceptionOnEOF(true);
+        boolean ok = false;
+        try {
+            final WAVStream res = new WAVStream(bs, readHeader(new BitstreamReader(bs)), frameDuration);
+            ok = true;
+            return res;
+        } finally {
+            if( !ok ) {
+                bs.close();
+            }
+        }
+    }
+
+    /**
+     * Opens a (.wav) file for chunked streaming, see {@link #openStream(InputStream, int)}.
+     *
+     * @param filename The name of the (.wav) file
+     * @param frameDuration duration of one chunk in milliseconds
+     *
+     * @return a WAVStream positioned at the first sample
+     *
+     * @throws ALException if the format of the audio if not supported.
+     * @throws IOException If the file can no be found or some other IO error
+     *                     occurs
+     */
+    public static WAVStream openStream(final String filename, final int frameDuration) throws ALException, IOException {
+        return openStream(new FileInputStream(new File(filename)), frameDuration);
+    }
+
     private static WAVData loadFromStreamImpl(final InputStream aIn) throws ALException, IOException {
-    	/**
-    	 * references:
-    	 * http://www.sonicspot.com/guide/wavefiles.html
-    	 * https://ccrma.stanford.edu/courses/422/projects/WaveFormat/
-    	 * http://stackoverflow.com/questions/1111539/is-the-endianness-of-format-params-guaranteed-in-riff-wav-files
-    	 * http://sharkysoft.com/archive/lava/docs/javadocs/lava/riff/wave/doc-files/riffwave-content.htm
-    	 */
         final Bitstream.ByteInputStream bis = new Bitstream.ByteInputStream(aIn);
         final Bitstream<InputStream> bs = new Bitstream<InputStream>(bis, false);
         bs.setThrowIOExceptionOnEOF(true);
-		try {
-		    final boolean bigEndian; // FIXME: for all data incl. signatures ?
-
-		    final long riffMarker = bs.readUInt32(true /* bigEndian */);
-		    if ( RIFF == riffMarker ) {
-			    bigEndian = false;
-			} else if( RIFX == riffMarker ) {
-                bigEndian = true;
-			} else {
-			    throw new ALException("Invalid RIF header: 0x"+Integer.toHexString((int)riffMarker)+", "+bs);
-			}
-            final long riffLenL = bs.readUInt32(bigEndian);
-			final int riffLenI = Bitstream.uint32LongToInt(riffLenL);
-            final long wavMarker = bs.readUInt32(true /* bigEndian */);
-			if ( WAVE != wavMarker ) {
-                throw new ALException("Invalid WAV header: 0x"+Integer.toHexString((int)wavMarker)+", "+bs);
-			}
-			boolean foundFmt = false;
-		    boolean foundData = false;
-
-		    short sChannels = 0, sSampleSizeInBits = 0;
-		    long sampleRate = 0;
-		    long chunkLength = 0;
-            int dataLength = 0;
-
-			while (!foundData) {
-				final int chunkId = (int)bs.readUInt32(true /* bigEndian */);
-				chunkLength = bs.readUInt32(bigEndian);
-				switch (chunkId) {
-				case FMT:
-					foundFmt = true;
-					@SuppressWarnings("unused")
-                    final int compressionCode = bs.readUInt16(bigEndian);
-					sChannels = (short)bs.readUInt16(bigEndian);
-					sampleRate = bs.readUInt32(bigEndian);
-					@SuppressWarnings("unused")
-                    final long bytesPerSeconds = bs.readUInt32(bigEndian);
-					@SuppressWarnings("unused")
-                    final short blockAlignment = (short) bs.readUInt16(bigEndian);
-					sSampleSizeInBits = (short) bs.readUInt16(bigEndian);
-					bs.skip( 8 * ( chunkLength - 16 ) );
-					break;
-				case FACT:
-					// FIXME: compression format dependent data?
-                    bs.skip( 8 * chunkLength );
-					break;
-				case DATA:
-					if (!foundFmt) {
-						throw new ALException("WAV fmt chunks must be before data chunks: "+bs);
-					}
-					foundData = true;
-                    dataLength = Bitstream.uint32LongToInt(chunkLength);
-					break;
-				default:
-					// unrecognized chunk, skips it
-                    bs.skip( 8 * chunkLength );
-				}
-			}
-
-			final int channels = sChannels;
-			final int sampleSizeInBits = sSampleSizeInBits;
-			final float fSampleRate = sampleRate;
-			return WAVData.loadFromStream(bs.getSubStream(), dataLength, channels, sampleSizeInBits,
-					Math.round(fSampleRate), bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN, false);
-		} finally {
-			bs.close();
-		}
+        try {
+            final Header h = readHeader(new BitstreamReader(bs));
+            final int alFormat = h.getALFormat();
+            final ByteBuffer data = IOUtil.copyStreamChunk2ByteBuffer(bs.getSubStream(), 0, h.dataLength);
+            data.limit(h.getAlignedDataLength(data.limit()));
+            if( !h.isPCM() ) {
+                // kept compressed, ADPCM uploaded with AL_UNPACK_BLOCK_ALIGNMENT_SOFT
+                return new WAVData(data.slice(), alFormat, data.remaining(), h.sampleRate, false, h.getSamplesPerBlock());
+            }
+            final PCMUtil.Format sampleFormat = h.getSampleFormat();
+            if( 1 < sampleFormat.bytes && ByteOrder.nativeOrder() != h.byteOrder() ) {
+                PCMUtil.swapBytes(data, sampleFormat.bytes, data.remaining() / sampleFormat.bytes);
+            }
+            return new WAVData(data.slice(), alFormat, data.remaining(), h.sampleRate, false, 0, h.getAudioFormat());
+        } finally {
+            bs.close();
+        }
     }
 
 }
@@ -0,0 +1,331 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.common.util.Bitstream;
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Source;
+
+/**
+ * Streaming (.wav) reader yielding fixed duration PCM chunks on demand,
+ * created via {@link WAVLoader#openStream(InputStream, int)}.
+ * <p>
+ * The RIFF/WAVE header is parsed once when opened, the samples are read
+ * one chunk of {@link #getFrameDuration()} at a time into a single reused direct buffer,
+ * converted to native byte order. Hence memory usage is bounded by one chunk
+ * plus the OpenAL buffers queued by the consumer, independent of the stream's length,
+ * and the first chunk is available after reading the header and one chunk.
+ * </p>
+ * <p>
+ * Chunks can be consumed directly via {@link #readChunk()}, enqueued into an {@link ALAudioSink}
+ * via {@link #enqueue(ALAudioSink, int)} or streamed through a {@link Source} buffer queue
+ * via {@link #prime(Source, Buffer[])} and {@link #update(Source)}.
+ * </p>
+ * <p>
+ * Instance is not thread safe.
+ * </p>
+ */
+public class WAVStream implements Closeable {
+    private final Bitstream<InputStream> bs;
+    private final InputStream in;
+    private final WAVLoader.Header header;
+    private final int alFormat;
+    private final int frameDuration;
+    private final int bytesPerFrame;
+    private final ByteBuffer chunk;
+    private final byte[] chunkArray;
+    private int[] unqueueScratch = new int[0];
+    /** Buffers of the last {@link #prime(Source, Buffer[])}, to invalidate their shadow state on refill. */
+    private Buffer[] primedBuffers = new Buffer[0];
+    /** True if {@link #chunk} has been read but not yet accepted by {@link #enqueue(ALAudioSink, int)}. */
+    private boolean chunkPending;
+    private int bytesRemaining;
+    private long bytesRead;
+    private int chunkPTS;
+
+    WAVStream(final Bitstream<InputStream> bs, final WAVLoader.Header header, final int frameDuration) throws ALException {
+        if( !header.isPCM() ) {
+            throw new ALException("Unsupported WAV compression code 0x"+Integer.toHexString(header.compressionCode)+" for streaming");
+        }
+        this.alFormat = header.getALFormat();
+        if( ALConstants.AL_NONE == alFormat ) {
+            throw new ALException("WAV sample format of "+header.bitsPerSample+" bits has no OpenAL buffer format for streaming");
+        }
+        this.bs = bs;
+        this.in = bs.getSubStream();
+        this.header = header;
+        this.frameDuration = Math.max(1, frameDuration);
+        this.bytesPerFrame = 0 < header.blockAlignment ? header.blockAlignment : header.channels * ( header.bitsPerSample >> 3 );
+        final int framesPerChunk = Math.max(1, header.sampleRate * this.frameDuration / 1000);
+        this.chunkArray = new byte[framesPerChunk * bytesPerFrame];
+        this.chunk = Buffers.newDirectByteBuffer(chunkArray.length);
+        this.bytesRemaining = header.dataLength;
+        this.bytesRead = 0;
+        this.chunkPTS = 0;
+    }
+
+    /** Returns the number of channels. */
+    public final int getChannels() { return header.channels; }
+
+    /** Returns the sample rate in Hz. */
+    public final int getSampleRate() { return header.sampleRate; }
+
+    /** Returns the bits per sample. */
+    public final int getBitsPerSample() { return header.bitsPerSample; }
+
+    /** Returns the OpenAL format of the chunks, e.g. <code>AL_FORMAT_STEREO16</code> or <code>AL_FORMAT_STEREO_FLOAT32</code>. */
+    public final int getALFormat() { return alFormat; }
+
+    /** Returns the {@link AudioFormat} of the chunks in native byte order, suitable for {@link ALAudioSink#init(AudioFormat, int, int)}. */
+    public final AudioFormat getAudioFormat() {
+        return header.getAudioFormat();
+    }
+
+    /** Returns the duration of one chunk in milliseconds. */
+    public final int getFrameDuration() { return frameDuration; }
+
+    /** Returns the byte size of one full chunk. */
+    public final int getChunkSize() { return chunk.capacity(); }
+
+    /** Returns the byte size of the data chunk as declared in the header. */
+    public final int getDataLength() { return header.dataLength; }
+
+    /** Returns the duration of the stream in milliseconds as declared in the header. */
+    public final int getDuration() { return (int) ( 1000L * ( header.dataLength / bytesPerFrame ) / header.sampleRate ); }
+
+    /** Returns the number of sample bytes read so far. */
+    public final long getBytesRead() { return bytesRead; }
+
+    /** Returns the presentation time stamp in milliseconds of the chunk last returned by {@link #readChunk()}. */
+    public final int getChunkPTS() { return chunkPTS; }
+
+    /** Returns true if all samples have been read and no chunk rejected by {@link #enqueue(ALAudioSink, int)} is pending. */
+    public final boolean isEOS() { return 0 >= bytesRemaining && !chunkPending; }
+
+    /**
+     * Reads the next chunk of up to {@link #getFrameDuration()} in native byte order.
+     * <p>
+     * The returned buffer is reused by the next call, its position is zero and its limit the chunk's byte size,
+     * always a multiple of whole sample frames.
+     * </p>
+     * <p>
+     * A chunk pending after being rejected by {@link #enqueue(ALAudioSink, int)} is dropped.
+     * </p>
+     * @return the chunk or null if the end of the stream has been reached.
+     * @throws IOException on IO error
+     */
+    public final ByteBuffer readChunk() throws IOException {
+        chunkPending = false;
+        final int frameSize = bytesPerFrame;
+        int n = 0;
+        final int max = Math.min(chunkArray.length, bytesRemaining);
+        while( n < max ) {
+            final int r = in.read(chunkArray, n, max - n);
+            if( 0 > r ) {
+                bytesRemaining = 0; // truncated stream
+                break;
+            }
+            n += r;
+        }
+        n -= n % frameSize;
+        if( 0 >= n ) {
+            bytesRemaining = 0;
+            return null;
+        }
+        chunkPTS = (int) ( 1000L * ( bytesRead / frameSize ) / header.sampleRate );
+        bytesRemaining -= n;
+        bytesRead += n;
+        chunk.clear();
+        chunk.put(chunkArray, 0, n);
+        chunk.flip();
+        final int sampleBytes = header.bitsPerSample >> 3;
+        if( 1 < sampleBytes && ByteOrder.nativeOrder() != header.byteOrder() ) {
+            PCMUtil.swapBytes(chunk, sampleBytes, n / sampleBytes);
+        }
+        return chunk;
+    }
+
+    /**
+     * Enqueues up to {@code maxFrames} chunks into the given sink, which must have been initialized
+     * with {@link #getAudioFormat()}, e.g. via {@link #init(ALAudioSink, int)}.
+     * <p>
+     * {@link ALAudioSink#enqueueData(int, ByteBuffer, int)} copies the data, hence only one chunk is held by this instance.
+     * </p>
+     * <p>
+     * A chunk rejected by the sink, e.g. if its queue is full, is kept and offered again on the next call.
+     * </p>
+     * @param sink the sink
+     * @param maxFrames maximum number of chunks to enqueue
+     * @return number of enqueued chunks, zero at the end of the stream
+     * @throws IOException on IO error
+     */
+    public final int enqueue(final ALAudioSink sink, final int maxFrames) throws IOException {
+        int count = 0;
+        while( count < maxFrames ) {
+            final ByteBuffer data;
+            if( chunkPending ) {
+                data = chunk;
+                data.rewind();
+            } else {
+                data = readChunk();
+                if( null == data ) {
+                    break;
+                }
+            }
+            if( null == sink.enqueueData(chunkPTS, data, data.remaining()) ) {
+                chunkPending = true;
+                break;
+            }
+            chunkPending = false;
+            ++count;
+        }
+        return count;
+    }
+
+    /**
+     * Initializes the given sink with {@link #getAudioFormat()} and {@link #getFrameDuration()}.
+     * @param sink the sink
+     * @param queueSize queue size in milliseconds, see {@link ALAudioSink#init(AudioFormat, int, int)}
+     * @return true if successful
+     */
+    public final boolean init(final ALAudioSink sink, final int queueSize) {
+        return sink.init(getAudioFormat(), frameDuration, queueSize);
+    }
+
+    /** Uploads the next chunk to the given OpenAL buffer, returns false at the end of the stream. */
+    private boolean fill(final int alBufferID) throws ALException, IOException {
+        final ByteBuffer data = readChunk();
+        if( null == data ) {
+            return false;
+        }
+        AudioSystem3D.getAL().alBufferData(alBufferID, alFormat, data, data.remaining(), header.sampleRate);
+        AudioSystem3D.checkALError("alBufferData", true, true);
+        return true;
+    }
+
+    /** Invalidates the shadow state of the {@link #prime(Source, Buffer[]) primed} buffer with the given OpenAL buffer ID. */
+    private void invalidateShadowState(final int alBufferID) {
+        for(final Buffer b : primedBuffers) {
+            if( b.getID() == alBufferID ) {
+                b.invalidateShadowState();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fills the given buffers with the next chunks and queues them on the given source,
+     * which is not started.
+     * <p>
+     * The given buffers are owned by the caller, their count bounds the amount of queued data.
+     * </p>
+     * @param source the source to queue the buffers on
+     * @param buffers the buffers to fill and queue
+     * @return number of queued buffers, less than given at the end of the stream
+     * @throws ALException on AL error
+     * @throws IOException on IO error
+     */
+    public final int prime(final Source source, final Buffer[] buffers) throws ALException, IOException {
+        final int[] ids = new int[buffers.length];
+        primedBuffers = buffers;
+        int count = 0;
+        for(int i=0; i<buffers.length; ++i) {
+            final Buffer b = buffers[i];
+            if( !fill(b.getID()) ) {
+                break;
+            }
+            b.invalidateShadowState();
+            ids[count++] = b.getID();
+        }
+        if( 0 < count ) {
+            source.queueBuffers(ids, 0, count);
+        }
+        return count;
+    }
+
+    /**
+     * Unqueues all processed buffers of the given source, refills them with the next chunks
+     * and queues them again, to be called periodically while playing.
+     * <p>
+     * If the source stopped due to an underrun while buffers are queued, it is restarted.
+     * </p>
+     * @param source the source previously {@link #prime(Source, Buffer[]) primed}
+     * @return number of requeued buffers
+     * @throws ALException on AL error
+     * @throws IOException on IO error
+     */
+    public final int update(final Source source) throws ALException, IOException {
+        final int processed = source.getBuffersProcessed();
+        if( 0 >= processed ) {
+            return 0;
+        }
+        if( unqueueScratch.length < processed ) {
+            unqueueScratch = new int[processed];
+        }
+        final int[] ids = unqueueScratch;
+        source.unqueueBuffers(ids, 0, processed);
+        int count = 0;
+        for(int i=0; i<processed; ++i) {
+            if( !fill(ids[i]) ) {
+                break;
+            }
+            invalidateShadowState(ids[i]);
+            ids[count++] = ids[i];
+        }
+        if( 0 < count ) {
+            source.queueBuffers(ids, 0, count);
+            if( ALConstants.AL_STOPPED == source.getState() ) {
+                source.play();
+            }
+        }
+        return count;
+    }
+
+    /** Closes the underlying stream. */
+    @Override
+    public void close() throws IOException {
+        bs.close();
+    }
+
+    @Override
+    public String toString() {
+        return "WAVStream[ch "+header.channels+", "+header.bitsPerSample+" bits, "+header.sampleRate+" Hz, frame "+frameDuration+
+               " ms, chunk "+chunk.capacity()+" bytes, read "+bytesRead+"/"+header.dataLength+" bytes]";
+    }
+}
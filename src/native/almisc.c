@@ -60,3 +60,50 @@ Java_jogamp_openal_ALCImpl_dispatch_1alcGetStringImpl1(JNIEnv *env, jobject _unu
   return (*env)->NewDirectByteBuffer(env, (void*)_res, strlen_alc(_device_ptr, param, _res));
 }
 
+
+/*   Java->C glue code:
+ *   Java package: jogamp.openal.ALImpl
+ *    Java method: void dispatch_alBulkSourceUpdate0(int count, IntBuffer sourceIDs, FloatBuffer positions, FloatBuffer velocities, FloatBuffer gains)
+ *     C function: void alSource3f(ALuint source, ALenum param, ALfloat value1, ALfloat value2, ALfloat value3);
+ *                 void alSourcef(ALuint source, ALenum param, ALfloat value);
+ */
+JNIEXPORT void JNICALL
+Java_jogamp_openal_ALImpl_dispatch_1alBulkSourceUpdate0(JNIEnv *env, jclass _unused, jint count,
+                                                        jobject sourceIDs, jint sourceIDs_byte_offset,
+                                                        jobject positions, jint positions_byte_offset,
+                                                        jobject velocities, jint velocities_byte_offset,
+                                                        jobject gains, jint gains_byte_offset,
+                                                        jlong procAddress3f, jlong procAddressf) {
+  LPALSOURCE3F ptr_alSource3f = (LPALSOURCE3F) (intptr_t) procAddress3f;
+  LPALSOURCEF ptr_alSourcef = (LPALSOURCEF) (intptr_t) procAddressf;
+  const ALuint * _ids_ptr = NULL;
+  const ALfloat * _pos_ptr = NULL;
+  const ALfloat * _vel_ptr = NULL;
+  const ALfloat * _gain_ptr = NULL;
+  jint i;
+  assert(ptr_alSource3f != NULL);
+  assert(ptr_alSourcef != NULL);
+  if ( NULL == sourceIDs || NULL == positions ) {
+    return;
+  }
+  _ids_ptr = (const ALuint *) (((char*) (*env)->GetDirectBufferAddress(env, sourceIDs)) + sourceIDs_byte_offset);
+  _pos_ptr = (const ALfloat *) (((char*) (*env)->GetDirectBufferAddress(env, positions)) + positions_byte_offset);
+  if ( NULL != velocities ) {
+    _vel_ptr = (const ALfloat *) (((char*) (*env)->GetDirectBufferAddress(env, velocities)) + velocities_byte_offset);
+  }
+  if ( NULL != gains ) {
+    _gain_ptr = (const ALfloat *) (((char*) (*env)->GetDirectBufferAddress(env, gains)) + gains_byte_offset);
+  }
+  for(i = 0; i < count; i++) {
+    const ALuint id = _ids_ptr[i];
+    const ALfloat * p = _pos_ptr + 3*i;
+    (* ptr_alSource3f) (id, AL_POSITION, p[0], p[1], p[2]);
+    if ( NULL != _vel_ptr ) {
+      const ALfloat * v = _vel_ptr + 3*i;
+      (* ptr_alSource3f) (id, AL_VELOCITY, v[0], v[1], v[2]);
+    }
+    if ( NULL != _gain_ptr ) {
+      (* ptr_alSourcef) (id, AL_GAIN, _gain_ptr[i]);
+    }
+  }
+}
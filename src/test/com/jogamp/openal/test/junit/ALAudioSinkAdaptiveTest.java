@@ -0,0 +1,128 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALAudioSink;
+
+/**
+ * Testing {@link ALAudioSink}'s adaptive queue, using a loopback device to drive the mixer deterministically.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ALAudioSinkAdaptiveTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int FRAME_DURATION = 10; // [ms]
+
+    @Test
+    public void test01UnderrunGrowShrink() throws InterruptedException {
+        if( !LoopbackUtil.isSinkAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final ALAudioSink sink = new ALAudioSink(device, LoopbackUtil.getAttributes(SAMPLE_RATE));
+        try {
+            sink.setUseSOFTEvents(false);
+            sink.setAdaptiveQueue(true, 2*FRAME_DURATION, 20*FRAME_DURATION);
+            sink.setAdaptiveIdleDuration(60000);
+            final AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true /* signed */,
+                                                       true /* fixed point */, false /* planar */, true /* littleEndian */);
+            Assert.assertTrue("Sink init failed: "+sink, sink.init(format, FRAME_DURATION, 2*FRAME_DURATION));
+            final float targetLatency0 = sink.getTargetLatency();
+            final int frameCount0 = sink.getFrameCount();
+            System.err.println("Initial: target "+(1000f*targetLatency0)+" ms, frames "+frameCount0);
+
+            final int frameSamples = SAMPLE_RATE * FRAME_DURATION / 1000;
+            final int frameBytes = frameSamples * 2;
+            final ByteBuffer frameData = Buffers.newDirectByteBuffer(frameBytes);
+            final ByteBuffer renderData = Buffers.newDirectByteBuffer(4 * frameSamples * 2 * 2); // stereo s16
+
+            // Run out of data, causing underruns which raise the target latency
+            int pts = 0;
+            sink.play();
+            for(int i=0; i<4; ++i) {
+                frameData.clear();
+                Assert.assertNotNull(sink.enqueueData(pts, frameData, frameBytes));
+                pts += FRAME_DURATION;
+                renderData.clear();
+                AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, 4 * frameSamples);
+            }
+            System.err.println("Underrun: "+sink.getUnderrunCount()+", target "+(1000f*sink.getTargetLatency())+" ms");
+            Assert.assertTrue("No underrun detected: "+sink, sink.getUnderrunCount() > 0);
+            Assert.assertTrue("Target latency not raised: "+sink, sink.getTargetLatency() > targetLatency0);
+
+            // Fill up to the raised target latency w/o rendering, grows the pool instead of waiting
+            final int fillFrames = (int) ( sink.getTargetLatency() * 1000f / FRAME_DURATION );
+            for(int i=0; i<fillFrames; ++i) {
+                frameData.clear();
+                Assert.assertNotNull(sink.enqueueData(pts, frameData, frameBytes));
+                pts += FRAME_DURATION;
+            }
+            System.err.println("Grown: "+sink.getGrowCount()+", frames "+sink.getFrameCount()+", queued "+(1000f*sink.getQueuedDuration())+" ms");
+            Assert.assertTrue("Pool not grown: "+sink, sink.getGrowCount() > 0);
+            Assert.assertTrue("Pool not grown: "+sink, sink.getFrameCount() > frameCount0);
+            Assert.assertEquals("Hard wait occurred: "+sink, 0, sink.getHardWaitCount());
+
+            // Idle: drain and shrink
+            sink.setAdaptiveIdleDuration(1);
+            final int frameCount1 = sink.getFrameCount();
+            final float targetLatency1 = sink.getTargetLatency();
+            for(int i=0; i<fillFrames && sink.getQueuedFrameCount() > 0; ++i) {
+                renderData.clear();
+                AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, frameSamples);
+                Thread.sleep(2);
+                sink.updateQueue();
+            }
+            System.err.println("Shrunk: "+sink.getShrinkCount()+", frames "+sink.getFrameCount()+", target "+(1000f*sink.getTargetLatency())+" ms");
+            Assert.assertTrue("Target latency not lowered: "+sink, sink.getTargetLatency() < targetLatency1);
+            Assert.assertTrue("Pool not shrunk: "+sink, sink.getShrinkCount() > 0);
+            Assert.assertTrue("Pool not shrunk: "+sink, sink.getFrameCount() < frameCount1);
+            Assert.assertTrue("Below minimum: "+sink, sink.getTargetLatency() >= 2*FRAME_DURATION/1000f - 0.0001f);
+            sink.flush();
+            Assert.assertEquals(sink.getFrameCount(), sink.getFreeFrameCount());
+        } finally {
+            sink.destroy();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(ALAudioSinkAdaptiveTest.class.getName());
+    }
+}
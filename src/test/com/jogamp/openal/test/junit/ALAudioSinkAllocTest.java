@@ -0,0 +1,120 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALAudioSink;
+
+/**
+ * Testing {@link ALAudioSink}'s steady-state streaming path to be allocation free,
+ * using a loopback device to drive the mixer deterministically.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ALAudioSinkAllocTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int FRAME_DURATION = 10; // [ms]
+    static final int WARMUP_FRAMES = 2000;
+    static final int TEST_FRAMES = 2000;
+
+    @Test
+    public void test01EnqueueDequeueAllocFree() {
+        if( !LoopbackUtil.isSinkAvailable() ) {
+            return;
+        }
+        final ThreadMXBean tmxb = ManagementFactory.getThreadMXBean();
+        if( !( tmxb instanceof com.sun.management.ThreadMXBean ) ||
+            !((com.sun.management.ThreadMXBean)tmxb).isThreadAllocatedMemorySupported() )
+        {
+            System.err.println("Thread allocated memory measurement not supported");
+            return;
+        }
+        final com.sun.management.ThreadMXBean tmx = (com.sun.management.ThreadMXBean)tmxb;
+        tmx.setThreadAllocatedMemoryEnabled(true);
+
+        final Device device = LoopbackUtil.openDevice();
+        final ALAudioSink sink = new ALAudioSink(device, LoopbackUtil.getAttributes(SAMPLE_RATE));
+        try {
+            // deterministic queue handling, events are delivered off-thread
+            sink.setUseSOFTEvents(false);
+            final AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true /* signed */,
+                                                       true /* fixed point */, false /* planar */, true /* littleEndian */);
+            Assert.assertTrue("Sink init failed: "+sink, sink.init(format, FRAME_DURATION, 8*FRAME_DURATION));
+            sink.play();
+
+            final int frameSamples = SAMPLE_RATE * FRAME_DURATION / 1000;
+            final int frameBytes = frameSamples * 2;
+            final ByteBuffer frameData = Buffers.newDirectByteBuffer(frameBytes);
+            final ByteBuffer renderData = Buffers.newDirectByteBuffer(frameSamples * 2 * 2); // stereo s16
+
+            int pts = 0;
+            for(int i=0; i<WARMUP_FRAMES; ++i, pts+=FRAME_DURATION) {
+                streamFrame(sink, device, pts, frameData, frameBytes, renderData, frameSamples);
+            }
+            final long threadId = Thread.currentThread().getId();
+            final long bytes0 = tmx.getThreadAllocatedBytes(threadId);
+            for(int i=0; i<TEST_FRAMES; ++i, pts+=FRAME_DURATION) {
+                streamFrame(sink, device, pts, frameData, frameBytes, renderData, frameSamples);
+            }
+            final long bytes1 = tmx.getThreadAllocatedBytes(threadId);
+            final long allocated = bytes1 - bytes0;
+            System.err.println("Allocated "+allocated+" bytes for "+TEST_FRAMES+" frames, "+((double)allocated/TEST_FRAMES)+" bytes/frame; "+sink.getPerfString());
+            // tolerate the measurement's own constant overhead, but not a per frame allocation
+            Assert.assertTrue("Allocated "+allocated+" bytes for "+TEST_FRAMES+" frames", allocated < TEST_FRAMES);
+        } finally {
+            sink.destroy();
+        }
+    }
+
+    private static void streamFrame(final ALAudioSink sink, final Device device, final int pts,
+                                    final ByteBuffer frameData, final int frameBytes,
+                                    final ByteBuffer renderData, final int frameSamples) {
+        frameData.clear();
+        Assert.assertNotNull(sink.enqueueData(pts, frameData, frameBytes));
+        renderData.clear();
+        AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, frameSamples);
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(ALAudioSinkAllocTest.class.getName());
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALAudioSink;
+import com.jogamp.openal.util.ALAudioSinkMetrics;
+
+/**
+ * Testing {@link ALAudioSinkMetrics} and its JMX registration per {@link ALAudioSink}.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ALAudioSinkMetricsTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int FRAME_DURATION = 10; // [ms]
+
+    @Test
+    public void test01Histogram() {
+        Assert.assertEquals(0, ALAudioSinkMetrics.getBucket(0));
+        Assert.assertEquals(1, ALAudioSinkMetrics.getBucket(1));
+        Assert.assertEquals(2, ALAudioSinkMetrics.getBucket(2));
+        Assert.assertEquals(2, ALAudioSinkMetrics.getBucket(3));
+        Assert.assertEquals(11, ALAudioSinkMetrics.getBucket(1024));
+        Assert.assertEquals(ALAudioSinkMetrics.HISTOGRAM_BUCKETS-1, ALAudioSinkMetrics.getBucket(Long.MAX_VALUE));
+
+        final long[] histo = new long[ALAudioSinkMetrics.HISTOGRAM_BUCKETS];
+        Assert.assertEquals(0, ALAudioSinkMetrics.Snapshot.getPercentile(histo, 0.5f));
+        histo[ALAudioSinkMetrics.getBucket(100)] = 99;
+        histo[ALAudioSinkMetrics.getBucket(5000)] = 1;
+        Assert.assertEquals(128, ALAudioSinkMetrics.Snapshot.getPercentile(histo, 0.5f));
+        Assert.assertEquals(128, ALAudioSinkMetrics.Snapshot.getPercentile(histo, 0.99f));
+        Assert.assertEquals(8192, ALAudioSinkMetrics.Snapshot.getPercentile(histo, 1f));
+    }
+
+    @Test
+    public void test02SinkMetrics() throws Exception {
+        if( !LoopbackUtil.isSinkAvailable() ) {
+            return;
+        }
+        final MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName query = new ObjectName("com.jogamp.openal:type=ALAudioSink,*");
+        final int mbeans0 = mbs.queryNames(query, null).size();
+
+        final Device device = LoopbackUtil.openDevice();
+        final ALAudioSink sink = new ALAudioSink(device, LoopbackUtil.getAttributes(SAMPLE_RATE));
+        try {
+            // only registered once initialized
+            final Set<ObjectName> names0 = mbs.queryNames(query, null);
+            Assert.assertEquals("MBean registered before init", mbeans0, names0.size());
+
+            sink.setUseSOFTEvents(false);
+            final AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true /* signed */,
+                                                       true /* fixed point */, false /* planar */, true /* littleEndian */);
+            Assert.assertTrue("Sink init failed: "+sink, sink.init(format, FRAME_DURATION, 8*FRAME_DURATION));
+            final Set<ObjectName> names = mbs.queryNames(query, null);
+            Assert.assertEquals("MBean not registered", mbeans0+1, names.size());
+            names.removeAll(names0);
+            sink.getMetrics().reset();
+            sink.play();
+
+            final int frameSamples = SAMPLE_RATE * FRAME_DURATION / 1000;
+            final int frameBytes = frameSamples * 2;
+            final ByteBuffer frameData = Buffers.newDirectByteBuffer(frameBytes);
+            final ByteBuffer renderData = Buffers.newDirectByteBuffer(frameSamples * 2 * 2); // stereo s16
+            final int frames = 100;
+            for(int i=0; i<frames; ++i) {
+                frameData.clear();
+                Assert.assertNotNull(sink.enqueueData(i*FRAME_DURATION, frameData, frameBytes));
+                renderData.clear();
+                AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, frameSamples);
+            }
+            final ALAudioSinkMetrics.Snapshot snap = sink.getMetrics().snapshot();
+            System.err.println(snap);
+            Assert.assertEquals(frames, snap.enqueuedFrameCount);
+            Assert.assertTrue(snap.lockCount >= frames);
+            Assert.assertEquals(frames, snap.frameSizeHistogram[ALAudioSinkMetrics.getBucket(frameBytes)]);
+            long queued = 0;
+            for(final long v : snap.queuedDurationHistogram) {
+                queued += v;
+            }
+            Assert.assertEquals(frames, queued);
+
+            final ObjectName name = names.iterator().next();
+            Assert.assertEquals(Long.valueOf(frames), mbs.getAttribute(name, "EnqueuedFrameCount"));
+        } finally {
+            sink.destroy();
+        }
+        Assert.assertEquals("MBean not unregistered", mbeans0, mbs.queryNames(query, null).size());
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(ALAudioSinkMetricsTest.class.getName());
+    }
+}
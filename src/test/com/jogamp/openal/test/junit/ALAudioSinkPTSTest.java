@@ -0,0 +1,103 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALAudioSink;
+
+/**
+ * Testing {@link ALAudioSink}'s sample accurate PTS, using a loopback device to drive the mixer deterministically.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ALAudioSinkPTSTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int FRAME_DURATION = 20; // [ms]
+    static final int RENDER_DURATION = 5; // [ms]
+
+    @Test
+    public void test01SampleAccuratePTS() {
+        if( !LoopbackUtil.isSinkAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final ALAudioSink sink = new ALAudioSink(device, LoopbackUtil.getAttributes(SAMPLE_RATE));
+        try {
+            System.err.println("SOFT source latency "+sink.hasSOFTSourceLatency()+", device clock "+sink.hasSOFTDeviceClock());
+            sink.setUseSOFTEvents(false);
+            sink.setUseSampleAccuratePTS(true);
+            sink.setSampleAccuratePTSInterval(0);
+            Assert.assertTrue(sink.getUseSampleAccuratePTS());
+            final AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true /* signed */,
+                                                       true /* fixed point */, false /* planar */, true /* littleEndian */);
+            Assert.assertTrue("Sink init failed: "+sink, sink.init(format, FRAME_DURATION, 10*FRAME_DURATION));
+
+            final int frameBytes = SAMPLE_RATE * FRAME_DURATION / 1000 * 2;
+            final ByteBuffer frameData = Buffers.newDirectByteBuffer(frameBytes);
+            final int renderSamples = SAMPLE_RATE * RENDER_DURATION / 1000;
+            final ByteBuffer renderData = Buffers.newDirectByteBuffer(renderSamples * 2 * 2); // stereo s16
+
+            final int startPTS = 1000;
+            for(int i=0; i<8; ++i) {
+                frameData.clear();
+                Assert.assertNotNull(sink.enqueueData(startPTS + i*FRAME_DURATION, frameData, frameBytes));
+            }
+            sink.play();
+            // Render fractions of a frame, PTS must follow within sub-frame accuracy
+            for(int i=1; i<=4*FRAME_DURATION/RENDER_DURATION; ++i) {
+                renderData.clear();
+                AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, renderSamples);
+                sink.updateQueue();
+                final int hasPTS = sink.getPTS().getLast();
+                final int outLatency = Math.round(1000f*sink.getOutputLatency());
+                final int expPTS = Math.max(startPTS, startPTS + i*RENDER_DURATION - outLatency);
+                System.err.println("Rendered "+(i*RENDER_DURATION)+" ms: PTS exp "+expPTS+", has "+hasPTS+", output latency "+outLatency+" ms");
+                Assert.assertTrue("PTS "+hasPTS+" not within one render period of "+expPTS+", "+sink,
+                                  Math.abs(expPTS - hasPTS) <= RENDER_DURATION);
+            }
+        } finally {
+            sink.destroy();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(ALAudioSinkPTSTest.class.getName());
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALAudioSink;
+
+/**
+ * Testing {@link ALAudioSink}'s deadline based polling for released buffers w/o <code>AL_SOFT_events</code>.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ALAudioSinkPollWaitTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int FRAME_DURATION = 10; // [ms]
+    static final long MIN_WAIT_NS = 250000L;
+    static final long MAX_WAIT_NS = 300000000L;
+
+    @Test
+    public void test01WaitComputation() {
+        // head buffer of 10ms with 4ms played, plus one following 10ms buffer
+        Assert.assertEquals(16000000L, ALAudioSink.getPollWaitNanos(0.010f, 0.004f, 2, 0.010f, 1f), 1000L);
+        // single head buffer
+        Assert.assertEquals(6000000L, ALAudioSink.getPollWaitNanos(0.010f, 0.004f, 1, 0.010f, 1f), 1000L);
+        // double speed halves the wait, non-positive speed is ignored
+        Assert.assertEquals(8000000L, ALAudioSink.getPollWaitNanos(0.010f, 0.004f, 2, 0.010f, 2f), 1000L);
+        Assert.assertEquals(16000000L, ALAudioSink.getPollWaitNanos(0.010f, 0.004f, 2, 0.010f, 0f), 1000L);
+        // clipped to the minimum if already due or overdue
+        Assert.assertEquals(MIN_WAIT_NS, ALAudioSink.getPollWaitNanos(0.010f, 0.010f, 1, 0.010f, 1f));
+        Assert.assertEquals(MIN_WAIT_NS, ALAudioSink.getPollWaitNanos(0.010f, 0.020f, 1, 0.010f, 1f));
+        // clipped to the maximum
+        Assert.assertEquals(MAX_WAIT_NS, ALAudioSink.getPollWaitNanos(0.010f, 0f, 100, 0.010f, 1f));
+    }
+
+    @Test
+    public void test02Interrupted() throws InterruptedException {
+        if( !LoopbackUtil.isSinkAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final ALAudioSink sink = new ALAudioSink(device, LoopbackUtil.getAttributes(SAMPLE_RATE));
+        // renders the loopback device in real time, letting the source process its queued buffers
+        final AtomicBoolean rendering = new AtomicBoolean(true);
+        final Thread renderer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                final int renderFrames = SAMPLE_RATE * FRAME_DURATION / 1000;
+                final ByteBuffer out = Buffers.newDirectByteBuffer(2 * 2 * renderFrames);
+                while( rendering.get() ) {
+                    out.clear();
+                    AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), out, renderFrames);
+                    try {
+                        Thread.sleep(FRAME_DURATION);
+                    } catch (final InterruptedException e) {
+                        return;
+                    }
+                }
+            } }, "ALAudioSinkPollWaitTest-Renderer");
+        renderer.setDaemon(true);
+        try {
+            sink.setUseSOFTEvents(false);
+            final AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true /* signed */,
+                                                       true /* fixed point */, false /* planar */, true /* littleEndian */);
+            Assert.assertTrue("Sink init failed: "+sink, sink.init(format, FRAME_DURATION, 4*FRAME_DURATION));
+            sink.play();
+            renderer.start();
+
+            final int frameBytes = SAMPLE_RATE * FRAME_DURATION / 1000 * 2;
+            final ByteBuffer frame = Buffers.newDirectByteBuffer(frameBytes);
+            final int frames = 20;
+            sink.resetPollWakeupCounter();
+            // a full queue waits for released buffers, an interrupt must neither abort nor turn it into a busy loop
+            Thread.currentThread().interrupt();
+            for(int i=0; i<frames; ++i) {
+                frame.clear();
+                Assert.assertNotNull(sink.enqueueData(i*FRAME_DURATION, frame, frameBytes));
+            }
+            Assert.assertTrue("Interrupt status not restored", Thread.interrupted());
+            System.err.println("Wakeups useful "+sink.getPollWakeupsUseful()+", spurious "+sink.getPollWakeupsSpurious());
+            Assert.assertEquals(frames, sink.getEnqueuedFrameCount());
+            Assert.assertTrue("Spinning while interrupted: "+sink.getPollWakeupsSpurious(), sink.getPollWakeupsSpurious() < 20L*frames);
+        } finally {
+            Thread.interrupted();
+            rendering.set(false);
+            if( renderer.isAlive() ) {
+                renderer.join(5000);
+            }
+            sink.destroy();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(ALAudioSinkPollWaitTest.class.getName());
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.av.TimeFrameI;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALCallbackAudioSink;
+import com.jogamp.openal.util.ALHelpers;
+
+/**
+ * Testing {@link ALCallbackAudioSink}'s pull model, using a loopback device to drive the mixer deterministically.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ALCallbackAudioSinkTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int FRAME_DURATION = 10; // [ms]
+    static final int QUEUE_SIZE = 100; // [ms]
+
+    @Test
+    public void test01PullPTSAndUnderrun() {
+        if( !LoopbackUtil.isSinkAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final ALCallbackAudioSink sink = new ALCallbackAudioSink(device, LoopbackUtil.getAttributes(SAMPLE_RATE));
+        try {
+            if( !sink.hasSOFTCallbackBuffer() ) {
+                System.err.println("No extension "+ALHelpers.AL_SOFT_callback_buffer+" present");
+                return;
+            }
+            final AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true /* signed */,
+                                                       true /* fixed point */, false /* planar */, true /* littleEndian */);
+            Assert.assertTrue("Sink init failed: "+sink, sink.init(format, FRAME_DURATION, QUEUE_SIZE));
+
+            final int frameSamples = SAMPLE_RATE * FRAME_DURATION / 1000;
+            final int frameBytes = frameSamples * 2;
+            final ByteBuffer frameData = Buffers.newDirectByteBuffer(frameBytes);
+            frameData.order(ByteOrder.LITTLE_ENDIAN);
+            for(int i=0; i<frameSamples; ++i) {
+                frameData.putShort( (short) ( 0 == ( i / 24 ) % 2 ? 8000 : -8000 ) );
+            }
+            frameData.clear();
+            final ByteBuffer renderData = Buffers.newDirectByteBuffer(frameSamples * 2 * 2); // stereo s16
+            renderData.order(ByteOrder.LITTLE_ENDIAN);
+
+            // Fill the ring buffer while not playing, overflow is dropped w/o blocking
+            int pts = 0;
+            int enqueued = 0;
+            while( null != sink.enqueueData(pts, frameData, frameBytes) ) {
+                pts += FRAME_DURATION;
+                ++enqueued;
+                Assert.assertTrue("Ring buffer overflow: "+sink, enqueued <= QUEUE_SIZE / FRAME_DURATION + 1);
+            }
+            Assert.assertEquals(0, frameData.position());
+            Assert.assertTrue("Nothing enqueued: "+sink, enqueued >= QUEUE_SIZE / FRAME_DURATION);
+            Assert.assertEquals(enqueued * frameBytes, sink.getQueuedByteCount());
+            Assert.assertEquals(pts - FRAME_DURATION, sink.getLastBufferedPTS());
+
+            // Drain the ring buffer via the mixer
+            sink.play();
+            int lastQueued = sink.getQueuedByteCount();
+            int lastPTS = TimeFrameI.INVALID_PTS;
+            boolean audible = false;
+            for(int i=0; i<2*enqueued && sink.getQueuedByteCount() > 0; ++i) {
+                renderData.clear();
+                AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, frameSamples);
+                audible = audible || hasSignal(renderData, frameSamples * 2);
+                sink.updateQueue();
+                final int queued = sink.getQueuedByteCount();
+                Assert.assertTrue("Queue not consumed: "+queued+" > "+lastQueued+", "+sink, queued <= lastQueued);
+                final int curPTS = sink.getPTS().getLast();
+                Assert.assertTrue("PTS not monotonic: "+curPTS+" < "+lastPTS+", "+sink, curPTS >= lastPTS);
+                lastQueued = queued;
+                lastPTS = curPTS;
+            }
+            Assert.assertTrue("Signal not rendered: "+sink, audible);
+            Assert.assertEquals("Not fully consumed: "+sink, 0, sink.getQueuedByteCount());
+            Assert.assertTrue("PTS not advanced: "+sink, lastPTS > 0);
+
+            // Underrun is padded with silence, source keeps playing
+            final int underruns0 = sink.getUnderrunCount();
+            for(int i=0; i<4; ++i) {
+                renderData.clear();
+                AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, frameSamples);
+            }
+            Assert.assertFalse("Signal rendered on underrun: "+sink, hasSignal(renderData, frameSamples * 2));
+            Assert.assertTrue("Underrun not detected: "+sink, sink.getUnderrunCount() > underruns0);
+            Assert.assertTrue("Source stopped: "+sink, sink.isPlaying());
+
+            // Flush resets the ring buffer
+            Assert.assertNotNull(sink.enqueueData(pts, frameData, frameBytes));
+            sink.flush();
+            Assert.assertEquals(0, sink.getQueuedByteCount());
+            Assert.assertEquals(0, sink.getQueuedFrameCount());
+            Assert.assertEquals(TimeFrameI.INVALID_PTS, sink.getLastBufferedPTS());
+        } finally {
+            sink.destroy();
+        }
+    }
+
+    private static boolean hasSignal(final ByteBuffer data, final int sampleCount) {
+        for(int i=0; i<sampleCount; ++i) {
+            if( 0 != data.getShort(i*2) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(ALCallbackAudioSinkTest.class.getName());
+    }
+}
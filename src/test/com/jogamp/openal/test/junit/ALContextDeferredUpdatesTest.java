@@ -0,0 +1,108 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+
+/**
+ * Testing {@link Context#deferUpdates()} nesting and {@link Context#beginUpdateBatch()}, using a loopback device.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ALContextDeferredUpdatesTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+
+    @Test
+    public void test01Nesting() {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        try {
+            try( Context.UpdateBatch b0 = context.beginUpdateBatch() ) {
+                Assert.assertTrue(context.isDeferringUpdates());
+                try( Context.UpdateBatch b1 = context.beginUpdateBatch() ) {
+                    Assert.assertTrue(context.isDeferringUpdates());
+                }
+                Assert.assertTrue(context.isDeferringUpdates());
+            }
+            Assert.assertFalse(context.isDeferringUpdates());
+            Assert.assertEquals(0, context.getLockCount());
+            // unbalanced commit is ignored
+            context.makeCurrent(true);
+            Assert.assertFalse(context.processUpdates());
+            context.release(true);
+        } finally {
+            context.destroy();
+            device.close();
+        }
+    }
+
+    @Test
+    public void test02Recreate() {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        try {
+            context.makeCurrent(true);
+            try {
+                context.deferUpdates();
+                context.deferUpdates();
+                Assert.assertTrue(context.isDeferringUpdates());
+                // deferral is discarded with the native context, the recreated one is not deferring
+                Assert.assertTrue(context.recreate(LoopbackUtil.getAttributes(SAMPLE_RATE)));
+                Assert.assertFalse(context.isDeferringUpdates());
+                final boolean nativeDeferral = context.deferUpdates();
+                Assert.assertTrue(context.isDeferringUpdates());
+                Assert.assertEquals(nativeDeferral, context.processUpdates());
+                Assert.assertFalse(context.isDeferringUpdates());
+            } finally {
+                context.release(true);
+            }
+        } finally {
+            context.destroy();
+            device.close();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(ALContextDeferredUpdatesTest.class.getName());
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALHelpers;
+
+/**
+ * Testing {@link Context#bindOwnerThread(boolean)} and its rejection for virtual thread safe contexts, using a loopback device.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ALContextOwnerThreadTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+
+    @Test
+    public void test01BindUnbind() throws InterruptedException {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        try {
+            if( !context.isOwnerThreadBindable() ) {
+                System.err.println("No extension "+ALHelpers.ALC_EXT_thread_local_context+" present");
+                return;
+            }
+            Assert.assertFalse(context.isOwnerThread());
+            Assert.assertEquals(0, context.getLockCount());
+
+            Assert.assertTrue(context.bindOwnerThread(true));
+            Assert.assertTrue(context.isOwnerThread());
+            Assert.assertEquals(Thread.currentThread(), context.getOwnerThread());
+            Assert.assertEquals(context, Context.getCurrentContext());
+            Assert.assertEquals(1, context.getLockCount());
+
+            // per call make-current/release is reduced to the ownership check
+            for(int i=0; i<10; ++i) {
+                Assert.assertTrue(context.makeCurrent(true));
+                Assert.assertEquals(1, context.getLockCount());
+                Assert.assertTrue(context.release(true));
+                Assert.assertEquals(1, context.getLockCount());
+                Assert.assertEquals(context, Context.getCurrentContext());
+            }
+
+            // other threads cannot claim the bound context
+            final boolean[] otherRes = { true, true };
+            final Thread other = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    otherRes[0] = context.tryMakeCurrent(false, 10);
+                    otherRes[1] = context.unbindOwnerThread(false);
+                } }, "other");
+            other.start();
+            other.join();
+            Assert.assertFalse("Other thread made bound context current", otherRes[0]);
+            Assert.assertFalse("Other thread unbound context", otherRes[1]);
+
+            Assert.assertTrue(context.unbindOwnerThread(true));
+            Assert.assertFalse(context.isOwnerThread());
+            Assert.assertNull(context.getOwnerThread());
+            Assert.assertNull(Context.getCurrentContext());
+            Assert.assertEquals(0, context.getLockCount());
+        } finally {
+            context.destroy();
+            device.close();
+        }
+    }
+
+    @Test
+    public void test02BindRejected() {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE, true /* virtualThreadSafe */);
+        try {
+            Assert.assertFalse(context.isOwnerThreadBindable());
+
+            Assert.assertFalse(context.bindOwnerThread(false));
+            Assert.assertFalse(context.isOwnerThread());
+            Assert.assertNull(context.getOwnerThread());
+            Assert.assertNull(Context.getCurrentContext());
+            Assert.assertEquals(0, context.getLockCount());
+
+            try {
+                context.bindOwnerThread(true);
+                Assert.fail("Bound virtual thread safe context");
+            } catch(final ALException ale) {
+                // expected
+            }
+            Assert.assertFalse(context.isOwnerThread());
+            Assert.assertEquals(0, context.getLockCount());
+
+            // regular per call make-current/release still works
+            Assert.assertTrue(context.makeCurrent(true));
+            Assert.assertEquals(context, Context.getCurrentContext());
+            Assert.assertTrue(context.release(true));
+            Assert.assertNull(Context.getCurrentContext());
+        } finally {
+            context.destroy();
+            device.close();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(ALContextOwnerThreadTest.class.getName());
+    }
+}
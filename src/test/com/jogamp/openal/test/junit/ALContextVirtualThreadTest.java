@@ -0,0 +1,219 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.ALCConstants;
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Source;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALAudioSink;
+import com.jogamp.openal.util.ALAudioSinkPool;
+
+/**
+ * Stress testing a {@link Context#isVirtualThreadSafe() virtual thread safe} {@link Context}
+ * shared by many virtual threads, using a loopback device.
+ * <p>
+ * Virtual threads are started via reflection, the test is skipped if not supported by the runtime.
+ * Each virtual thread yields while holding the context, allowing it to continue on another carrier thread.
+ * </p>
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ALContextVirtualThreadTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int FRAME_DURATION = 10; // [ms]
+    static final int[] CTX_ATTRIBS = LoopbackUtil.getAttributes(SAMPLE_RATE, ALCConstants.ALC_MONO_SOURCES, 256);
+
+    /** Returns {@code Thread.startVirtualThread(Runnable)} or null if not supported. */
+    private static Method getStartVirtualThread() {
+        try {
+            return Thread.class.getMethod("startVirtualThread", Runnable.class);
+        } catch (final Throwable t) {
+            return null;
+        }
+    }
+
+    private static boolean checkAvailable(final Method startVirtualThread) {
+        if( null == startVirtualThread ) {
+            System.err.println("Virtual threads not supported");
+            return false;
+        }
+        return LoopbackUtil.isAvailable();
+    }
+
+    private static void runVirtual(final Method startVirtualThread, final int count, final Runnable action,
+                                   final AtomicReference<Throwable> error) throws Exception {
+        final Thread[] threads = new Thread[count];
+        for(int i=0; i<count; ++i) {
+            threads[i] = (Thread) startVirtualThread.invoke(null, new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        action.run();
+                    } catch (final Throwable t) {
+                        error.compareAndSet(null, t);
+                    }
+                } });
+        }
+        for(int i=0; i<count; ++i) {
+            threads[i].join(60000);
+            Assert.assertFalse("Virtual thread "+i+" still alive", threads[i].isAlive());
+        }
+        if( null != error.get() ) {
+            throw new AssertionError("Virtual thread failed", error.get());
+        }
+    }
+
+    @Test
+    public void test01SharedContext() throws Exception {
+        final Method startVirtualThread = getStartVirtualThread();
+        if( !checkAvailable(startVirtualThread) ) {
+            return;
+        }
+        final int threadCount = 2000;
+        final int loops = 20;
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, CTX_ATTRIBS, true /* virtualThreadSafe */);
+        try {
+            Assert.assertTrue(context.isVirtualThreadSafe());
+            final AtomicInteger done = new AtomicInteger();
+            final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+            runVirtual(startVirtualThread, threadCount, new Runnable() {
+                @Override
+                public void run() {
+                    for(int l=0; l<loops; ++l) {
+                        context.makeCurrent(true);
+                        try {
+                            final Source src = new Source();
+                            Assert.assertTrue("Source creation failed", src.create());
+                            Thread.yield(); // may continue on another carrier thread while holding the context
+                            Assert.assertEquals(context, Context.getCurrentContext());
+                            src.setGain(0.5f);
+                            Assert.assertEquals(0.5f, src.getGain(), 0.0001f);
+                            src.delete();
+                            Assert.assertEquals(ALConstants.AL_NO_ERROR, AudioSystem3D.getAL().alGetError());
+                        } finally {
+                            context.release(true);
+                        }
+                        Assert.assertNull(Context.getCurrentContext());
+                    }
+                    done.incrementAndGet();
+                } }, error);
+            Assert.assertEquals(threadCount, done.get());
+            Assert.assertEquals(0, context.getLockCount());
+        } finally {
+            context.destroy();
+            device.close();
+        }
+    }
+
+    @Test
+    public void test02PooledSinks() throws Exception {
+        final Method startVirtualThread = getStartVirtualThread();
+        if( !checkAvailable(startVirtualThread) ) {
+            return;
+        }
+        final int threadCount = 128;
+        final int frames = 16;
+        final Device device = LoopbackUtil.openDevice();
+        final ALAudioSinkPool pool = new ALAudioSinkPool(device, CTX_ATTRIBS, true /* virtualThreadSafe */);
+        // renders the loopback device, letting the sources process their queued buffers
+        // and OpenAL emit the buffer completed events the sinks wait for while enqueueing
+        final AtomicBoolean rendering = new AtomicBoolean(true);
+        final Thread renderer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                final int renderFrames = SAMPLE_RATE * FRAME_DURATION / 1000;
+                final ByteBuffer out = Buffers.newDirectByteBuffer(2 * 2 * renderFrames);
+                while( rendering.get() ) {
+                    AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), out, renderFrames);
+                    try {
+                        Thread.sleep(1);
+                    } catch (final InterruptedException e) {
+                        return;
+                    }
+                }
+            } }, "ALContextVirtualThreadTest-Renderer");
+        renderer.setDaemon(true);
+        renderer.start();
+        try {
+            Assert.assertTrue(pool.getContext().isVirtualThreadSafe());
+            final AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true /* signed */,
+                                                       true /* fixed point */, false /* planar */, true /* littleEndian */);
+            final int frameBytes = SAMPLE_RATE * FRAME_DURATION / 1000 * 2;
+            final AtomicInteger done = new AtomicInteger();
+            final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+            runVirtual(startVirtualThread, threadCount, new Runnable() {
+                @Override
+                public void run() {
+                    final ALAudioSink sink = pool.createSink();
+                    try {
+                        // SOFT events enabled: a full queue waits for released buffers with the context released
+                        Assert.assertTrue("Sink init failed: "+sink, sink.init(format, FRAME_DURATION, 4*FRAME_DURATION));
+                        final ByteBuffer frame = Buffers.newDirectByteBuffer(frameBytes);
+                        for(int i=0; i<frames; ++i) {
+                            Assert.assertNotNull(sink.enqueueData(i*FRAME_DURATION, frame, frameBytes));
+                            Thread.yield();
+                        }
+                        Assert.assertEquals(frames, sink.getEnqueuedFrameCount());
+                        Assert.assertTrue(sink.setVolume(0.5f));
+                    } finally {
+                        sink.destroy();
+                    }
+                    done.incrementAndGet();
+                } }, error);
+            Assert.assertEquals(threadCount, done.get());
+            Assert.assertEquals(0, pool.getSinkCount());
+        } finally {
+            rendering.set(false);
+            renderer.join(5000);
+            pool.destroy();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(ALContextVirtualThreadTest.class.getName());
+    }
+}
@@ -2,7 +2,11 @@ package com.jogamp.openal.test.junit;
 
 import static org.junit.Assert.*;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
@@ -70,7 +74,83 @@ public class ALutWAVLoaderTest extends UITestCase {
         Assert.assertTrue("Stream3 size "+ResourceLocation.getTestStream3Size()+" < "+wd3.data.limit()+" .. "+wd3.data, wd3.data.limit() <= ResourceLocation.getTestStream3Size());
     }
 
-    // TODO test * LoadFile
+    private static File toTempFile(final InputStream in) throws IOException {
+        final File f = File.createTempFile("joal-test", ".wav");
+        f.deleteOnExit();
+        final OutputStream out = new FileOutputStream(f);
+        try {
+            final byte[] chunk = new byte[64*1024];
+            int n;
+            while( 0 < ( n = in.read(chunk) ) ) {
+                out.write(chunk, 0, n);
+            }
+        } finally {
+            out.close();
+            in.close();
+        }
+        return f;
+    }
+
+    private static void assertEqualWAVData(final WAVData exp, final WAVData has) {
+        assertEquals(exp.format, has.format);
+        assertEquals(exp.freq, has.freq);
+        assertEquals(exp.size, has.size);
+        assertEquals(exp.data.remaining(), has.data.remaining());
+        assertEquals("Content differs", exp.data, has.data);
+    }
+
+    @Test
+    public void testWAVLoaderLoadFileMapped() throws IOException {
+        final File f0 = toTempFile(ResourceLocation.getTestStream0());
+        final File f3 = toTempFile(ResourceLocation.getTestStream3());
+        try {
+            final WAVData wd0 = WAVLoader.loadFromFileMapped(f0.getPath());
+            System.out.println("*** WAVLoader.loadFromFileMapped Stream0 size "+wd0.data.limit());
+            assertTrue(wd0.data.isDirect());
+            assertEquals(wd0.data.capacity(), wd0.data.limit());
+            assertEqualWAVData(WAVLoader.loadFromFile(f0.getPath()), wd0);
+
+            final WAVData wd3 = WAVLoader.loadFromFileMapped(f3.getPath());
+            System.out.println("*** WAVLoader.loadFromFileMapped Stream3 size "+wd3.data.limit());
+            assertTrue(wd3.data.isDirect());
+            assertEquals(wd3.data.capacity(), wd3.data.limit());
+            assertEqualWAVData(WAVLoader.loadFromStream(ResourceLocation.getTestStream3()), wd3);
+        } finally {
+            f0.delete();
+            f3.delete();
+        }
+    }
+
+    @Test
+    public void testWAVLoaderLoadFileMappedRIFX() throws IOException {
+        // big endian stereo S16 with 2 frames and a trailing chunk
+        final ByteBuffer bb = ByteBuffer.allocate(12 + 24 + 8 + 8 + 8 + 4).order(ByteOrder.BIG_ENDIAN);
+        bb.putInt(0x52494658).putInt(bb.capacity() - 8).putInt(0x57415645);
+        bb.putInt(0x666D7420).putInt(16).putShort((short)1).putShort((short)2).putInt(44100).putInt(44100*4).putShort((short)4).putShort((short)16);
+        bb.putInt(0x64617461).putInt(8).putShort((short)0x0102).putShort((short)0x0304).putShort((short)-2).putShort((short)0x7fff);
+        bb.putInt(0x4C495354).putInt(4).putInt(0);
+        final File f = File.createTempFile("joal-test", ".wav");
+        f.deleteOnExit();
+        try {
+            final OutputStream out = new FileOutputStream(f);
+            try {
+                out.write(bb.array());
+            } finally {
+                out.close();
+            }
+            final WAVData wd = WAVLoader.loadFromFileMapped(f.getPath());
+            assertEquals(8, wd.size);
+            assertEquals(8, wd.data.capacity());
+            final ByteBuffer samples = wd.data.duplicate().order(ByteOrder.nativeOrder());
+            assertEquals((short)0x0102, samples.getShort(0));
+            assertEquals((short)0x0304, samples.getShort(2));
+            assertEquals((short)-2, samples.getShort(4));
+            assertEquals((short)0x7fff, samples.getShort(6));
+            assertEqualWAVData(WAVLoader.loadFromFile(f.getPath()), wd);
+        } finally {
+            f.delete();
+        }
+    }
 
     public static void main(final String args[]) throws IOException {
         org.junit.runner.JUnitCore.main(ALutWAVLoaderTest.class.getName());
@@ -0,0 +1,140 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.openal.sound3d.AsyncBufferLoader;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.resources.ResourceLocation;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+
+/**
+ * Testing {@link AsyncBufferLoader} parallel decoding and batched buffer creation, using a loopback device.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class AsyncBufferLoaderTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int COUNT = 8;
+
+    private static final AsyncBufferLoader.StreamSupplier aaWav = new AsyncBufferLoader.StreamSupplier() {
+        @Override
+        public InputStream open() throws IOException { return ResourceLocation.getTestStream3(); }
+    };
+    private static final AsyncBufferLoader.StreamSupplier lcWav = new AsyncBufferLoader.StreamSupplier() {
+        @Override
+        public InputStream open() throws IOException { return ResourceLocation.getTestStream0(); }
+    };
+
+    private void testLoad(final AsyncBufferLoader loader) throws InterruptedException, ExecutionException {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.makeCurrent(true);
+        final AtomicInteger progressCalls = new AtomicInteger(0);
+        loader.setProgressListener(new AsyncBufferLoader.ProgressListener() {
+            @Override
+            public void progress(final AsyncBufferLoader l, final String name, final Buffer buffer, final Throwable cause,
+                                 final int completed, final int requested) {
+                progressCalls.incrementAndGet();
+            }
+        });
+        @SuppressWarnings("unchecked")
+        final CompletableFuture<Buffer>[] futures = new CompletableFuture[COUNT];
+        try {
+            for(int i=0; i<COUNT; ++i) {
+                futures[i] = 0 == i % 2 ? loader.load(ResourceLocation.aa_wav, aaWav) : loader.load(ResourceLocation.lewiscarrol_wav, lcWav);
+            }
+            final CompletableFuture<Buffer> missing = loader.load("does-not-exist.wav");
+            Assert.assertEquals(COUNT+1, loader.getRequestedCount());
+
+            // buffers are only created on the context thread
+            final int created = loader.processAll(0);
+            Assert.assertEquals(COUNT, created);
+            Assert.assertEquals(COUNT+1, loader.getCompletedCount());
+            Assert.assertEquals(1, loader.getFailedCount());
+            Assert.assertEquals(COUNT+1, progressCalls.get());
+            Assert.assertEquals(1f, loader.getProgress(), 0.0001f);
+            Assert.assertTrue(missing.isCompletedExceptionally());
+            for(int i=0; i<COUNT; ++i) {
+                Assert.assertTrue(futures[i].isDone());
+                final Buffer b = futures[i].get();
+                Assert.assertTrue(b.isValid());
+                Assert.assertEquals(0 == i % 2 ? 44100 : 22050, b.getFrequency());
+            }
+            System.err.println(loader);
+        } finally {
+            for(final CompletableFuture<Buffer> f : futures) {
+                if( null != f && f.isDone() && !f.isCompletedExceptionally() ) {
+                    f.get().delete();
+                }
+            }
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    @Test
+    public void test01ForkJoin() throws InterruptedException, ExecutionException {
+        testLoad(new AsyncBufferLoader());
+    }
+
+    @Test
+    public void test02VirtualThreads() throws InterruptedException, ExecutionException {
+        final ExecutorService executor = AsyncBufferLoader.newVirtualThreadExecutor();
+        if( null == executor ) {
+            System.err.println("Virtual threads not supported");
+            return;
+        }
+        try {
+            testLoad(new AsyncBufferLoader(executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(AsyncBufferLoaderTest.class.getName());
+    }
+}
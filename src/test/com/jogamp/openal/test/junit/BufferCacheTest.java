@@ -0,0 +1,143 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.openal.UnsupportedAudioFileException;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.BufferCache;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Source;
+import com.jogamp.openal.test.resources.ResourceLocation;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+
+/**
+ * Testing {@link BufferCache} sharing, reference counting and LRU eviction, using a loopback device.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class BufferCacheTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+
+    @Test
+    public void test01ShareReleaseEvict() throws IOException, UnsupportedAudioFileException {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.makeCurrent(true);
+        final BufferCache cache = new BufferCache(16L * 1024 * 1024);
+        final Source[] sources = new Source[3];
+        try {
+            // keyed by resource name, stream not read on hit
+            for(int i=0; i<sources.length; ++i) {
+                sources[i] = AudioSystem3D.loadSource(ResourceLocation.aa_wav, ResourceLocation.getTestStream3(), cache);
+            }
+            final Buffer aa = sources[0].getBuffer();
+            Assert.assertTrue(aa.isCached());
+            Assert.assertSame(aa, sources[1].getBuffer());
+            Assert.assertSame(aa, sources[2].getBuffer());
+            Assert.assertEquals(3, aa.getRefCount());
+            Assert.assertEquals(1, cache.getMissCount());
+            Assert.assertEquals(2, cache.getHitCount());
+            Assert.assertEquals(1, cache.getBufferCount());
+            final long aaBytes = cache.getByteSize();
+            Assert.assertTrue(0 < aaBytes);
+
+            // keyed by content
+            final Buffer lc0 = cache.get(ResourceLocation.getTestStream0());
+            final Buffer lc1 = cache.get(ResourceLocation.getTestStream0());
+            Assert.assertSame(lc0, lc1);
+            Assert.assertEquals(2, lc0.getRefCount());
+            Assert.assertEquals(2, cache.getMissCount());
+            Assert.assertEquals(3, cache.getHitCount());
+            final long lcBytes = cache.getByteSize() - aaBytes;
+            lc0.release();
+            lc1.release();
+            Assert.assertEquals(0, lc0.getRefCount());
+            Assert.assertTrue("Unreferenced buffer within budget evicted", lc0.isCached());
+
+            // re-setting the same buffer keeps the reference count
+            sources[0].setBuffer(aa);
+            Assert.assertEquals(3, aa.getRefCount());
+
+            // deleting sources releases the shared buffer, which stays cached
+            for(int i=0; i<sources.length; ++i) {
+                sources[i].delete();
+                sources[i] = null;
+            }
+            Assert.assertEquals(0, aa.getRefCount());
+            Assert.assertTrue(aa.isCached());
+            Assert.assertTrue(aa.isValid());
+
+            // touch aa, making lewiscarroll the least recently used
+            cache.get(ResourceLocation.aa_wav, ResourceLocation.getTestStream3()).release();
+            cache.setByteBudget(Math.max(aaBytes, lcBytes));
+            Assert.assertEquals(1, cache.getEvictionCount());
+            Assert.assertEquals(1, cache.getBufferCount());
+            Assert.assertFalse(lc0.isCached());
+            Assert.assertFalse(lc0.isValid());
+            Assert.assertTrue(aa.isCached());
+
+            // referenced buffers are never evicted
+            final Buffer aaRef = cache.get(ResourceLocation.aa_wav, ResourceLocation.getTestStream3());
+            cache.setByteBudget(0);
+            Assert.assertTrue(aaRef.isCached());
+            Assert.assertTrue(aaRef.isValid());
+            aaRef.release();
+            Assert.assertFalse(aaRef.isCached());
+            Assert.assertEquals(0, cache.getBufferCount());
+            Assert.assertEquals(0, cache.getByteSize());
+            Assert.assertEquals(2, cache.getEvictionCount());
+            System.err.println(cache);
+        } finally {
+            for(final Source s : sources) {
+                if( null != s ) {
+                    s.delete();
+                }
+            }
+            cache.clear();
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(BufferCacheTest.class.getName());
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Source;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALHelpers;
+
+/**
+ * Testing {@link Buffer#setStaticData(boolean)} and {@link Buffer#setRetainData(boolean)} using a loopback device,
+ * verifying static data is rendered and retained until the buffer is re-configured or successfully deleted.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class BufferStaticDataTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int FRAMES = 4800;
+
+    static ByteBuffer createSine(final ByteBuffer bb) {
+        final ByteBuffer b = bb.order(ByteOrder.nativeOrder());
+        for(int i=0; i<FRAMES; ++i) {
+            b.putShort(2*i, (short)( 16000 * Math.sin(2 * Math.PI * 440 * i / SAMPLE_RATE) ));
+        }
+        return b;
+    }
+
+    interface Action {
+        void run(Device device) throws IOException;
+    }
+
+    static void withLoopback(final Action action) throws IOException {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.makeCurrent(true);
+        try {
+            action.run(device);
+        } finally {
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    /** Plays the buffer on a new source and returns the peak amplitude of the rendered samples. */
+    static int renderPeak(final Device device, final Buffer buffer) {
+        final Source source = AudioSystem3D.generateSources(1)[0];
+        try {
+            source.setBuffer(buffer);
+            source.play();
+            final ByteBuffer out = Buffers.newDirectByteBuffer(2 * 2 * FRAMES / 2);
+            AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), out, FRAMES / 2);
+            int peak = 0;
+            for(int i=0; i<FRAMES; ++i) {
+                peak = Math.max(peak, Math.abs(out.getShort(2*i)));
+            }
+            source.stop();
+            return peak;
+        } finally {
+            source.setBuffer(null);
+            source.delete();
+        }
+    }
+
+    @Test
+    public void test01RetainData() throws IOException {
+        withLoopback(new Action() {
+            @Override
+            public void run(final Device device) {
+                final Buffer buffer = AudioSystem3D.generateBuffers(1)[0];
+                try {
+                    Assert.assertTrue(buffer.getRetainData());
+                    Assert.assertFalse(buffer.getStaticData());
+                    final ByteBuffer data = createSine(Buffers.newDirectByteBuffer(2 * FRAMES));
+                    buffer.configure(data, ALConstants.AL_FORMAT_MONO16, SAMPLE_RATE);
+                    Assert.assertSame(data, buffer.getData());
+                    Assert.assertFalse(buffer.isStaticData());
+
+                    buffer.setRetainData(false);
+                    buffer.configure(data, ALConstants.AL_FORMAT_MONO16, SAMPLE_RATE);
+                    Assert.assertNull(buffer.getData());
+                    Assert.assertFalse(buffer.isStaticData());
+                    Assert.assertEquals((float)FRAMES / SAMPLE_RATE, buffer.getDuration(), 0.0001f);
+                    Assert.assertTrue("Silent copy", 1000 < renderPeak(device, buffer));
+                } finally {
+                    buffer.delete();
+                }
+            }
+        });
+    }
+
+    @Test
+    public void test02StaticData() throws IOException {
+        withLoopback(new Action() {
+            @Override
+            public void run(final Device device) {
+                final boolean available = Buffer.isStaticDataAvailable();
+                System.err.println(ALHelpers.AL_EXT_STATIC_BUFFER+" available: "+available);
+                final Buffer buffer = AudioSystem3D.generateBuffers(1)[0];
+                try {
+                    buffer.setStaticData(true);
+                    buffer.setRetainData(false);
+                    final ByteBuffer data = createSine(Buffers.newDirectByteBuffer(2 * FRAMES));
+                    buffer.configure(data, ALConstants.AL_FORMAT_MONO16, SAMPLE_RATE);
+                    AudioSystem3D.checkALError("static upload", true, true);
+                    Assert.assertEquals(available, buffer.isStaticData());
+                    if( available ) {
+                        Assert.assertSame(data, buffer.getData());
+                    } else {
+                        Assert.assertNull(buffer.getData());
+                    }
+                    Assert.assertEquals((float)FRAMES / SAMPLE_RATE, buffer.getDuration(), 0.0001f);
+                    Assert.assertTrue("Silent static data", 1000 < renderPeak(device, buffer));
+
+                    // non direct data falls back to a copy
+                    final ByteBuffer heap = createSine(ByteBuffer.allocate(2 * FRAMES));
+                    buffer.configure(heap, ALConstants.AL_FORMAT_MONO16, SAMPLE_RATE);
+                    Assert.assertFalse(buffer.isStaticData());
+                    Assert.assertNull(buffer.getData());
+                    Assert.assertTrue("Silent copy", 1000 < renderPeak(device, buffer));
+
+                    buffer.configure(data, ALConstants.AL_FORMAT_MONO16, SAMPLE_RATE);
+                    Assert.assertEquals(available, buffer.isStaticData());
+                } finally {
+                    buffer.delete();
+                }
+                Assert.assertFalse(buffer.isStaticData());
+                Assert.assertNull(buffer.getData());
+            }
+        });
+    }
+
+    @Test
+    public void test03DeleteAttached() throws IOException {
+        withLoopback(new Action() {
+            @Override
+            public void run(final Device device) {
+                final boolean available = Buffer.isStaticDataAvailable();
+                final Buffer buffer = AudioSystem3D.generateBuffers(1)[0];
+                final Source source = AudioSystem3D.generateSources(1)[0];
+                try {
+                    buffer.setStaticData(true);
+                    final ByteBuffer data = createSine(Buffers.newDirectByteBuffer(2 * FRAMES));
+                    buffer.configure(data, ALConstants.AL_FORMAT_MONO16, SAMPLE_RATE);
+                    source.setBuffer(buffer);
+                    source.play();
+                    if( available ) {
+                        try {
+                            buffer.delete();
+                            Assert.fail("Attached static buffer deleted");
+                        } catch(final ALException e) {
+                            System.err.println("Expected: "+e.getMessage());
+                        }
+                    } else {
+                        Assert.assertFalse("Attached buffer deleted", buffer.delete());
+                    }
+                    // error of the failed deletion left pending to the caller
+                    Assert.assertEquals(ALConstants.AL_INVALID_OPERATION, AudioSystem3D.getAL().alGetError());
+                    // still owned by OpenAL incl. its static data
+                    Assert.assertTrue(buffer.isValid());
+                    Assert.assertSame(data, buffer.getData());
+                    Assert.assertEquals(available, buffer.isStaticData());
+                    final ByteBuffer out = Buffers.newDirectByteBuffer(2 * FRAMES);
+                    AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), out, FRAMES / 2);
+                    int peak = 0;
+                    for(int i=0; i<FRAMES; ++i) {
+                        peak = Math.max(peak, Math.abs(out.getShort(2*i)));
+                    }
+                    Assert.assertTrue("Silent after failed delete", 1000 < peak);
+
+                    source.stop();
+                    source.setBuffer(null);
+                    Assert.assertTrue(buffer.delete());
+                    Assert.assertEquals(-1, buffer.getID());
+                    Assert.assertFalse(buffer.isStaticData());
+                    Assert.assertNull(buffer.getData());
+                } finally {
+                    source.stop();
+                    source.setBuffer(null);
+                    source.delete();
+                    if( 0 <= buffer.getID() ) {
+                        buffer.delete();
+                    }
+                }
+            }
+        });
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(BufferStaticDataTest.class.getName());
+    }
+}
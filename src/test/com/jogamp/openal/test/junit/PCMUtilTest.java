@@ -0,0 +1,249 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.PCMUtil;
+import com.jogamp.openal.util.PCMUtil.Format;
+
+/**
+ * Testing {@link PCMUtil} conversion kernels against scalar reference conversions,
+ * using sample counts spanning multiple internal chunks.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class PCMUtilTest extends UITestCase {
+    static final int COUNT = 2500;
+
+    @Test
+    public void test01SwapBytes() {
+        for(final int bps : new int[] { 2, 3, 4, 8 }) {
+            final ByteBuffer buf = ByteBuffer.allocate(COUNT*bps+1);
+            for(int i=0; i<buf.capacity(); ++i) {
+                buf.put(i, (byte)i);
+            }
+            buf.position(1); // unaligned start
+            PCMUtil.swapBytes(buf, bps, COUNT);
+            Assert.assertEquals(1, buf.position());
+            Assert.assertEquals(0, buf.get(0));
+            for(int i=0; i<COUNT; ++i) {
+                for(int j=0; j<bps; ++j) {
+                    Assert.assertEquals((byte)(1 + i*bps + bps-1-j), buf.get(1 + i*bps + j));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test02S16RoundTrip() {
+        final ByteBuffer src = ByteBuffer.allocate(65536*2).order(ByteOrder.BIG_ENDIAN);
+        for(int i=0; i<65536; ++i) {
+            src.putShort(2*i, (short)(i - 32768));
+        }
+        final ByteBuffer f32 = ByteBuffer.allocateDirect(65536*4).order(ByteOrder.nativeOrder());
+        final ByteBuffer dst = ByteBuffer.allocate(65536*2).order(ByteOrder.LITTLE_ENDIAN);
+        PCMUtil.convert(src, Format.S16, f32, Format.F32, 65536);
+        PCMUtil.convert(f32, Format.F32, dst, Format.S16, 65536);
+        for(int i=0; i<65536; ++i) {
+            Assert.assertEquals((i - 32768) / 32768f, f32.getFloat(4*i), 0f);
+            Assert.assertEquals(src.getShort(2*i), dst.getShort(2*i));
+        }
+    }
+
+    @Test
+    public void test03IntegerWidenNarrow() {
+        final ByteBuffer u8 = ByteBuffer.allocate(256);
+        for(int i=0; i<256; ++i) {
+            u8.put(i, (byte)i);
+        }
+        final ByteBuffer s16 = ByteBuffer.allocate(256*2).order(ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer s24 = ByteBuffer.allocate(256*3).order(ByteOrder.BIG_ENDIAN);
+        final ByteBuffer s32 = ByteBuffer.allocate(256*4).order(ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer u8b = ByteBuffer.allocate(256);
+        PCMUtil.convert(u8, Format.U8, s16, Format.S16, 256);
+        PCMUtil.convert(s16, Format.S16, s24, Format.S24, 256);
+        PCMUtil.convert(s24, Format.S24, s32, Format.S32, 256);
+        PCMUtil.convert(s32, Format.S32, u8b, Format.U8, 256);
+        for(int i=0; i<256; ++i) {
+            Assert.assertEquals((i - 128) << 8, s16.getShort(2*i));
+            final int v24 = s24.get(3*i) << 16 | ( s24.get(3*i+1) & 0xff ) << 8 | ( s24.get(3*i+2) & 0xff );
+            Assert.assertEquals((i - 128) << 16, v24);
+            Assert.assertEquals((i - 128) << 24, s32.getInt(4*i));
+            Assert.assertEquals(u8.get(i), u8b.get(i));
+        }
+    }
+
+    @Test
+    public void test04FloatClipping() {
+        final float[] in = { -2f, -1f, -0.5f, 0f, 0.5f, 0.99999f, 1f, 2f };
+        final ByteBuffer f64 = ByteBuffer.allocate(in.length*8).order(ByteOrder.BIG_ENDIAN);
+        for(int i=0; i<in.length; ++i) {
+            f64.putDouble(8*i, in[i]);
+        }
+        final ByteBuffer s16 = ByteBuffer.allocate(in.length*2).order(ByteOrder.nativeOrder());
+        PCMUtil.convert(f64, Format.F64, s16, Format.S16, in.length);
+        final short[] exp16 = { -32768, -32768, -16384, 0, 16384, 32767, 32767, 32767 };
+        for(int i=0; i<in.length; ++i) {
+            Assert.assertEquals(exp16[i], s16.getShort(2*i));
+        }
+        final ByteBuffer s32 = ByteBuffer.allocate(in.length*4).order(ByteOrder.nativeOrder());
+        PCMUtil.convert(f64, Format.F64, s32, Format.S32, in.length);
+        Assert.assertEquals(Integer.MIN_VALUE, s32.getInt(0));
+        Assert.assertEquals(Integer.MAX_VALUE, s32.getInt(4*7));
+        final ByteBuffer u8 = ByteBuffer.allocate(in.length);
+        PCMUtil.convert(f64, Format.F64, u8, Format.U8, in.length);
+        Assert.assertEquals(0, u8.get(0) & 0xff);
+        Assert.assertEquals(128, u8.get(3) & 0xff);
+        Assert.assertEquals(255, u8.get(7) & 0xff);
+
+        final FloatBuffer fb = FloatBuffer.wrap(in.clone());
+        PCMUtil.clip(fb, in.length, -1f, 1f);
+        for(int i=0; i<in.length; ++i) {
+            Assert.assertEquals(Math.max(-1f, Math.min(1f, in[i])), fb.get(i), 0f);
+        }
+    }
+
+    @Test
+    public void test05TypedKernels() {
+        final ShortBuffer s16 = ShortBuffer.allocate(COUNT);
+        for(int i=0; i<COUNT; ++i) {
+            s16.put(i, (short)(i*17));
+        }
+        final FloatBuffer f32 = FloatBuffer.allocate(COUNT);
+        PCMUtil.s16ToF32(s16, f32, COUNT);
+        final ShortBuffer s16b = ByteBuffer.allocateDirect(COUNT*2).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+        PCMUtil.f32ToS16(f32, s16b, COUNT);
+        Assert.assertEquals(0, f32.position());
+        for(int i=0; i<COUNT; ++i) {
+            Assert.assertEquals(s16.get(i) / 32768f, f32.get(i), 0f);
+            Assert.assertEquals(s16.get(i), s16b.get(i));
+        }
+
+        // array source at an absolute destination index, leaving the position unchanged
+        final float[] f32a = new float[COUNT + 3];
+        f32.get(f32a, 3, COUNT);
+        final ShortBuffer s16c = ShortBuffer.allocate(COUNT + 5);
+        s16c.position(1);
+        PCMUtil.f32ToS16(f32a, 3, s16c, 5, COUNT);
+        Assert.assertEquals(1, s16c.position());
+        for(int i=0; i<COUNT; ++i) {
+            Assert.assertEquals(s16.get(i), s16c.get(5 + i));
+        }
+    }
+
+    @Test
+    public void test06Interleave() {
+        for(final int channels : new int[] { 1, 2, 6 }) {
+            final FloatBuffer[] planes = new FloatBuffer[channels];
+            final ShortBuffer[] splanes = new ShortBuffer[channels];
+            for(int c=0; c<channels; ++c) {
+                planes[c] = FloatBuffer.allocate(COUNT);
+                splanes[c] = ShortBuffer.allocate(COUNT);
+                for(int i=0; i<COUNT; ++i) {
+                    planes[c].put(i, c*10000 + i);
+                    splanes[c].put(i, (short)(c*10000 + i));
+                }
+            }
+            final FloatBuffer packed = FloatBuffer.allocate(COUNT*channels);
+            final ShortBuffer spacked = ShortBuffer.allocate(COUNT*channels);
+            PCMUtil.interleave(planes, packed, COUNT);
+            PCMUtil.interleave(splanes, spacked, COUNT);
+            for(int i=0; i<COUNT; ++i) {
+                for(int c=0; c<channels; ++c) {
+                    Assert.assertEquals(c*10000 + i, packed.get(i*channels+c), 0f);
+                    Assert.assertEquals((short)(c*10000 + i), spacked.get(i*channels+c));
+                }
+            }
+            final FloatBuffer[] planes2 = new FloatBuffer[channels];
+            final ShortBuffer[] splanes2 = new ShortBuffer[channels];
+            for(int c=0; c<channels; ++c) {
+                planes2[c] = FloatBuffer.allocate(COUNT);
+                splanes2[c] = ShortBuffer.allocate(COUNT);
+            }
+            PCMUtil.deinterleave(packed, planes2, COUNT);
+            PCMUtil.deinterleave(spacked, splanes2, COUNT);
+            for(int c=0; c<channels; ++c) {
+                Assert.assertEquals(planes[c], planes2[c]);
+                Assert.assertEquals(splanes[c], splanes2[c]);
+            }
+        }
+    }
+
+    @Test
+    public void test07InterleaveChannelLimit() {
+        // more channels than a scratch chunk holds would not advance by a single frame
+        for(final int channels : new int[] { 0, 1025 }) {
+            final FloatBuffer[] planes = new FloatBuffer[channels];
+            final ShortBuffer[] splanes = new ShortBuffer[channels];
+            for(int c=0; c<channels; ++c) {
+                planes[c] = FloatBuffer.allocate(1);
+                splanes[c] = ShortBuffer.allocate(1);
+            }
+            final FloatBuffer packed = FloatBuffer.allocate(channels);
+            final ShortBuffer spacked = ShortBuffer.allocate(channels);
+            try {
+                PCMUtil.interleave(planes, packed, 1);
+                Assert.fail("Channels "+channels+" accepted");
+            } catch(final IllegalArgumentException e) {
+                System.err.println("Expected: "+e.getMessage());
+            }
+            try {
+                PCMUtil.deinterleave(packed, planes, 1);
+                Assert.fail("Channels "+channels+" accepted");
+            } catch(final IllegalArgumentException e) {
+                System.err.println("Expected: "+e.getMessage());
+            }
+            try {
+                PCMUtil.interleave(splanes, spacked, 1);
+                Assert.fail("Channels "+channels+" accepted");
+            } catch(final IllegalArgumentException e) {
+                System.err.println("Expected: "+e.getMessage());
+            }
+            try {
+                PCMUtil.deinterleave(spacked, splanes, 1);
+                Assert.fail("Channels "+channels+" accepted");
+            } catch(final IllegalArgumentException e) {
+                System.err.println("Expected: "+e.getMessage());
+            }
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(PCMUtilTest.class.getName());
+    }
+}
@@ -0,0 +1,295 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.AL;
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Listener;
+import com.jogamp.openal.sound3d.Source;
+import com.jogamp.openal.sound3d.Vec3f;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+
+/**
+ * Testing {@link Context#setShadowState(boolean) shadow state} of {@link Source}, {@link Listener} and {@link Buffer}
+ * for consistency against the native values, using a loopback device.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ShadowStateTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final float EPSILON = 0.0001f;
+
+
+    private static float nativeSourcef(final Source s, final int param) {
+        final float[] v = new float[1];
+        AudioSystem3D.getAL().alGetSourcef(s.getID(), param, v, 0);
+        return v[0];
+    }
+
+    private static float[] nativeSourcefv(final Source s, final int param) {
+        final float[] v = new float[3];
+        AudioSystem3D.getAL().alGetSourcefv(s.getID(), param, v, 0);
+        return v;
+    }
+
+    private static void assertSourceConsistent(final Source s) {
+        Assert.assertEquals(nativeSourcef(s, ALConstants.AL_PITCH), s.getPitch(), EPSILON);
+        Assert.assertEquals(nativeSourcef(s, ALConstants.AL_GAIN), s.getGain(), EPSILON);
+        Assert.assertEquals(nativeSourcef(s, ALConstants.AL_MAX_DISTANCE), s.getMaxDistance(), EPSILON);
+        Assert.assertEquals(nativeSourcef(s, ALConstants.AL_ROLLOFF_FACTOR), s.getRolloffFactor(), EPSILON);
+        Assert.assertEquals(nativeSourcef(s, ALConstants.AL_REFERENCE_DISTANCE), s.getReferenceDistance(), EPSILON);
+        Assert.assertEquals(nativeSourcef(s, ALConstants.AL_MIN_GAIN), s.getMinGain(), EPSILON);
+        Assert.assertEquals(nativeSourcef(s, ALConstants.AL_MAX_GAIN), s.getMaxGain(), EPSILON);
+        Assert.assertEquals(nativeSourcef(s, ALConstants.AL_CONE_OUTER_GAIN), s.getConeOuterGain(), EPSILON);
+        Assert.assertEquals(nativeSourcef(s, ALConstants.AL_CONE_INNER_ANGLE), s.getConeInnerAngle(), EPSILON);
+        Assert.assertEquals(nativeSourcef(s, ALConstants.AL_CONE_OUTER_ANGLE), s.getConeOuterAngle(), EPSILON);
+        Assert.assertArrayEquals(nativeSourcefv(s, ALConstants.AL_POSITION), toArray(s.getPosition()), EPSILON);
+        Assert.assertArrayEquals(nativeSourcefv(s, ALConstants.AL_VELOCITY), toArray(s.getVelocity()), EPSILON);
+        Assert.assertArrayEquals(nativeSourcefv(s, ALConstants.AL_DIRECTION), toArray(s.getDirection()), EPSILON);
+        final int[] i = new int[1];
+        AudioSystem3D.getAL().alGetSourcei(s.getID(), ALConstants.AL_SOURCE_RELATIVE, i, 0);
+        Assert.assertEquals(ALConstants.AL_TRUE == i[0], s.isSourceRelative());
+        AudioSystem3D.getAL().alGetSourcei(s.getID(), ALConstants.AL_LOOPING, i, 0);
+        Assert.assertEquals(ALConstants.AL_TRUE == i[0], s.getLooping());
+    }
+
+    private static float[] toArray(final Vec3f v) {
+        return new float[] { v.v1, v.v2, v.v3 };
+    }
+
+    @Test
+    public void test01SourceConsistency() {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.setShadowState(true);
+        Assert.assertTrue(context.isShadowState());
+        context.makeCurrent(true);
+        final Source source = new Source();
+        try {
+            Assert.assertTrue(source.create());
+            // initial values queried and shadowed
+            assertSourceConsistent(source);
+            assertSourceConsistent(source);
+
+            // written through by setter
+            source.setPitch(1.5f);
+            source.setGain(0.25f);
+            source.setMaxDistance(100f);
+            source.setRolloffFactor(2f);
+            source.setReferenceDistance(3f);
+            source.setMinGain(0.1f);
+            source.setMaxGain(0.9f);
+            source.setConeOuterGain(0.5f);
+            source.setConeInnerAngle(90f);
+            source.setConeOuterAngle(180f);
+            source.setPosition(1f, 2f, 3f);
+            source.setVelocity(new Vec3f(4f, 5f, 6f));
+            source.setDirection(0f, 0f, -1f);
+            source.setSourceRelative(true);
+            source.setLooping(true);
+            Assert.assertEquals(0.25f, source.getGain(), EPSILON);
+            Assert.assertEquals(2f, source.getPosition(new Vec3f()).v2, EPSILON);
+            assertSourceConsistent(source);
+
+            // dynamic state always native
+            Assert.assertEquals(ALConstants.AL_INITIAL, source.getState());
+
+            // bypassing the source requires invalidation
+            final AL al = AudioSystem3D.getAL();
+            al.alSourcef(source.getID(), ALConstants.AL_GAIN, 0.75f);
+            Assert.assertEquals("Shadowed value expected", 0.25f, source.getGain(), EPSILON);
+            source.invalidateShadowState();
+            Assert.assertEquals(0.75f, source.getGain(), EPSILON);
+
+            al.alSourcef(source.getID(), ALConstants.AL_PITCH, 0.5f);
+            context.invalidateShadowState();
+            Assert.assertEquals(0.5f, source.getPitch(), EPSILON);
+            assertSourceConsistent(source);
+
+            // disabled: always native
+            context.setShadowState(false);
+            al.alSourcef(source.getID(), ALConstants.AL_GAIN, 0.125f);
+            Assert.assertEquals(0.125f, source.getGain(), EPSILON);
+            // re-enabling invalidates
+            context.setShadowState(true);
+            assertSourceConsistent(source);
+        } finally {
+            source.delete();
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    @Test
+    public void test02ListenerPerContext() {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context1 = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        final Context context2 = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context1.setShadowState(true);
+        context2.setShadowState(true);
+        final Listener listener = AudioSystem3D.getListener();
+        final float[] orient = { 0f, 0f, -1f, 0f, 1f, 0f };
+        final float[] nativeV = new float[6];
+        final float[] v = new float[6];
+        try {
+            context1.makeCurrent(true);
+            listener.setGain(0.5f);
+            listener.setPosition(1f, 2f, 3f);
+            listener.setVelocity(new Vec3f(-1f, 0f, 1f));
+            listener.setOrientation(orient);
+            context1.release(true);
+
+            context2.makeCurrent(true);
+            listener.setGain(0.25f);
+            listener.setPosition(-1f, -2f, -3f);
+            Assert.assertEquals(0.25f, listener.getGain(), EPSILON);
+            Assert.assertEquals(-2f, listener.getPosition().v2, EPSILON);
+            context2.release(true);
+
+            context1.makeCurrent(true);
+            Assert.assertEquals(0.5f, listener.getGain(), EPSILON);
+            AudioSystem3D.getAL().alGetListenerfv(ALConstants.AL_POSITION, nativeV, 0);
+            listener.getPosition(v, 0);
+            Assert.assertArrayEquals(nativeV, v, EPSILON);
+            AudioSystem3D.getAL().alGetListenerfv(ALConstants.AL_VELOCITY, nativeV, 0);
+            listener.getVelocity(v, 0);
+            Assert.assertArrayEquals(nativeV, v, EPSILON);
+            AudioSystem3D.getAL().alGetListenerfv(ALConstants.AL_ORIENTATION, nativeV, 0);
+            listener.getOrientation(v, 0);
+            Assert.assertArrayEquals(nativeV, v, EPSILON);
+            Assert.assertArrayEquals(orient, v, EPSILON);
+            context1.release(true);
+        } finally {
+            context1.destroy();
+            context2.destroy();
+            device.close();
+        }
+    }
+
+    @Test
+    public void test03BufferConsistency() {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.setShadowState(true);
+        context.makeCurrent(true);
+        final Buffer buffer = AudioSystem3D.generateBuffers(1)[0];
+        try {
+            final int[] i = new int[1];
+            buffer.configure(Buffers.newDirectByteBuffer(4800*2), Buffer.FORMAT_MONO16, 48000);
+            Assert.assertEquals(48000, buffer.getFrequency());
+            Assert.assertEquals(1, buffer.getNumChannels());
+            Assert.assertEquals(16, buffer.getBitDepth());
+            AudioSystem3D.getAL().alGetBufferi(buffer.getID(), ALConstants.AL_SIZE, i, 0);
+            Assert.assertEquals(i[0], buffer.getSize());
+
+            // re-configure invalidates
+            final ByteBuffer data = Buffers.newDirectByteBuffer(2205*4);
+            buffer.configure(data, Buffer.FORMAT_STEREO16, 22050);
+            Assert.assertEquals(22050, buffer.getFrequency());
+            Assert.assertEquals(2, buffer.getNumChannels());
+            AudioSystem3D.getAL().alGetBufferi(buffer.getID(), ALConstants.AL_SIZE, i, 0);
+            Assert.assertEquals(i[0], buffer.getSize());
+            Assert.assertEquals(0.1f, buffer.getDuration(), EPSILON);
+        } finally {
+            buffer.delete();
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    @Test
+    public void test04RejectedValues() {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.setShadowState(true);
+        context.makeCurrent(true);
+        final Source source = new Source();
+        final Listener listener = AudioSystem3D.getListener();
+        try {
+            Assert.assertTrue(source.create());
+            source.setGain(0.5f);
+            Assert.assertEquals(0.5f, source.getGain(), EPSILON);
+            source.setGain(-1f); // AL_INVALID_VALUE, native gain unchanged
+            Assert.assertEquals(0.5f, nativeSourcef(source, ALConstants.AL_GAIN), EPSILON);
+            Assert.assertEquals(0.5f, source.getGain(), EPSILON);
+            source.setPitch(1.5f);
+            source.setPitch(-2f); // AL_INVALID_VALUE
+            Assert.assertEquals(nativeSourcef(source, ALConstants.AL_PITCH), source.getPitch(), EPSILON);
+
+            listener.setGain(0.25f);
+            listener.setGain(-1f); // AL_INVALID_VALUE
+            final float[] f = new float[1];
+            AudioSystem3D.getAL().alGetListenerf(ALConstants.AL_GAIN, f, 0);
+            Assert.assertEquals(0.25f, f[0], EPSILON);
+            Assert.assertEquals(0.25f, listener.getGain(), EPSILON);
+
+            source.setPosition(Float.NaN, 0f, 0f); // rejected, not finite
+            Assert.assertArrayEquals(nativeSourcefv(source, ALConstants.AL_POSITION), toArray(source.getPosition()), EPSILON);
+
+            // error left pending to the caller by the shadow state setter
+            Assert.assertEquals(ALConstants.AL_INVALID_VALUE, AudioSystem3D.getAL().alGetError());
+            Assert.assertEquals(ALConstants.AL_NO_ERROR, AudioSystem3D.getAL().alGetError());
+        } finally {
+            source.delete();
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(ShadowStateTest.class.getName());
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Source;
+import com.jogamp.openal.sound3d.SourceArray;
+import com.jogamp.openal.sound3d.Vec3f;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+
+/**
+ * Testing {@link SourceArray} bulk updates, using a loopback device.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SourceArrayTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int COUNT = 16;
+
+    @Test
+    public void test01BulkUpdate() {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.makeCurrent(true);
+        final Source[] sources = new Source[COUNT];
+        try {
+            for(int i=0; i<COUNT; ++i) {
+                sources[i] = new Source();
+                Assert.assertTrue(sources[i].create());
+            }
+            final SourceArray array = new SourceArray(sources);
+            Assert.assertEquals(COUNT, array.getCount());
+
+            final FloatBuffer positions = Buffers.newDirectFloatBuffer(3*COUNT);
+            final FloatBuffer velocities = Buffers.newDirectFloatBuffer(3*COUNT);
+            final FloatBuffer gains = Buffers.newDirectFloatBuffer(COUNT);
+            for(int i=0; i<COUNT; ++i) {
+                positions.put(i).put(2*i).put(-i);
+                velocities.put(-i).put(0.5f*i).put(1f);
+                gains.put(i / (float)COUNT);
+            }
+            positions.flip(); velocities.flip(); gains.flip();
+
+            array.update(positions, velocities, gains);
+            Assert.assertEquals("Buffer position modified", 0, positions.position());
+            for(int i=0; i<COUNT; ++i) {
+                final Vec3f p = sources[i].getPosition();
+                final Vec3f v = sources[i].getVelocity();
+                Assert.assertEquals(i, p.v1, 0.0001f);
+                Assert.assertEquals(2*i, p.v2, 0.0001f);
+                Assert.assertEquals(-i, p.v3, 0.0001f);
+                Assert.assertEquals(-i, v.v1, 0.0001f);
+                Assert.assertEquals(0.5f*i, v.v2, 0.0001f);
+                Assert.assertEquals(1f, v.v3, 0.0001f);
+                Assert.assertEquals(i / (float)COUNT, sources[i].getGain(), 0.0001f);
+            }
+
+            // positions only, velocities and gains unchanged
+            for(int i=0; i<3*COUNT; ++i) {
+                positions.put(i, 42f);
+            }
+            array.setPositions(positions);
+            Assert.assertEquals(42f, sources[COUNT-1].getPosition().v1, 0.0001f);
+            Assert.assertEquals(1f, sources[COUNT-1].getVelocity().v3, 0.0001f);
+
+            // non direct or too small buffers are rejected
+            try {
+                array.setPositions(FloatBuffer.allocate(3*COUNT));
+                Assert.fail("Non direct buffer accepted");
+            } catch(final ALException e) { }
+            try {
+                array.setPositions(Buffers.newDirectFloatBuffer(3*COUNT-1));
+                Assert.fail("Too small buffer accepted");
+            } catch(final ALException e) { }
+        } finally {
+            for(final Source s : sources) {
+                if( null != s ) {
+                    s.delete();
+                }
+            }
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(SourceArrayTest.class.getName());
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Source;
+import com.jogamp.openal.sound3d.SourceCuller;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+
+/**
+ * Testing {@link SourceCuller} gain estimation and culling, the latter using a loopback device.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SourceCullerTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final float EPSILON = 0.0001f;
+
+    @Test
+    public void test01DistanceGain() {
+        // reference distance 1, rolloff 1, max distance 10
+        Assert.assertEquals(1f, SourceCuller.getDistanceGain(ALConstants.AL_NONE, 100f, 1f, 1f, 10f), EPSILON);
+        Assert.assertEquals(0.5f, SourceCuller.getDistanceGain(ALConstants.AL_INVERSE_DISTANCE, 2f, 1f, 1f, 10f), EPSILON);
+        Assert.assertEquals(0.01f, SourceCuller.getDistanceGain(ALConstants.AL_INVERSE_DISTANCE, 100f, 1f, 1f, 10f), EPSILON);
+        Assert.assertEquals(0.1f, SourceCuller.getDistanceGain(ALConstants.AL_INVERSE_DISTANCE_CLAMPED, 100f, 1f, 1f, 10f), EPSILON);
+        Assert.assertEquals(1f, SourceCuller.getDistanceGain(ALConstants.AL_INVERSE_DISTANCE_CLAMPED, 0.5f, 1f, 1f, 10f), EPSILON);
+        Assert.assertEquals(0.5f, SourceCuller.getDistanceGain(ALConstants.AL_LINEAR_DISTANCE, 5.5f, 1f, 1f, 10f), EPSILON);
+        Assert.assertEquals(0f, SourceCuller.getDistanceGain(ALConstants.AL_LINEAR_DISTANCE, 100f, 1f, 1f, 10f), EPSILON);
+        Assert.assertEquals(1f, SourceCuller.getDistanceGain(ALConstants.AL_LINEAR_DISTANCE_CLAMPED, 0.5f, 1f, 1f, 10f), EPSILON);
+        Assert.assertEquals(0.25f, SourceCuller.getDistanceGain(ALConstants.AL_EXPONENT_DISTANCE, 4f, 1f, 1f, 10f), EPSILON);
+        Assert.assertEquals(0.1f, SourceCuller.getDistanceGain(ALConstants.AL_EXPONENT_DISTANCE_CLAMPED, 100f, 1f, 1f, 10f), EPSILON);
+    }
+
+    @Test
+    public void test02ConeGain() {
+        // facing -z, listener straight ahead, sideways and behind
+        Assert.assertEquals(1f, SourceCuller.getConeGain(0f, 0f, -1f, 0f, 0f, -5f, 90f, 180f, 0.2f), EPSILON);
+        Assert.assertEquals(0.2f, SourceCuller.getConeGain(0f, 0f, -1f, 0f, 0f, 5f, 90f, 180f, 0.2f), EPSILON);
+        // 90 degrees off axis is a 180 degree cone, i.e. at the outer angle
+        Assert.assertEquals(0.2f, SourceCuller.getConeGain(0f, 0f, -1f, 5f, 0f, 0f, 90f, 180f, 0.2f), EPSILON);
+        // 67.5 degrees off axis is halfway between both cones
+        final float x = (float)Math.sin(Math.toRadians(67.5)), z = -(float)Math.cos(Math.toRadians(67.5));
+        Assert.assertEquals(0.6f, SourceCuller.getConeGain(0f, 0f, -1f, x, 0f, z, 90f, 180f, 0.2f), EPSILON);
+        // omni-directional
+        Assert.assertEquals(1f, SourceCuller.getConeGain(0f, 0f, 0f, 0f, 0f, 5f, 90f, 180f, 0.2f), EPSILON);
+    }
+
+    @Test
+    public void test10CullResume() throws InterruptedException {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.setShadowState(true);
+        context.makeCurrent(true);
+        final Buffer buffer = AudioSystem3D.generateBuffers(1)[0];
+        final Source near = new Source();
+        final Source far = new Source();
+        try {
+            // 2s of mono16 silence
+            buffer.configure(Buffers.newDirectByteBuffer(2 * SAMPLE_RATE * 2), Buffer.FORMAT_MONO16, SAMPLE_RATE);
+            Assert.assertTrue(near.create());
+            Assert.assertTrue(far.create());
+            AudioSystem3D.getAL().alDistanceModel(ALConstants.AL_INVERSE_DISTANCE_CLAMPED);
+            AudioSystem3D.getListener().setPosition(0f, 0f, 0f);
+            for(final Source s : new Source[] { near, far }) {
+                s.setBuffer(buffer);
+                s.setLooping(true);
+                s.setMaxDistance(100000f);
+            }
+            near.setPosition(1f, 0f, 0f);
+            far.setPosition(5000f, 0f, 0f);
+            near.play();
+            far.play();
+
+            final SourceCuller culler = new SourceCuller();
+            culler.add(near);
+            culler.add(far);
+            culler.add(far);
+            Assert.assertEquals(2, culler.getSourceCount());
+            culler.update();
+            Assert.assertFalse(culler.isVirtual(near));
+            Assert.assertTrue(culler.isVirtual(far));
+            Assert.assertEquals(1, culler.getVirtualCount());
+            Assert.assertEquals(1f, culler.getEstimatedGain(near), EPSILON);
+            Assert.assertEquals(1f/5000f, culler.getEstimatedGain(far), EPSILON);
+            Assert.assertEquals(ALConstants.AL_PLAYING, near.getState());
+            Assert.assertEquals(ALConstants.AL_PAUSED, far.getState());
+            final float pausedOffset = far.getSecOffset();
+
+            // virtual playback position advances while paused
+            Thread.sleep(300);
+            far.setPosition(2f, 0f, 0f);
+            culler.update();
+            Assert.assertFalse(culler.isVirtual(far));
+            Assert.assertEquals(0, culler.getVirtualCount());
+            Assert.assertEquals(1, culler.getResumeCount());
+            Assert.assertEquals(ALConstants.AL_PLAYING, far.getState());
+            final float resumedOffset = far.getSecOffset();
+            System.err.println("Offset paused "+pausedOffset+", resumed "+resumedOffset+", "+culler);
+            Assert.assertTrue("Offset not advanced: "+pausedOffset+" -> "+resumedOffset,
+                              resumedOffset >= ( pausedOffset + 0.25f ) % 2f || resumedOffset < pausedOffset);
+
+            // within hysteresis: neither culled nor resumed
+            culler.setThreshold(0.001f, 0.01f);
+            far.setPosition(500f, 0f, 0f);
+            culler.update();
+            Assert.assertFalse(culler.isVirtual(far));
+
+            // cone pointing away
+            far.setPosition(10f, 0f, 0f);
+            far.setDirection(1f, 0f, 0f);
+            far.setConeInnerAngle(30f);
+            far.setConeOuterAngle(60f);
+            far.setConeOuterGain(0f);
+            culler.update();
+            Assert.assertTrue(culler.isVirtual(far));
+
+            Assert.assertTrue(culler.remove(far, false));
+            Assert.assertEquals(ALConstants.AL_PAUSED, far.getState());
+            Assert.assertFalse(culler.remove(far));
+
+            // non looping virtual source passing its end while virtual is stopped on removal
+            culler.add(far);
+            far.setLooping(false);
+            far.play();
+            culler.update();
+            Assert.assertTrue(culler.isVirtual(far));
+            far.setPitch(10f); // 2s buffer passed within 0.3s
+            Thread.sleep(300);
+            Assert.assertTrue(culler.remove(far, true));
+            Assert.assertEquals(ALConstants.AL_STOPPED, far.getState());
+        } finally {
+            for(final Source s : new Source[] { near, far }) {
+                s.setBuffer(null);
+                s.delete();
+            }
+            buffer.delete();
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(SourceCullerTest.class.getName());
+    }
+}
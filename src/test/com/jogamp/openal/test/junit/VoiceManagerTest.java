@@ -0,0 +1,152 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.VoiceManager;
+import com.jogamp.openal.sound3d.VoiceManager.State;
+import com.jogamp.openal.sound3d.VoiceManager.Voice;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+
+/**
+ * Testing {@link VoiceManager} source pooling, voice stealing and resuming, using a loopback device.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class VoiceManagerTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int POOL_SIZE = 4;
+
+    @Test
+    public void test01StealResume() {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.makeCurrent(true);
+        final Buffer buffer = AudioSystem3D.generateBuffers(1)[0];
+        try {
+            // 2s of mono16 silence
+            final ByteBuffer data = Buffers.newDirectByteBuffer(2 * SAMPLE_RATE * 2);
+            buffer.configure(data, Buffer.FORMAT_MONO16, SAMPLE_RATE);
+            Assert.assertEquals(2f, buffer.getDuration(), 0.001f);
+
+            final VoiceManager vm = new VoiceManager(context, POOL_SIZE);
+            // virtual voices advance by the rendered duration, not by wall clock time
+            final long[] now = { 0 };
+            vm.setClock(() -> now[0]);
+            try {
+                Assert.assertEquals(POOL_SIZE, vm.getSourceCount());
+                final Voice[] low = new Voice[POOL_SIZE];
+                for(int i=0; i<POOL_SIZE; ++i) {
+                    low[i] = vm.createVoice(buffer, 1);
+                    low[i].setGain(0.5f + 0.1f * i);
+                    Assert.assertTrue("Not real: "+low[i], vm.play(low[i]));
+                }
+                Assert.assertEquals(0, vm.getFreeSourceCount());
+                render(device, now, SAMPLE_RATE / 4); // 250ms
+
+                // equal priority and quieter cannot steal
+                final Voice quiet = vm.createVoice(buffer, 1);
+                quiet.setGain(0.1f);
+                Assert.assertFalse("Quiet voice got real source", vm.play(quiet));
+                Assert.assertEquals(State.PLAYING, quiet.getState());
+                Assert.assertEquals(0, vm.getStealCount());
+
+                // higher priority steals from quietest lowest priority voice
+                final Voice high = vm.createVoice(buffer, 2);
+                Assert.assertTrue("Not real: "+high, vm.play(high));
+                Assert.assertEquals(1, vm.getStealCount());
+                Assert.assertFalse("Quietest voice not stolen: "+low[0], low[0].isReal());
+                Assert.assertEquals(State.PLAYING, low[0].getState());
+                final float stolenOffset = low[0].getSecOffset();
+                System.err.println("Stolen at "+stolenOffset+" s: "+low[0]);
+                Assert.assertTrue("Stolen offset "+stolenOffset, stolenOffset > 0.2f);
+
+                // virtual voice keeps advancing
+                now[0] += 50000000L; // 50ms
+                Assert.assertTrue(low[0].getSecOffset() > stolenOffset);
+
+                // free a source, update resumes the more audible virtual voice at its advanced offset
+                vm.stop(high);
+                vm.update();
+                Assert.assertEquals(1, vm.getResumeCount());
+                Assert.assertTrue("Not resumed: "+low[0], low[0].isReal());
+                Assert.assertFalse("Quiet voice resumed: "+quiet, quiet.isReal());
+                final float resumedOffset = low[0].getSecOffset();
+                System.err.println("Resumed at "+resumedOffset+" s: "+low[0]);
+                Assert.assertTrue("Resumed offset "+resumedOffset+" < stolen "+stolenOffset, resumedOffset > stolenOffset);
+
+                // non looping voices finish, update returns their sources and stops virtual voices at their end
+                render(device, now, 2 * SAMPLE_RATE);
+                vm.update();
+                for(int i=0; i<POOL_SIZE; ++i) {
+                    Assert.assertEquals("Not stopped: "+low[i], State.STOPPED, low[i].getState());
+                }
+                vm.update(); // quiet voice may have been resumed before reaching its end
+                render(device, now, 2 * SAMPLE_RATE);
+                vm.update();
+                Assert.assertEquals(State.STOPPED, quiet.getState());
+                Assert.assertEquals(POOL_SIZE, vm.getFreeSourceCount());
+                System.err.println(vm);
+            } finally {
+                vm.destroy();
+            }
+            Assert.assertTrue("Shared buffer deleted", buffer.isValid());
+        } finally {
+            buffer.delete();
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    /** Renders the given samples and advances the {@link VoiceManager#setClock(java.util.function.LongSupplier) clock} by their duration. */
+    private static void render(final Device device, final long[] now, final int samples) {
+        final ByteBuffer renderData = Buffers.newDirectByteBuffer(samples * 2 * 2); // stereo s16
+        AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, samples);
+        now[0] += samples * 1000000000L / SAMPLE_RATE;
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(VoiceManagerTest.class.getName());
+    }
+}
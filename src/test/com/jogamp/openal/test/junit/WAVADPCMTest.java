@@ -0,0 +1,287 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.ALExtConstants;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Source;
+import com.jogamp.openal.test.resources.ResourceLocation;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALHelpers;
+import com.jogamp.openal.util.WAVData;
+import com.jogamp.openal.util.WAVLoader;
+
+/**
+ * Testing {@link WAVLoader} recognizing IMA and Microsoft ADPCM, keeping the data compressed,
+ * and comparing the memory usage of an IMA ADPCM buffer against its PCM source, using a loopback device.
+ * <p>
+ * The IMA ADPCM stream is encoded from the PCM test resource on the fly.
+ * </p>
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class WAVADPCMTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    /** Common IMA ADPCM block size per channel in bytes, holding 505 sample frames. */
+    static final int IMA_BLOCK_BYTES = 256;
+
+    static final int[] IMA_STEPS = {
+        7, 8, 9, 10, 11, 12, 13, 14, 16, 17, 19, 21, 23, 25, 28, 31, 34, 37, 41, 45,
+        50, 55, 60, 66, 73, 80, 88, 97, 107, 118, 130, 143, 157, 173, 190, 209, 230, 253, 279, 307,
+        337, 371, 408, 449, 494, 544, 598, 658, 724, 796, 876, 963, 1060, 1166, 1282, 1411, 1552, 1707, 1878, 2066,
+        2272, 2499, 2749, 3024, 3327, 3660, 4026, 4428, 4871, 5358, 5894, 6484, 7132, 7845, 8630, 9493, 10442, 11487, 12635, 13899,
+        15289, 16818, 18500, 20350, 22385, 24623, 27086, 29794, 32767 };
+    static final int[] IMA_INDEX = { -1, -1, -1, -1, 2, 4, 6, 8, -1, -1, -1, -1, 2, 4, 6, 8 };
+
+    /** IMA ADPCM encoder state of one channel */
+    static final class IMAState {
+        int predictor;
+        int index;
+
+        int encode(final int sample) {
+            int diff = sample - predictor;
+            int nibble = 0;
+            if( diff < 0 ) {
+                nibble = 8;
+                diff = -diff;
+            }
+            int step = IMA_STEPS[index];
+            int delta = step >> 3;
+            if( diff >= step ) { nibble |= 4; diff -= step; delta += step; }
+            step >>= 1;
+            if( diff >= step ) { nibble |= 2; diff -= step; delta += step; }
+            step >>= 1;
+            if( diff >= step ) { nibble |= 1; delta += step; }
+            predictor += 0 != ( nibble & 8 ) ? -delta : delta;
+            predictor = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, predictor));
+            index = Math.max(0, Math.min(88, index + IMA_INDEX[nibble]));
+            return nibble;
+        }
+    }
+
+    /** Encodes interleaved native order s16 PCM into a RIFF/WAVE IMA ADPCM stream of whole blocks. */
+    static byte[] encodeIMA(final ShortBuffer pcm, final int channels, final int sampleRate) {
+        final int blockAlign = IMA_BLOCK_BYTES * channels;
+        final int samplesPerBlock = ( blockAlign - 4 * channels ) * 2 / channels + 1;
+        final int frames = pcm.remaining() / channels;
+        final int blocks = frames / samplesPerBlock;
+        final int dataLength = blocks * blockAlign;
+        final ByteBuffer bb = ByteBuffer.allocate(12 + 28 + 12 + 8 + dataLength).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(0x46464952).putInt(bb.capacity() - 8).putInt(0x45564157); // "RIFF", "WAVE"
+        bb.putInt(0x20746D66).putInt(20).putShort((short)0x11).putShort((short)channels).putInt(sampleRate)
+          .putInt(sampleRate * blockAlign / samplesPerBlock).putShort((short)blockAlign).putShort((short)4)
+          .putShort((short)2).putShort((short)samplesPerBlock); // "fmt ", extension size and samples per block
+        bb.putInt(0x74636166).putInt(4).putInt(blocks * samplesPerBlock); // "fact"
+        bb.putInt(0x61746164).putInt(dataLength); // "data"
+        final IMAState[] state = new IMAState[channels];
+        for(int c=0; c<channels; ++c) {
+            state[c] = new IMAState();
+        }
+        final int p0 = pcm.position();
+        for(int b=0; b<blocks; ++b) {
+            final int f0 = b * samplesPerBlock;
+            for(int c=0; c<channels; ++c) {
+                final short first = pcm.get(p0 + f0 * channels + c);
+                state[c].predictor = first;
+                bb.putShort(first).put((byte)state[c].index).put((byte)0);
+            }
+            // remaining samples in groups of 8 per channel, 4 bytes each
+            for(int g=0; g<(samplesPerBlock-1)/8; ++g) {
+                for(int c=0; c<channels; ++c) {
+                    for(int i=0; i<8; i+=2) {
+                        final int f = f0 + 1 + g*8 + i;
+                        final int lo = state[c].encode(pcm.get(p0 + f * channels + c));
+                        final int hi = state[c].encode(pcm.get(p0 + ( f + 1 ) * channels + c));
+                        bb.put((byte)( lo | hi << 4 ));
+                    }
+                }
+            }
+        }
+        Assert.assertEquals(0, bb.remaining());
+        return bb.array();
+    }
+
+    static WAVData loadPCM() throws IOException {
+        return WAVLoader.loadFromStream(ResourceLocation.getTestStream3());
+    }
+
+    static ShortBuffer asShortBuffer(final WAVData wd) {
+        return wd.data.duplicate().order(ByteOrder.nativeOrder()).asShortBuffer();
+    }
+
+    @Test
+    public void test01LoadIMA4() throws IOException {
+        final WAVData pcm = loadPCM();
+        final byte[] ima = encodeIMA(asShortBuffer(pcm), 2, pcm.freq);
+        final WAVData wd = WAVLoader.loadFromStream(new ByteArrayInputStream(ima));
+        System.err.println("PCM "+pcm.data.remaining()+" bytes, IMA4 "+wd.data.remaining()+" bytes");
+        Assert.assertEquals(ALExtConstants.AL_FORMAT_STEREO_IMA4, wd.format);
+        Assert.assertEquals(ALHelpers.AL_EXT_IMA4, WAVData.getADPCMExtension(wd.format));
+        Assert.assertEquals(pcm.freq, wd.freq);
+        Assert.assertEquals(505, wd.blockAlignment);
+        Assert.assertEquals(ima.length - 60, wd.data.remaining());
+        Assert.assertEquals(0, wd.data.remaining() % (2*IMA_BLOCK_BYTES));
+        final float ratio = (float)pcm.data.remaining() / wd.data.remaining();
+        Assert.assertTrue("Compression ratio "+ratio, 3.9f <= ratio && ratio <= 4.1f);
+
+        final File f = File.createTempFile("joal-test", ".wav");
+        f.deleteOnExit();
+        try {
+            final OutputStream out = new FileOutputStream(f);
+            try {
+                out.write(ima);
+            } finally {
+                out.close();
+            }
+            final WAVData wdm = WAVLoader.loadFromFileMapped(f.getPath());
+            Assert.assertEquals(wd.format, wdm.format);
+            Assert.assertEquals(wd.blockAlignment, wdm.blockAlignment);
+            Assert.assertEquals("Content differs", wd.data, wdm.data);
+        } finally {
+            f.delete();
+        }
+    }
+
+    @Test
+    public void test02LoadMSADPCM() throws IOException {
+        // mono, 2 blocks of 512 bytes, fmt extension with samples per block and the 7 standard coefficients
+        final int blockAlign = 512, samplesPerBlock = ( blockAlign - 7 ) * 2 + 2;
+        final ByteBuffer bb = ByteBuffer.allocate(12 + 58 + 8 + 2*blockAlign + 3).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(0x46464952).putInt(bb.capacity() - 8).putInt(0x45564157);
+        bb.putInt(0x20746D66).putInt(50).putShort((short)2).putShort((short)1).putInt(22050)
+          .putInt(22050 * blockAlign / samplesPerBlock).putShort((short)blockAlign).putShort((short)4)
+          .putShort((short)32).putShort((short)samplesPerBlock).putShort((short)7);
+        final short[] coefs = { 256, 0, 512, -256, 0, 0, 192, 64, 240, 0, 460, -208, 392, -232 };
+        for(final short c : coefs) {
+            bb.putShort(c);
+        }
+        bb.putInt(0x61746164).putInt(2*blockAlign + 3); // trailing partial block
+        final WAVData wd = WAVLoader.loadFromStream(new ByteArrayInputStream(bb.array()));
+        Assert.assertEquals(ALExtConstants.AL_FORMAT_MONO_MSADPCM_SOFT, wd.format);
+        Assert.assertEquals(ALHelpers.AL_SOFT_MSADPCM, WAVData.getADPCMExtension(wd.format));
+        Assert.assertEquals(samplesPerBlock, wd.blockAlignment);
+        Assert.assertEquals(2*blockAlign, wd.data.remaining());
+    }
+
+    @Test
+    public void test03UnsupportedCompression() throws IOException {
+        final ByteBuffer bb = ByteBuffer.allocate(12 + 24 + 8 + 4).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(0x46464952).putInt(bb.capacity() - 8).putInt(0x45564157);
+        bb.putInt(0x20746D66).putInt(16).putShort((short)0x55 /* MPEG layer 3 */).putShort((short)1).putInt(22050)
+          .putInt(4000).putShort((short)1).putShort((short)0);
+        bb.putInt(0x61746164).putInt(4);
+        try {
+            WAVLoader.loadFromStream(new ByteArrayInputStream(bb.array()));
+            Assert.fail("Unsupported compression code accepted");
+        } catch(final com.jogamp.openal.ALException e) {
+            System.err.println("Expected: "+e.getMessage());
+        }
+    }
+
+    @Test
+    public void test10MemoryUsageIMA4vsPCM() throws IOException {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.makeCurrent(true);
+        final Buffer[] buffers = AudioSystem3D.generateBuffers(2);
+        final Source source = new Source();
+        try {
+            if( !AudioSystem3D.getAL().alIsExtensionPresent(ALHelpers.AL_EXT_IMA4) ||
+                !AudioSystem3D.getAL().alIsExtensionPresent(ALHelpers.AL_SOFT_block_alignment) )
+            {
+                System.err.println("No extension "+ALHelpers.AL_EXT_IMA4+" or "+ALHelpers.AL_SOFT_block_alignment+" present");
+                return;
+            }
+            final WAVData pcm = loadPCM();
+            final WAVData ima = WAVLoader.loadFromStream(new ByteArrayInputStream(encodeIMA(asShortBuffer(pcm), 2, pcm.freq)));
+            final Buffer pcmBuffer = buffers[0], imaBuffer = buffers[1];
+            pcmBuffer.configure(pcm.data, pcm.format, pcm.freq);
+            AudioSystem3D.checkALError("PCM upload", true, true);
+            imaBuffer.configure(ima.data, ima.format, ima.freq, ima.blockAlignment);
+            AudioSystem3D.checkALError("IMA4 upload", true, true);
+            final int pcmSize = pcmBuffer.getSize(), imaSize = imaBuffer.getSize();
+            System.err.printf("Resident: PCM %d bytes (%.3f s), IMA4 %d bytes (%.3f s), ratio %.2f%n",
+                    pcmSize, pcmBuffer.getDuration(), imaSize, imaBuffer.getDuration(), (float)pcmSize / imaSize);
+            Assert.assertTrue("IMA4 "+imaSize+" >= PCM "+pcmSize, imaSize < pcmSize);
+
+            // duration of whole blocks, at most one block shorter than the PCM source
+            final float imaDuration = (float)( ima.data.remaining() / ( 2 * IMA_BLOCK_BYTES ) * ima.blockAlignment ) / ima.freq;
+            Assert.assertEquals(imaDuration, imaBuffer.getDuration(), 0.0001f);
+            Assert.assertEquals(pcmBuffer.getDuration(), imaBuffer.getDuration(), (float)ima.blockAlignment / ima.freq);
+
+            // compressed buffer plays
+            Assert.assertTrue(source.create());
+            source.setBuffer(imaBuffer);
+            source.play();
+            final int renderSamples = SAMPLE_RATE / 10;
+            final ByteBuffer renderData = Buffers.newDirectByteBuffer(renderSamples * 2 * 2); // stereo s16
+            AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, renderSamples);
+            Assert.assertEquals(ALConstants.AL_PLAYING, source.getState());
+            Assert.assertTrue(source.getSecOffset() > 0f);
+            // a playing source's buffer can't be detached
+            source.stop();
+            Assert.assertEquals(ALConstants.AL_STOPPED, source.getState());
+            source.setBuffer(null);
+            AudioSystem3D.checkALError("Detach buffer", true, true);
+        } finally {
+            source.delete();
+            for(final Buffer b : buffers) {
+                b.delete();
+            }
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(WAVADPCMTest.class.getName());
+    }
+}
@@ -0,0 +1,253 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.ALExtConstants;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALHelpers;
+import com.jogamp.openal.util.PCMUtil;
+import com.jogamp.openal.util.WAVData;
+import com.jogamp.openal.util.WAVLoader;
+
+/**
+ * Testing {@link WAVLoader} with 24-bit and 32-bit integer, IEEE float and <code>WAVE_FORMAT_EXTENSIBLE</code> data
+ * as well as their upload via {@link Buffer#configure(WAVData)} using a loopback device.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class WAVExtensibleTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int WAVE_FORMAT_PCM = 1;
+    static final int WAVE_FORMAT_IEEE_FLOAT = 3;
+    static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+    static final int FRAMES = 64;
+
+    /**
+     * Returns a RIFF/WAVE or RIFX/WAVE stream of the given samples, already in the stream's byte order.
+     * If {@code channelMask} is not negative, <code>WAVE_FORMAT_EXTENSIBLE</code> is used with {@code code} as sub-format.
+     */
+    static byte[] createWAV(final boolean bigEndian, final int code, final int channels, final int bits, final int channelMask,
+                            final byte[] samples) {
+        final boolean extensible = 0 <= channelMask;
+        final int fmtSize = extensible ? 40 : 16;
+        final int frameSize = channels * bits / 8;
+        final ByteBuffer bb = ByteBuffer.allocate(12 + 8 + fmtSize + 8 + samples.length)
+                                        .order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        bb.put((bigEndian ? "RIFX" : "RIFF").getBytes(StandardCharsets.US_ASCII)).putInt(bb.capacity() - 8)
+          .put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        bb.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(fmtSize)
+          .putShort((short)(extensible ? WAVE_FORMAT_EXTENSIBLE : code)).putShort((short)channels).putInt(SAMPLE_RATE)
+          .putInt(SAMPLE_RATE * frameSize).putShort((short)frameSize).putShort((short)bits);
+        if( extensible ) {
+            bb.putShort((short)22).putShort((short)bits).putInt(channelMask).putShort((short)code);
+            bb.put(new byte[] { 0x00, 0x00, 0x00, 0x00, 0x10, 0x00, (byte)0x80, 0x00, 0x00, (byte)0xAA, 0x00, 0x38, (byte)0x9B, 0x71 });
+        }
+        bb.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(samples.length).put(samples);
+        return bb.array();
+    }
+
+    /** Returns a ramp of the given integer or float samples in the given byte order, with {@code bits} of 24 written as 3 bytes. */
+    static byte[] createSamples(final ByteOrder order, final int bits, final boolean fixedP, final int count) {
+        final int bytes = bits / 8;
+        final ByteBuffer bb = ByteBuffer.allocate(count * bytes).order(order);
+        for(int i=0; i<count; ++i) {
+            final int v = sampleValue(bits, i);
+            if( !fixedP ) {
+                bb.putFloat(i * 0.01f - 0.3f);
+            } else if( 24 == bits ) {
+                if( ByteOrder.BIG_ENDIAN == order ) {
+                    bb.put((byte)(v >> 16)).put((byte)(v >> 8)).put((byte)v);
+                } else {
+                    bb.put((byte)v).put((byte)(v >> 8)).put((byte)(v >> 16));
+                }
+            } else {
+                bb.putInt(v);
+            }
+        }
+        return bb.array();
+    }
+
+    static int sampleValue(final int bits, final int i) {
+        return 24 == bits ? ( i - 32 ) * 0x1234 : ( i - 32 ) * 0x1234567;
+    }
+
+    static WAVData load(final byte[] wav) throws IOException {
+        return WAVLoader.loadFromStream(new ByteArrayInputStream(wav));
+    }
+
+    /** Returns the given integer samples of {@code wd} as left justified 32-bit values. */
+    static ByteBuffer toS32(final WAVData wd, final int count) {
+        final ByteBuffer dst = ByteBuffer.allocate(4 * count).order(ByteOrder.nativeOrder());
+        final PCMUtil.Format src = 24 == wd.audioFormat.sampleSize ? PCMUtil.Format.S24 : PCMUtil.Format.S32;
+        PCMUtil.convert(wd.data.duplicate().order(ByteOrder.nativeOrder()), src, dst, PCMUtil.Format.S32, count);
+        return dst;
+    }
+
+    @Test
+    public void test01Int24() throws IOException {
+        for(final ByteOrder order : new ByteOrder[] { ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN }) {
+            final byte[] samples = createSamples(order, 24, true, 2 * FRAMES);
+            final WAVData wd = load(createWAV(ByteOrder.BIG_ENDIAN == order, WAVE_FORMAT_PCM, 2, 24, -1, samples));
+            Assert.assertEquals(ALConstants.AL_NONE, wd.format);
+            Assert.assertEquals(6 * FRAMES, wd.data.remaining());
+            Assert.assertNotNull(wd.audioFormat);
+            Assert.assertEquals(24, wd.audioFormat.sampleSize);
+            Assert.assertEquals(2, wd.audioFormat.channelCount);
+            Assert.assertTrue(wd.audioFormat.signed);
+            Assert.assertTrue(wd.audioFormat.fixedP);
+            final ByteBuffer s32 = toS32(wd, 2 * FRAMES);
+            for(int i=0; i<2 * FRAMES; ++i) {
+                Assert.assertEquals(order+" sample "+i, sampleValue(24, i) << 8, s32.getInt(4 * i));
+            }
+        }
+    }
+
+    @Test
+    public void test02Int32Extensible() throws IOException {
+        final byte[] samples = createSamples(ByteOrder.LITTLE_ENDIAN, 32, true, FRAMES);
+        final WAVData wd = load(createWAV(false, WAVE_FORMAT_PCM, 1, 32, 0x4, samples));
+        Assert.assertEquals(ALConstants.AL_NONE, wd.format);
+        Assert.assertEquals(32, wd.audioFormat.sampleSize);
+        Assert.assertEquals(1, wd.audioFormat.channelCount);
+        final ByteBuffer s32 = toS32(wd, FRAMES);
+        for(int i=0; i<FRAMES; ++i) {
+            Assert.assertEquals(sampleValue(32, i), s32.getInt(4 * i));
+        }
+    }
+
+    @Test
+    public void test03Float32() throws IOException {
+        for(final int mask : new int[] { -1, 0x3 }) {
+            final byte[] samples = createSamples(ByteOrder.LITTLE_ENDIAN, 32, false, 2 * FRAMES);
+            final WAVData wd = load(createWAV(false, WAVE_FORMAT_IEEE_FLOAT, 2, 32, mask, samples));
+            Assert.assertEquals(ALExtConstants.AL_FORMAT_STEREO_FLOAT32, wd.format);
+            Assert.assertFalse(wd.audioFormat.fixedP);
+            Assert.assertEquals(32, wd.audioFormat.sampleSize);
+            final ByteBuffer data = wd.data.duplicate().order(ByteOrder.nativeOrder());
+            for(int i=0; i<2 * FRAMES; ++i) {
+                Assert.assertEquals(i * 0.01f - 0.3f, data.getFloat(4 * i), 0f);
+            }
+        }
+    }
+
+    @Test
+    public void test04MultiChannel() throws IOException {
+        final byte[] samples = new byte[6 * 2 * FRAMES];
+        WAVData wd = load(createWAV(false, WAVE_FORMAT_PCM, 6, 16, 0x3F, samples));
+        Assert.assertEquals(ALExtConstants.AL_FORMAT_51CHN16, wd.format);
+        wd = load(createWAV(false, WAVE_FORMAT_PCM, 6, 16, 0x60F, samples));
+        Assert.assertEquals(ALExtConstants.AL_FORMAT_51CHN16, wd.format);
+        wd = load(createWAV(false, WAVE_FORMAT_PCM, 2, 16, 0x3, new byte[2 * 2 * FRAMES]));
+        Assert.assertEquals(ALConstants.AL_FORMAT_STEREO16, wd.format);
+        try {
+            load(createWAV(false, WAVE_FORMAT_PCM, 6, 16, 0x3F3, samples));
+            Assert.fail("Unsupported channel mask accepted");
+        } catch(final ALException e) {
+            System.err.println("Expected: "+e.getMessage());
+        }
+        try {
+            load(createWAV(false, WAVE_FORMAT_PCM, 2, 16, 0x5, new byte[2 * 2 * FRAMES]));
+            Assert.fail("Unsupported stereo channel mask accepted");
+        } catch(final ALException e) {
+            System.err.println("Expected: "+e.getMessage());
+        }
+    }
+
+    @Test
+    public void test05SampleType() {
+        // existing mapping w/o 24-bit type is kept, packed 24-bit samples are mapped on request
+        Assert.assertEquals(ALConstants.AL_NONE, ALHelpers.getALSampleType(24, true, true));
+        Assert.assertEquals(ALConstants.AL_NONE, ALHelpers.getALSampleType(24, false, true));
+        Assert.assertEquals(ALExtConstants.AL_BYTE3_SOFT, ALHelpers.getALSampleType(24, true, true, true));
+        Assert.assertEquals(ALExtConstants.AL_UNSIGNED_BYTE3_SOFT, ALHelpers.getALSampleType(24, false, true, true));
+        Assert.assertEquals(ALConstants.AL_NONE, ALHelpers.getALSampleType(24, true, true, false));
+        Assert.assertEquals(ALExtConstants.AL_FLOAT_SOFT, ALHelpers.getALSampleType(32, true, false, true));
+        Assert.assertEquals(ALExtConstants.AL_SHORT_SOFT, ALHelpers.getALSampleType(16, true, true, true));
+    }
+
+    @Test
+    public void test10Upload() throws IOException {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.makeCurrent(true);
+        final Buffer buffer = AudioSystem3D.generateBuffers(1)[0];
+        try {
+            final WAVData[] wds = {
+                load(createWAV(false, WAVE_FORMAT_PCM, 2, 24, -1, createSamples(ByteOrder.LITTLE_ENDIAN, 24, true, 2 * FRAMES))),
+                load(createWAV(false, WAVE_FORMAT_PCM, 1, 32, 0x4, createSamples(ByteOrder.LITTLE_ENDIAN, 32, true, FRAMES))),
+                load(createWAV(false, WAVE_FORMAT_IEEE_FLOAT, 2, 32, 0x3, createSamples(ByteOrder.LITTLE_ENDIAN, 32, false, 2 * FRAMES))),
+                load(createWAV(false, WAVE_FORMAT_PCM, 6, 16, 0x3F, new byte[6 * 2 * FRAMES])) };
+            for(final WAVData wd : wds) {
+                final WAVData s = wd.toSupportedFormat(AudioSystem3D.getAL(), AudioSystem3D.getALExt());
+                Assert.assertTrue("No supported format for "+wd.audioFormat, ALConstants.AL_NONE != s.format);
+                if( ALConstants.AL_NONE != wd.format && wd.format == s.format ) {
+                    Assert.assertSame(wd, s);
+                }
+                // off-thread conversion via an extension snapshot yields the same format
+                final WAVData s2 = wd.toSupportedFormat(WAVData.getFormatExtensions(AudioSystem3D.getAL()));
+                Assert.assertEquals(s.format, s2.format);
+                Assert.assertEquals(s.data.remaining(), s2.data.remaining());
+                buffer.configure(wd);
+                AudioSystem3D.checkALError("upload", true, true);
+                System.err.println(wd.audioFormat+" -> 0x"+Integer.toHexString(s.format)+": "+buffer.getBitDepth()+" bits, "+
+                                   buffer.getSize()+" bytes, "+buffer.getDuration()+" s");
+                Assert.assertEquals(wd.audioFormat.channelCount, buffer.getNumChannels());
+                Assert.assertEquals((float)FRAMES / SAMPLE_RATE, buffer.getDuration(), 0.0001f);
+            }
+        } finally {
+            buffer.delete();
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(WAVExtensibleTest.class.getName());
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.ALExtConstants;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALHelpers;
+import com.jogamp.openal.util.PCMUtil;
+import com.jogamp.openal.util.WAVData;
+import com.jogamp.openal.util.WAVLoader;
+
+/**
+ * Testing {@link WAVLoader} recognizing G.711 &mu;-law and A-law, the {@link PCMUtil} decoders
+ * and their upload, either as is or decoded, using a loopback device.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class WAVG711Test extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int WAVE_FORMAT_ALAW = 6;
+    static final int WAVE_FORMAT_MULAW = 7;
+
+    /** Returns a RIFF/WAVE stream of the given 8-bit G.711 samples. */
+    static byte[] createWAV(final int compressionCode, final int channels, final byte[] samples) {
+        final ByteBuffer bb = ByteBuffer.allocate(12 + 26 + 8 + samples.length).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(0x46464952).putInt(bb.capacity() - 8).putInt(0x45564157); // "RIFF", "WAVE"
+        bb.putInt(0x20746D66).putInt(18).putShort((short)compressionCode).putShort((short)channels).putInt(8000)
+          .putInt(8000 * channels).putShort((short)channels).putShort((short)8).putShort((short)0); // "fmt "
+        bb.putInt(0x61746164).putInt(samples.length).put(samples); // "data"
+        return bb.array();
+    }
+
+    static byte[] allCodes() {
+        final byte[] b = new byte[256];
+        for(int i=0; i<256; ++i) {
+            b[i] = (byte)i;
+        }
+        return b;
+    }
+
+    @Test
+    public void test01DecodeTables() {
+        final ByteBuffer src = ByteBuffer.wrap(allCodes());
+        final ByteBuffer mu = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer a = ByteBuffer.allocate(512).order(ByteOrder.BIG_ENDIAN);
+        PCMUtil.mulawToS16(src, mu, 256);
+        PCMUtil.alawToS16(src, a, 256);
+        Assert.assertEquals(0, src.position());
+        // G.711 reference values
+        Assert.assertEquals(-32124, mu.getShort(2*0x00));
+        Assert.assertEquals(32124, mu.getShort(2*0x80));
+        Assert.assertEquals(0, mu.getShort(2*0xFF));
+        Assert.assertEquals(0, mu.getShort(2*0x7F));
+        Assert.assertEquals(8, a.getShort(2*0xD5));
+        Assert.assertEquals(-8, a.getShort(2*0x55));
+        Assert.assertEquals(32256, a.getShort(2*0xAA));
+        Assert.assertEquals(-32256, a.getShort(2*0x2A));
+        // monotonic within each sign half
+        for(int i=1; i<128; ++i) {
+            Assert.assertTrue(mu.getShort(2*i) > mu.getShort(2*(i-1)));
+            Assert.assertTrue(mu.getShort(2*(128+i)) < mu.getShort(2*(128+i-1)));
+        }
+    }
+
+    @Test
+    public void test02LoadAndDecode() throws IOException {
+        final byte[] samples = allCodes();
+        final WAVData mu = WAVLoader.loadFromStream(new ByteArrayInputStream(createWAV(WAVE_FORMAT_MULAW, 1, samples)));
+        Assert.assertEquals(ALExtConstants.AL_FORMAT_MONO_MULAW_EXT, mu.format);
+        Assert.assertEquals(0, mu.blockAlignment);
+        Assert.assertEquals(256, mu.data.remaining());
+        Assert.assertTrue(WAVData.isCompanded(mu.format));
+        Assert.assertEquals(ALHelpers.AL_EXT_MULAW, WAVData.getCompandedExtension(mu.format));
+
+        final WAVData a = WAVLoader.loadFromStream(new ByteArrayInputStream(createWAV(WAVE_FORMAT_ALAW, 2, samples)));
+        Assert.assertEquals(ALExtConstants.AL_FORMAT_STEREO_ALAW_EXT, a.format);
+        Assert.assertEquals(ALHelpers.AL_EXT_ALAW, WAVData.getCompandedExtension(a.format));
+
+        final WAVData mu16 = mu.decodeCompanded();
+        Assert.assertEquals(ALConstants.AL_FORMAT_MONO16, mu16.format);
+        Assert.assertEquals(512, mu16.data.remaining());
+        Assert.assertEquals(0, mu16.data.order(ByteOrder.nativeOrder()).getShort(2*0xFF));
+        final WAVData a16 = a.decodeCompanded();
+        Assert.assertEquals(ALConstants.AL_FORMAT_STEREO16, a16.format);
+        Assert.assertEquals(8, a16.data.order(ByteOrder.nativeOrder()).getShort(2*0xD5));
+        Assert.assertSame(mu16, mu16.decodeCompanded());
+        Assert.assertFalse(WAVData.isCompanded(ALConstants.AL_FORMAT_MONO8));
+    }
+
+    @Test
+    public void test10Upload() throws IOException {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.makeCurrent(true);
+        final Buffer buffer = AudioSystem3D.generateBuffers(1)[0];
+        try {
+            for(final int code : new int[] { WAVE_FORMAT_MULAW, WAVE_FORMAT_ALAW }) {
+                final WAVData wd = WAVLoader.loadFromStream(new ByteArrayInputStream(createWAV(code, 1, allCodes())));
+                final boolean hasExt = AudioSystem3D.getAL().alIsExtensionPresent(WAVData.getCompandedExtension(wd.format));
+                buffer.configure(wd.data, wd.format, wd.freq);
+                AudioSystem3D.checkALError("G.711 upload", true, true);
+                System.err.println("G.711 0x"+Integer.toHexString(code)+": ext "+hasExt+", "+buffer.getBitDepth()+" bits, "+
+                                   buffer.getSize()+" bytes, "+buffer.getDuration()+" s");
+                Assert.assertEquals(1, buffer.getNumChannels());
+                Assert.assertEquals(256f/8000f, buffer.getDuration(), 0.001f);
+                if( !hasExt ) {
+                    Assert.assertEquals(512, buffer.getData().capacity());
+                } else {
+                    Assert.assertSame(wd.data, buffer.getData());
+                }
+            }
+        } finally {
+            buffer.delete();
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(WAVG711Test.class.getName());
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.junit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Source;
+import com.jogamp.openal.test.resources.ResourceLocation;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.test.util.UITestCase;
+import com.jogamp.openal.util.ALAudioSink;
+import com.jogamp.openal.util.WAVData;
+import com.jogamp.openal.util.WAVLoader;
+import com.jogamp.openal.util.WAVStream;
+
+/**
+ * Testing {@link WAVStream} chunked reading against {@link WAVLoader#loadFromStream(java.io.InputStream)}
+ * and streaming through a {@link Source} buffer queue and an {@link ALAudioSink}, the latter using a loopback device.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class WAVStreamTest extends UITestCase {
+    static final int SAMPLE_RATE = 48000;
+    static final int FRAME_DURATION = 50; // [ms]
+    static final int RENDER_DURATION = 20; // [ms]
+
+    @Test
+    public void test01ReadChunks() throws IOException {
+        final WAVData wd = WAVLoader.loadFromStream(ResourceLocation.getTestStream3());
+        final WAVStream ws = WAVLoader.openStream(ResourceLocation.getTestStream3(), FRAME_DURATION);
+        try {
+            System.err.println(ws);
+            Assert.assertEquals(2, ws.getChannels());
+            Assert.assertEquals(16, ws.getBitsPerSample());
+            Assert.assertEquals(44100, ws.getSampleRate());
+            Assert.assertEquals(wd.format, ws.getALFormat());
+            Assert.assertEquals(44100 * FRAME_DURATION / 1000 * 4, ws.getChunkSize());
+            final ByteBuffer all = wd.data.duplicate();
+            int chunks = 0;
+            ByteBuffer chunk;
+            while( null != ( chunk = ws.readChunk() ) ) {
+                Assert.assertEquals(chunks * FRAME_DURATION, ws.getChunkPTS());
+                Assert.assertTrue(chunk.remaining() <= ws.getChunkSize());
+                Assert.assertEquals(0, chunk.remaining() % 4);
+                final ByteBuffer exp = all.slice();
+                exp.limit(chunk.remaining());
+                Assert.assertEquals("chunk "+chunks, exp, chunk);
+                all.position(all.position() + chunk.remaining());
+                ++chunks;
+            }
+            Assert.assertTrue(ws.isEOS());
+            Assert.assertEquals(wd.data.remaining(), ws.getBytesRead());
+            Assert.assertEquals(0, all.remaining());
+            Assert.assertEquals((ws.getDataLength() + ws.getChunkSize() - 1) / ws.getChunkSize(), chunks);
+        } finally {
+            ws.close();
+        }
+    }
+
+    @Test
+    public void test10StreamSource() throws IOException {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.setShadowState(true);
+        context.makeCurrent(true);
+        final Buffer[] buffers = AudioSystem3D.generateBuffers(3);
+        final Source source = new Source();
+        final WAVStream ws = WAVLoader.openStream(ResourceLocation.getTestStream3(), FRAME_DURATION);
+        try {
+            Assert.assertTrue(source.create());
+            Assert.assertEquals(3, ws.prime(source, buffers));
+            Assert.assertEquals(3, source.getBuffersQueued());
+            // time to first sample: only the primed chunks have been read
+            Assert.assertEquals(3 * ws.getChunkSize(), ws.getBytesRead());
+            for(final Buffer b : buffers) {
+                Assert.assertEquals(ws.getChunkSize(), b.getSize()); // cached in shadow state
+            }
+            source.play();
+
+            final int renderSamples = SAMPLE_RATE * RENDER_DURATION / 1000;
+            final ByteBuffer renderData = Buffers.newDirectByteBuffer(renderSamples * 2 * 2); // stereo s16
+            final int maxLoops = 2 * ws.getDuration() / RENDER_DURATION;
+            int loops = 0;
+            while( ( !ws.isEOS() || ALConstants.AL_PLAYING == source.getState() ) && loops < maxLoops ) {
+                renderData.clear();
+                AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, renderSamples);
+                ws.update(source);
+                Assert.assertTrue(source.getBuffersQueued() <= buffers.length);
+                ++loops;
+            }
+            System.err.println("Streamed "+ws+" in "+loops+" render periods");
+            Assert.assertTrue("Not at EOS: "+ws, ws.isEOS());
+            Assert.assertEquals(ws.getDataLength(), ws.getBytesRead());
+            Assert.assertEquals(ALConstants.AL_STOPPED, source.getState());
+            // refilled buffers, incl. the short last chunk, invalidated their shadow state
+            final int[] size = new int[1];
+            for(final Buffer b : buffers) {
+                AudioSystem3D.getAL().alGetBufferi(b.getID(), ALConstants.AL_SIZE, size, 0);
+                Assert.assertEquals(size[0], b.getSize());
+            }
+        } finally {
+            ws.close();
+            source.delete();
+            for(final Buffer b : buffers) {
+                b.delete();
+            }
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    @Test
+    public void test20StreamSink() throws IOException {
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final ALAudioSink sink = new ALAudioSink(device, LoopbackUtil.getAttributes(SAMPLE_RATE));
+        final WAVStream ws = WAVLoader.openStream(ResourceLocation.getTestStream3(), FRAME_DURATION);
+        try {
+            // rejected by the uninitialized sink, the chunk is kept
+            Assert.assertEquals(0, ws.enqueue(sink, 1));
+            Assert.assertEquals(ws.getChunkSize(), ws.getBytesRead());
+            Assert.assertFalse(ws.isEOS());
+
+            Assert.assertTrue("Sink init failed: "+sink, ws.init(sink, 4*FRAME_DURATION));
+            Assert.assertEquals(1, ws.enqueue(sink, 1));
+            Assert.assertEquals(0, ws.getChunkPTS());
+            Assert.assertEquals(ws.getChunkSize(), ws.getBytesRead());
+            Assert.assertEquals(2, ws.enqueue(sink, 2));
+            Assert.assertEquals(2*FRAME_DURATION, ws.getChunkPTS());
+            sink.play();
+
+            final int renderSamples = SAMPLE_RATE * RENDER_DURATION / 1000;
+            final ByteBuffer renderData = Buffers.newDirectByteBuffer(renderSamples * 2 * 2); // stereo s16
+            for(int i=0; i<5*FRAME_DURATION/RENDER_DURATION; ++i) {
+                renderData.clear();
+                AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, renderSamples);
+                sink.updateQueue();
+                if( sink.getQueuedFrameCount() < 3 ) {
+                    ws.enqueue(sink, 3 - sink.getQueuedFrameCount());
+                }
+            }
+            System.err.println("Streamed "+ws+" into "+sink);
+            Assert.assertTrue("PTS "+sink.getPTS().getLast(), sink.getPTS().getLast() >= 2*FRAME_DURATION);
+            Assert.assertTrue(ws.getChunkPTS() >= 5*FRAME_DURATION);
+        } finally {
+            ws.close();
+            sink.destroy();
+        }
+    }
+
+    public static void main(final String args[]) throws IOException {
+        org.junit.runner.JUnitCore.main(WAVStreamTest.class.getName());
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.manual;
+
+import java.nio.ByteBuffer;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.util.ALAudioSink;
+
+/**
+ * Benchmark comparing {@link ALAudioSink#enqueueData(int, ByteBuffer, int)} per frame
+ * against the batched {@link ALAudioSink#enqueueData(int, int[], ByteBuffer[], int[])},
+ * using a loopback device to drive the mixer deterministically.
+ * <p>
+ * Each loop renders the duration of one batch, releasing its buffers, and enqueues one batch.
+ * Only the enqueue calls are measured.
+ * </p>
+ * <pre>
+ * Usage: ALAudioSinkBatchBench [-batch &lt;frames&gt;] [-loops &lt;count&gt;] [-frameDuration &lt;ms&gt;]
+ * </pre>
+ */
+public class ALAudioSinkBatchBench {
+    static final int SAMPLE_RATE = 48000;
+
+    public static void main(final String[] args) {
+        int batch = 8;
+        int loops = 5000;
+        int frameDuration = 5; // [ms]
+        for(int i=0; i<args.length; i++) {
+            if(args[i].equals("-batch")) {
+                i++;
+                batch = Integer.parseInt(args[i]);
+            } else if(args[i].equals("-loops")) {
+                i++;
+                loops = Integer.parseInt(args[i]);
+            } else if(args[i].equals("-frameDuration")) {
+                i++;
+                frameDuration = Integer.parseInt(args[i]);
+            }
+        }
+        if( !LoopbackUtil.isSinkAvailable() ) {
+            return;
+        }
+        System.err.println("Batch "+batch+" frames, loops "+loops+", frame duration "+frameDuration+" ms");
+        for(int run=0; run<3; ++run) {
+            final long singleNS = run(false, batch, loops, frameDuration);
+            final long batchNS = run(true, batch, loops, frameDuration);
+            final long frames = (long)batch * loops;
+            System.err.printf("Run %d: single %.3f us/frame, batch %.3f us/frame, saved %.3f us/frame (%.1f%%)%n",
+                    run, singleNS/1000.0/frames, batchNS/1000.0/frames,
+                    (singleNS-batchNS)/1000.0/frames, 100.0*(singleNS-batchNS)/singleNS);
+        }
+    }
+
+    /** Returns the accumulated nanoseconds spent in enqueueing all frames */
+    private static long run(final boolean batched, final int batch, final int loops, final int frameDuration) {
+        final Device device = LoopbackUtil.openDevice();
+        final ALAudioSink sink = new ALAudioSink(device, LoopbackUtil.getAttributes(SAMPLE_RATE));
+        try {
+            sink.setUseSOFTEvents(false);
+            final AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true /* signed */,
+                                                       true /* fixed point */, false /* planar */, true /* littleEndian */);
+            if( !sink.init(format, frameDuration, 4*batch*frameDuration) ) {
+                throw new RuntimeException("Sink init failed: "+sink);
+            }
+            sink.play();
+            final int frameSamples = SAMPLE_RATE * frameDuration / 1000;
+            final int frameBytes = frameSamples * 2;
+            final int[] pts = new int[batch];
+            final ByteBuffer[] bytes = new ByteBuffer[batch];
+            final int[] byteCount = new int[batch];
+            for(int i=0; i<batch; ++i) {
+                bytes[i] = Buffers.newDirectByteBuffer(frameBytes);
+                byteCount[i] = frameBytes;
+            }
+            final ByteBuffer renderData = Buffers.newDirectByteBuffer(batch * frameSamples * 2 * 2); // stereo s16
+
+            int curPTS = 0;
+            long total = 0;
+            for(int l=0; l<loops; ++l) {
+                renderData.clear();
+                AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, batch * frameSamples);
+                for(int i=0; i<batch; ++i, curPTS+=frameDuration) {
+                    pts[i] = curPTS;
+                }
+                final long t0 = System.nanoTime();
+                if( batched ) {
+                    sink.enqueueData(batch, pts, bytes, byteCount);
+                } else {
+                    for(int i=0; i<batch; ++i) {
+                        sink.enqueueData(pts[i], bytes[i], byteCount[i]);
+                    }
+                }
+                total += System.nanoTime() - t0;
+            }
+            return total;
+        } finally {
+            sink.destroy();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.manual;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.ALCConstants;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.util.ALAudioSink;
+import com.jogamp.openal.util.ALAudioSinkPool;
+
+/**
+ * Scaling benchmark of N concurrent {@link ALAudioSink} streams sharing one {@link ALAudioSinkPool},
+ * compared against one dedicated loopback {@link Device} and context per {@link ALAudioSink}.
+ * <p>
+ * Each loop renders one frame duration per device, releasing its buffers, and enqueues one frame per stream.
+ * All work happens on the calling thread, hence its CPU time covers mixing and enqueueing.
+ * The dedicated mode is limited to {@code -dedicatedMax} streams, since each opens its own device.
+ * </p>
+ * <pre>
+ * Usage: ALAudioSinkPoolBench [-streams &lt;n,..&gt;] [-loops &lt;count&gt;] [-frameDuration &lt;ms&gt;] [-dedicatedMax &lt;n&gt;]
+ * </pre>
+ */
+public class ALAudioSinkPoolBench {
+    static final int SAMPLE_RATE = 48000;
+
+    public static void main(final String[] args) {
+        int[] streams = { 1, 10, 100, 250 };
+        int loops = 1000;
+        int frameDuration = 10; // [ms]
+        int dedicatedMax = 10;
+        for(int i=0; i<args.length; i++) {
+            if(args[i].equals("-streams")) {
+                i++;
+                final String[] s = args[i].split(",");
+                streams = new int[s.length];
+                for(int j=0; j<s.length; ++j) {
+                    streams[j] = Integer.parseInt(s[j].trim());
+                }
+            } else if(args[i].equals("-loops")) {
+                i++;
+                loops = Integer.parseInt(args[i]);
+            } else if(args[i].equals("-frameDuration")) {
+                i++;
+                frameDuration = Integer.parseInt(args[i]);
+            } else if(args[i].equals("-dedicatedMax")) {
+                i++;
+                dedicatedMax = Integer.parseInt(args[i]);
+            }
+        }
+        if( !LoopbackUtil.isSinkAvailable() ) {
+            return;
+        }
+        final ThreadMXBean tmx = ManagementFactory.getThreadMXBean();
+        if( !tmx.isCurrentThreadCpuTimeSupported() ) {
+            System.err.println("Thread CPU time not supported, measuring wall time only");
+        }
+        System.err.println("Streams "+java.util.Arrays.toString(streams)+", loops "+loops+", frame duration "+frameDuration+" ms");
+        for(final int n : streams) {
+            run(tmx, true, n, loops, frameDuration);
+            if( n <= dedicatedMax ) {
+                run(tmx, false, n, loops, frameDuration);
+            }
+        }
+    }
+
+    private static long cpuNanos(final ThreadMXBean tmx) {
+        return tmx.isCurrentThreadCpuTimeSupported() ? tmx.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static void run(final ThreadMXBean tmx, final boolean pooled, final int n, final int loops, final int frameDuration) {
+        final AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true /* signed */,
+                                                   true /* fixed point */, false /* planar */, true /* littleEndian */);
+        final int frameSamples = SAMPLE_RATE * frameDuration / 1000;
+        final int frameBytes = frameSamples * 2;
+        final ByteBuffer frame = Buffers.newDirectByteBuffer(frameBytes);
+        final ByteBuffer renderData = Buffers.newDirectByteBuffer(frameSamples * 2 * 2); // stereo s16
+
+        final long s0 = System.nanoTime();
+        final ALAudioSinkPool pool;
+        final Device[] devices;
+        final ALAudioSink[] sinks = new ALAudioSink[n];
+        if( pooled ) {
+            pool = new ALAudioSinkPool(LoopbackUtil.openDevice(),
+                                       LoopbackUtil.getAttributes(SAMPLE_RATE, ALCConstants.ALC_MONO_SOURCES, Math.max(256, n)));
+            devices = new Device[] { pool.getDevice() };
+        } else {
+            pool = null;
+            devices = new Device[n];
+        }
+        int created = 0;
+        try {
+            for(int i=0; i<n; ++i) {
+                final ALAudioSink sink;
+                if( pooled ) {
+                    sink = pool.createSink();
+                } else {
+                    devices[i] = LoopbackUtil.openDevice();
+                    sink = new ALAudioSink(devices[i], LoopbackUtil.getAttributes(SAMPLE_RATE));
+                }
+                sink.setUseSOFTEvents(false);
+                if( !sink.init(format, frameDuration, 4*frameDuration) ) {
+                    sink.destroy();
+                    System.err.println((pooled?"Pooled":"Dedicated")+": Sink "+i+" init failed, limit reached?");
+                    break;
+                }
+                sink.setVolume(0.5f + 0.5f * i / n);
+                sink.play();
+                sinks[i] = sink;
+                ++created;
+            }
+            final long setupNS = System.nanoTime() - s0;
+
+            int curPTS = 0;
+            final long c0 = cpuNanos(tmx);
+            final long t0 = System.nanoTime();
+            for(int l=0; l<loops; ++l, curPTS+=frameDuration) {
+                for(int d=0; d<devices.length && d<created; ++d) {
+                    renderData.clear();
+                    AudioSystem3D.getALExt().alcRenderSamplesSOFT(devices[d].getALDevice(), renderData, frameSamples);
+                }
+                for(int i=0; i<created; ++i) {
+                    sinks[i].enqueueData(curPTS, frame, frameBytes);
+                }
+            }
+            final long wallNS = System.nanoTime() - t0;
+            final long cpuNS = cpuNanos(tmx) - c0;
+            final long perStream = (long)loops * Math.max(1, created);
+            System.err.printf("%-9s streams %3d/%3d: setup %8.2f ms, wall %8.3f us/frame/stream, cpu %8.3f us/frame/stream, underruns %d%n",
+                    pooled ? "Pooled" : "Dedicated", created, n, setupNS/1e6,
+                    wallNS/1000.0/perStream, cpuNS/1000.0/perStream, underruns(sinks, created));
+        } finally {
+            for(int i=created-1; i>=0; --i) {
+                sinks[i].destroy();
+            }
+            if( null != pool ) {
+                pool.destroy();
+            }
+        }
+    }
+
+    private static long underruns(final ALAudioSink[] sinks, final int count) {
+        long r = 0;
+        for(int i=0; i<count; ++i) {
+            r += sinks[i].getUnderrunCount();
+        }
+        return r;
+    }
+}
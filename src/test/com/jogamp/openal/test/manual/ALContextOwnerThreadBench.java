@@ -0,0 +1,149 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.manual;
+
+import java.nio.ByteBuffer;
+
+import com.jogamp.common.av.AudioFormat;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.util.LoopbackUtil;
+import com.jogamp.openal.util.ALAudioSink;
+
+/**
+ * Microbenchmark comparing per call {@link Context#makeCurrent(boolean)}/{@link Context#release(boolean)}
+ * against a {@link Context#bindOwnerThread(boolean) bound owner thread},
+ * using a loopback device driven by the calling thread.
+ * <p>
+ * Measures a plain make-current/release pair as well as the typical
+ * {@link ALAudioSink} streaming calls {@link ALAudioSink#enqueueData(int, ByteBuffer, int)},
+ * {@link ALAudioSink#updateQueue()}, {@link ALAudioSink#isPlaying()} and {@link ALAudioSink#setVolume(float)}.
+ * </p>
+ * <pre>
+ * Usage: ALContextOwnerThreadBench [-loops &lt;count&gt;] [-frameDuration &lt;ms&gt;]
+ * </pre>
+ */
+public class ALContextOwnerThreadBench {
+    static final int SAMPLE_RATE = 48000;
+
+    public static void main(final String[] args) {
+        int loops = 100000;
+        int frameDuration = 5; // [ms]
+        for(int i=0; i<args.length; i++) {
+            if(args[i].equals("-loops")) {
+                i++;
+                loops = Integer.parseInt(args[i]);
+            } else if(args[i].equals("-frameDuration")) {
+                i++;
+                frameDuration = Integer.parseInt(args[i]);
+            }
+        }
+        if( !LoopbackUtil.isSinkAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final ALAudioSink sink = new ALAudioSink(device, LoopbackUtil.getAttributes(SAMPLE_RATE));
+        try {
+            sink.setUseSOFTEvents(false);
+            final AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true /* signed */,
+                                                       true /* fixed point */, false /* planar */, true /* littleEndian */);
+            if( !sink.init(format, frameDuration, 8*frameDuration) ) {
+                throw new RuntimeException("Sink init failed: "+sink);
+            }
+            sink.play();
+            System.err.println("Loops "+loops+", thread local context "+sink.getContext().hasALC_thread_local_context);
+            for(int run=0; run<3; ++run) {
+                final long[] perCall = run(sink, device, false, loops, frameDuration);
+                if( !sink.bindOwnerThread() ) {
+                    throw new RuntimeException("Bind owner thread failed: "+sink);
+                }
+                final long[] owner;
+                try {
+                    owner = run(sink, device, true, loops, frameDuration);
+                } finally {
+                    sink.unbindOwnerThread();
+                }
+                System.err.printf("Run %d: makeCurrent/release %7.1f -> %7.1f ns, enqueue %7.1f -> %7.1f ns, updateQueue %7.1f -> %7.1f ns, isPlaying %7.1f -> %7.1f ns, setVolume %7.1f -> %7.1f ns%n",
+                        run, (double)perCall[0]/loops, (double)owner[0]/loops, (double)perCall[1]/loops, (double)owner[1]/loops,
+                        (double)perCall[2]/loops, (double)owner[2]/loops, (double)perCall[3]/loops, (double)owner[3]/loops,
+                        (double)perCall[4]/loops, (double)owner[4]/loops);
+            }
+        } finally {
+            sink.destroy();
+        }
+    }
+
+    /** Returns accumulated nanoseconds of makeCurrent/release, enqueueData, updateQueue, isPlaying and setVolume */
+    private static long[] run(final ALAudioSink sink, final Device device, final boolean owner, final int loops, final int frameDuration) {
+        if( owner != sink.isOwnerThread() ) {
+            throw new IllegalStateException("Owner thread expected "+owner+", "+sink);
+        }
+        final Context ctx = sink.getContext();
+        final int frameSamples = SAMPLE_RATE * frameDuration / 1000;
+        final ByteBuffer frame = Buffers.newDirectByteBuffer(frameSamples * 2);
+        final ByteBuffer renderData = Buffers.newDirectByteBuffer(frameSamples * 2 * 2); // stereo s16
+        final long[] res = new long[5];
+        int pts = 0;
+        boolean playing = false;
+        for(int l=0; l<loops; ++l, pts+=frameDuration) {
+            long t0 = System.nanoTime();
+            ctx.makeCurrent(true);
+            ctx.release(true);
+            long t1 = System.nanoTime();
+            res[0] += t1 - t0;
+
+            renderData.clear();
+            AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, frameSamples);
+            t0 = System.nanoTime();
+            sink.enqueueData(pts, frame, frame.capacity());
+            t1 = System.nanoTime();
+            res[1] += t1 - t0;
+
+            t0 = t1;
+            sink.updateQueue();
+            t1 = System.nanoTime();
+            res[2] += t1 - t0;
+
+            t0 = t1;
+            playing |= sink.isPlaying();
+            t1 = System.nanoTime();
+            res[3] += t1 - t0;
+
+            t0 = t1;
+            sink.setVolume( 0 == ( l & 1 ) ? 1f : 0.9f );
+            t1 = System.nanoTime();
+            res[4] += t1 - t0;
+        }
+        if( !playing ) {
+            System.err.println("Warning: never playing, "+sink);
+        }
+        return res;
+    }
+}
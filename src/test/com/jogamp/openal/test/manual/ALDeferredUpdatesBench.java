@@ -0,0 +1,147 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.manual;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.ALCConstants;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Listener;
+import com.jogamp.openal.sound3d.Source;
+import com.jogamp.openal.test.util.LoopbackUtil;
+
+/**
+ * Benchmark of per frame 3D parameter updates of many {@link Source}s and the {@link Listener}
+ * with and without {@link Context#deferUpdates() deferred updates}, using a loopback device.
+ * <p>
+ * Each frame updates position, velocity, direction and gain of all sources plus the listener position,
+ * then renders one frame duration. Update and render time are measured separately.
+ * </p>
+ * <pre>
+ * Usage: ALDeferredUpdatesBench [-emitters &lt;count&gt;] [-frames &lt;count&gt;] [-frameDuration &lt;ms&gt;]
+ * </pre>
+ */
+public class ALDeferredUpdatesBench {
+    static final int SAMPLE_RATE = 48000;
+
+    public static void main(final String[] args) {
+        int emitters = 2000;
+        int frames = 500;
+        int frameDuration = 16; // [ms]
+        for(int i=0; i<args.length; i++) {
+            if(args[i].equals("-emitters")) {
+                i++;
+                emitters = Integer.parseInt(args[i]);
+            } else if(args[i].equals("-frames")) {
+                i++;
+                frames = Integer.parseInt(args[i]);
+            } else if(args[i].equals("-frameDuration")) {
+                i++;
+                frameDuration = Integer.parseInt(args[i]);
+            }
+        }
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, LoopbackUtil.getAttributes(SAMPLE_RATE, ALCConstants.ALC_MONO_SOURCES, emitters));
+        context.makeCurrent(true);
+        final ArrayList<Source> sources = new ArrayList<Source>(emitters);
+        try {
+            for(int i=0; i<emitters; ++i) {
+                final Source s = new Source();
+                if( !s.create() ) {
+                    AudioSystem3D.getALError();
+                    break;
+                }
+                s.setLooping(true);
+                sources.add(s);
+            }
+            System.err.println("Emitters "+sources.size()+"/"+emitters+", frames "+frames+", frame duration "+frameDuration+
+                               " ms, AL_SOFT_deferred_updates "+context.hasAL_SOFT_deferred_updates);
+            final Listener listener = new Listener();
+            final int frameSamples = SAMPLE_RATE * frameDuration / 1000;
+            final ByteBuffer renderData = Buffers.newDirectByteBuffer(frameSamples * 2 * 2); // stereo s16
+            final long calls = (long)frames * ( 4L * sources.size() + 1 );
+            for(int run=0; run<3; ++run) {
+                final long[] immediate = run(context, device, listener, sources, frames, frameSamples, renderData, false);
+                final long[] deferred = run(context, device, listener, sources, frames, frameSamples, renderData, true);
+                System.err.printf("Run %d: immediate update %8.3f ms/frame (%6.1f ns/call), render %7.3f ms/frame; deferred update %8.3f ms/frame (%6.1f ns/call), render %7.3f ms/frame; update speedup %.2fx%n",
+                        run, immediate[0]/1e6/frames, (double)immediate[0]/calls, immediate[1]/1e6/frames,
+                        deferred[0]/1e6/frames, (double)deferred[0]/calls, deferred[1]/1e6/frames,
+                        (double)immediate[0]/deferred[0]);
+            }
+        } finally {
+            for(final Source s : sources) {
+                s.delete();
+            }
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    /** Returns accumulated nanoseconds of updates and rendering */
+    private static long[] run(final Context context, final Device device, final Listener listener, final ArrayList<Source> sources,
+                              final int frames, final int frameSamples, final ByteBuffer renderData, final boolean deferred) {
+        final long[] res = new long[2];
+        final int n = sources.size();
+        for(int f=0; f<frames; ++f) {
+            final float t = f * 0.01f;
+            final long t0 = System.nanoTime();
+            if( deferred ) {
+                context.deferUpdates();
+            }
+            try {
+                for(int i=0; i<n; ++i) {
+                    final Source s = sources.get(i);
+                    final float a = t + i;
+                    s.setPosition((float)Math.cos(a)*10f, 0f, (float)Math.sin(a)*10f);
+                    s.setVelocity(-(float)Math.sin(a), 0f, (float)Math.cos(a));
+                    s.setDirection((float)Math.cos(a), 0f, (float)Math.sin(a));
+                    s.setGain(0.5f + 0.5f * (float)Math.sin(a));
+                }
+                listener.setPosition(t, 0f, 0f);
+            } finally {
+                if( deferred ) {
+                    context.processUpdates();
+                }
+            }
+            final long t1 = System.nanoTime();
+            renderData.clear();
+            AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, frameSamples);
+            res[0] += t1 - t0;
+            res[1] += System.nanoTime() - t1;
+        }
+        return res;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.manual;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Listener;
+import com.jogamp.openal.sound3d.Source;
+import com.jogamp.openal.sound3d.Vec3f;
+import com.jogamp.openal.test.util.LoopbackUtil;
+
+/**
+ * Microbenchmark comparing the allocating {@link Source} and {@link Listener} getter
+ * against their allocation free out-parameter variants, e.g. {@link Source#getPosition()}
+ * vs {@link Source#getPosition(Vec3f)}, using a loopback device.
+ * <p>
+ * Reports nanoseconds and allocated bytes per call, the latter via
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ * </p>
+ * <pre>
+ * Usage: ALGetterAllocBench [-loops &lt;count&gt;]
+ * </pre>
+ */
+public class ALGetterAllocBench {
+    interface Getter {
+        void get(int i);
+    }
+
+    public static void main(final String[] args) {
+        int loops = 1000000;
+        for(int i=0; i<args.length; i++) {
+            if(args[i].equals("-loops")) {
+                i++;
+                loops = Integer.parseInt(args[i]);
+            }
+        }
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final ThreadMXBean tmxb = ManagementFactory.getThreadMXBean();
+        if( !( tmxb instanceof com.sun.management.ThreadMXBean ) ||
+            !((com.sun.management.ThreadMXBean)tmxb).isThreadAllocatedMemorySupported() )
+        {
+            System.err.println("Thread allocated memory not supported");
+            return;
+        }
+        final com.sun.management.ThreadMXBean tmx = (com.sun.management.ThreadMXBean)tmxb;
+        tmx.setThreadAllocatedMemoryEnabled(true);
+
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, 48000);
+        context.makeCurrent(true);
+        try {
+            final Source source = AudioSystem3D.generateSources(1)[0];
+            final Buffer buffer = AudioSystem3D.generateBuffers(1)[0];
+            final Listener listener = AudioSystem3D.getListener();
+            source.setPosition(1f, 2f, 3f);
+            listener.setPosition(4f, 5f, 6f);
+
+            final Vec3f vec = new Vec3f();
+            final float[] orient = new float[6];
+            final float[] sink = new float[1];
+            final String[] names = { "Source.getPosition", "Source.getVelocity", "Source.getGain",
+                                     "Listener.getPosition", "Listener.getOrientation", "Buffer.getSize" };
+            final Getter[] alloc = {
+                    (i) -> sink[0] += source.getPosition().v1,
+                    (i) -> sink[0] += source.getVelocity().v1,
+                    (i) -> sink[0] += source.getGain(),
+                    (i) -> sink[0] += listener.getPosition().v1,
+                    (i) -> sink[0] += listener.getOrientation()[0],
+                    (i) -> sink[0] += buffer.getSize() };
+            final Getter[] outParam = {
+                    (i) -> sink[0] += source.getPosition(vec).v1,
+                    (i) -> sink[0] += source.getVelocity(vec).v1,
+                    (i) -> sink[0] += source.getGain(),
+                    (i) -> sink[0] += listener.getPosition(vec).v1,
+                    (i) -> { listener.getOrientation(orient, 0); sink[0] += orient[0]; },
+                    (i) -> sink[0] += buffer.getSize() };
+            final long threadId = Thread.currentThread().getId();
+            System.err.println("Loops "+loops);
+            for(int run=0; run<3; ++run) {
+                for(int g=0; g<names.length; ++g) {
+                    final long[] a = run(tmx, threadId, alloc[g], loops);
+                    final long[] o = run(tmx, threadId, outParam[g], loops);
+                    System.err.printf("Run %d: %-24s %7.1f -> %7.1f ns, %6.1f -> %6.1f bytes/call%n",
+                            run, names[g], (double)a[0]/loops, (double)o[0]/loops, (double)a[1]/loops, (double)o[1]/loops);
+                }
+            }
+            System.err.println("Sink "+sink[0]);
+            source.delete();
+            buffer.delete();
+        } finally {
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+    }
+
+    /** Returns elapsed nanoseconds and allocated bytes */
+    private static long[] run(final com.sun.management.ThreadMXBean tmx, final long threadId, final Getter getter, final int loops) {
+        final long bytes0 = tmx.getThreadAllocatedBytes(threadId);
+        final long t0 = System.nanoTime();
+        for(int l=0; l<loops; ++l) {
+            getter.get(l);
+        }
+        final long t1 = System.nanoTime();
+        final long bytes1 = tmx.getThreadAllocatedBytes(threadId);
+        return new long[] { t1 - t0, bytes1 - bytes0 };
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.manual;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import com.jogamp.openal.UnsupportedAudioFileException;
+import com.jogamp.openal.sound3d.AsyncBufferLoader;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.test.resources.ResourceLocation;
+import com.jogamp.openal.test.util.LoopbackUtil;
+
+/**
+ * Benchmark comparing serial {@link AudioSystem3D#loadBuffer(String)} against parallel {@link AsyncBufferLoader}
+ * loading of a directory of (.wav) files, using a loopback device.
+ * <p>
+ * Without a given directory, a temporary one is populated with copies of the test resources.
+ * </p>
+ * <pre>
+ * Usage: AsyncBufferLoaderBench [-dir &lt;path&gt;] [-files &lt;count&gt;] [-batch &lt;count&gt;]
+ * </pre>
+ */
+public class AsyncBufferLoaderBench {
+    static final int SAMPLE_RATE = 48000;
+
+    public static void main(final String[] args) throws Exception {
+        String dir = null;
+        int fileCount = 400;
+        int batch = 32;
+        for(int i=0; i<args.length; i++) {
+            if(args[i].equals("-dir")) {
+                i++;
+                dir = args[i];
+            } else if(args[i].equals("-files")) {
+                i++;
+                fileCount = Integer.parseInt(args[i]);
+            } else if(args[i].equals("-batch")) {
+                i++;
+                batch = Integer.parseInt(args[i]);
+            }
+        }
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final File[] files = null != dir ? listWAVs(new File(dir)) : createWAVs(fileCount);
+        long bytes = 0;
+        for(final File f : files) {
+            bytes += f.length();
+        }
+        System.err.printf("Files %d, %.1f MiB, batch %d, cores %d%n", files.length, bytes/1024.0/1024.0, batch,
+                          Runtime.getRuntime().availableProcessors());
+
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, SAMPLE_RATE);
+        context.makeCurrent(true);
+        try {
+            final ExecutorService vtExecutor = AsyncBufferLoader.newVirtualThreadExecutor();
+            for(int run=0; run<3; ++run) {
+                final long serial = loadSerial(files);
+                final long forkJoin = loadAsync(new AsyncBufferLoader(), files, batch);
+                final long vt = null != vtExecutor ? loadAsync(new AsyncBufferLoader(vtExecutor), files, batch) : -1;
+                System.err.printf("Run %d: serial %7.1f ms, fork-join %7.1f ms (%4.1fx), virtual threads %s%n",
+                        run, serial/1e6, forkJoin/1e6, (double)serial/forkJoin,
+                        0 <= vt ? String.format("%7.1f ms (%4.1fx)", vt/1e6, (double)serial/vt) : "n/a");
+            }
+            if( null != vtExecutor ) {
+                vtExecutor.shutdown();
+            }
+        } finally {
+            context.release(true);
+            context.destroy();
+            device.close();
+            if( null == dir ) {
+                for(final File f : files) {
+                    f.delete();
+                }
+                files[0].getParentFile().delete();
+            }
+        }
+    }
+
+    private static long loadSerial(final File[] files) throws IOException, UnsupportedAudioFileException {
+        final Buffer[] buffers = new Buffer[files.length];
+        final long t0 = System.nanoTime();
+        for(int i=0; i<files.length; ++i) {
+            buffers[i] = AudioSystem3D.loadBuffer(files[i].getPath());
+        }
+        final long t1 = System.nanoTime();
+        for(final Buffer b : buffers) {
+            b.delete();
+        }
+        return t1 - t0;
+    }
+
+    private static long loadAsync(final AsyncBufferLoader loader, final File[] files, final int batch) throws Exception {
+        final ArrayList<CompletableFuture<Buffer>> futures = new ArrayList<CompletableFuture<Buffer>>(files.length);
+        final long t0 = System.nanoTime();
+        for(final File f : files) {
+            futures.add(loader.load(f.getPath()));
+        }
+        // emulate a frame loop creating a bounded number of buffers per iteration
+        while( loader.getCompletedCount() < loader.getRequestedCount() ) {
+            if( 0 == loader.processPending(batch) ) {
+                Thread.yield();
+            }
+        }
+        final long t1 = System.nanoTime();
+        for(final CompletableFuture<Buffer> f : futures) {
+            f.get().delete();
+        }
+        return t1 - t0;
+    }
+
+    private static File[] listWAVs(final File dir) {
+        final File[] files = dir.listFiles();
+        final ArrayList<File> res = new ArrayList<File>();
+        if( null != files ) {
+            for(final File f : files) {
+                if( f.isFile() && f.getName().toLowerCase().endsWith(".wav") ) {
+                    res.add(f);
+                }
+            }
+        }
+        return res.toArray(new File[res.size()]);
+    }
+
+    private static File[] createWAVs(final int count) throws IOException {
+        final File dir = File.createTempFile("joal-wavs", "");
+        dir.delete();
+        dir.mkdirs();
+        final File[] files = new File[count];
+        final byte[] chunk = new byte[64*1024];
+        for(int i=0; i<count; ++i) {
+            files[i] = new File(dir, "clip"+i+".wav");
+            final InputStream in = 0 == i % 2 ? ResourceLocation.getTestStream3() : ResourceLocation.getTestStream0();
+            final OutputStream out = new FileOutputStream(files[i]);
+            try {
+                int n;
+                while( 0 < ( n = in.read(chunk) ) ) {
+                    out.write(chunk, 0, n);
+                }
+            } finally {
+                out.close();
+                in.close();
+            }
+        }
+        return files;
+    }
+}
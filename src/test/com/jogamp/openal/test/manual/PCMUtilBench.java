@@ -0,0 +1,153 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.manual;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+import com.jogamp.openal.util.PCMUtil;
+
+/**
+ * Microbenchmark comparing the {@link PCMUtil} bulk conversion kernels
+ * against scalar per sample loops as previously used by the WAV loader and synthesizer.
+ * <p>
+ * Runs a warmup pass of the same size before each measured pass and reports nanoseconds per sample.
+ * </p>
+ * <pre>
+ * Usage: PCMUtilBench [-samples &lt;count&gt;] [-loops &lt;count&gt;]
+ * </pre>
+ */
+public class PCMUtilBench {
+    interface Kernel {
+        void run();
+    }
+
+    static volatile int sink;
+
+    static void bench(final String name, final int samples, final int loops, final Kernel scalar, final Kernel kernel) {
+        final long[] ns = new long[2];
+        final Kernel[] ks = { scalar, kernel };
+        for(int pass=0; pass<2; ++pass) {
+            for(int k=0; k<2; ++k) {
+                final long t0 = System.nanoTime();
+                for(int l=0; l<loops; ++l) {
+                    ks[k].run();
+                }
+                ns[k] = System.nanoTime() - t0;
+            }
+        }
+        final double total = (double)samples * loops;
+        System.err.printf("%-12s: scalar %6.3f ns/sample, kernel %6.3f ns/sample, speedup %.2fx%n",
+                name, ns[0] / total, ns[1] / total, (double)ns[0] / ns[1]);
+    }
+
+    public static void main(final String[] args) {
+        int samples = 48000 * 2;
+        int loops = 1000;
+        for(int i=0; i<args.length; i++) {
+            if(args[i].equals("-samples")) {
+                i++;
+                samples = Integer.parseInt(args[i]);
+            } else if(args[i].equals("-loops")) {
+                i++;
+                loops = Integer.parseInt(args[i]);
+            }
+        }
+        final int count = samples;
+        final ByteBuffer s16 = ByteBuffer.allocateDirect(count*2).order(ByteOrder.nativeOrder());
+        final ByteBuffer s16b = ByteBuffer.allocateDirect(count*2).order(ByteOrder.nativeOrder());
+        final ByteBuffer s24 = ByteBuffer.allocateDirect(count*3).order(ByteOrder.LITTLE_ENDIAN);
+        final FloatBuffer f32 = ByteBuffer.allocateDirect(count*4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        final float[] f32a = new float[count];
+        for(int i=0; i<count; ++i) {
+            f32a[i] = (float)Math.sin(i * 0.01);
+            s16.putShort(2*i, (short)(f32a[i] * 32767f));
+        }
+        f32.put(f32a).clear();
+        final ShortBuffer s16v = s16.asShortBuffer();
+        final ShortBuffer s16le = s16b.duplicate().order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+
+        bench("swap16", count, loops, new Kernel() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 2*count; i += 2) {
+                    final byte a = s16.get(i);
+                    final byte b = s16.get(i+1);
+                    s16.put(i, b);
+                    s16.put(i+1, a);
+                }
+            } }, new Kernel() {
+            @Override
+            public void run() {
+                PCMUtil.swapBytes(s16, 2, count);
+            } });
+        bench("s16->f32", count, loops, new Kernel() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; ++i) {
+                    f32.put(i, s16.getShort(2*i) / 32768f);
+                }
+            } }, new Kernel() {
+            @Override
+            public void run() {
+                PCMUtil.s16ToF32(s16v, f32, count);
+            } });
+        bench("f32->s16le", count, loops, new Kernel() {
+            @Override
+            public void run() {
+                s16b.clear();
+                for (int i = 0; i < count; ++i) {
+                    final short v = (short)( 32767f * f32a[i] );
+                    s16b.put( (byte) ( v & 0xff ) );
+                    s16b.put( (byte) ( ( v >>> 8 ) & 0xff ) );
+                }
+                s16b.clear();
+            } }, new Kernel() {
+            @Override
+            public void run() {
+                PCMUtil.f32ToS16(f32a, 0, s16le, count);
+            } });
+        bench("s16->s24le", count, loops, new Kernel() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; ++i) {
+                    final int v = s16.getShort(2*i) << 8;
+                    s24.put(3*i, (byte)v);
+                    s24.put(3*i+1, (byte)(v >> 8));
+                    s24.put(3*i+2, (byte)(v >> 16));
+                }
+            } }, new Kernel() {
+            @Override
+            public void run() {
+                PCMUtil.convert(s16, PCMUtil.Format.S16, s24, PCMUtil.Format.S24, count);
+            } });
+        sink = s16b.get(0) + s24.get(0);
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+package com.jogamp.openal.test.manual;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.openal.ALCConstants;
+import com.jogamp.openal.ALConstants;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Buffer;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.sound3d.Source;
+import com.jogamp.openal.sound3d.SourceCuller;
+import com.jogamp.openal.test.util.LoopbackUtil;
+
+/**
+ * Benchmark of mixer CPU time vs emitter count with and without {@link SourceCuller},
+ * using a loopback device rendered on the calling thread.
+ * <p>
+ * A fraction of the emitters is placed near the listener, the remaining far beyond audibility.
+ * Reports thread CPU time per rendered frame spent in <code>alcRenderSamplesSOFT</code>,
+ * i.e. the mixer, and in {@link SourceCuller#update()}.
+ * </p>
+ * <pre>
+ * Usage: SourceCullerBench [-frames &lt;count&gt;] [-near &lt;fraction&gt;]
+ * </pre>
+ */
+public class SourceCullerBench {
+    static final int SAMPLE_RATE = 48000;
+    static final int FRAME_SAMPLES = SAMPLE_RATE / 100; // 10ms
+    static final int[] EMITTERS = { 16, 64, 256, 1000 };
+
+    public static void main(final String[] args) {
+        int frames = 500;
+        float near = 0.1f;
+        for(int i=0; i<args.length; i++) {
+            if(args[i].equals("-frames")) {
+                i++;
+                frames = Integer.parseInt(args[i]);
+            } else if(args[i].equals("-near")) {
+                i++;
+                near = Float.parseFloat(args[i]);
+            }
+        }
+        if( !LoopbackUtil.isAvailable() ) {
+            return;
+        }
+        final ThreadMXBean tmx = ManagementFactory.getThreadMXBean();
+        if( !tmx.isCurrentThreadCpuTimeSupported() ) {
+            System.err.println("Thread CPU time not supported");
+            return;
+        }
+        tmx.setThreadCpuTimeEnabled(true);
+        System.err.println("Frames "+frames+" of "+FRAME_SAMPLES+" samples, near fraction "+near);
+        for(final int emitters : EMITTERS) {
+            final long[] all = run(tmx, emitters, near, frames, false);
+            final long[] culled = run(tmx, emitters, near, frames, true);
+            System.err.printf("Emitters %5d: mixer %8.1f -> %8.1f us/frame, culler update %7.1f us/frame, mixed sources %5d -> %5d%n",
+                    emitters, all[0]/1000.0/frames, culled[0]/1000.0/frames, culled[1]/1000.0/frames, all[2], culled[2]);
+        }
+    }
+
+    /** Returns mixer CPU ns, culler CPU ns and number of playing sources */
+    private static long[] run(final ThreadMXBean tmx, final int emitters, final float nearFraction, final int frames, final boolean cull) {
+        final Device device = LoopbackUtil.openDevice();
+        final Context context = LoopbackUtil.createContext(device, LoopbackUtil.getAttributes(SAMPLE_RATE, ALCConstants.ALC_MONO_SOURCES, emitters));
+        context.setShadowState(true);
+        context.makeCurrent(true);
+        final Buffer buffer = AudioSystem3D.generateBuffers(1)[0];
+        final Source[] sources = new Source[emitters];
+        final long[] res = new long[3];
+        try {
+            // 1s of mono16 noise
+            final Random rnd = new Random(1);
+            final ByteBuffer data = Buffers.newDirectByteBuffer(SAMPLE_RATE * 2);
+            while( data.hasRemaining() ) {
+                data.putShort((short)rnd.nextInt());
+            }
+            data.flip();
+            buffer.configure(data, Buffer.FORMAT_MONO16, SAMPLE_RATE);
+            AudioSystem3D.getAL().alDistanceModel(ALConstants.AL_INVERSE_DISTANCE_CLAMPED);
+            AudioSystem3D.getListener().setPosition(0f, 0f, 0f);
+            final SourceCuller culler = new SourceCuller();
+            final int nearCount = Math.max(1, (int)(emitters * nearFraction));
+            for(int i=0; i<emitters; ++i) {
+                final Source s = new Source();
+                if( !s.create() ) {
+                    throw new RuntimeException("Source "+i+" creation failed, context "+context);
+                }
+                sources[i] = s;
+                s.setBuffer(buffer);
+                s.setLooping(true);
+                s.setMaxDistance(1e6f);
+                final float d = i < nearCount ? 1f + rnd.nextFloat() * 9f : 2000f + rnd.nextFloat() * 8000f;
+                final double a = rnd.nextDouble() * 2.0 * Math.PI;
+                s.setPosition(d * (float)Math.cos(a), 0f, d * (float)Math.sin(a));
+                s.play();
+                culler.add(s);
+            }
+            final ByteBuffer renderData = Buffers.newDirectByteBuffer(FRAME_SAMPLES * 2 * 2); // stereo s16
+            for(int f=0; f<frames; ++f) {
+                long t0 = tmx.getCurrentThreadCpuTime();
+                if( cull ) {
+                    culler.update();
+                }
+                long t1 = tmx.getCurrentThreadCpuTime();
+                res[1] += t1 - t0;
+                renderData.clear();
+                t0 = t1;
+                AudioSystem3D.getALExt().alcRenderSamplesSOFT(device.getALDevice(), renderData, FRAME_SAMPLES);
+                t1 = tmx.getCurrentThreadCpuTime();
+                res[0] += t1 - t0;
+            }
+            for(final Source s : sources) {
+                if( ALConstants.AL_PLAYING == s.getState() ) {
+                    ++res[2];
+                }
+            }
+        } finally {
+            for(final Source s : sources) {
+                if( null != s ) {
+                    s.setBuffer(null);
+                    s.delete();
+                }
+            }
+            buffer.delete();
+            context.release(true);
+            context.destroy();
+            device.close();
+        }
+        return res;
+    }
+}
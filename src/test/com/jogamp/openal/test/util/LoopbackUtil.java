@@ -0,0 +1,123 @@
+/**
+ * Copyright 2026 JogAmp Community. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY JogAmp Community ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL JogAmp Community OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of JogAmp Community.
+ */
+
+package com.jogamp.openal.test.util;
+
+import org.junit.Assert;
+
+import com.jogamp.openal.ALCConstants;
+import com.jogamp.openal.ALExtConstants;
+import com.jogamp.openal.sound3d.AudioSystem3D;
+import com.jogamp.openal.sound3d.Context;
+import com.jogamp.openal.sound3d.Device;
+import com.jogamp.openal.util.ALAudioSink;
+import com.jogamp.openal.util.ALHelpers;
+
+/**
+ * Shared fixture for tests driving the mixer deterministically
+ * via an {@link ALHelpers#ALC_SOFT_loopback} {@link Device}
+ * rendering stereo 16-bit samples.
+ */
+public class LoopbackUtil {
+    /**
+     * Returns true if OpenAL and the {@link ALHelpers#ALC_SOFT_loopback} extension are available,
+     * otherwise prints the reason and returns false.
+     */
+    public static boolean isAvailable() {
+        if( !AudioSystem3D.isAvailable() ) {
+            System.err.println("OpenAL not available");
+            return false;
+        }
+        return isLoopbackPresent();
+    }
+
+    /**
+     * Returns true if {@link ALAudioSink} is initialized and the {@link ALHelpers#ALC_SOFT_loopback} extension is available,
+     * otherwise prints the reason and returns false.
+     */
+    public static boolean isSinkAvailable() {
+        if( !ALAudioSink.isInitialized() ) {
+            System.err.println("OpenAL not initialized");
+            return false;
+        }
+        return isLoopbackPresent();
+    }
+
+    private static boolean isLoopbackPresent() {
+        if( !AudioSystem3D.getALC().alcIsExtensionPresent(null, ALHelpers.ALC_SOFT_loopback) ) {
+            System.err.println("No extension "+ALHelpers.ALC_SOFT_loopback+" present");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the zero terminated stereo 16-bit loopback context attributes for the given sample rate,
+     * followed by the optional key-value pairs of {@code extra} attributes.
+     */
+    public static int[] getAttributes(final int sampleRate, final int... extra) {
+        final int[] attribs = new int[6 + extra.length + 1];
+        attribs[0] = ALExtConstants.ALC_FORMAT_CHANNELS_SOFT; attribs[1] = ALExtConstants.ALC_STEREO_SOFT;
+        attribs[2] = ALExtConstants.ALC_FORMAT_TYPE_SOFT;     attribs[3] = ALExtConstants.ALC_SHORT_SOFT;
+        attribs[4] = ALCConstants.ALC_FREQUENCY;              attribs[5] = sampleRate;
+        System.arraycopy(extra, 0, attribs, 6, extra.length);
+        attribs[attribs.length-1] = 0;
+        return attribs;
+    }
+
+    /** Opens a new loopback {@link Device}, asserting it is valid. */
+    public static Device openDevice() {
+        final Device device = AudioSystem3D.openLoopbackDevice(null);
+        Assert.assertTrue("Loopback device not open", device.isValid());
+        return device;
+    }
+
+    /** Creates a new {@link Context} on the given loopback {@link Device}, see {@link #getAttributes(int, int...)}, asserting it is valid. */
+    public static Context createContext(final Device device, final int sampleRate) {
+        return createContext(device, getAttributes(sampleRate));
+    }
+
+    /** Creates a new {@link Context} on the given loopback {@link Device} using the given attributes, asserting it is valid. */
+    public static Context createContext(final Device device, final int[] attributes) {
+        final Context context = new Context(device, attributes);
+        Assert.assertTrue("Context invalid", context.isValid());
+        return context;
+    }
+
+    /** Creates a new {@link Context} on the given loopback {@link Device}, see {@link #getAttributes(int, int...)}, asserting it is valid. */
+    public static Context createContext(final Device device, final int sampleRate, final boolean virtualThreadSafe) {
+        return createContext(device, getAttributes(sampleRate), virtualThreadSafe);
+    }
+
+    /** Creates a new {@link Context} on the given loopback {@link Device} using the given attributes, asserting it is valid. */
+    public static Context createContext(final Device device, final int[] attributes, final boolean virtualThreadSafe) {
+        final Context context = new Context(device, attributes, virtualThreadSafe);
+        Assert.assertTrue("Context invalid", context.isValid());
+        return context;
+    }
+}